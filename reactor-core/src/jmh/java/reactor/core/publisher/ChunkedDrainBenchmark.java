@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2011-2018 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.publisher;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Compares synchronously fused sources drained in chunks by {@link Flux#publishOn} and
+ * {@link Flux#flatMap} with the same sources hidden behind {@link Flux#hide()}, where
+ * each value is individually requested, queued and emitted.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class ChunkedDrainBenchmark {
+
+	@Param({"true", "false"})
+	boolean fused;
+
+	@Param({"100000"})
+	int count;
+
+	Integer[] array;
+
+	Scheduler scheduler;
+
+	@Setup
+	public void setup() {
+		array = new Integer[count];
+		Arrays.fill(array, 777);
+		scheduler = Schedulers.newSingle("chunked");
+	}
+
+	@TearDown
+	public void tearDown() {
+		scheduler.dispose();
+	}
+
+	Flux<Integer> source(Flux<Integer> flux) {
+		return fused ? flux : flux.hide();
+	}
+
+	@Benchmark
+	public void publishOnArray(Blackhole bh) {
+		bh.consume(source(Flux.fromArray(array)).publishOn(scheduler)
+		                                        .blockLast());
+	}
+
+	@Benchmark
+	public void flatMapRangeFilter(Blackhole bh) {
+		bh.consume(Flux.range(0, count / 100)
+		               .flatMap(v -> source(Flux.range(v, 100)
+		                                        .filter(i -> (i & 1) == 0)))
+		               .blockLast());
+	}
+}
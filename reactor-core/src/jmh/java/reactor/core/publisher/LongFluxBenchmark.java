@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2011-2018 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.publisher;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares a boxed {@link Flux#range(int, int)} numeric pipeline with the same pipeline
+ * on a {@link LongFlux}. Run with {@code -prof gc} to compare the allocation rate per
+ * operation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class LongFluxBenchmark {
+
+	@Param({"1000", "1000000"})
+	int count;
+
+	@Benchmark
+	public void boxedSum(Blackhole bh) {
+		bh.consume(Flux.range(0, count)
+		               .filter(v -> (v & 1) == 0)
+		               .map(v -> (long) v * 3)
+		               .reduce(0L, Long::sum)
+		               .block());
+	}
+
+	@Benchmark
+	public void primitiveSum(Blackhole bh) {
+		bh.consume(LongFlux.range(0, count)
+		                   .filter(v -> (v & 1) == 0)
+		                   .map(v -> v * 3)
+		                   .sum()
+		                   .block());
+	}
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2011-2018 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.publisher;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.reactivestreams.Subscriber;
+import reactor.core.Disposable;
+
+/**
+ * Compares several threads feeding an {@link EmitterProcessor} through
+ * {@link FluxProcessor#serialize()} with a processor created by
+ * {@link EmitterProcessor#createMultiProducer(int)}, where producers claim slots in a
+ * bounded multi-producer queue instead of being serialized.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class MultiProducerEmitterBenchmark {
+
+	@Param({"true", "false"})
+	boolean multiProducer;
+
+	@Param({"256"})
+	int bufferSize;
+
+	static final Integer ITEM = 1;
+
+	Subscriber<Integer> processor;
+
+	Disposable subscription;
+
+	@Setup
+	public void setup() {
+		FluxProcessor<Integer, Integer> p;
+		if (multiProducer) {
+			p = EmitterProcessor.createMultiProducer(bufferSize);
+		}
+		else {
+			p = EmitterProcessor.<Integer>create(bufferSize).serialize();
+		}
+		subscription = p.subscribe();
+		processor = p;
+	}
+
+	@TearDown
+	public void tearDown() {
+		subscription.dispose();
+	}
+
+	@Benchmark
+	@Threads(4)
+	public void onNext() {
+		processor.onNext(ITEM);
+	}
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2011-2018 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.publisher;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures filling a size-bound {@link ReplayProcessor} then replaying its history to a
+ * late subscriber. Run with {@code -prof gc} to compare the allocation rate per
+ * operation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class ReplayBufferBenchmark {
+
+	@Param({"16", "100000"})
+	int history;
+
+	static final int COUNT = 100_000;
+
+	Integer[] values;
+
+	@Setup
+	public void setup() {
+		values = new Integer[COUNT];
+		for (int i = 0; i < COUNT; i++) {
+			values[i] = i;
+		}
+	}
+
+	@Benchmark
+	public void fillAndReplay(Blackhole bh) {
+		ReplayProcessor<Integer> rp = ReplayProcessor.create(history);
+		for (Integer v : values) {
+			rp.onNext(v);
+		}
+		rp.onComplete();
+		bh.consume(rp.blockLast());
+	}
+}
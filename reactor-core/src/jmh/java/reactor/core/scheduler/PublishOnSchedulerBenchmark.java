@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2011-2018 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.scheduler;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import reactor.core.publisher.Flux;
+
+/**
+ * Compares the {@link ParallelScheduler} with the {@link EventLoopScheduler} on a
+ * pipeline made of several {@code publishOn} hops.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class PublishOnSchedulerBenchmark {
+
+	@Param({"parallel", "eventLoop"})
+	String type;
+
+	/** the prefetch of each hop, small values cause more tasks to be scheduled */
+	@Param({"1", "32"})
+	int prefetch;
+
+	static final int ITEMS = 100_000;
+	static final int HOPS  = 4;
+
+	Scheduler scheduler;
+
+	@Setup
+	public void setup() {
+		scheduler = "parallel".equals(type)
+				? Schedulers.newParallel("bench", HOPS, true)
+				: Schedulers.newEventLoop("bench", HOPS, true);
+	}
+
+	@TearDown
+	public void tearDown() {
+		scheduler.dispose();
+	}
+
+	@Benchmark
+	public void publishOnHops(Blackhole bh) {
+		Flux<Integer> f = Flux.range(0, ITEMS);
+		for (int i = 0; i < HOPS; i++) {
+			f = f.publishOn(scheduler, prefetch);
+		}
+		bh.consume(f.blockLast());
+	}
+}
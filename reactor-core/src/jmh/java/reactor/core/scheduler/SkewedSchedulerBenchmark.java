@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2011-2018 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.scheduler;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the {@link ParallelScheduler} with the {@link WorkStealingScheduler} when a
+ * few workers carry much longer tasks than the others.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class SkewedSchedulerBenchmark {
+
+	@Param({"parallel", "workStealing"})
+	String type;
+
+	/** one in {@code skew} workers gets a slow task for each of its fast tasks */
+	@Param({"4", "16"})
+	int skew;
+
+	static final int WORKERS        = 64;
+	static final int TASKS          = 32;
+	static final int FAST_TOKENS    = 1_000;
+	static final int SLOW_TOKENS    = 100_000;
+
+	Scheduler scheduler;
+
+	@Setup
+	public void setup() {
+		int parallelism = Runtime.getRuntime().availableProcessors();
+		scheduler = "parallel".equals(type)
+				? Schedulers.newParallel("bench", parallelism, true)
+				: Schedulers.newWorkStealing("bench", parallelism, true);
+	}
+
+	@TearDown
+	public void tearDown() {
+		scheduler.dispose();
+	}
+
+	@Benchmark
+	public void skewedWorkers(Blackhole bh) throws InterruptedException {
+		CountDownLatch latch = new CountDownLatch(WORKERS * TASKS);
+		Scheduler.Worker[] workers = new Scheduler.Worker[WORKERS];
+		for (int w = 0; w < WORKERS; w++) {
+			workers[w] = scheduler.createWorker();
+		}
+		for (int t = 0; t < TASKS; t++) {
+			for (int w = 0; w < WORKERS; w++) {
+				int tokens = w % skew == 0 ? SLOW_TOKENS : FAST_TOKENS;
+				workers[w].schedule(() -> {
+					Blackhole.consumeCPU(tokens);
+					latch.countDown();
+				});
+			}
+		}
+		latch.await();
+		for (Scheduler.Worker worker : workers) {
+			worker.dispose();
+		}
+		bh.consume(latch);
+	}
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2011-2018 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.scheduler;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import reactor.core.publisher.Flux;
+
+/**
+ * Compares the {@link ExecutorServiceWorker} paths for immediate tasks: one
+ * {@code FutureTask} submitted and tracked per task, or trampolined tasks. Run with
+ * {@code -prof gc} to compare the allocation rate per operation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class WorkerScheduleBenchmark {
+
+	@Param({"false", "true"})
+	boolean trampoline;
+
+	static final int TASKS = 1024;
+
+	ScheduledThreadPoolExecutor exec;
+	ExecutorServiceWorker       worker;
+	Scheduler                   scheduler;
+
+	@Setup
+	public void setup() {
+		exec = new ScheduledThreadPoolExecutor(1);
+		exec.setMaximumPoolSize(1);
+		worker = new ExecutorServiceWorker(exec, trampoline);
+		scheduler = new Scheduler() {
+			@Override
+			public reactor.core.Disposable schedule(Runnable task) {
+				return worker.schedule(task);
+			}
+
+			@Override
+			public Worker createWorker() {
+				return new ExecutorServiceWorker(exec, trampoline);
+			}
+		};
+	}
+
+	@TearDown
+	public void tearDown() {
+		worker.dispose();
+		exec.shutdownNow();
+	}
+
+	@Benchmark
+	public void scheduleBurst(Blackhole bh) throws InterruptedException {
+		CountDownLatch latch = new CountDownLatch(TASKS);
+		Runnable task = latch::countDown;
+		for (int i = 0; i < TASKS; i++) {
+			bh.consume(worker.schedule(task));
+		}
+		latch.await();
+	}
+
+	@Benchmark
+	public void publishOnHops(Blackhole bh) {
+		bh.consume(Flux.range(0, TASKS)
+		               .publishOn(scheduler, 1)
+		               .publishOn(scheduler, 1)
+		               .blockLast());
+	}
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2011-2018 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.util.concurrent;
+
+import java.util.AbstractQueue;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the padded {@link SpscArrayQueue} returned by {@link Queues#get(int)} with
+ * the same algorithm without padding, with the producer and the consumer on different
+ * threads. Pin the two threads to different cores to measure false sharing.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Group)
+public class SpscArrayQueueBenchmark {
+
+	@Param({"true", "false"})
+	boolean padded;
+
+	@Param({"256"})
+	int capacity;
+
+	static final Integer ITEM = 1;
+
+	Queue<Integer> queue;
+
+	@Setup
+	public void setup() {
+		queue = padded ? new SpscArrayQueue<>(capacity) : new UnpaddedSpscArrayQueue<>(capacity);
+	}
+
+	@Benchmark
+	@Group("offerPoll")
+	@GroupThreads(1)
+	public boolean offer() {
+		return queue.offer(ITEM);
+	}
+
+	@Benchmark
+	@Group("offerPoll")
+	@GroupThreads(1)
+	public void poll(Blackhole bh) {
+		bh.consume(queue.poll());
+	}
+
+	/**
+	 * The {@link SpscArrayQueue} algorithm with the mask and both indexes sharing the
+	 * object's cache lines.
+	 */
+	static final class UnpaddedSpscArrayQueue<T> extends AbstractQueue<T> {
+
+		final AtomicReferenceArray<T> array;
+		final int                     mask;
+
+		volatile long producerIndex;
+		@SuppressWarnings("rawtypes")
+		static final AtomicLongFieldUpdater<UnpaddedSpscArrayQueue> PRODUCER_INDEX =
+				AtomicLongFieldUpdater.newUpdater(UnpaddedSpscArrayQueue.class, "producerIndex");
+
+		volatile long consumerIndex;
+		@SuppressWarnings("rawtypes")
+		static final AtomicLongFieldUpdater<UnpaddedSpscArrayQueue> CONSUMER_INDEX =
+				AtomicLongFieldUpdater.newUpdater(UnpaddedSpscArrayQueue.class, "consumerIndex");
+
+		UnpaddedSpscArrayQueue(int capacity) {
+			int c = Queues.ceilingNextPowerOfTwo(capacity);
+			this.array = new AtomicReferenceArray<>(c);
+			this.mask = c - 1;
+		}
+
+		@Override
+		public boolean offer(T e) {
+			long pi = producerIndex;
+			int offset = (int) pi & mask;
+			if (array.get(offset) != null) {
+				return false;
+			}
+			array.lazySet(offset, e);
+			PRODUCER_INDEX.lazySet(this, pi + 1);
+			return true;
+		}
+
+		@Override
+		public T poll() {
+			long ci = consumerIndex;
+			int offset = (int) ci & mask;
+			T v = array.get(offset);
+			if (v != null) {
+				array.lazySet(offset, null);
+				CONSUMER_INDEX.lazySet(this, ci + 1);
+			}
+			return v;
+		}
+
+		@Override
+		public T peek() {
+			return array.get((int) consumerIndex & mask);
+		}
+
+		@Override
+		public int size() {
+			return (int) (producerIndex - consumerIndex);
+		}
+
+		@Override
+		public Iterator<T> iterator() {
+			throw new UnsupportedOperationException();
+		}
+	}
+}
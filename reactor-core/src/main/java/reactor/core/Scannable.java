@@ -130,6 +130,15 @@ public interface Scannable {
 		 */
 		public static final Attr<Throwable> ERROR = new Attr<>(null);
 
+		/**
+		 * An {@link Integer} attribute exposing how many buffered values a subscriber of
+		 * a multicasting component lacks the demand for, holding back the other
+		 * subscribers. Defaults to {@literal null}.
+		 *
+		 * @see reactor.core.publisher.SlowSubscriberPolicy
+		 */
+		public static final Attr<Integer> LAG = new Attr<>(null);
+
 		/**
 		 * Similar to {@link Attr#BUFFERED}, but reserved for operators that can hold
 		 * a backlog of items that can grow beyond {@literal Integer.MAX_VALUE}. These
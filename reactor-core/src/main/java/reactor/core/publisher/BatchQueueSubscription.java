@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2011-2018 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.publisher;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import reactor.core.Fuseable;
+import reactor.util.concurrent.BatchQueue;
+
+/**
+ * A {@link Fuseable.QueueSubscription} that can hand out a chunk of its values in one
+ * {@link #drain(Consumer, int)} call, once fusion has been negotiated. Fused consumers
+ * check for it with {@code instanceof}, like for {@link BatchQueue}, and otherwise keep
+ * polling one value at a time.
+ * <p>
+ * A {@link NullPointerException} or an operator error thrown while draining is
+ * propagated to the caller, exactly like it would have been by {@link #poll()}.
+ * {@link #fill(Supplier, int)} is not supported.
+ *
+ * @param <T> the value type
+ */
+interface BatchQueueSubscription<T> extends Fuseable.QueueSubscription<T>, BatchQueue<T> {
+
+	@Override
+	default int drain(Consumer<? super T> consumer, int limit) {
+		int n = 0;
+		while (n < limit) {
+			T v = poll();
+			if (v == null) {
+				break;
+			}
+			n++;
+			consumer.accept(v);
+		}
+		return n;
+	}
+
+	@Override
+	default int fill(Supplier<? extends T> supplier, int limit) {
+		throw new UnsupportedOperationException(NOT_SUPPORTED_MESSAGE);
+	}
+}
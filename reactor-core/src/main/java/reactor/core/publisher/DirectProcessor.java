@@ -18,7 +18,6 @@ package reactor.core.publisher;
 
 import java.util.Objects;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
-import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.stream.Stream;
 
 import org.reactivestreams.Subscription;
@@ -76,6 +75,12 @@ import reactor.util.annotation.Nullable;
  *      <b>Note: </b> The implementation ignores Subscriptions set via onSubscribe.
  * </p>
  *
+ * <p>
+ *      <b>Note: </b> Each signal is delivered to the Subscribers one after the other,
+ *      in the order they subscribed in, unless the processor was created with
+ *      {@link #createForLargeFanOut()}.
+ * </p>
+ *
  * @param <T> the input and output value type
  */
 public final class DirectProcessor<T> extends FluxProcessor<T, T> {
@@ -91,24 +96,32 @@ public final class DirectProcessor<T> extends FluxProcessor<T, T> {
 		return new DirectProcessor<>();
 	}
 
-	@SuppressWarnings("rawtypes")
-	private static final DirectInner[] EMPTY = new DirectInner[0];
-
-	@SuppressWarnings("rawtypes")
-	private static final DirectInner[] TERMINATED = new DirectInner[0];
+	/**
+	 * Create a new {@link DirectProcessor} meant for a large number of
+	 * {@link Subscriber Subscribers} joining and leaving concurrently, which
+	 * subscribe and unsubscribe without contending on a single lock.
+	 * <p>
+	 * Signals are delivered to the Subscribers one after the other, but not necessarily
+	 * in the order they subscribed in when they did so from different threads.
+	 *
+	 * @param <E> Type of processed signals
+	 *
+	 * @return a fresh processor
+	 */
+	public static <E> DirectProcessor<E> createForLargeFanOut() {
+		return new DirectProcessor<>(true);
+	}
 
-	@SuppressWarnings("unchecked")
-	private volatile     DirectInner<T>[] subscribers = EMPTY;
-	@SuppressWarnings("rawtypes")
-	private static final AtomicReferenceFieldUpdater<DirectProcessor, DirectInner[]>
-	                                      SUBSCRIBERS =
-			AtomicReferenceFieldUpdater.newUpdater(DirectProcessor.class,
-					DirectInner[].class,
-					"subscribers");
+	final SubscriberRegistry<DirectInner<T>> subscribers;
 
 	Throwable error;
 
 	DirectProcessor() {
+		this(false);
+	}
+
+	DirectProcessor(boolean largeFanOut) {
+		this.subscribers = new SubscriberRegistry<>(DirectInner::newArray, largeFanOut);
 	}
 
 	@Override
@@ -119,7 +132,7 @@ public final class DirectProcessor<T> extends FluxProcessor<T, T> {
 	@Override
 	public void onSubscribe(Subscription s) {
 		Objects.requireNonNull(s, "s");
-		if (subscribers != TERMINATED) {
+		if (!subscribers.isTerminated()) {
 			s.request(Long.MAX_VALUE);
 		}
 		else {
@@ -131,14 +144,12 @@ public final class DirectProcessor<T> extends FluxProcessor<T, T> {
 	public void onNext(T t) {
 		Objects.requireNonNull(t, "t");
 
-		DirectInner<T>[] inners = subscribers;
-
-		if (inners == TERMINATED) {
+		if (subscribers.isTerminated()) {
 			Operators.onNextDropped(t, currentContext());
 			return;
 		}
 
-		for (DirectInner<T> s : inners) {
+		for (DirectInner<T> s : subscribers.snapshot()) {
 			s.onNext(t);
 		}
 	}
@@ -147,22 +158,20 @@ public final class DirectProcessor<T> extends FluxProcessor<T, T> {
 	public void onError(Throwable t) {
 		Objects.requireNonNull(t, "t");
 
-		DirectInner<T>[] inners = subscribers;
-
-		if (inners == TERMINATED) {
+		if (subscribers.isTerminated()) {
 			Operators.onErrorDropped(t, currentContext());
 			return;
 		}
 
 		error = t;
-		for (DirectInner<?> s : SUBSCRIBERS.getAndSet(this, TERMINATED)) {
+		for (DirectInner<?> s : subscribers.terminate()) {
 			s.onError(t);
 		}
 	}
 
 	@Override
 	public void onComplete() {
-		for (DirectInner<?> s : SUBSCRIBERS.getAndSet(this, TERMINATED)) {
+		for (DirectInner<?> s : subscribers.terminate()) {
 			s.onComplete();
 		}
 	}
@@ -192,96 +201,48 @@ public final class DirectProcessor<T> extends FluxProcessor<T, T> {
 
 	@Override
 	public Stream<? extends Scannable> inners() {
-		return Stream.of(subscribers);
+		return Stream.of(subscribers.snapshot());
 	}
 
 	@Override
 	public boolean isTerminated() {
-		return TERMINATED == subscribers;
+		return subscribers.isTerminated();
 	}
 
 	@Override
 	public long downstreamCount() {
-		return subscribers.length;
+		return subscribers.size();
 	}
 
 	boolean add(DirectInner<T> s) {
-		DirectInner<T>[] a = subscribers;
-		if (a == TERMINATED) {
-			return false;
-		}
-
-		synchronized (this) {
-			a = subscribers;
-			if (a == TERMINATED) {
-				return false;
-			}
-			int len = a.length;
-
-			@SuppressWarnings("unchecked") DirectInner<T>[] b = new DirectInner[len + 1];
-			System.arraycopy(a, 0, b, 0, len);
-			b[len] = s;
-
-			subscribers = b;
-
-			return true;
-		}
+		return subscribers.add(s);
 	}
 
-	@SuppressWarnings("unchecked")
 	void remove(DirectInner<T> s) {
-		DirectInner<T>[] a = subscribers;
-		if (a == TERMINATED || a == EMPTY) {
-			return;
-		}
-
-		synchronized (this) {
-			a = subscribers;
-			if (a == TERMINATED || a == EMPTY) {
-				return;
-			}
-			int len = a.length;
-
-			int j = -1;
-
-			for (int i = 0; i < len; i++) {
-				if (a[i] == s) {
-					j = i;
-					break;
-				}
-			}
-			if (j < 0) {
-				return;
-			}
-			if (len == 1) {
-				subscribers = EMPTY;
-				return;
-			}
-
-			DirectInner<T>[] b = new DirectInner[len - 1];
-			System.arraycopy(a, 0, b, 0, j);
-			System.arraycopy(a, j + 1, b, j, len - j - 1);
-
-			subscribers = b;
-		}
+		subscribers.remove(s);
 	}
 
 	@Override
 	public boolean hasDownstreams() {
-		DirectInner<T>[] s = subscribers;
-		return s != EMPTY && s != TERMINATED;
+		return subscribers.size() != 0 && !subscribers.isTerminated();
 	}
 
 	@Override
 	@Nullable
 	public Throwable getError() {
-		if (subscribers == TERMINATED) {
+		if (subscribers.isTerminated()) {
 			return error;
 		}
 		return null;
 	}
 
-	static final class DirectInner<T> implements InnerProducer<T> {
+	static final class DirectInner<T>
+			implements InnerProducer<T>, SubscriberRegistry.Entry {
+
+		@SuppressWarnings("unchecked")
+		static <T> DirectInner<T>[] newArray(int length) {
+			return new DirectInner[length];
+		}
 
 		final CoreSubscriber<? super T> actual;
 
@@ -289,6 +250,8 @@ public final class DirectProcessor<T> extends FluxProcessor<T, T> {
 
 		volatile boolean cancelled;
 
+		volatile int registryIndex = -1;
+
 		volatile long requested;
 		@SuppressWarnings("rawtypes")
 		static final AtomicLongFieldUpdater<DirectInner> REQUESTED =
@@ -328,6 +291,16 @@ public final class DirectProcessor<T> extends FluxProcessor<T, T> {
 			return actual;
 		}
 
+		@Override
+		public int registryIndex() {
+			return registryIndex;
+		}
+
+		@Override
+		public void registryIndex(int index) {
+			registryIndex = index;
+		}
+
 		void onNext(T value) {
 			if (requested != 0L) {
 				actual.onNext(value);
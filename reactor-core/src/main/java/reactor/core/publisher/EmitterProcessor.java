@@ -21,6 +21,7 @@ import java.util.Queue;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 import org.reactivestreams.Subscriber;
@@ -30,10 +31,9 @@ import reactor.core.Exceptions;
 import reactor.core.Fuseable;
 import reactor.core.Scannable;
 import reactor.util.annotation.Nullable;
+import reactor.util.concurrent.BatchQueue;
 import reactor.util.concurrent.Queues;
 
-import static reactor.core.publisher.FluxPublish.PublishSubscriber.EMPTY;
-import static reactor.core.publisher.FluxPublish.PublishSubscriber.TERMINATED;
 
 /**
  * An implementation of a message-passing Processor implementing
@@ -43,6 +43,10 @@ import static reactor.core.publisher.FluxPublish.PublishSubscriber.TERMINATED;
  * The default {@link #create} factories will only produce the new elements observed in
  * the parent sequence after a given {@link Subscriber} is subscribed.
  * <p>
+ * Each element is delivered to the {@link Subscriber Subscribers} one after the other,
+ * in the order they subscribed in, unless the processor was created with
+ * {@link #createForLargeFanOut(int, boolean)}.
+ * <p>
  * <p>
  * <img width="640" src="https://raw.githubusercontent.com/reactor/reactor-core/v3.1.3.RELEASE/src/docs/marble/emitter.png"
  * alt="">
@@ -104,10 +108,91 @@ public final class EmitterProcessor<T> extends FluxProcessor<T, T> {
 		return new EmitterProcessor<>(autoCancel, bufferSize);
 	}
 
+	/**
+	 * Create a new {@link EmitterProcessor} using the provided backlog size and
+	 * auto-cancellation, meant for a large number of {@link Subscriber Subscribers}
+	 * joining and leaving concurrently, which subscribe and unsubscribe without
+	 * contending on a single lock.
+	 * <p>
+	 * Elements are delivered to the Subscribers one after the other, but not necessarily
+	 * in the order they subscribed in when they did so from different threads.
+	 *
+	 * @param <E> Type of processed signals
+	 * @param bufferSize the internal buffer size to hold signals
+	 * @param autoCancel automatically cancel
+	 *
+	 * @return a fresh processor
+	 */
+	public static <E> EmitterProcessor<E> createForLargeFanOut(int bufferSize, boolean autoCancel) {
+		return new EmitterProcessor<>(autoCancel, bufferSize, false, null, true);
+	}
+
+	/**
+	 * Create a new {@link EmitterProcessor} using the provided backlog size and
+	 * auto-cancellation, that stops waiting for the subscribers found too slow by the
+	 * given {@link SlowSubscriberPolicy} instead of letting them hold back the others.
+	 *
+	 * @param <E> Type of processed signals
+	 * @param bufferSize the internal buffer size to hold signals
+	 * @param autoCancel automatically cancel
+	 * @param slowSubscriberPolicy the {@link SlowSubscriberPolicy} applied to lagging
+	 * subscribers
+	 *
+	 * @return a fresh processor
+	 */
+	public static <E> EmitterProcessor<E> create(int bufferSize, boolean autoCancel,
+			SlowSubscriberPolicy slowSubscriberPolicy) {
+		Objects.requireNonNull(slowSubscriberPolicy, "slowSubscriberPolicy");
+		return new EmitterProcessor<>(autoCancel, bufferSize, false, slowSubscriberPolicy);
+	}
+
+	/**
+	 * Create a new {@link EmitterProcessor} using the provided backlog size, with
+	 * auto-cancel, that can be fed by several threads calling {@link #onNext} concurrently.
+	 *
+	 * @param <E> Type of processed signals
+	 * @param bufferSize the internal buffer size to hold signals
+	 *
+	 * @return a fresh processor
+	 * @see #createMultiProducer(int, boolean)
+	 */
+	public static <E> EmitterProcessor<E> createMultiProducer(int bufferSize) {
+		return createMultiProducer(bufferSize, true);
+	}
+
+	/**
+	 * Create a new {@link EmitterProcessor} using the provided backlog size and
+	 * auto-cancellation, that can be fed by several threads calling {@link #onNext}
+	 * concurrently.
+	 * <p>
+	 * Instead of serializing the producers with {@link #serialize()}, the backlog is a
+	 * bounded multi-producer array queue: each producer claims a slot without locking nor
+	 * allocating, and waits for room when the backlog is full. {@link #onError} and
+	 * {@link #onComplete} must still only be called once all the producers are done.
+	 *
+	 * @param <E> Type of processed signals
+	 * @param bufferSize the internal buffer size to hold signals
+	 * @param autoCancel automatically cancel
+	 *
+	 * @return a fresh processor
+	 */
+	public static <E> EmitterProcessor<E> createMultiProducer(int bufferSize, boolean autoCancel) {
+		return new EmitterProcessor<>(autoCancel, bufferSize, true, null);
+	}
+
 	final int prefetch;
 
 	final boolean autoCancel;
 
+	final boolean multiProducer;
+
+	@Nullable
+	final SlowSubscriberPolicy slowSubscriberPolicy;
+
+	final Consumer<T> drainConsumer = this::drainNext;
+
+	FluxPublish.PubSubInner<T>[] drainSubscribers;
+
 	volatile Subscription s;
 	@SuppressWarnings("rawtypes")
 	static final AtomicReferenceFieldUpdater<EmitterProcessor, Subscription> S =
@@ -115,13 +200,7 @@ public final class EmitterProcessor<T> extends FluxProcessor<T, T> {
 					Subscription.class,
 					"s");
 
-	volatile FluxPublish.PubSubInner<T>[] subscribers;
-
-	@SuppressWarnings("rawtypes")
-	static final AtomicReferenceFieldUpdater<EmitterProcessor, FluxPublish.PubSubInner[]>
-			SUBSCRIBERS = AtomicReferenceFieldUpdater.newUpdater(EmitterProcessor.class,
-			FluxPublish.PubSubInner[].class,
-			"subscribers");
+	final SubscriberRegistry<FluxPublish.PubSubInner<T>> subscribers;
 
 	@SuppressWarnings("unused")
 	volatile int wip;
@@ -145,17 +224,30 @@ public final class EmitterProcessor<T> extends FluxProcessor<T, T> {
 					"error");
 
 	EmitterProcessor(boolean autoCancel, int prefetch) {
+		this(autoCancel, prefetch, false, null);
+	}
+
+	EmitterProcessor(boolean autoCancel, int prefetch, boolean multiProducer,
+			@Nullable SlowSubscriberPolicy slowSubscriberPolicy) {
+		this(autoCancel, prefetch, multiProducer, slowSubscriberPolicy, false);
+	}
+
+	EmitterProcessor(boolean autoCancel, int prefetch, boolean multiProducer,
+			@Nullable SlowSubscriberPolicy slowSubscriberPolicy, boolean largeFanOut) {
 		if (prefetch < 1) {
 			throw new IllegalArgumentException("bufferSize must be strictly positive, " + "was: " + prefetch);
 		}
 		this.autoCancel = autoCancel;
 		this.prefetch = prefetch;
-		SUBSCRIBERS.lazySet(this, EMPTY);
+		this.multiProducer = multiProducer;
+		this.slowSubscriberPolicy = slowSubscriberPolicy;
+		this.subscribers = new SubscriberRegistry<>(FluxPublish.PubSubInner::newArray,
+				largeFanOut);
 	}
 
 	@Override
 	public Stream<? extends Scannable> inners() {
-		return Stream.of(subscribers);
+		return Stream.of(subscribers.snapshot());
 	}
 
 	@Override
@@ -217,7 +309,7 @@ public final class EmitterProcessor<T> extends FluxProcessor<T, T> {
 				}
 			}
 
-			queue = Queues.<T>get(prefetch).get();
+			queue = newQueue();
 
 			s.request(Operators.unboundedOrPrefetch(prefetch));
 		}
@@ -242,7 +334,7 @@ public final class EmitterProcessor<T> extends FluxProcessor<T, T> {
 
 		if (q == null) {
 			if (Operators.setOnce(S, this, Operators.emptySubscription())) {
-				q = Queues.<T>get(prefetch).get();
+				q = newQueue();
 				queue = q;
 			}
 			else {
@@ -302,6 +394,11 @@ public final class EmitterProcessor<T> extends FluxProcessor<T, T> {
 		return Operators.cancelledSubscription() == s;
 	}
 
+	@Override
+	public boolean isSerialized() {
+		return multiProducer;
+	}
+
 	@Override
 	final public int getBufferSize() {
 		return prefetch;
@@ -328,6 +425,10 @@ public final class EmitterProcessor<T> extends FluxProcessor<T, T> {
 		return super.scanUnsafe(key);
 	}
 
+	Queue<T> newQueue() {
+		return multiProducer ? Queues.<T>mpsc(prefetch).get() : Queues.<T>get(prefetch).get();
+	}
+
 	final void drain() {
 		if (WIP.getAndIncrement(this) != 0) {
 			return;
@@ -347,9 +448,14 @@ public final class EmitterProcessor<T> extends FluxProcessor<T, T> {
 				return;
 			}
 
-			FluxPublish.PubSubInner<T>[] a = subscribers;
+			SlowSubscriberPolicy policy = slowSubscriberPolicy;
+			if (policy != null) {
+				policy.apply(subscribers.snapshot(), empty ? 0 : q.size(), this::drain);
+			}
 
-			if (a != EMPTY && !empty) {
+			FluxPublish.PubSubInner<T>[] a = subscribers.snapshot();
+
+			if (a.length != 0 && !empty) {
 				long maxRequested = Long.MAX_VALUE;
 
 				int len = a.length;
@@ -358,7 +464,9 @@ public final class EmitterProcessor<T> extends FluxProcessor<T, T> {
 				for (FluxPublish.PubSubInner<T> inner : a) {
 					long r = inner.requested;
 					if (r >= 0L) {
-						maxRequested = Math.min(maxRequested, r);
+						if (inner.lagMode == null) {
+							maxRequested = Math.min(maxRequested, r);
+						}
 					}
 					else { //Long.MIN == PublishInner.CANCEL_REQUEST
 						cancel++;
@@ -388,46 +496,67 @@ public final class EmitterProcessor<T> extends FluxProcessor<T, T> {
 
 				int e = 0;
 
-				while (e < maxRequested && cancel != Integer.MIN_VALUE) {
-					d = done;
-					T v;
-
-					try {
-						v = q.poll();
-					}
-					catch (Throwable ex) {
-						Exceptions.addThrowable(ERROR,
-								this, Operators.onOperatorError(s, ex, currentContext()));
-						d = true;
-						v = null;
+				if (sourceMode == Fuseable.NONE && q instanceof BatchQueue) {
+					if (maxRequested != 0L) {
+						//emit one chunk, then go around the outer loop to check for
+						//termination and to update the subscribers and their demand
+						int limit = (int) Math.min(maxRequested, prefetch);
+						drainSubscribers = a;
+						try {
+							e = ((BatchQueue<T>) q).drain(drainConsumer, limit);
+						}
+						finally {
+							drainSubscribers = null;
+						}
 					}
+				}
+				else {
+					while (e < maxRequested && cancel != Integer.MIN_VALUE) {
+						d = done;
+						T v;
 
-					empty = v == null;
+						try {
+							v = q.poll();
+						}
+						catch (Throwable ex) {
+							Exceptions.addThrowable(ERROR,
+									this, Operators.onOperatorError(s, ex, currentContext()));
+							d = true;
+							v = null;
+						}
 
-					if (checkTerminated(d, empty)) {
-						return;
-					}
+						empty = v == null;
 
-					if (empty) {
-						//async mode only needs to break but SYNC mode needs to perform terminal cleanup here...
-						if (sourceMode == Fuseable.SYNC) {
-							q.poll();
-							done = true;
-							checkTerminated(true, true);
+						if (checkTerminated(d, empty)) {
+							return;
 						}
-						break;
-					}
 
-					for (FluxPublish.PubSubInner<T> inner : a) {
-						inner.actual.onNext(v);
-						if (Operators.producedCancellable(FluxPublish
-										.PublishInner.REQUESTED, inner,
-								1) == Long.MIN_VALUE) {
-							cancel = Integer.MIN_VALUE;
+						if (empty) {
+							//async mode only needs to break but SYNC mode needs to perform terminal cleanup here...
+							if (sourceMode == Fuseable.SYNC) {
+								q.poll();
+								done = true;
+								checkTerminated(true, true);
+							}
+							break;
+						}
+
+						for (FluxPublish.PubSubInner<T> inner : a) {
+							if (inner.lagMode != null) {
+								inner.onNextLagging(v);
+							}
+							else {
+								inner.actual.onNext(v);
+								if (Operators.producedCancellable(FluxPublish
+												.PublishInner.REQUESTED, inner,
+										1) == Long.MIN_VALUE) {
+									cancel = Integer.MIN_VALUE;
+								}
+							}
 						}
-					}
 
-					e++;
+						e++;
+					}
 				}
 
 				if (e != 0 && sourceMode != Fuseable.SYNC) {
@@ -452,9 +581,27 @@ public final class EmitterProcessor<T> extends FluxProcessor<T, T> {
 		}
 	}
 
+	void drainNext(T v) {
+		for (FluxPublish.PubSubInner<T> inner : drainSubscribers) {
+			//skip the subscribers that cancelled during the chunk, they will be removed
+			//from the array before the next one
+			if (inner.lagMode != null) {
+				inner.onNextLagging(v);
+			}
+			else if (inner.requested != Long.MIN_VALUE) {
+				inner.actual.onNext(v);
+				Operators.producedCancellable(FluxPublish.PublishInner.REQUESTED, inner, 1);
+			}
+		}
+	}
+
 	@SuppressWarnings("unchecked")
 	FluxPublish.PubSubInner<T>[] terminate() {
-		return SUBSCRIBERS.getAndSet(this, TERMINATED);
+		FluxPublish.PubSubInner<T>[] inners = subscribers.terminate();
+		for (FluxPublish.PubSubInner<T> inner : inners) {
+			inner.clearLagState();
+		}
+		return inners;
 	}
 
 	boolean checkTerminated(boolean d, boolean empty) {
@@ -491,68 +638,25 @@ public final class EmitterProcessor<T> extends FluxProcessor<T, T> {
 	}
 
 	final boolean add(EmitterInner<T> inner) {
-		for (; ; ) {
-			FluxPublish.PubSubInner<T>[] a = subscribers;
-			if (a == TERMINATED) {
-				return false;
-			}
-			int n = a.length;
-			FluxPublish.PubSubInner<?>[] b = new FluxPublish.PubSubInner[n + 1];
-			System.arraycopy(a, 0, b, 0, n);
-			b[n] = inner;
-			if (SUBSCRIBERS.compareAndSet(this, a, b)) {
-				return true;
-			}
-		}
+		return subscribers.add(inner);
 	}
 
 	final void remove(FluxPublish.PubSubInner<T> inner) {
-		for (; ; ) {
-			FluxPublish.PubSubInner<T>[] a = subscribers;
-			if (a == TERMINATED || a == EMPTY) {
-				return;
-			}
-			int n = a.length;
-			int j = -1;
-			for (int i = 0; i < n; i++) {
-				if (a[i] == inner) {
-					j = i;
-					break;
-				}
-			}
-
-			if (j < 0) {
+		if (subscribers.remove(inner) == 0 && autoCancel && Operators.terminate(S, this)) {
+			if (WIP.getAndIncrement(this) != 0) {
 				return;
 			}
-
-			FluxPublish.PubSubInner<?>[] b;
-			if (n == 1) {
-				b = EMPTY;
-			}
-			else {
-				b = new FluxPublish.PubSubInner<?>[n - 1];
-				System.arraycopy(a, 0, b, 0, j);
-				System.arraycopy(a, j + 1, b, j, n - j - 1);
-			}
-			if (SUBSCRIBERS.compareAndSet(this, a, b)) {
-				if (autoCancel && b == EMPTY && Operators.terminate(S, this)) {
-					if (WIP.getAndIncrement(this) != 0) {
-						return;
-					}
-					terminate();
-					Queue<T> q = queue;
-					if (q != null) {
-						q.clear();
-					}
-				}
+			terminate();
+			Queue<T> q = queue;
+			if (q != null) {
+				q.clear();
 			}
-			return;
 		}
 	}
 
 	@Override
 	public long downstreamCount() {
-		return subscribers.length;
+		return subscribers.size();
 	}
 
 	static final class EmitterInner<T> extends FluxPublish.PubSubInner<T> {
@@ -564,6 +668,11 @@ public final class EmitterProcessor<T> extends FluxProcessor<T, T> {
 			this.parent = parent;
 		}
 
+		@Override
+		int parentPending() {
+			return parent.getPending();
+		}
+
 		@Override
 		void drainParent() {
 			parent.drain();
@@ -17,6 +17,7 @@ package reactor.core.publisher;
 
 import java.io.Serializable;
 import java.time.Duration;
+import java.util.Collection;
 import java.util.Objects;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -443,6 +444,38 @@ abstract class EventLoopProcessor<IN> extends FluxProcessor<IN, IN>
 		ringBuffer.publish(seqId);
 	}
 
+	/**
+	 * Signal all the given values, in order, as if {@link #onNext(Object)} had been
+	 * called for each of them, but claiming and publishing the ring buffer slots in
+	 * batches of up to the buffer size so that subscribers are only woken up once per
+	 * batch. The same producer rules as {@link #onNext(Object)} apply: this processor
+	 * must have been created {@link #isSerialized() shared} if several threads emit
+	 * concurrently.
+	 *
+	 * @param values the values to signal, none of which can be null
+	 */
+	public final void onNextAll(Collection<? extends IN> values) {
+		Objects.requireNonNull(values, "values");
+		Object[] a = values.toArray();
+		for (Object o : a) {
+			Objects.requireNonNull(o, "onNextAll");
+		}
+
+		int bufferSize = ringBuffer.bufferSize();
+		int offset = 0;
+		while (offset < a.length) {
+			int n = Math.min(a.length - offset, bufferSize);
+			long hi = ringBuffer.next(n);
+			long lo = hi - (n - 1);
+			for (long seqId = lo; seqId <= hi; seqId++) {
+				@SuppressWarnings("unchecked")
+				IN value = (IN) a[offset++];
+				ringBuffer.get(seqId).value = value;
+			}
+			ringBuffer.publish(lo, hi);
+		}
+	}
+
 	@Override
 	final public void onSubscribe(final Subscription s) {
 		if (Operators.validate(upstreamSubscription, s)) {
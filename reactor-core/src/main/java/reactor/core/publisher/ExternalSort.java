@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.publisher;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+import org.reactivestreams.Publisher;
+import reactor.core.Exceptions;
+import reactor.util.annotation.Nullable;
+import reactor.util.concurrent.Queues;
+
+/**
+ * Sorts sequences that don't fit on the heap: the source is cut into runs of at most
+ * {@code maxInMemory} values that are sorted in memory and spilled to temporary files
+ * as length-prefixed serialized records, then the runs are read back lazily and merged
+ * with {@link FluxMergeOrdered}, which honors backpressure.
+ * <p>
+ * Only a run that ends before being full, which can only be the last one, is kept in
+ * memory instead of being spilled, so that short sequences never touch the disk. The
+ * temporary files are deleted once the sorted sequence terminates or is cancelled.
+ */
+final class ExternalSort {
+
+	static <T> Flux<T> sort(Flux<T> source,
+			Comparator<? super T> comparator,
+			int maxInMemory,
+			Path spillDirectory,
+			Function<? super T, byte[]> serializer,
+			Function<byte[], ? extends T> deserializer) {
+		return Flux.using(() -> new Runs<T>(maxInMemory, spillDirectory, serializer, deserializer),
+				runs -> source.buffer(maxInMemory)
+				              .doOnNext(run -> {
+					              run.sort(comparator);
+					              runs.add(run);
+				              })
+				              .thenMany(Flux.defer(() -> runs.merge(comparator))),
+				Runs::delete);
+	}
+
+	/**
+	 * The sorted runs of a single subscription.
+	 */
+	static final class Runs<T> {
+
+		final int                           maxInMemory;
+		final Path                          directory;
+		final Function<? super T, byte[]>   serializer;
+		final Function<byte[], ? extends T> deserializer;
+		final List<Path>                    files = new ArrayList<>();
+		final List<Integer>                 sizes = new ArrayList<>();
+
+		@Nullable
+		List<T> last;
+
+		Runs(int maxInMemory,
+				Path directory,
+				Function<? super T, byte[]> serializer,
+				Function<byte[], ? extends T> deserializer) {
+			this.maxInMemory = maxInMemory;
+			this.directory = directory;
+			this.serializer = serializer;
+			this.deserializer = deserializer;
+		}
+
+		synchronized void add(List<T> run) {
+			if (run.size() < maxInMemory) {
+				last = run;
+				return;
+			}
+			try {
+				Path file = Files.createTempFile(directory, "reactor-sort-", ".run");
+				files.add(file);
+				sizes.add(run.size());
+				try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+					for (T value : run) {
+						byte[] bytes = Objects.requireNonNull(serializer.apply(value),
+								"The serializer returned a null value");
+						out.writeInt(bytes.length);
+						out.write(bytes);
+					}
+				}
+			}
+			catch (IOException e) {
+				throw Exceptions.propagate(e);
+			}
+		}
+
+		Flux<T> merge(Comparator<? super T> comparator) {
+			List<T> last = this.last;
+			int n = files.size();
+			if (n == 0) {
+				return last == null ? Flux.empty() : Flux.fromIterable(last);
+			}
+
+			@SuppressWarnings({"unchecked", "rawtypes"})
+			Publisher<T>[] sources = new Publisher[last == null ? n : n + 1];
+			for (int i = 0; i < n; i++) {
+				sources[i] = read(files.get(i), sizes.get(i));
+			}
+			if (last != null) {
+				sources[n] = Flux.fromIterable(last);
+			}
+			return Flux.mergeOrdered(Queues.SMALL_BUFFER_SIZE, comparator, sources);
+		}
+
+		Flux<T> read(Path file, int size) {
+			return Flux.generate(() -> new RunReader(new DataInputStream(new BufferedInputStream(Files.newInputStream(file))), size),
+					(reader, sink) -> {
+						if (reader.remaining == 0) {
+							sink.complete();
+							return reader;
+						}
+						try {
+							byte[] bytes = new byte[reader.in.readInt()];
+							reader.in.readFully(bytes);
+							reader.remaining--;
+							sink.next(Objects.requireNonNull(deserializer.apply(bytes),
+									"The deserializer returned a null value"));
+						}
+						catch (IOException e) {
+							sink.error(e);
+						}
+						return reader;
+					},
+					RunReader::close);
+		}
+
+		synchronized void delete() {
+			for (Path file : files) {
+				try {
+					Files.deleteIfExists(file);
+				}
+				catch (IOException e) {
+					file.toFile().deleteOnExit();
+				}
+			}
+			files.clear();
+			last = null;
+		}
+	}
+
+	static final class RunReader {
+
+		final DataInputStream in;
+
+		int remaining;
+
+		RunReader(DataInputStream in, int remaining) {
+			this.in = in;
+			this.remaining = remaining;
+		}
+
+		void close() {
+			try {
+				in.close();
+			}
+			catch (IOException e) {
+				//ignore, the file is deleted once the merge terminates
+			}
+		}
+	}
+}
@@ -16,6 +16,7 @@
 
 package reactor.core.publisher;
 
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -42,6 +43,7 @@ import java.util.function.Function;
 import java.util.function.LongConsumer;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
 import java.util.logging.Level;
 import java.util.stream.Collector;
 import java.util.stream.Stream;
@@ -61,6 +63,7 @@ import reactor.core.scheduler.Schedulers;
 import reactor.util.Logger;
 import reactor.util.annotation.Nullable;
 import reactor.util.concurrent.Queues;
+import reactor.util.concurrent.WaitStrategy;
 import reactor.util.context.Context;
 import reactor.util.function.Tuple2;
 import reactor.util.function.Tuple3;
@@ -696,6 +699,45 @@ public abstract class Flux<T> implements Publisher<T> {
 		return onAssembly(new FluxCreate<>(emitter, backpressure, FluxCreate.CreateMode.PUSH_PULL));
 	}
 
+	/**
+	 * Programmatically create a {@link Flux} with the capability of emitting multiple
+	 * elements from several threads at once through the {@link FluxSink} API.
+	 * <p>
+	 * Unlike {@link #create(Consumer)}, the {@link FluxSink} isn't serialized: signals
+	 * are buffered in a bounded multi-producer queue of {@code bufferSize} elements,
+	 * where each {@link FluxSink#next(Object)} claims a slot without locking nor
+	 * allocating, and the values are emitted in chunks when the downstream requests
+	 * them. While the buffer is full, {@link FluxSink#next(Object)} waits for room,
+	 * so it should not be called from the downstream's own signals.
+	 * {@link FluxSink#complete()} and {@link FluxSink#error(Throwable)} must only be
+	 * called once all the producers are done.
+	 * <p>
+	 * For example:
+	 *
+	 * <pre><code>
+	 * Flux.&lt;Metric&gt;createMultiProducer(emitter -&gt; {
+	 *
+	 *     MetricListener ml = emitter::next; // called from many threads
+	 *
+	 *     registry.addListener(ml);
+	 *     emitter.onDispose(() -> {
+	 *         registry.removeListener(ml);
+	 *     });
+	 * }, 1024);
+	 * </code></pre>
+	 *
+	 * @reactor.discard The {@link FluxSink} exposed by this operator discards the buffer
+	 * and the values of waiting producers when the main sequence is cancelled.
+	 *
+	 * @param <T> The type of values in the sequence
+	 * @param emitter Consume the {@link FluxSink} provided per-subscriber by Reactor to generate signals.
+	 * @param bufferSize the capacity of the buffer, rounded up to the next power of 2
+	 * @return a {@link Flux}
+	 */
+	public static <T> Flux<T> createMultiProducer(Consumer<? super FluxSink<T>> emitter, int bufferSize) {
+		return onAssembly(new FluxCreate<>(emitter, OverflowStrategy.BUFFER, FluxCreate.CreateMode.MULTI_PRODUCER, bufferSize));
+	}
+
 	/**
 	 * Programmatically create a {@link Flux} with the capability of emitting multiple
 	 * elements from a single-threaded producer through the {@link FluxSink} API.
@@ -1612,6 +1654,7 @@ public abstract class Flux<T> implements Publisher<T> {
 	 * @param start the first integer to be emit
 	 * @param count the total number of incrementing values to emit, including the first value
 	 * @return a ranged {@link Flux}
+	 * @see LongFlux#range(long, long) to filter, transform and reduce the values without boxing them
 	 */
 	public static Flux<Integer> range(int start, int count) {
 		if (count == 1) {
@@ -2647,6 +2690,58 @@ public abstract class Flux<T> implements Publisher<T> {
 				.delay(timespan, timer));
 	}
 
+	/**
+	 * Collect incoming values into multiple {@link List} buffers whose elements cumulate
+	 * a weight of at most {@code maxWeight}, as computed by the given {@code weigher}.
+	 * A buffer is emitted by the returned {@link Flux} once its elements reach
+	 * {@code maxWeight}, right before an element that would make it exceed
+	 * {@code maxWeight} OR once the {@code maxTime} {@link Duration} elapses since its
+	 * first element (as measured on the {@link Schedulers#parallel() parallel} Scheduler).
+	 * An element heavier than {@code maxWeight} is emitted alone in its own buffer.
+	 * <p>
+	 * Buffers are only emitted when requested: a buffer that is ready while there is no
+	 * pending request is held until the next one.
+	 *
+	 * @reactor.discard This operator discards the currently open buffer and the values it
+	 * queued for backpressure upon cancellation or error triggered by a data signal.
+	 *
+	 * @param maxWeight the maximum cumulated weight of the elements of a buffer
+	 * @param weigher the function computing the non-negative weight of each element, e.g. its size in bytes
+	 * @param maxTime the timeout enforcing the release of a partial buffer
+	 *
+	 * @return a microbatched {@link Flux} of {@link List} delimited by given weight or a given period timeout
+	 */
+	public final Flux<List<T>> bufferByWeight(long maxWeight, ToLongFunction<? super T> weigher, Duration maxTime) {
+		return bufferByWeight(maxWeight, weigher, maxTime, Schedulers.parallel());
+	}
+
+	/**
+	 * Collect incoming values into multiple {@link List} buffers whose elements cumulate
+	 * a weight of at most {@code maxWeight}, as computed by the given {@code weigher}.
+	 * A buffer is emitted by the returned {@link Flux} once its elements reach
+	 * {@code maxWeight}, right before an element that would make it exceed
+	 * {@code maxWeight} OR once the {@code maxTime} {@link Duration} elapses since its
+	 * first element (as measured on the provided {@link Scheduler}).
+	 * An element heavier than {@code maxWeight} is emitted alone in its own buffer.
+	 * <p>
+	 * Buffers are only emitted when requested: a buffer that is ready while there is no
+	 * pending request is held until the next one.
+	 *
+	 * @reactor.discard This operator discards the currently open buffer and the values it
+	 * queued for backpressure upon cancellation or error triggered by a data signal.
+	 *
+	 * @param maxWeight the maximum cumulated weight of the elements of a buffer
+	 * @param weigher the function computing the non-negative weight of each element, e.g. its size in bytes
+	 * @param maxTime the timeout enforcing the release of a partial buffer
+	 * @param timer a time-capable {@link Scheduler} instance to run on
+	 *
+	 * @return a microbatched {@link Flux} of {@link List} delimited by given weight or a given period timeout
+	 */
+	public final Flux<List<T>> bufferByWeight(long maxWeight, ToLongFunction<? super T> weigher,
+			Duration maxTime, Scheduler timer) {
+		return onAssembly(new FluxBufferTimeout<>(this, maxWeight, weigher, maxTime.toMillis(), timer, listSupplier()));
+	}
+
 	/**
 	 * Collect incoming values into multiple {@link List} buffers that will be emitted
 	 * by the returned {@link Flux} each time the buffer reaches a maximum size OR the
@@ -2729,6 +2824,65 @@ public abstract class Flux<T> implements Publisher<T> {
 		return onAssembly(new FluxBufferTimeout<>(this, maxSize, timespan.toMillis(), timer, bufferSupplier));
 	}
 
+	/**
+	 * Collect incoming values into multiple {@link List} buffers that will be emitted
+	 * by the returned {@link Flux} each time the buffer reaches a maximum size OR the
+	 * timespan {@link Duration} elapses, as measured on the provided {@link Scheduler}.
+	 * <p>
+	 * With {@code fairBackpressure}, a buffer is never emitted without downstream demand:
+	 * a buffer that times out or fills up while there is no pending request is held
+	 * until the next one, and the source is only requested enough values to fill the
+	 * requested buffers. Otherwise, a timed out buffer that cannot be emitted for lack
+	 * of requests terminates the sequence with an overflow error, as in
+	 * {@link #bufferTimeout(int, Duration, Scheduler)}.
+	 * <p>
+	 * <img class="marble" src="https://raw.githubusercontent.com/reactor/reactor-core/v3.1.3.RELEASE/src/docs/marble/buffertimespansize.png"
+	 * alt="">
+	 *
+	 * @reactor.discard This operator discards the currently open buffer upon cancellation or error triggered by a data signal.
+	 *
+	 * @param maxSize the max collected size
+	 * @param timespan the timeout enforcing the release of a partial buffer
+	 * @param timer a time-capable {@link Scheduler} instance to run on
+	 * @param fairBackpressure true to hold buffers until there is demand for them
+	 *
+	 * @return a microbatched {@link Flux} of {@link List} delimited by given size or a given period timeout
+	 */
+	public final Flux<List<T>> bufferTimeout(int maxSize, Duration timespan, Scheduler timer, boolean fairBackpressure) {
+		int initialCapacity = Math.min(maxSize, Queues.SMALL_BUFFER_SIZE);
+		return bufferTimeout(maxSize, timespan, timer, () -> new ArrayList<>(initialCapacity), fairBackpressure);
+	}
+
+	/**
+	 * Collect incoming values into multiple user-defined {@link Collection} buffers that
+	 * will be emitted by the returned {@link Flux} each time the buffer reaches a maximum
+	 * size OR the timespan {@link Duration} elapses, as measured on the provided {@link Scheduler}.
+	 * <p>
+	 * With {@code fairBackpressure}, a buffer is never emitted without downstream demand:
+	 * a buffer that times out or fills up while there is no pending request is held
+	 * until the next one, and the source is only requested enough values to fill the
+	 * requested buffers. Otherwise, a timed out buffer that cannot be emitted for lack
+	 * of requests terminates the sequence with an overflow error, as in
+	 * {@link #bufferTimeout(int, Duration, Scheduler, Supplier)}.
+	 * <p>
+	 * <img class="marble" src="https://raw.githubusercontent.com/reactor/reactor-core/v3.1.3.RELEASE/src/docs/marble/buffertimespansize.png"
+	 * alt="">
+	 *
+	 * @reactor.discard This operator discards the currently open buffer upon cancellation or error triggered by a data signal.
+	 *
+	 * @param maxSize the max collected size
+	 * @param timespan the timeout enforcing the release of a partial buffer
+	 * @param timer a time-capable {@link Scheduler} instance to run on
+	 * @param bufferSupplier a {@link Supplier} of the concrete {@link Collection} to use for each buffer
+	 * @param fairBackpressure true to hold buffers until there is demand for them
+	 * @param <C> the {@link Collection} buffer type
+	 * @return a microbatched {@link Flux} of {@link Collection} delimited by given size or a given period timeout
+	 */
+	public final  <C extends Collection<? super T>> Flux<C> bufferTimeout(int maxSize, Duration timespan,
+			Scheduler timer, Supplier<C> bufferSupplier, boolean fairBackpressure) {
+		return onAssembly(new FluxBufferTimeout<>(this, maxSize, timespan.toMillis(), timer, bufferSupplier, fairBackpressure));
+	}
+
 	/**
 	 * Collect incoming values into multiple {@link List} buffers that will be emitted by
 	 * the resulting {@link Flux} each time the given predicate returns true. Note that
@@ -3962,6 +4116,125 @@ public abstract class Flux<T> implements Publisher<T> {
 		return onAssembly(new FluxDistinct<>(this, keySelector, distinctStoreSupplier, distinctPredicate, cleanup));
 	}
 
+	/**
+	 * For each {@link Subscriber}, track the keys of the elements from this {@link Flux}
+	 * that have been seen recently and filter out duplicates. At most {@code maxSize}
+	 * keys are retained: when a new key is seen, the least recently seen key is forgotten
+	 * if needed, so that duplicates are only detected among the {@code maxSize} most
+	 * recently seen keys. This bounds the memory used on infinite sequences.
+	 *
+	 * <p>
+	 * <img class="marble" src="https://raw.githubusercontent.com/reactor/reactor-core/v3.1.3.RELEASE/src/docs/marble/distinctk.png" alt="">
+	 *
+	 * @reactor.discard This operator discards elements that don't match the distinct predicate.
+	 *
+	 * @param keySelector function to compute comparison key for each element
+	 * @param maxSize the maximum number of keys to retain
+	 *
+	 * @param <V> the type of the key extracted from each value in this sequence
+	 *
+	 * @return a filtering {@link Flux} only emitting values with keys not recently seen
+	 */
+	public final <V> Flux<T> distinct(Function<? super T, ? extends V> keySelector, int maxSize) {
+		if (maxSize <= 0) {
+			throw new IllegalArgumentException("maxSize > 0 required but it was " + maxSize);
+		}
+		return distinct(keySelector, () -> new FluxDistinct.LruStore<V>(maxSize),
+				FluxDistinct.LruStore::add, FluxDistinct.LruStore::clear);
+	}
+
+	/**
+	 * For each {@link Subscriber}, track the keys of the elements from this {@link Flux}
+	 * that have been seen during the last {@code ttl} and filter out duplicates. A key
+	 * is forgotten once {@code ttl} has elapsed since it was first seen (as measured on
+	 * the {@link Schedulers#parallel() parallel} Scheduler), which bounds the memory used
+	 * on infinite sequences to the keys seen during that period.
+	 *
+	 * <p>
+	 * <img class="marble" src="https://raw.githubusercontent.com/reactor/reactor-core/v3.1.3.RELEASE/src/docs/marble/distinctk.png" alt="">
+	 *
+	 * @reactor.discard This operator discards elements that don't match the distinct predicate.
+	 *
+	 * @param keySelector function to compute comparison key for each element
+	 * @param ttl the {@link Duration} during which a key is retained after it was first seen
+	 *
+	 * @param <V> the type of the key extracted from each value in this sequence
+	 *
+	 * @return a filtering {@link Flux} only emitting values with keys not seen during the last {@code ttl}
+	 */
+	public final <V> Flux<T> distinct(Function<? super T, ? extends V> keySelector, Duration ttl) {
+		return distinct(keySelector, ttl, Schedulers.parallel());
+	}
+
+	/**
+	 * For each {@link Subscriber}, track the keys of the elements from this {@link Flux}
+	 * that have been seen during the last {@code ttl} and filter out duplicates. A key
+	 * is forgotten once {@code ttl} has elapsed since it was first seen (as measured on
+	 * the provided {@link Scheduler}), which bounds the memory used on infinite sequences
+	 * to the keys seen during that period.
+	 *
+	 * <p>
+	 * <img class="marble" src="https://raw.githubusercontent.com/reactor/reactor-core/v3.1.3.RELEASE/src/docs/marble/distinctk.png" alt="">
+	 *
+	 * @reactor.discard This operator discards elements that don't match the distinct predicate.
+	 *
+	 * @param keySelector function to compute comparison key for each element
+	 * @param ttl the {@link Duration} during which a key is retained after it was first seen
+	 * @param clock a time-capable {@link Scheduler} instance to measure time with
+	 *
+	 * @param <V> the type of the key extracted from each value in this sequence
+	 *
+	 * @return a filtering {@link Flux} only emitting values with keys not seen during the last {@code ttl}
+	 */
+	public final <V> Flux<T> distinct(Function<? super T, ? extends V> keySelector, Duration ttl, Scheduler clock) {
+		long ttlMillis = ttl.toMillis();
+		if (ttlMillis <= 0) {
+			throw new IllegalArgumentException("ttl must be at least 1ms but it was " + ttl);
+		}
+		Objects.requireNonNull(clock, "clock");
+		return distinct(keySelector, () -> new FluxDistinct.TtlStore<V>(ttlMillis, clock),
+				FluxDistinct.TtlStore::add, FluxDistinct.TtlStore::clear);
+	}
+
+	/**
+	 * For each {@link Subscriber}, filter out the elements from this {@link Flux} whose
+	 * key has probably been seen already, using a Bloom filter over the keys
+	 * {@link Object#hashCode() hash codes} that takes a constant amount of memory.
+	 * <p>
+	 * A key is never reported as new if it was seen recently, but a new key can be
+	 * mistaken for a duplicate and filtered out, with a probability of at most
+	 * {@code fpp} as long as the keys have well distributed hash codes. The filter
+	 * is sized for {@code expectedInsertions} keys and only remembers between
+	 * {@code expectedInsertions} and twice as many of the most recently seen keys, so it
+	 * can be used on infinite sequences. These keys are split into two generations that
+	 * are each sized for half of {@code fpp}, so that checking a key against both stays
+	 * within {@code fpp}.
+	 *
+	 * <p>
+	 * <img class="marble" src="https://raw.githubusercontent.com/reactor/reactor-core/v3.1.3.RELEASE/src/docs/marble/distinctk.png" alt="">
+	 *
+	 * @reactor.discard This operator discards elements that don't match the distinct predicate.
+	 *
+	 * @param keySelector function to compute comparison key for each element
+	 * @param expectedInsertions the number of keys to remember with the given false positive probability
+	 * @param fpp the false positive probability, strictly between 0 and 1
+	 *
+	 * @param <V> the type of the key extracted from each value in this sequence
+	 *
+	 * @return a filtering {@link Flux} only emitting values with keys probably not recently seen
+	 */
+	public final <V> Flux<T> distinctApprox(Function<? super T, ? extends V> keySelector,
+			long expectedInsertions, double fpp) {
+		if (expectedInsertions <= 0) {
+			throw new IllegalArgumentException("expectedInsertions > 0 required but it was " + expectedInsertions);
+		}
+		if (!(fpp > 0d && fpp < 1d)) {
+			throw new IllegalArgumentException("fpp must be strictly between 0 and 1 but it was " + fpp);
+		}
+		return distinct(keySelector, () -> new FluxDistinct.BloomStore(expectedInsertions, fpp),
+				FluxDistinct.BloomStore::add, FluxDistinct.BloomStore::clear);
+	}
+
 	/**
 	 * Filter out subsequent repetitions of an element (that is, if they arrive right after
 	 * one another).
@@ -5104,6 +5377,74 @@ public abstract class Flux<T> implements Publisher<T> {
 				Queues.unbounded(prefetch), prefetch));
 	}
 
+	/**
+	 * Divide this sequence into dynamically created {@link Flux} (or groups) for each
+	 * unique key, as produced by the provided keyMapper {@link Function}, keeping at
+	 * most {@code maxGroups} groups open at a time. This makes it suitable for a high
+	 * cardinality of keys, eg. to build sessions out of user events.
+	 * <p>
+	 * A group that didn't receive any value for {@code idleTimeout}, as measured by the
+	 * {@link Schedulers#parallel() parallel} Scheduler, is completed. When a value with a
+	 * new key arrives while {@code maxGroups} groups are open, the group that received a
+	 * value the least recently is completed to make room. Values already routed to a
+	 * completed group are still delivered to its subscriber, and a later value with the
+	 * same key opens a new group.
+	 *
+	 * <p>
+	 * <img class="marble" src="https://raw.githubusercontent.com/reactor/reactor-core/v3.1.3.RELEASE/src/docs/marble/groupby.png" alt="">
+	 *
+	 * <p>
+	 * The groups still need to be drained and consumed downstream, as for
+	 * {@link #groupBy(Function)}.
+	 *
+	 * @param keyMapper the key mapping {@link Function} that evaluates an incoming data and returns a key.
+	 * @param maxGroups the maximum number of groups open at the same time
+	 * @param idleTimeout the time after which a group without new values is completed
+	 * @param <K> the key type extracted from each value of this sequence
+	 *
+	 * @return a {@link Flux} of {@link GroupedFlux} grouped sequences
+	 */
+	public final <K> Flux<GroupedFlux<K, T>> groupBy(Function<? super T, ? extends K> keyMapper,
+			int maxGroups, Duration idleTimeout) {
+		return groupBy(keyMapper, maxGroups, idleTimeout, Schedulers.parallel());
+	}
+
+	/**
+	 * Divide this sequence into dynamically created {@link Flux} (or groups) for each
+	 * unique key, as produced by the provided keyMapper {@link Function}, keeping at
+	 * most {@code maxGroups} groups open at a time. This makes it suitable for a high
+	 * cardinality of keys, eg. to build sessions out of user events.
+	 * <p>
+	 * A group that didn't receive any value for {@code idleTimeout}, as measured by the
+	 * provided {@link Scheduler}, is completed. When a value with a new key arrives while
+	 * {@code maxGroups} groups are open, the group that received a value the least
+	 * recently is completed to make room. Values already routed to a completed group are
+	 * still delivered to its subscriber, and a later value with the same key opens a new
+	 * group.
+	 *
+	 * <p>
+	 * <img class="marble" src="https://raw.githubusercontent.com/reactor/reactor-core/v3.1.3.RELEASE/src/docs/marble/groupby.png" alt="">
+	 *
+	 * <p>
+	 * The groups still need to be drained and consumed downstream, as for
+	 * {@link #groupBy(Function)}.
+	 *
+	 * @param keyMapper the key mapping {@link Function} that evaluates an incoming data and returns a key.
+	 * @param maxGroups the maximum number of groups open at the same time
+	 * @param idleTimeout the time after which a group without new values is completed
+	 * @param timer a time-capable {@link Scheduler} instance to measure idleness on
+	 * @param <K> the key type extracted from each value of this sequence
+	 *
+	 * @return a {@link Flux} of {@link GroupedFlux} grouped sequences
+	 */
+	public final <K> Flux<GroupedFlux<K, T>> groupBy(Function<? super T, ? extends K> keyMapper,
+			int maxGroups, Duration idleTimeout, Scheduler timer) {
+		return onAssembly(new FluxGroupBy<>(this, keyMapper, identityFunction(),
+				Queues.unbounded(Queues.SMALL_BUFFER_SIZE),
+				Queues.unbounded(Queues.SMALL_BUFFER_SIZE), Queues.SMALL_BUFFER_SIZE,
+				maxGroups, idleTimeout.toMillis(), Objects.requireNonNull(timer, "timer")));
+	}
+
 	/**
 	 * Map values from two Publishers into time windows and emit combination of values
 	 * in case their windows overlap. The emitted elements are obtained by passing the
@@ -5926,6 +6267,42 @@ public abstract class Flux<T> implements Publisher<T> {
 		return onAssembly(new FluxOnBackpressureBufferTimeout<>(this, ttl, scheduler, maxSize, onBufferEviction));
 	}
 
+	/**
+	 * Request an unbounded demand and push to the returned {@link Flux}, or park the
+	 * observed elements if not enough demand is requested downstream. Up to
+	 * {@code maxInMemory} elements are kept on the heap, the rest of the backlog is
+	 * serialized into segment files created in {@code spillDirectory},
+	 * then deserialized and replayed in order once demand returns. Errors will be
+	 * delayed until the buffer gets consumed.
+	 * <p>
+	 * Segment files are deleted once all of their elements have been emitted, or upon
+	 * cancellation or error. Serialization and I/O errors terminate the sequence with
+	 * an error, as with a failing {@link #map(Function)} function.
+	 *
+	 * <p>
+	 * <img class="marble" src="https://raw.githubusercontent.com/reactor/reactor-core/v3.1.3.RELEASE/src/docs/marble/onbackpressurebuffer.png" alt="">
+	 *
+	 * @reactor.discard This operator discards the buffered overflow elements upon cancellation or error triggered by a data signal,
+	 * deserializing spilled elements only if a discard hook is set.
+	 *
+	 * @param maxInMemory maximum number of elements kept on the heap before spilling
+	 * @param spillDirectory the directory in which to create the segment files
+	 * @param serializer the {@link Function} turning an element into bytes
+	 * @param deserializer the {@link Function} turning bytes back into an element
+	 *
+	 * @return a backpressured {@link Flux} that buffers with unbounded capacity and
+	 * bounded heap usage
+	 */
+	public final Flux<T> onBackpressureBuffer(int maxInMemory, Path spillDirectory,
+			Function<? super T, byte[]> serializer, Function<byte[], ? extends T> deserializer) {
+		Objects.requireNonNull(spillDirectory, "spillDirectory");
+		Objects.requireNonNull(serializer, "serializer");
+		Objects.requireNonNull(deserializer, "deserializer");
+		return onAssembly(new FluxOnBackpressureBuffer<>(this, maxInMemory, true, null,
+				() -> new SpillingQueue<>(maxInMemory, spillDirectory,
+						SpillingQueue.DEFAULT_SEGMENT_SIZE, serializer, deserializer)));
+	}
+
 	/**
 	 * Request an unbounded demand and push to the returned {@link Flux}, or drop
 	 * the observed elements if not enough demand is requested downstream.
@@ -6407,6 +6784,35 @@ public abstract class Flux<T> implements Publisher<T> {
 				.get(prefetch)));
 	}
 
+	/**
+	 * Prepare a {@link ConnectableFlux} which shares this {@link Flux} sequence and
+	 * dispatches values to subscribers in a backpressure-aware manner, without letting
+	 * slow subscribers hold back the others. This will effectively turn any type of
+	 * sequence into a hot sequence.
+	 * <p>
+	 * Backpressure will be coordinated on {@link Subscription#request} and if any
+	 * {@link Subscriber} is missing demand (requested = 0), multicast will pause
+	 * pushing/pulling, until the given {@link SlowSubscriberPolicy} finds that
+	 * subscriber too slow and either disconnects it with an error or stops waiting for it.
+	 * <p>
+	 * <img width="500" src="https://raw.githubusercontent.com/reactor/reactor-core/v3.1.3.RELEASE/src/docs/marble/publish.png" alt="">
+	 *
+	 * @reactor.discard This operator discards the values that slow subscribers in
+	 * {@link FluxSink.OverflowStrategy#DROP} or {@link FluxSink.OverflowStrategy#LATEST}
+	 * mode have no demand for.
+	 *
+	 * @param prefetch bounded requested demand
+	 * @param slowSubscriberPolicy the {@link SlowSubscriberPolicy} applied to lagging
+	 * subscribers
+	 *
+	 * @return a new {@link ConnectableFlux}
+	 */
+	public final ConnectableFlux<T> publish(int prefetch, SlowSubscriberPolicy slowSubscriberPolicy) {
+		Objects.requireNonNull(slowSubscriberPolicy, "slowSubscriberPolicy");
+		return onAssembly(new FluxPublish<>(this, prefetch, Queues.get(prefetch),
+				slowSubscriberPolicy));
+	}
+
 	/**
 	 * Shares a sequence for the duration of a function that may transform it and
 	 * consume it as many times as necessary without causing multiple subscriptions
@@ -6528,6 +6934,57 @@ public abstract class Flux<T> implements Publisher<T> {
 		return publishOn(scheduler, delayError, prefetch, prefetch);
 	}
 
+	/**
+	 * Run onNext, onComplete and onError on a supplied {@link Scheduler}
+	 * {@link Worker}, keeping the worker busy for a while between bursts of signals.
+	 * <p>
+	 * This operator influences the threading context where the rest of the operators in
+	 * the chain below it will execute, up to a new occurrence of {@code publishOn}.
+	 * <p>
+	 * Once it has caught up with the source, the task delivering signals on the worker
+	 * waits for more with the given {@link WaitStrategy}, for up to {@code maxIdle},
+	 * before giving the worker thread back. Signals arriving during that time are
+	 * delivered without submitting a new task to the {@link Scheduler}, which trades
+	 * some CPU for fewer submissions on bursty sequences. Other tasks sharing the same
+	 * worker thread may be delayed by up to {@code maxIdle}.
+	 * <p>
+	 * The strategy must run its spin observer while waiting, as that is how the wait
+	 * ends once {@code maxIdle} has elapsed: spinning, yielding, sleeping or parking
+	 * strategies like {@link WaitStrategy#phasedOffSleep(long, long, java.util.concurrent.TimeUnit)}
+	 * are accepted, while the lock based ones, which {@link WaitStrategy#isBlocking(WaitStrategy)},
+	 * are rejected as they would hold the worker thread for as long as the source stays
+	 * quiet.
+	 * <p>
+	 * <img class="marble" src="https://raw.githubusercontent.com/reactor/reactor-core/v3.1.3.RELEASE/src/docs/marble/publishon.png" alt="">
+	 *
+	 * @reactor.discard This operator discards elements it internally queued for backpressure upon cancellation or error triggered by a data signal.
+	 *
+	 * @param scheduler a {@link Scheduler} providing the {@link Worker} where to publish
+	 * @param prefetch the asynchronous boundary capacity
+	 * @param waitStrategy the {@link WaitStrategy} used to wait for more signals
+	 * @param maxIdle the maximum time to wait for more signals before releasing the worker
+	 *
+	 * @return a {@link Flux} producing asynchronously
+	 * @throws IllegalArgumentException if the {@link WaitStrategy} is lock based
+	 */
+	public final Flux<T> publishOn(Scheduler scheduler, int prefetch,
+			WaitStrategy waitStrategy, Duration maxIdle) {
+		Objects.requireNonNull(waitStrategy, "waitStrategy");
+		if (WaitStrategy.isBlocking(waitStrategy)) {
+			throw new IllegalArgumentException("waitStrategy must not block until signalled, " +
+					"the worker couldn't be released after maxIdle");
+		}
+		long maxIdleNanos = maxIdle.toNanos();
+		if (maxIdleNanos <= 0L) {
+			throw new IllegalArgumentException("maxIdle > 0 required but it was " + maxIdle);
+		}
+		if (this instanceof Callable) {
+			return publishOn(scheduler, true, prefetch);
+		}
+		return onAssembly(new FluxPublishOn<>(this, scheduler, true, prefetch, prefetch,
+				Queues.get(prefetch), waitStrategy, maxIdleNanos));
+	}
+
 	final Flux<T> publishOn(Scheduler scheduler, boolean delayError, int prefetch, int lowTide) {
 		if (this instanceof Callable) {
 			if (this instanceof Fuseable.ScalarCallable) {
@@ -7548,6 +8005,45 @@ public abstract class Flux<T> implements Publisher<T> {
 		return collectSortedList(sortFunction).flatMapIterable(identityFunction());
 	}
 
+	/**
+	 * Sort elements from this {@link Flux} using a {@link Comparator} function, keeping
+	 * at most {@code maxInMemory} elements on the heap so that sequences larger than the
+	 * available memory can be sorted.
+	 * <p>
+	 * Elements are collected into runs of {@code maxInMemory} elements, each of which is
+	 * sorted then serialized into a temporary file created in {@code spillDirectory}. Once
+	 * this sequence completes, the runs are read back and merged lazily as the sorted
+	 * sequence is requested. Elements that compare equal keep their original order. A
+	 * sequence shorter than {@code maxInMemory} is sorted in memory without spilling.
+	 * The temporary files are deleted once the sorted sequence terminates or is cancelled.
+	 * <p>
+	 * Note that spilling performs blocking I/O on the thread emitting the elements of this
+	 * {@link Flux}, and reading runs back on the thread requesting from the sorted sequence,
+	 * and that one file per run is open while the sorted sequence is emitted.
+	 * Serialization and I/O errors terminate the sorted sequence with an error.
+	 *
+	 * @param sortFunction a function that compares two items emitted by this {@link Flux}
+	 * to indicate their sort order
+	 * @param maxInMemory the maximum number of elements to sort in memory at once
+	 * @param spillDirectory the directory in which to create the temporary files
+	 * @param serializer the {@link Function} turning an element into bytes
+	 * @param deserializer the {@link Function} turning bytes back into an element
+	 * @return a sorted {@link Flux}
+	 */
+	public final Flux<T> sort(Comparator<? super T> sortFunction, int maxInMemory,
+			Path spillDirectory, Function<? super T, byte[]> serializer,
+			Function<byte[], ? extends T> deserializer) {
+		if (maxInMemory <= 0) {
+			throw new IllegalArgumentException("maxInMemory > 0 required but it was " + maxInMemory);
+		}
+		Objects.requireNonNull(sortFunction, "sortFunction");
+		Objects.requireNonNull(spillDirectory, "spillDirectory");
+		Objects.requireNonNull(serializer, "serializer");
+		Objects.requireNonNull(deserializer, "deserializer");
+		return ExternalSort.sort(this, sortFunction, maxInMemory, spillDirectory, serializer,
+				deserializer);
+	}
+
 	/**
 	 * Prepend the given {@link Iterable} before this {@link Flux} sequence.
 	 *
@@ -8672,6 +9168,52 @@ public abstract class Flux<T> implements Publisher<T> {
 		return windowWhen(interval(Duration.ZERO, timeshift, timer), aLong -> Mono.delay(timespan, timer));
 	}
 
+	/**
+	 * Split this {@link Flux} sequence into multiple {@link Flux} windows whose elements
+	 * cumulate a weight of at most {@code maxWeight}, as computed by the given
+	 * {@code weigher}. Each {@link Flux} window will onComplete once its elements reach
+	 * {@code maxWeight}, right before an element that would make it exceed
+	 * {@code maxWeight} OR once it has been open for the given {@link Duration} (as
+	 * measured on the {@link Schedulers#parallel() parallel} Scheduler). An element
+	 * heavier than {@code maxWeight} is emitted alone in its own window.
+	 *
+	 * @reactor.discard This operator discards elements it internally queued for backpressure
+	 * upon cancellation or error triggered by a data signal.
+	 *
+	 * @param maxWeight the maximum cumulated weight of the elements of a window
+	 * @param weigher the function computing the non-negative weight of each element, e.g. its size in bytes
+	 * @param maxTime the maximum {@link Duration} since the window was opened before closing it
+	 *
+	 * @return a {@link Flux} of {@link Flux} windows based on element weight and duration
+	 */
+	public final Flux<Flux<T>> windowByWeight(long maxWeight, ToLongFunction<? super T> weigher, Duration maxTime) {
+		return windowByWeight(maxWeight, weigher, maxTime, Schedulers.parallel());
+	}
+
+	/**
+	 * Split this {@link Flux} sequence into multiple {@link Flux} windows whose elements
+	 * cumulate a weight of at most {@code maxWeight}, as computed by the given
+	 * {@code weigher}. Each {@link Flux} window will onComplete once its elements reach
+	 * {@code maxWeight}, right before an element that would make it exceed
+	 * {@code maxWeight} OR once it has been open for the given {@link Duration} (as
+	 * measured on the provided {@link Scheduler}). An element heavier than
+	 * {@code maxWeight} is emitted alone in its own window.
+	 *
+	 * @reactor.discard This operator discards elements it internally queued for backpressure
+	 * upon cancellation or error triggered by a data signal.
+	 *
+	 * @param maxWeight the maximum cumulated weight of the elements of a window
+	 * @param weigher the function computing the non-negative weight of each element, e.g. its size in bytes
+	 * @param maxTime the maximum {@link Duration} since the window was opened before closing it
+	 * @param timer a time-capable {@link Scheduler} instance to run on
+	 *
+	 * @return a {@link Flux} of {@link Flux} windows based on element weight and duration
+	 */
+	public final Flux<Flux<T>> windowByWeight(long maxWeight, ToLongFunction<? super T> weigher,
+			Duration maxTime, Scheduler timer) {
+		return onAssembly(new FluxWindowTimeout<>(this, maxWeight, weigher, maxTime.toMillis(), timer));
+	}
+
 	/**
 	 * Split this {@link Flux} sequence into multiple {@link Flux} windows containing
 	 * {@code maxSize} elements (or less for the final window) and starting from the first item.
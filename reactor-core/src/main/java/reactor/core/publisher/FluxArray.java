@@ -18,6 +18,7 @@ package reactor.core.publisher;
 
 import java.util.Objects;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.function.Consumer;
 
 import org.reactivestreams.Subscriber;
 import reactor.core.CoreSubscriber;
@@ -68,7 +69,8 @@ final class FluxArray<T> extends Flux<T> implements Fuseable, SourceProducer<T>
 	}
 
 	static final class ArraySubscription<T>
-			implements InnerProducer<T>, SynchronousSubscription<T> {
+			implements InnerProducer<T>, SynchronousSubscription<T>,
+			           BatchQueueSubscription<T> {
 
 		final CoreSubscriber<? super T> actual;
 
@@ -195,6 +197,26 @@ final class FluxArray<T> extends Flux<T> implements Fuseable, SourceProducer<T>
 			return null;
 		}
 
+		@Override
+		public int drain(Consumer<? super T> consumer, int limit) {
+			T[] a = array;
+			int i = index;
+			int n = Math.min(limit, a.length - i);
+			int f = i + n;
+			try {
+				while (i != f) {
+					T t = a[i];
+					Objects.requireNonNull(t);
+					i++;
+					consumer.accept(t);
+				}
+			}
+			finally {
+				index = i;
+			}
+			return n;
+		}
+
 		@Override
 		public boolean isEmpty() {
 			return index == array.length;
@@ -228,7 +250,8 @@ final class FluxArray<T> extends Flux<T> implements Fuseable, SourceProducer<T>
 	}
 
 	static final class ArrayConditionalSubscription<T>
-			implements InnerProducer<T>, SynchronousSubscription<T> {
+			implements InnerProducer<T>, SynchronousSubscription<T>,
+			           BatchQueueSubscription<T> {
 
 		final ConditionalSubscriber<? super T> actual;
 
@@ -373,6 +396,25 @@ final class FluxArray<T> extends Flux<T> implements Fuseable, SourceProducer<T>
 			return null;
 		}
 
+		@Override
+		public int drain(Consumer<? super T> consumer, int limit) {
+			T[] a = array;
+			int i = index;
+			int n = Math.min(limit, a.length - i);
+			int f = i + n;
+			try {
+				while (i != f) {
+					T t = Objects.requireNonNull(a[i], "Array returned null value");
+					i++;
+					consumer.accept(t);
+				}
+			}
+			finally {
+				index = i;
+			}
+			return n;
+		}
+
 		@Override
 		public boolean isEmpty() {
 			return index == array.length;
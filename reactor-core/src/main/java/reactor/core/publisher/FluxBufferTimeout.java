@@ -18,11 +18,13 @@ package reactor.core.publisher;
 
 import java.util.Collection;
 import java.util.Objects;
+import java.util.Queue;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
 
 import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
@@ -31,6 +33,7 @@ import reactor.core.Disposable;
 import reactor.core.Exceptions;
 import reactor.core.scheduler.Scheduler;
 import reactor.util.annotation.Nullable;
+import reactor.util.concurrent.Queues;
 import reactor.util.context.Context;
 
 /**
@@ -43,12 +46,26 @@ final class FluxBufferTimeout<T, C extends Collection<? super T>> extends FluxOp
 	final Supplier<C>    bufferSupplier;
 	final Scheduler      timer;
 	final long           timespan;
+	final boolean        fairBackpressure;
+	final long           maxWeight;
+
+	@Nullable
+	final ToLongFunction<? super T> weigher;
 
 	FluxBufferTimeout(Flux<T> source,
 			int maxSize,
 			long timespan,
 			Scheduler timer,
 			Supplier<C> bufferSupplier) {
+		this(source, maxSize, timespan, timer, bufferSupplier, false);
+	}
+
+	FluxBufferTimeout(Flux<T> source,
+			int maxSize,
+			long timespan,
+			Scheduler timer,
+			Supplier<C> bufferSupplier,
+			boolean fairBackpressure) {
 		super(source);
 		if (timespan <= 0) {
 			throw new IllegalArgumentException("Timeout period must be strictly positive");
@@ -60,10 +77,50 @@ final class FluxBufferTimeout<T, C extends Collection<? super T>> extends FluxOp
 		this.timespan = timespan;
 		this.batchSize = maxSize;
 		this.bufferSupplier = Objects.requireNonNull(bufferSupplier, "bufferSupplier");
+		this.fairBackpressure = fairBackpressure;
+		this.maxWeight = maxSize;
+		this.weigher = null;
+	}
+
+	/**
+	 * Cut buffers once the cumulated weight of their elements reaches {@code maxWeight},
+	 * or before an element that would make it exceed {@code maxWeight}. Such buffers are
+	 * always emitted with fair backpressure.
+	 */
+	FluxBufferTimeout(Flux<T> source,
+			long maxWeight,
+			ToLongFunction<? super T> weigher,
+			long timespan,
+			Scheduler timer,
+			Supplier<C> bufferSupplier) {
+		super(source);
+		if (timespan <= 0) {
+			throw new IllegalArgumentException("Timeout period must be strictly positive");
+		}
+		if (maxWeight <= 0) {
+			throw new IllegalArgumentException("maxWeight must be strictly positive");
+		}
+		this.timer = Objects.requireNonNull(timer, "Timer");
+		this.timespan = timespan;
+		this.batchSize = (int) Math.min(maxWeight, Integer.MAX_VALUE);
+		this.bufferSupplier = Objects.requireNonNull(bufferSupplier, "bufferSupplier");
+		this.fairBackpressure = true;
+		this.maxWeight = maxWeight;
+		this.weigher = Objects.requireNonNull(weigher, "weigher");
 	}
 
 	@Override
 	public void subscribe(CoreSubscriber<? super C> actual) {
+		if (fairBackpressure) {
+			source.subscribe(new BufferTimeoutWithBackpressureSubscriber<>(actual,
+					batchSize,
+					maxWeight,
+					weigher,
+					timespan,
+					timer.createWorker(),
+					bufferSupplier));
+			return;
+		}
 		source.subscribe(new BufferTimeoutSubscriber<>(Operators.serialize(actual),
 				batchSize,
 				timespan,
@@ -355,5 +412,351 @@ final class FluxBufferTimeout<T, C extends Collection<? super T>> extends FluxOp
 			}
 		}
 	}
-}
 
+	/**
+	 * A {@link BufferTimeoutSubscriber} alternative that never emits more buffers than
+	 * requested: a buffer that is full or timed out while there is no demand is held
+	 * until the next request, and the source is only requested enough to fill the
+	 * requested buffers. When buffers are cut by weight, the number of values per buffer
+	 * is unknown so the source is requested by batches of
+	 * {@link Queues#SMALL_BUFFER_SIZE} instead, as long as there is demand.
+	 * <p>
+	 * Signals are serialized through a work-in-progress drain loop instead of a monitor:
+	 * the source and the timer only enqueue values or mark the current buffer as timed
+	 * out, while the buffer itself is only touched by the thread winning the drain.
+	 */
+	final static class BufferTimeoutWithBackpressureSubscriber<T, C extends Collection<? super T>>
+			implements InnerOperator<T, C> {
+
+		final CoreSubscriber<? super C> actual;
+		final Context                   ctx;
+		final int                       batchSize;
+		final long                      timespan;
+		final Scheduler.Worker          timer;
+		final Supplier<C>               bufferSupplier;
+		final Queue<T>                  queue;
+		final long                      maxWeight;
+		@Nullable
+		final ToLongFunction<? super T> weigher;
+
+		Subscription s;
+
+		volatile boolean done;
+		Throwable error;
+
+		volatile boolean cancelled;
+
+		volatile long requested;
+		@SuppressWarnings("rawtypes")
+		static final AtomicLongFieldUpdater<BufferTimeoutWithBackpressureSubscriber> REQUESTED =
+				AtomicLongFieldUpdater.newUpdater(BufferTimeoutWithBackpressureSubscriber.class, "requested");
+
+		volatile int wip;
+		@SuppressWarnings("rawtypes")
+		static final AtomicIntegerFieldUpdater<BufferTimeoutWithBackpressureSubscriber> WIP =
+				AtomicIntegerFieldUpdater.newUpdater(BufferTimeoutWithBackpressureSubscriber.class, "wip");
+
+		/**
+		 * The index of the last buffer whose timespan elapsed, set by the timer.
+		 */
+		volatile long timedOutIndex = -1L;
+
+		//the fields below are only accessed from within the drain loop
+		C          buffer;
+		int        count;
+		long       weight;
+		@Nullable
+		T          next;
+		long       nextWeight;
+		long       index;
+		Disposable timespanRegistration;
+		long       requestedUpstream;
+		long       produced;
+		boolean    unbounded;
+
+		BufferTimeoutWithBackpressureSubscriber(CoreSubscriber<? super C> actual,
+				int maxSize,
+				long timespan,
+				Scheduler.Worker timer,
+				Supplier<C> bufferSupplier) {
+			this(actual, maxSize, maxSize, null, timespan, timer, bufferSupplier);
+		}
+
+		BufferTimeoutWithBackpressureSubscriber(CoreSubscriber<? super C> actual,
+				int maxSize,
+				long maxWeight,
+				@Nullable ToLongFunction<? super T> weigher,
+				long timespan,
+				Scheduler.Worker timer,
+				Supplier<C> bufferSupplier) {
+			this.actual = actual;
+			this.ctx = actual.currentContext();
+			this.batchSize = maxSize;
+			this.maxWeight = maxWeight;
+			this.weigher = weigher;
+			this.timespan = timespan;
+			this.timer = timer;
+			this.bufferSupplier = bufferSupplier;
+			this.queue = Queues.<T>unbounded(Math.min(maxSize, Queues.SMALL_BUFFER_SIZE)).get();
+		}
+
+		@Override
+		public CoreSubscriber<? super C> actual() {
+			return actual;
+		}
+
+		@Override
+		public void onSubscribe(Subscription s) {
+			if (Operators.validate(this.s, s)) {
+				this.s = s;
+				actual.onSubscribe(this);
+			}
+		}
+
+		@Override
+		public void onNext(T t) {
+			if (done) {
+				Operators.onNextDropped(t, ctx);
+				return;
+			}
+			queue.offer(t);
+			drain();
+		}
+
+		@Override
+		public void onError(Throwable t) {
+			if (done) {
+				Operators.onErrorDropped(t, ctx);
+				return;
+			}
+			error = t;
+			done = true;
+			drain();
+		}
+
+		@Override
+		public void onComplete() {
+			if (done) {
+				return;
+			}
+			done = true;
+			drain();
+		}
+
+		@Override
+		public void request(long n) {
+			if (Operators.validate(n)) {
+				Operators.addCap(REQUESTED, this, n);
+				drain();
+			}
+		}
+
+		@Override
+		public void cancel() {
+			if (cancelled) {
+				return;
+			}
+			cancelled = true;
+			s.cancel();
+			timer.dispose();
+			drain();
+		}
+
+		void onTimeout(long bufferIndex) {
+			timedOutIndex = bufferIndex;
+			drain();
+		}
+
+		void drain() {
+			if (WIP.getAndIncrement(this) != 0) {
+				return;
+			}
+
+			int missed = 1;
+
+			for (;;) {
+				long r = requested;
+				long e = 0L;
+
+				for (;;) {
+					if (cancelled) {
+						discardAll();
+						return;
+					}
+
+					boolean d = done;
+					if (d && error != null) {
+						discardAll();
+						timer.dispose();
+						actual.onError(error);
+						return;
+					}
+
+					C b = buffer;
+					int n = count;
+					boolean empty = next == null && queue.isEmpty();
+
+					if (n != 0 && (weight >= maxWeight || next != null || timedOutIndex == index || (d && empty))) {
+						if (e == r) {
+							break;
+						}
+						buffer = null;
+						count = 0;
+						weight = 0L;
+						index++;
+						Disposable t = timespanRegistration;
+						if (t != null) {
+							timespanRegistration = null;
+							t.dispose();
+						}
+						actual.onNext(b);
+						e++;
+						continue;
+					}
+
+					if (d && empty) {
+						timer.dispose();
+						actual.onComplete();
+						return;
+					}
+
+					T v = next;
+					long w;
+					if (v != null) {
+						next = null;
+						w = nextWeight;
+					}
+					else {
+						v = queue.poll();
+						if (v == null) {
+							break;
+						}
+						produced++;
+
+						try {
+							w = weigher == null ? 1L : weigher.applyAsLong(v);
+						}
+						catch (Throwable ex) {
+							Operators.onDiscard(v, ctx);
+							error = Operators.onOperatorError(s, ex, v, ctx);
+							done = true;
+							continue;
+						}
+						if (n != 0 && weight + w > maxWeight) {
+							//v goes to the next buffer, the current one is full
+							next = v;
+							nextWeight = w;
+							continue;
+						}
+					}
+
+					if (b == null) {
+						try {
+							b = Objects.requireNonNull(bufferSupplier.get(),
+									"The bufferSupplier returned a null buffer");
+						}
+						catch (Throwable ex) {
+							Operators.onDiscard(v, ctx);
+							error = Operators.onOperatorError(s, ex, ctx);
+							done = true;
+							continue;
+						}
+						buffer = b;
+						long bufferIndex = index;
+						try {
+							timespanRegistration = timer.schedule(() -> onTimeout(bufferIndex),
+									timespan, TimeUnit.MILLISECONDS);
+						}
+						catch (RejectedExecutionException ree) {
+							Operators.onDiscard(v, ctx);
+							error = Operators.onRejectedExecution(ree, s, null, v, ctx);
+							done = true;
+							continue;
+						}
+					}
+					b.add(v);
+					count = n + 1;
+					weight += w;
+				}
+
+				if (e != 0L && r != Long.MAX_VALUE) {
+					r = REQUESTED.addAndGet(this, -e);
+				}
+				else {
+					r = requested;
+				}
+				requestUpstream(r);
+
+				missed = WIP.addAndGet(this, -missed);
+				if (missed == 0) {
+					break;
+				}
+			}
+		}
+
+		/**
+		 * Request just enough from the source to fill the requested buffers, accounting
+		 * for the values already collected or still in flight.
+		 */
+		void requestUpstream(long r) {
+			if (unbounded || done || r == 0L) {
+				return;
+			}
+			if (weigher != null) {
+				if (r == Long.MAX_VALUE) {
+					unbounded = true;
+					s.request(Long.MAX_VALUE);
+					return;
+				}
+				long inFlight = requestedUpstream - produced;
+				if (inFlight <= Queues.SMALL_BUFFER_SIZE >> 1) {
+					long missing = Queues.SMALL_BUFFER_SIZE - inFlight;
+					requestedUpstream += missing;
+					s.request(missing);
+				}
+				return;
+			}
+			long upTo = Operators.multiplyCap(r, batchSize);
+			if (upTo == Long.MAX_VALUE) {
+				unbounded = true;
+				s.request(Long.MAX_VALUE);
+				return;
+			}
+			long missing = upTo - count - (requestedUpstream - produced);
+			if (missing > 0L) {
+				requestedUpstream += missing;
+				s.request(missing);
+			}
+		}
+
+		void discardAll() {
+			C b = buffer;
+			if (b != null) {
+				buffer = null;
+				count = 0;
+				Operators.onDiscardMultiple(b, ctx);
+			}
+			T v = next;
+			if (v != null) {
+				next = null;
+				Operators.onDiscard(v, ctx);
+			}
+			Operators.onDiscardQueueWithClear(queue, ctx, null);
+		}
+
+		@Override
+		@Nullable
+		public Object scanUnsafe(Attr key) {
+			if (key == Attr.PARENT) return s;
+			if (key == Attr.CANCELLED) return cancelled;
+			if (key == Attr.TERMINATED) return done;
+			if (key == Attr.ERROR) return error;
+			if (key == Attr.REQUESTED_FROM_DOWNSTREAM) return requested;
+			if (key == Attr.CAPACITY) return batchSize;
+			if (key == Attr.BUFFERED) return queue.size() + count;
+			if (key == Attr.RUN_ON) return timer;
+
+			return InnerOperator.super.scanUnsafe(key);
+		}
+	}
+}
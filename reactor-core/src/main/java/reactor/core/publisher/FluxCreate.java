@@ -23,6 +23,7 @@ import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
 import java.util.function.Consumer;
 import java.util.function.LongConsumer;
 
@@ -33,6 +34,7 @@ import reactor.core.Exceptions;
 import reactor.core.Scannable;
 import reactor.core.publisher.FluxSink.OverflowStrategy;
 import reactor.util.annotation.Nullable;
+import reactor.util.concurrent.BatchQueue;
 import reactor.util.concurrent.Queues;
 import reactor.util.context.Context;
 
@@ -45,7 +47,7 @@ import reactor.util.context.Context;
 final class FluxCreate<T> extends Flux<T> implements SourceProducer<T> {
 
 	enum CreateMode {
-		PUSH_ONLY, PUSH_PULL
+		PUSH_ONLY, PUSH_PULL, MULTI_PRODUCER
 	}
 
 	final Consumer<? super FluxSink<T>> source;
@@ -54,12 +56,25 @@ final class FluxCreate<T> extends Flux<T> implements SourceProducer<T> {
 
 	final CreateMode createMode;
 
+	final int bufferSize;
+
 	FluxCreate(Consumer<? super FluxSink<T>> source,
 			FluxSink.OverflowStrategy backpressure,
 			CreateMode createMode) {
+		this(source, backpressure, createMode, Queues.SMALL_BUFFER_SIZE);
+	}
+
+	FluxCreate(Consumer<? super FluxSink<T>> source,
+			FluxSink.OverflowStrategy backpressure,
+			CreateMode createMode,
+			int bufferSize) {
+		if (bufferSize <= 0) {
+			throw new IllegalArgumentException("bufferSize > 0 required but it was " + bufferSize);
+		}
 		this.source = Objects.requireNonNull(source, "source");
 		this.backpressure = Objects.requireNonNull(backpressure, "backpressure");
 		this.createMode = createMode;
+		this.bufferSize = bufferSize;
 	}
 
 	static <T> BaseSink<T> createSink(CoreSubscriber<? super T> t,
@@ -85,7 +100,9 @@ final class FluxCreate<T> extends Flux<T> implements SourceProducer<T> {
 
 	@Override
 	public void subscribe(CoreSubscriber<? super T> actual) {
-		BaseSink<T> sink = createSink(actual, backpressure);
+		BaseSink<T> sink = createMode == CreateMode.MULTI_PRODUCER ?
+				new MultiProducerBufferSink<>(actual, bufferSize) :
+				createSink(actual, backpressure);
 
 		actual.onSubscribe(sink);
 		try {
@@ -819,6 +836,175 @@ final class FluxCreate<T> extends Flux<T> implements SourceProducer<T> {
 		}
 	}
 
+	/**
+	 * A buffering sink that can be called from several threads at once without being
+	 * serialized: {@link #next} claims a slot in a bounded multi-producer array queue,
+	 * waiting for room while it is full, and the drain loop emits the buffered values
+	 * in chunks.
+	 *
+	 * @param <T> the value type
+	 */
+	static final class MultiProducerBufferSink<T> extends BaseSink<T> {
+
+		final BatchQueue<T> queue;
+
+		final int capacity;
+
+		final Consumer<T> drainConsumer = this::drainNext;
+
+		volatile Throwable error;
+		@SuppressWarnings("rawtypes")
+		static final AtomicReferenceFieldUpdater<MultiProducerBufferSink, Throwable> ERROR =
+				AtomicReferenceFieldUpdater.newUpdater(MultiProducerBufferSink.class,
+						Throwable.class,
+						"error");
+
+		volatile boolean done;
+
+		volatile int wip;
+		@SuppressWarnings("rawtypes")
+		static final AtomicIntegerFieldUpdater<MultiProducerBufferSink> WIP =
+				AtomicIntegerFieldUpdater.newUpdater(MultiProducerBufferSink.class, "wip");
+
+		MultiProducerBufferSink(CoreSubscriber<? super T> actual, int capacity) {
+			super(actual);
+			this.capacity = capacity;
+			this.queue = (BatchQueue<T>) Queues.<T>mpsc(capacity).get();
+		}
+
+		@Override
+		public FluxSink<T> next(T t) {
+			Objects.requireNonNull(t, "t");
+			final Queue<T> q = queue;
+			while (!q.offer(t)) {
+				if (isCancelled()) {
+					Operators.onDiscard(t, ctx);
+					return this;
+				}
+				LockSupport.parkNanos(10);
+			}
+			drain();
+			return this;
+		}
+
+		@Override
+		public void error(Throwable e) {
+			if (ERROR.compareAndSet(this, null, e)) {
+				done = true;
+				drain();
+			}
+			else {
+				Operators.onErrorDropped(e, ctx);
+			}
+		}
+
+		@Override
+		public void complete() {
+			done = true;
+			drain();
+		}
+
+		@Override
+		void onRequestedFromDownstream() {
+			drain();
+		}
+
+		@Override
+		void onCancel() {
+			if (WIP.getAndIncrement(this) == 0) {
+				Operators.onDiscardQueueWithClear(queue, ctx, null);
+			}
+		}
+
+		void drainNext(T v) {
+			if (isCancelled()) {
+				Operators.onDiscard(v, ctx);
+			}
+			else {
+				actual.onNext(v);
+			}
+		}
+
+		void drain() {
+			if (WIP.getAndIncrement(this) != 0) {
+				return;
+			}
+
+			int missed = 1;
+			final BatchQueue<T> q = queue;
+
+			for (; ; ) {
+				long r = requested;
+				long e = 0L;
+
+				for (; ; ) {
+					if (isCancelled()) {
+						Operators.onDiscardQueueWithClear(q, ctx, null);
+						return;
+					}
+
+					boolean d = done;
+
+					int limit = (int) Math.min(r - e, capacity);
+					int n = limit == 0 ? 0 : q.drain(drainConsumer, limit);
+					e += n;
+
+					if (d && q.isEmpty()) {
+						if (isCancelled()) {
+							Operators.onDiscardQueueWithClear(q, ctx, null);
+							return;
+						}
+						Throwable ex = error;
+						if (ex != null) {
+							super.error(ex);
+						}
+						else {
+							super.complete();
+						}
+						return;
+					}
+
+					if (n < limit || e == r) {
+						break;
+					}
+				}
+
+				if (e != 0) {
+					Operators.produced(REQUESTED, this, e);
+				}
+
+				missed = WIP.addAndGet(this, -missed);
+				if (missed == 0) {
+					break;
+				}
+			}
+		}
+
+		@Override
+		@Nullable
+		public Object scanUnsafe(Attr key) {
+			if (key == Attr.BUFFERED) {
+				return queue.size();
+			}
+			if (key == Attr.CAPACITY) {
+				return capacity;
+			}
+			if (key == Attr.TERMINATED) {
+				return done;
+			}
+			if (key == Attr.ERROR) {
+				return error;
+			}
+
+			return super.scanUnsafe(key);
+		}
+
+		@Override
+		public String toString() {
+			return "FluxSink(" + OverflowStrategy.BUFFER + ", multi-producer)";
+		}
+	}
+
 	static final class LatestAsyncSink<T> extends BaseSink<T> {
 
 		final AtomicReference<T> queue;
@@ -16,7 +16,12 @@
 
 package reactor.core.publisher;
 
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiPredicate;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -27,6 +32,7 @@ import reactor.core.CoreSubscriber;
 import reactor.core.Fuseable;
 import reactor.core.Fuseable.ConditionalSubscriber;
 import reactor.core.Fuseable.QueueSubscription;
+import reactor.core.scheduler.Scheduler;
 import reactor.util.annotation.Nullable;
 import reactor.util.context.Context;
 
@@ -605,4 +611,177 @@ final class FluxDistinct<T, K, C> extends FluxOperator<T, T> {
 		}
 	}
 
+	/**
+	 * A store of at most {@code maxSize} keys, evicting the least recently seen key to
+	 * make room for a new one.
+	 *
+	 * @param <K> the key type
+	 */
+	static final class LruStore<K> extends LinkedHashMap<K, Boolean> {
+
+		private static final long serialVersionUID = 4917618424009473516L;
+
+		final int maxSize;
+
+		LruStore(int maxSize) {
+			super(Math.min(maxSize, 16), 0.75f, true);
+			this.maxSize = maxSize;
+		}
+
+		/**
+		 * @return true if the key wasn't in the store, which is refreshed in both cases
+		 */
+		boolean add(K key) {
+			return put(key, Boolean.TRUE) == null;
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<K, Boolean> eldest) {
+			return size() > maxSize;
+		}
+	}
+
+	/**
+	 * A store of the keys seen during the last {@code ttl} milliseconds, as measured by
+	 * the given {@link Scheduler}.
+	 *
+	 * @param <K> the key type
+	 */
+	static final class TtlStore<K> {
+
+		final long      ttl;
+		final Scheduler clock;
+
+		/**
+		 * The time each key was first seen, in insertion order, so that expired keys are
+		 * always at the head.
+		 */
+		final LinkedHashMap<K, Long> seen = new LinkedHashMap<>();
+
+		TtlStore(long ttl, Scheduler clock) {
+			this.ttl = ttl;
+			this.clock = clock;
+		}
+
+		/**
+		 * @return true if the key wasn't seen during the last {@code ttl} milliseconds
+		 */
+		boolean add(K key) {
+			long now = clock.now(TimeUnit.MILLISECONDS);
+			Iterator<Long> it = seen.values().iterator();
+			while (it.hasNext() && now - it.next() >= ttl) {
+				it.remove();
+			}
+			return seen.putIfAbsent(key, now) == null;
+		}
+
+		void clear() {
+			seen.clear();
+		}
+	}
+
+	/**
+	 * A Bloom filter over the keys {@link Object#hashCode() hash codes}, which can report
+	 * a new key as already seen with a configured probability but never the opposite.
+	 * <p>
+	 * To keep a bounded false positive probability on an infinite sequence, the bits are
+	 * split into two generations of {@code expectedInsertions} keys: once the current
+	 * generation is full, the previous one is cleared and reused as the current one.
+	 * Keys found in the previous generation only are copied to the current one, so a
+	 * key is forgotten once {@code expectedInsertions} to twice as many other keys have
+	 * been seen after it.
+	 * <p>
+	 * As a new key is checked against both generations, each of them is sized for half
+	 * the configured false positive probability, so that the probability of the key being
+	 * found in either of them stays within the configured one.
+	 */
+	static final class BloomStore {
+
+		final long expectedInsertions;
+		final long bitCount;
+		final int  hashCount;
+
+		long[] current;
+		long[] previous;
+		long   count;
+
+		BloomStore(long expectedInsertions, double fpp) {
+			double generationFpp = fpp / 2d;
+			long bits = (long) Math.ceil(-expectedInsertions * Math.log(generationFpp) / (Math.log(2) * Math.log(2)));
+			int words = (int) Math.min((bits + 63) >>> 6, Integer.MAX_VALUE - 8);
+			this.expectedInsertions = expectedInsertions;
+			this.bitCount = (long) words << 6;
+			this.hashCount = (int) Math.max(1L, Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+			this.current = new long[words];
+			this.previous = new long[words];
+		}
+
+		/**
+		 * @return true if the key is definitely new, false if it was probably seen already
+		 */
+		boolean add(@Nullable Object key) {
+			long hash = mix(Objects.hashCode(key));
+			int h1 = (int) hash;
+			int h2 = (int) (hash >>> 32);
+
+			if (contains(current, h1, h2)) {
+				return false;
+			}
+			boolean seen = contains(previous, h1, h2);
+			if (count == expectedInsertions) {
+				long[] a = previous;
+				Arrays.fill(a, 0L);
+				previous = current;
+				current = a;
+				count = 0;
+			}
+			set(current, h1, h2);
+			count++;
+			return !seen;
+		}
+
+		boolean contains(long[] bits, int h1, int h2) {
+			for (int i = 1; i <= hashCount; i++) {
+				long index = index(h1, h2, i);
+				if ((bits[(int) (index >>> 6)] & (1L << index)) == 0L) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		void set(long[] bits, int h1, int h2) {
+			for (int i = 1; i <= hashCount; i++) {
+				long index = index(h1, h2, i);
+				bits[(int) (index >>> 6)] |= 1L << index;
+			}
+		}
+
+		long index(int h1, int h2, int i) {
+			long combined = h1 + (long) i * h2;
+			if (combined < 0) {
+				combined = ~combined;
+			}
+			return combined % bitCount;
+		}
+
+		void clear() {
+			Arrays.fill(current, 0L);
+			Arrays.fill(previous, 0L);
+			count = 0;
+		}
+
+		/**
+		 * Spread the 32 bits of a hash code over 64 bits (MurmurHash3 finalizer).
+		 */
+		static long mix(int hashCode) {
+			long h = hashCode;
+			h ^= h >>> 33;
+			h *= 0xff51afd7ed558ccdL;
+			h ^= h >>> 33;
+			h *= 0xc4ceb9fe1a85ec53L;
+			h ^= h >>> 33;
+			return h;
+		}
+	}
 }
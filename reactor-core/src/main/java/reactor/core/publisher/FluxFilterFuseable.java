@@ -17,12 +17,14 @@
 package reactor.core.publisher;
 
 import java.util.Objects;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 
 import org.reactivestreams.Subscription;
 import reactor.core.CoreSubscriber;
 import reactor.core.Fuseable;
 import reactor.util.annotation.Nullable;
+import reactor.util.concurrent.BatchQueue;
 import reactor.util.context.Context;
 
 /**
@@ -53,7 +55,7 @@ final class FluxFilterFuseable<T> extends FluxOperator<T, T> implements Fuseable
 	}
 
 	static final class FilterFuseableSubscriber<T>
-			implements InnerOperator<T, T>, QueueSubscription<T>,
+			implements InnerOperator<T, T>, BatchQueueSubscription<T>,
 			           ConditionalSubscriber<T> {
 
 		final CoreSubscriber<? super T> actual;
@@ -67,6 +69,12 @@ final class FluxFilterFuseable<T> extends FluxOperator<T, T> implements Fuseable
 
 		int sourceMode;
 
+		final Consumer<T> sourceConsumer = this::drainNext;
+
+		Consumer<? super T> drainConsumer;
+
+		int drained;
+
 		FilterFuseableSubscriber(CoreSubscriber<? super T> actual,
 				Predicate<? super T> predicate) {
 			this.actual = actual;
@@ -240,6 +248,53 @@ final class FluxFilterFuseable<T> extends FluxOperator<T, T> implements Fuseable
 			}
 		}
 
+		@Override
+		@SuppressWarnings("unchecked")
+		public int drain(Consumer<? super T> consumer, int limit) {
+			//dropped values are only replenished by poll() in ASYNC mode
+			if (sourceMode != SYNC || !(s instanceof BatchQueue)) {
+				return BatchQueueSubscription.super.drain(consumer, limit);
+			}
+			BatchQueue<T> q = (BatchQueue<T>) s;
+			drainConsumer = consumer;
+			drained = 0;
+			try {
+				//keep draining upstream until either the limit is reached or
+				//upstream is empty, as values can be filtered out
+				for (;;) {
+					int r = limit - drained;
+					if (r == 0 || q.drain(sourceConsumer, r) == 0) {
+						return drained;
+					}
+				}
+			}
+			finally {
+				drainConsumer = null;
+			}
+		}
+
+		void drainNext(T v) {
+			boolean b;
+			try {
+				b = predicate.test(v);
+			}
+			catch (Throwable e) {
+				RuntimeException e_ = Operators.onNextPollError(v, e, this.ctx);
+				Operators.onDiscard(v, this.ctx);
+				if (e_ != null) {
+					throw e_;
+				}
+				return;
+			}
+			if (b) {
+				drained++;
+				drainConsumer.accept(v);
+			}
+			else {
+				Operators.onDiscard(v, this.ctx);
+			}
+		}
+
 		@Override
 		public boolean isEmpty() {
 			return s.isEmpty();
@@ -271,7 +326,7 @@ final class FluxFilterFuseable<T> extends FluxOperator<T, T> implements Fuseable
 
 	static final class FilterFuseableConditionalSubscriber<T>
 			implements InnerOperator<T, T>, ConditionalSubscriber<T>,
-			           QueueSubscription<T> {
+			           BatchQueueSubscription<T> {
 
 		final ConditionalSubscriber<? super T> actual;
 		final Context ctx;
@@ -284,6 +339,12 @@ final class FluxFilterFuseable<T> extends FluxOperator<T, T> implements Fuseable
 
 		int sourceMode;
 
+		final Consumer<T> sourceConsumer = this::drainNext;
+
+		Consumer<? super T> drainConsumer;
+
+		int drained;
+
 		FilterFuseableConditionalSubscriber(ConditionalSubscriber<? super T> actual,
 				Predicate<? super T> predicate) {
 			this.actual = actual;
@@ -458,6 +519,53 @@ final class FluxFilterFuseable<T> extends FluxOperator<T, T> implements Fuseable
 			}
 		}
 
+		@Override
+		@SuppressWarnings("unchecked")
+		public int drain(Consumer<? super T> consumer, int limit) {
+			//dropped values are only replenished by poll() in ASYNC mode
+			if (sourceMode != SYNC || !(s instanceof BatchQueue)) {
+				return BatchQueueSubscription.super.drain(consumer, limit);
+			}
+			BatchQueue<T> q = (BatchQueue<T>) s;
+			drainConsumer = consumer;
+			drained = 0;
+			try {
+				//keep draining upstream until either the limit is reached or
+				//upstream is empty, as values can be filtered out
+				for (;;) {
+					int r = limit - drained;
+					if (r == 0 || q.drain(sourceConsumer, r) == 0) {
+						return drained;
+					}
+				}
+			}
+			finally {
+				drainConsumer = null;
+			}
+		}
+
+		void drainNext(T v) {
+			boolean b;
+			try {
+				b = predicate.test(v);
+			}
+			catch (Throwable e) {
+				RuntimeException e_ = Operators.onNextPollError(v, e, this.ctx);
+				Operators.onDiscard(v, this.ctx);
+				if (e_ != null) {
+					throw e_;
+				}
+				return;
+			}
+			if (b) {
+				drained++;
+				drainConsumer.accept(v);
+			}
+			else {
+				Operators.onDiscard(v, this.ctx);
+			}
+		}
+
 		@Override
 		public boolean isEmpty() {
 			return s.isEmpty();
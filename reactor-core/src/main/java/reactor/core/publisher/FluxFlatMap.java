@@ -22,6 +22,7 @@ import java.util.concurrent.Callable;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
@@ -34,6 +35,7 @@ import reactor.core.Exceptions;
 import reactor.core.Fuseable;
 import reactor.core.Scannable;
 import reactor.util.annotation.Nullable;
+import reactor.util.concurrent.BatchQueue;
 import reactor.util.context.Context;
 
 /**
@@ -191,6 +193,7 @@ final class FluxFlatMap<T, R> extends FluxOperator<T, R> {
 		final Supplier<? extends Queue<R>>                          innerQueueSupplier;
 		final CoreSubscriber<? super R>                             actual;
 		final Context                                               ctx;
+		final Consumer<R>                                           drainConsumer = this::emitDrained;
 
 		volatile Queue<R> scalarQueue;
 
@@ -569,24 +572,33 @@ final class FluxFlatMap<T, R> extends FluxOperator<T, R> {
 
 				if (r != 0L && sq != null) {
 
-					while (e != r) {
-						d = done;
+					if (sq instanceof BatchQueue) {
+						if (checkTerminated(done, false, a)) {
+							return;
+						}
 
-						R v = sq.poll();
+						e = ((BatchQueue<R>) sq).drain(drainConsumer, (int) Math.min(r, Integer.MAX_VALUE));
+					}
+					else {
+						while (e != r) {
+							d = done;
 
-						boolean empty = v == null;
+							R v = sq.poll();
 
-						if (checkTerminated(d, false, a)) {
-							return;
-						}
+							boolean empty = v == null;
 
-						if (empty) {
-							break;
-						}
+							if (checkTerminated(d, false, a)) {
+								return;
+							}
+
+							if (empty) {
+								break;
+							}
 
-						a.onNext(v);
+							a.onNext(v);
 
-						e++;
+							e++;
+						}
 					}
 
 					if (e != 0L) {
@@ -625,45 +637,93 @@ final class FluxFlatMap<T, R> extends FluxOperator<T, R> {
 								replenishMain++;
 							}
 							else if (q != null) {
-								while (e != r) {
-									d = inner.done;
+								if (q instanceof BatchQueue) {
+									BatchQueue<R> bq = (BatchQueue<R>) q;
+									boolean failed = false;
+
+									//drain in chunks of at most prefetch values so that
+									//cancellation is regularly checked
+									while (e != r) {
+										if (checkTerminated(inner.done, false, a)) {
+											return;
+										}
 
-									R v;
+										int c;
 
-									try {
-										v = q.poll();
-									}
-									catch (Throwable ex) {
-										ex = Operators.onOperatorError(inner, ex,
-												actual.currentContext());
-										if (!Exceptions.addThrowable(ERROR, this, ex)) {
-											Operators.onErrorDropped(ex,
+										try {
+											c = bq.drain(drainConsumer,
+													(int) Math.min(r - e, inner.prefetch));
+										}
+										catch (Throwable ex) {
+											ex = Operators.onOperatorError(inner, ex,
 													actual.currentContext());
+											if (!Exceptions.addThrowable(ERROR, this, ex)) {
+												Operators.onErrorDropped(ex,
+														actual.currentContext());
+											}
+											if (checkTerminated(true, false, a)) {
+												return;
+											}
+											failed = true;
+											break;
 										}
-										v = null;
-										d = true;
-									}
 
-									boolean empty = v == null;
+										if (c == 0) {
+											break;
+										}
 
-									if (checkTerminated(d, false, a)) {
-										return;
+										e += c;
 									}
 
-									if (d && empty) {
+									//done is read before isEmpty so that no value can be
+									// missed; the e == r case is covered below
+									if (failed || (e != r && inner.done && q.isEmpty())) {
 										remove(inner.index);
 										again = true;
 										replenishMain++;
-										break;
 									}
+								}
+								else {
+									while (e != r) {
+										d = inner.done;
 
-									if (empty) {
-										break;
-									}
+										R v;
 
-									a.onNext(v);
+										try {
+											v = q.poll();
+										}
+										catch (Throwable ex) {
+											ex = Operators.onOperatorError(inner, ex,
+													actual.currentContext());
+											if (!Exceptions.addThrowable(ERROR, this, ex)) {
+												Operators.onErrorDropped(ex,
+														actual.currentContext());
+											}
+											v = null;
+											d = true;
+										}
+
+										boolean empty = v == null;
+
+										if (checkTerminated(d, false, a)) {
+											return;
+										}
+
+										if (d && empty) {
+											remove(inner.index);
+											again = true;
+											replenishMain++;
+											break;
+										}
+
+										if (empty) {
+											break;
+										}
 
-									e++;
+										a.onNext(v);
+
+										e++;
+									}
 								}
 
 								if (e == r) {
@@ -753,6 +813,19 @@ final class FluxFlatMap<T, R> extends FluxOperator<T, R> {
 			}
 		}
 
+		/**
+		 * Emit a value drained in batch from a {@link BatchQueue}, discarding it instead
+		 * if cancelled in the middle of the batch.
+		 */
+		void emitDrained(R v) {
+			if (cancelled) {
+				Operators.onDiscard(v, ctx);
+			}
+			else {
+				actual.onNext(v);
+			}
+		}
+
 		boolean checkTerminated(boolean d, boolean empty, Subscriber<?> a) {
 			if (cancelled) {
 				Operators.onDiscardQueueWithClear(scalarQueue, ctx, null);
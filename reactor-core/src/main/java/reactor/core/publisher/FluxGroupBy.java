@@ -16,10 +16,17 @@
 
 package reactor.core.publisher;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
@@ -30,9 +37,11 @@ import java.util.stream.Stream;
 import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
 import reactor.core.CoreSubscriber;
+import reactor.core.Disposable;
 import reactor.core.Exceptions;
 import reactor.core.Fuseable;
 import reactor.core.Scannable;
+import reactor.core.scheduler.Scheduler;
 import reactor.util.annotation.Nullable;
 import reactor.util.context.Context;
 
@@ -58,16 +67,52 @@ final class FluxGroupBy<T, K, V> extends FluxOperator<T, GroupedFlux<K, V>>
 
 	final int prefetch;
 
+	final int maxGroups;
+
+	final long idleTimeout;
+
+	@Nullable
+	final Scheduler timer;
+
 	FluxGroupBy(Flux<? extends T> source,
 			Function<? super T, ? extends K> keySelector,
 			Function<? super T, ? extends V> valueSelector,
 			Supplier<? extends Queue<GroupedFlux<K, V>>> mainQueueSupplier,
 			Supplier<? extends Queue<V>> groupQueueSupplier,
 			int prefetch) {
+		this(source, keySelector, valueSelector, mainQueueSupplier, groupQueueSupplier,
+				prefetch, Integer.MAX_VALUE, Long.MAX_VALUE, null);
+	}
+
+	/**
+	 * @param maxGroups the maximum number of open groups, the least recently active
+	 * one being completed to make room for a new key
+	 * @param idleTimeout the time in milliseconds after which a group that didn't
+	 * receive any value is completed
+	 * @param timer the {@link Scheduler} measuring idleness, null to never evict groups
+	 */
+	FluxGroupBy(Flux<? extends T> source,
+			Function<? super T, ? extends K> keySelector,
+			Function<? super T, ? extends V> valueSelector,
+			Supplier<? extends Queue<GroupedFlux<K, V>>> mainQueueSupplier,
+			Supplier<? extends Queue<V>> groupQueueSupplier,
+			int prefetch,
+			int maxGroups,
+			long idleTimeout,
+			@Nullable Scheduler timer) {
 		super(source);
 		if (prefetch <= 0) {
 			throw new IllegalArgumentException("prefetch > 0 required but it was " + prefetch);
 		}
+		if (maxGroups <= 0) {
+			throw new IllegalArgumentException("maxGroups > 0 required but it was " + maxGroups);
+		}
+		if (idleTimeout <= 0) {
+			throw new IllegalArgumentException("idleTimeout > 0 required but it was " + idleTimeout);
+		}
+		this.maxGroups = maxGroups;
+		this.idleTimeout = idleTimeout;
+		this.timer = timer;
 		this.keySelector = Objects.requireNonNull(keySelector, "keySelector");
 		this.valueSelector = Objects.requireNonNull(valueSelector, "valueSelector");
 		this.mainQueueSupplier =
@@ -83,7 +128,8 @@ final class FluxGroupBy<T, K, V> extends FluxOperator<T, GroupedFlux<K, V>>
 				mainQueueSupplier.get(),
 				groupQueueSupplier,
 				prefetch,
-				keySelector, valueSelector));
+				keySelector, valueSelector,
+				maxGroups, idleTimeout, timer));
 	}
 
 	@Override
@@ -102,6 +148,21 @@ final class FluxGroupBy<T, K, V> extends FluxOperator<T, GroupedFlux<K, V>>
 		final int                                       prefetch;
 		final Map<K, UnicastGroupedFlux<K, V>>          groupMap;
 		final CoreSubscriber<? super GroupedFlux<K, V>> actual;
+		final int                                       maxGroups;
+		final long                                      idleTimeout;
+		/**
+		 * Non-null when groups can be evicted, in which case {@link #groupMap} is an
+		 * access-ordered {@link LinkedHashMap} only accessed while holding its monitor.
+		 */
+		@Nullable
+		final Scheduler                                 timer;
+
+		volatile Disposable idleTask;
+		@SuppressWarnings("rawtypes")
+		static final AtomicReferenceFieldUpdater<GroupByMain, Disposable> IDLE_TASK =
+				AtomicReferenceFieldUpdater.newUpdater(GroupByMain.class,
+						Disposable.class,
+						"idleTask");
 
 		volatile int wip;
 
@@ -142,13 +203,29 @@ final class FluxGroupBy<T, K, V> extends FluxOperator<T, GroupedFlux<K, V>>
 				int prefetch,
 				Function<? super T, ? extends K> keySelector,
 				Function<? super T, ? extends V> valueSelector) {
+			this(actual, queue, groupQueueSupplier, prefetch, keySelector, valueSelector,
+					Integer.MAX_VALUE, Long.MAX_VALUE, null);
+		}
+
+		GroupByMain(CoreSubscriber<? super GroupedFlux<K, V>> actual,
+				Queue<GroupedFlux<K, V>> queue,
+				Supplier<? extends Queue<V>> groupQueueSupplier,
+				int prefetch,
+				Function<? super T, ? extends K> keySelector,
+				Function<? super T, ? extends V> valueSelector,
+				int maxGroups,
+				long idleTimeout,
+				@Nullable Scheduler timer) {
 			this.actual = actual;
 			this.queue = queue;
 			this.groupQueueSupplier = groupQueueSupplier;
 			this.prefetch = prefetch;
-			this.groupMap = new ConcurrentHashMap<>();
+			this.groupMap = timer != null ? new LinkedHashMap<>(16, 0.75f, true) : new ConcurrentHashMap<>();
 			this.keySelector = keySelector;
 			this.valueSelector = valueSelector;
+			this.maxGroups = maxGroups;
+			this.idleTimeout = idleTimeout;
+			this.timer = timer;
 			GROUP_COUNT.lazySet(this, 1);
 		}
 
@@ -163,6 +240,9 @@ final class FluxGroupBy<T, K, V> extends FluxOperator<T, GroupedFlux<K, V>>
 				this.s = s;
 				actual.onSubscribe(this);
 				s.request(Operators.unboundedOrPrefetch(prefetch));
+				if (timer != null) {
+					scheduleIdleCheck(idleTimeout);
+				}
 			}
 		}
 
@@ -185,6 +265,12 @@ final class FluxGroupBy<T, K, V> extends FluxOperator<T, GroupedFlux<K, V>>
 				return;
 			}
 
+			Scheduler timer = this.timer;
+			if (timer != null) {
+				onNextEvicting(key, value, timer.now(TimeUnit.MILLISECONDS));
+				return;
+			}
+
 			UnicastGroupedFlux<K, V> g = groupMap.get(key);
 
 			if (g == null) {
@@ -206,6 +292,111 @@ final class FluxGroupBy<T, K, V> extends FluxOperator<T, GroupedFlux<K, V>>
 			}
 		}
 
+		/**
+		 * Route a value to its group, removing the least recently active group first if
+		 * a new group is needed while {@link #maxGroups} are open. The groups are looked
+		 * up, created and removed while holding the {@link #groupMap} monitor, but only
+		 * signalled once it is released. Marking the group as active under the monitor
+		 * keeps {@link #evictIdle()} from evicting it before the value is delivered.
+		 */
+		void onNextEvicting(K key, V value, long now) {
+			UnicastGroupedFlux<K, V> g;
+			UnicastGroupedFlux<K, V> eldest = null;
+			boolean created = false;
+			synchronized (groupMap) {
+				g = groupMap.get(key);
+				if (g == null) {
+					// if the main is cancelled, don't create new groups
+					if (cancelled != 0) {
+						return;
+					}
+					if (groupMap.size() >= maxGroups) {
+						Iterator<UnicastGroupedFlux<K, V>> it = groupMap.values().iterator();
+						eldest = it.next();
+						it.remove();
+					}
+					Queue<V> q = groupQueueSupplier.get();
+
+					GROUP_COUNT.getAndIncrement(this);
+					g = new UnicastGroupedFlux<>(key, q, this, prefetch);
+					groupMap.put(key, g);
+					created = true;
+				}
+				g.lastActive = now;
+			}
+
+			if (eldest != null) {
+				eldest.onComplete();
+			}
+			g.onNext(value);
+			if (created) {
+				queue.offer(g);
+				drain();
+			}
+		}
+
+		/**
+		 * Complete the groups that have been idle for {@link #idleTimeout}, then check
+		 * again when the least recently active remaining group would become idle. As the
+		 * {@link #groupMap} is ordered by activity, only the evicted groups are visited.
+		 * The evicted groups are removed while holding the {@link #groupMap} monitor,
+		 * then completed once it is released.
+		 */
+		void evictIdle() {
+			Scheduler timer = this.timer;
+			if (timer == null || done || cancelled != 0) {
+				return;
+			}
+			long next = idleTimeout;
+			List<UnicastGroupedFlux<K, V>> evicted = null;
+			synchronized (groupMap) {
+				long now = timer.now(TimeUnit.MILLISECONDS);
+				Iterator<UnicastGroupedFlux<K, V>> it = groupMap.values().iterator();
+				while (it.hasNext()) {
+					UnicastGroupedFlux<K, V> g = it.next();
+					long idle = now - g.lastActive;
+					if (idle < idleTimeout) {
+						next = idleTimeout - idle;
+						break;
+					}
+					it.remove();
+					if (evicted == null) {
+						evicted = new ArrayList<>();
+					}
+					evicted.add(g);
+				}
+			}
+			if (evicted != null) {
+				for (UnicastGroupedFlux<K, V> g : evicted) {
+					g.onComplete();
+				}
+			}
+			scheduleIdleCheck(next);
+		}
+
+		void scheduleIdleCheck(long delay) {
+			try {
+				OperatorDisposables.replace(IDLE_TASK, this,
+						Objects.requireNonNull(timer).schedule(this::evictIdle, delay, TimeUnit.MILLISECONDS));
+			}
+			catch (RejectedExecutionException ree) {
+				s.cancel();
+				onError(Operators.onRejectedExecution(ree, s, null, null, actual.currentContext()));
+			}
+		}
+
+		/**
+		 * @return a snapshot of the open groups that can be iterated while they terminate
+		 */
+		Collection<UnicastGroupedFlux<K, V>> groups() {
+			if (timer != null) {
+				synchronized (groupMap) {
+					return new ArrayList<>(groupMap.values());
+				}
+			}
+			return groupMap.values();
+		}
+
 		@Override
 		public void onError(Throwable t) {
 			if (Exceptions.addThrowable(ERROR, this, t)) {
@@ -222,10 +413,11 @@ final class FluxGroupBy<T, K, V> extends FluxOperator<T, GroupedFlux<K, V>>
 			if(done){
 				return;
 			}
-			for (UnicastGroupedFlux<K, V> g : groupMap.values()) {
+			OperatorDisposables.dispose(IDLE_TASK, this);
+			for (UnicastGroupedFlux<K, V> g : groups()) {
 				g.onComplete();
 			}
-			groupMap.clear();
+			clearGroups();
 			done = true;
 			drain();
 		}
@@ -246,7 +438,18 @@ final class FluxGroupBy<T, K, V> extends FluxOperator<T, GroupedFlux<K, V>>
 
 		@Override
 		public Stream<? extends Scannable> inners() {
-			return groupMap.values().stream();
+			return groups().stream();
+		}
+
+		void clearGroups() {
+			if (timer != null) {
+				synchronized (groupMap) {
+					groupMap.clear();
+				}
+			}
+			else {
+				groupMap.clear();
+			}
 		}
 
 		void signalAsyncError() {
@@ -255,11 +458,12 @@ final class FluxGroupBy<T, K, V> extends FluxOperator<T, GroupedFlux<K, V>>
 				e = new IllegalStateException("FluxGroupBy.signalAsyncError called without error set");
 			}
 			groupCount = 0;
-			for (UnicastGroupedFlux<K, V> g : groupMap.values()) {
+			OperatorDisposables.dispose(IDLE_TASK, this);
+			for (UnicastGroupedFlux<K, V> g : groups()) {
 				g.onError(e);
 			}
 			actual.onError(e);
-			groupMap.clear();
+			clearGroups();
 		}
 
 		@Override
@@ -273,6 +477,7 @@ final class FluxGroupBy<T, K, V> extends FluxOperator<T, GroupedFlux<K, V>>
 		@Override
 		public void cancel() {
 			if (CANCELLED.compareAndSet(this, 0, 1)) {
+				OperatorDisposables.dispose(IDLE_TASK, this);
 				if (GROUP_COUNT.decrementAndGet(this) == 0) {
 					s.cancel();
 				}
@@ -294,11 +499,19 @@ final class FluxGroupBy<T, K, V> extends FluxOperator<T, GroupedFlux<K, V>>
 			}
 		}
 
-		void groupTerminated(K key) {
+		void groupTerminated(K key, UnicastGroupedFlux<K, V> group) {
 			if (groupCount == 0) {
 				return;
 			}
-			groupMap.remove(key);
+			//an evicted group terminates after a new group may have been opened for its key
+			if (timer != null) {
+				synchronized (groupMap) {
+					groupMap.remove(key, group);
+				}
+			}
+			else {
+				groupMap.remove(key, group);
+			}
 			if (GROUP_COUNT.decrementAndGet(this) == 0) {
 				s.cancel();
 			}
@@ -471,6 +684,12 @@ final class FluxGroupBy<T, K, V> extends FluxOperator<T, GroupedFlux<K, V>>
 
 		final Queue<V> queue;
 
+		/**
+		 * Requests replenishment for consumed values, even once the group has been
+		 * evicted and detached from its {@link #parent}.
+		 */
+		final GroupByMain<?, K, V> main;
+
 		volatile GroupByMain<?, K, V> parent;
 		@SuppressWarnings("rawtypes")
 		static final AtomicReferenceFieldUpdater<UnicastGroupedFlux, GroupByMain> PARENT =
@@ -509,6 +728,12 @@ final class FluxGroupBy<T, K, V> extends FluxOperator<T, GroupedFlux<K, V>>
 
 		int produced;
 
+		/**
+		 * The time of the last value routed to this group by an evicting parent, only
+		 * accessed while holding the parent's group map monitor.
+		 */
+		long lastActive;
+
 		UnicastGroupedFlux(K key,
 				Queue<V> queue,
 				GroupByMain<?, K, V> parent,
@@ -517,13 +742,14 @@ final class FluxGroupBy<T, K, V> extends FluxOperator<T, GroupedFlux<K, V>>
 			this.queue = queue;
 			this.context = parent.currentContext();
 			this.parent = parent;
+			this.main = parent;
 			this.limit = Operators.unboundedOrLimit(prefetch);
 		}
 
 		void doTerminate() {
 			GroupByMain<?, K, V> r = parent;
 			if (r != null && PARENT.compareAndSet(this, r, null)) {
-				r.groupTerminated(key);
+				r.groupTerminated(key, this);
 			}
 		}
 
@@ -563,10 +789,7 @@ final class FluxGroupBy<T, K, V> extends FluxOperator<T, GroupedFlux<K, V>>
 				}
 
 				if (e != 0) {
-					GroupByMain<?, K, V> main = parent;
-					if (main != null) {
-						main.s.request(e);
-					}
+					main.s.request(e);
 					if (r != Long.MAX_VALUE) {
 						REQUESTED.addAndGet(this, -e);
 					}
@@ -736,10 +959,7 @@ final class FluxGroupBy<T, K, V> extends FluxOperator<T, GroupedFlux<K, V>>
 				int p = produced;
 				if (p != 0) {
 					produced = 0;
-					GroupByMain<?, K, V> main = parent;
-					if (main != null) {
-						main.s.request(p);
-					}
+					main.s.request(p);
 				}
 			}
 			return v;
@@ -141,7 +141,8 @@ final class FluxIterable<T> extends Flux<T> implements Fuseable, SourceProducer<
 	}
 
 	static final class IterableSubscription<T>
-			implements InnerProducer<T>, SynchronousSubscription<T> {
+			implements InnerProducer<T>, SynchronousSubscription<T>,
+			           BatchQueueSubscription<T> {
 
 		final CoreSubscriber<? super T> actual;
 
@@ -413,7 +414,8 @@ final class FluxIterable<T> extends Flux<T> implements Fuseable, SourceProducer<
 	}
 
 	static final class IterableSubscriptionConditional<T>
-			implements InnerProducer<T>, SynchronousSubscription<T> {
+			implements InnerProducer<T>, SynchronousSubscription<T>,
+			           BatchQueueSubscription<T> {
 
 		final ConditionalSubscriber<? super T> actual;
 
@@ -17,12 +17,14 @@
 package reactor.core.publisher;
 
 import java.util.Objects;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 import org.reactivestreams.Subscription;
 import reactor.core.CoreSubscriber;
 import reactor.core.Fuseable;
 import reactor.util.annotation.Nullable;
+import reactor.util.concurrent.BatchQueue;
 
 /**
  * Maps the values of the source publisher one-on-one via a mapper function.
@@ -65,7 +67,7 @@ final class FluxMapFuseable<T, R> extends FluxOperator<T, R> implements Fuseable
 
 	static final class MapFuseableSubscriber<T, R>
 			implements InnerOperator<T, R>,
-			           QueueSubscription<R> {
+			           BatchQueueSubscription<R> {
 
 		final CoreSubscriber<? super R>        actual;
 		final Function<? super T, ? extends R> mapper;
@@ -76,6 +78,12 @@ final class FluxMapFuseable<T, R> extends FluxOperator<T, R> implements Fuseable
 
 		int sourceMode;
 
+		final Consumer<T> sourceConsumer = this::drainNext;
+
+		Consumer<? super R> drainConsumer;
+
+		int drained;
+
 		MapFuseableSubscriber(CoreSubscriber<? super R> actual,
 				Function<? super T, ? extends R> mapper) {
 			this.actual = actual;
@@ -190,6 +198,46 @@ final class FluxMapFuseable<T, R> extends FluxOperator<T, R> implements Fuseable
 			}
 		}
 
+		@Override
+		@SuppressWarnings("unchecked")
+		public int drain(Consumer<? super R> consumer, int limit) {
+			if (!(s instanceof BatchQueue)) {
+				return BatchQueueSubscription.super.drain(consumer, limit);
+			}
+			BatchQueue<T> q = (BatchQueue<T>) s;
+			drainConsumer = consumer;
+			drained = 0;
+			try {
+				//values the mapper failed on are dropped, so keep draining upstream
+				//until either the limit is reached or upstream is empty
+				for (;;) {
+					int r = limit - drained;
+					if (r == 0 || q.drain(sourceConsumer, r) == 0) {
+						return drained;
+					}
+				}
+			}
+			finally {
+				drainConsumer = null;
+			}
+		}
+
+		void drainNext(T v) {
+			R r;
+			try {
+				r = Objects.requireNonNull(mapper.apply(v));
+			}
+			catch (Throwable t) {
+				RuntimeException e_ = Operators.onNextPollError(v, t, currentContext());
+				if (e_ != null) {
+					throw e_;
+				}
+				return;
+			}
+			drained++;
+			drainConsumer.accept(r);
+		}
+
 		@Override
 		public boolean isEmpty() {
 			return s.isEmpty();
@@ -221,7 +269,7 @@ final class FluxMapFuseable<T, R> extends FluxOperator<T, R> implements Fuseable
 
 	static final class MapFuseableConditionalSubscriber<T, R>
 			implements ConditionalSubscriber<T>, InnerOperator<T, R>,
-			           QueueSubscription<R> {
+			           BatchQueueSubscription<R> {
 
 		final ConditionalSubscriber<? super R> actual;
 		final Function<? super T, ? extends R> mapper;
@@ -232,6 +280,12 @@ final class FluxMapFuseable<T, R> extends FluxOperator<T, R> implements Fuseable
 
 		int sourceMode;
 
+		final Consumer<T> sourceConsumer = this::drainNext;
+
+		Consumer<? super R> drainConsumer;
+
+		int drained;
+
 		MapFuseableConditionalSubscriber(ConditionalSubscriber<? super R> actual,
 				Function<? super T, ? extends R> mapper) {
 			this.actual = actual;
@@ -374,6 +428,46 @@ final class FluxMapFuseable<T, R> extends FluxOperator<T, R> implements Fuseable
 			}
 		}
 
+		@Override
+		@SuppressWarnings("unchecked")
+		public int drain(Consumer<? super R> consumer, int limit) {
+			if (!(s instanceof BatchQueue)) {
+				return BatchQueueSubscription.super.drain(consumer, limit);
+			}
+			BatchQueue<T> q = (BatchQueue<T>) s;
+			drainConsumer = consumer;
+			drained = 0;
+			try {
+				//values the mapper failed on are dropped, so keep draining upstream
+				//until either the limit is reached or upstream is empty
+				for (;;) {
+					int r = limit - drained;
+					if (r == 0 || q.drain(sourceConsumer, r) == 0) {
+						return drained;
+					}
+				}
+			}
+			finally {
+				drainConsumer = null;
+			}
+		}
+
+		void drainNext(T v) {
+			R r;
+			try {
+				r = Objects.requireNonNull(mapper.apply(v));
+			}
+			catch (Throwable t) {
+				RuntimeException e_ = Operators.onNextPollError(v, t, currentContext());
+				if (e_ != null) {
+					throw e_;
+				}
+				return;
+			}
+			drained++;
+			drainConsumer.accept(r);
+		}
+
 		@Override
 		public boolean isEmpty() {
 			return s.isEmpty();
@@ -16,10 +16,12 @@
 
 package reactor.core.publisher;
 
+import java.util.Objects;
 import java.util.Queue;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
@@ -40,10 +42,26 @@ final class FluxOnBackpressureBuffer<O> extends FluxOperator<O, O> implements Fu
 	final boolean             unbounded;
 	final boolean             delayError;
 
+	@Nullable
+	final Supplier<? extends Queue<O>> queueSupplier;
+
 	FluxOnBackpressureBuffer(Flux<? extends O> source,
 			int bufferSize,
 			boolean unbounded,
 			@Nullable Consumer<? super O> onOverflow) {
+		this(source, bufferSize, unbounded, onOverflow, null);
+	}
+
+	/**
+	 * @param queueSupplier an optional supplier of the buffer to use instead of the
+	 * {@link Queues} one of {@code bufferSize} capacity, which must be safe for a single
+	 * producer and a single consumer
+	 */
+	FluxOnBackpressureBuffer(Flux<? extends O> source,
+			int bufferSize,
+			boolean unbounded,
+			@Nullable Consumer<? super O> onOverflow,
+			@Nullable Supplier<? extends Queue<O>> queueSupplier) {
 		super(source);
 		if (bufferSize < 1) {
 			throw new IllegalArgumentException("Buffer Size must be strictly positive");
@@ -52,6 +70,7 @@ final class FluxOnBackpressureBuffer<O> extends FluxOperator<O, O> implements Fu
 		this.unbounded = unbounded;
 		this.onOverflow = onOverflow;
 		this.delayError = unbounded || onOverflow != null;
+		this.queueSupplier = queueSupplier;
 	}
 
 	@Override
@@ -60,7 +79,8 @@ final class FluxOnBackpressureBuffer<O> extends FluxOperator<O, O> implements Fu
 				bufferSize,
 				unbounded,
 				delayError,
-				onOverflow));
+				onOverflow,
+				queueSupplier));
 	}
 
 	@Override
@@ -100,7 +120,8 @@ final class FluxOnBackpressureBuffer<O> extends FluxOperator<O, O> implements Fu
 				int bufferSize,
 				boolean unbounded,
 				boolean delayError,
-				@Nullable Consumer<? super T> onOverflow) {
+				@Nullable Consumer<? super T> onOverflow,
+				@Nullable Supplier<? extends Queue<T>> queueSupplier) {
 			this.actual = actual;
 			this.ctx = actual.currentContext();
 			this.delayError = delayError;
@@ -108,7 +129,11 @@ final class FluxOnBackpressureBuffer<O> extends FluxOperator<O, O> implements Fu
 
 			Queue<T> q;
 
-			if (unbounded) {
+			if (queueSupplier != null) {
+				q = Objects.requireNonNull(queueSupplier.get(),
+						"The queueSupplier returned a null queue");
+			}
+			else if (unbounded) {
 				q = Queues.<T>unbounded(bufferSize).get();
 			}
 			else {
@@ -148,7 +173,16 @@ final class FluxOnBackpressureBuffer<O> extends FluxOperator<O, O> implements Fu
 				Operators.onNextDropped(t, ctx);
 				return;
 			}
-			if (!queue.offer(t)) {
+			boolean offered;
+			try {
+				offered = queue.offer(t);
+			}
+			catch (Throwable e) {
+				Operators.onDiscard(t, ctx);
+				onError(Operators.onOperatorError(s, e, t, ctx));
+				return;
+			}
+			if (!offered) {
 				Throwable ex =
 						Operators.onOperatorError(s, Exceptions.failWithOverflow(), t,
 								ctx);
@@ -228,7 +262,17 @@ final class FluxOnBackpressureBuffer<O> extends FluxOperator<O, O> implements Fu
 				while (r != e) {
 					boolean d = done;
 
-					T t = q.poll();
+					T t;
+					try {
+						t = q.poll();
+					}
+					catch (Throwable ex) {
+						Exceptions.throwIfFatal(ex);
+						s.cancel();
+						Operators.onDiscardQueueWithClear(q, ctx, null);
+						a.onError(Operators.onOperatorError(ex, ctx));
+						return;
+					}
 					boolean empty = t == null;
 
 					if (checkTerminated(d, empty, a)) {
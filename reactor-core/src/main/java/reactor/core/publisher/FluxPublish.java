@@ -32,6 +32,7 @@ import reactor.core.Disposable;
 import reactor.core.Exceptions;
 import reactor.core.Fuseable;
 import reactor.core.Scannable;
+import reactor.core.publisher.FluxSink.OverflowStrategy;
 import reactor.util.annotation.Nullable;
 
 /**
@@ -56,6 +57,9 @@ final class FluxPublish<T> extends ConnectableFlux<T> implements Scannable {
 
 	final Supplier<? extends Queue<T>> queueSupplier;
 
+	@Nullable
+	final SlowSubscriberPolicy slowSubscriberPolicy;
+
 	volatile PublishSubscriber<T> connection;
 	@SuppressWarnings("rawtypes")
 	static final AtomicReferenceFieldUpdater<FluxPublish, PublishSubscriber> CONNECTION =
@@ -66,12 +70,20 @@ final class FluxPublish<T> extends ConnectableFlux<T> implements Scannable {
 	FluxPublish(Flux<? extends T> source,
 			int prefetch,
 			Supplier<? extends Queue<T>> queueSupplier) {
+		this(source, prefetch, queueSupplier, null);
+	}
+
+	FluxPublish(Flux<? extends T> source,
+			int prefetch,
+			Supplier<? extends Queue<T>> queueSupplier,
+			@Nullable SlowSubscriberPolicy slowSubscriberPolicy) {
 		if (prefetch <= 0) {
 			throw new IllegalArgumentException("bufferSize > 0 required but it was " + prefetch);
 		}
 		this.source = Objects.requireNonNull(source, "source");
 		this.prefetch = prefetch;
 		this.queueSupplier = Objects.requireNonNull(queueSupplier, "queueSupplier");
+		this.slowSubscriberPolicy = slowSubscriberPolicy;
 	}
 
 	@Override
@@ -160,13 +172,7 @@ final class FluxPublish<T> extends ConnectableFlux<T> implements Scannable {
 						Subscription.class,
 						"s");
 
-		volatile PubSubInner<T>[] subscribers;
-
-		@SuppressWarnings("rawtypes")
-		static final AtomicReferenceFieldUpdater<PublishSubscriber, PubSubInner[]> SUBSCRIBERS =
-				AtomicReferenceFieldUpdater.newUpdater(PublishSubscriber.class,
-						PubSubInner[].class,
-						"subscribers");
+		final SubscriberRegistry<PubSubInner<T>> subscribers;
 
 		volatile int wip;
 		@SuppressWarnings("rawtypes")
@@ -179,11 +185,6 @@ final class FluxPublish<T> extends ConnectableFlux<T> implements Scannable {
 				AtomicIntegerFieldUpdater.newUpdater(PublishSubscriber.class,
 						"connected");
 
-		@SuppressWarnings("rawtypes")
-		static final PubSubInner[] EMPTY      = new PublishInner[0];
-		@SuppressWarnings("rawtypes")
-		static final PubSubInner[] TERMINATED = new PublishInner[0];
-
 		volatile Queue<T> queue;
 
 		int sourceMode;
@@ -198,15 +199,14 @@ final class FluxPublish<T> extends ConnectableFlux<T> implements Scannable {
 						Throwable.class,
 						"error");
 
-		@SuppressWarnings("unchecked")
 		PublishSubscriber(int prefetch, FluxPublish<T> parent) {
 			this.prefetch = prefetch;
 			this.parent = parent;
-			SUBSCRIBERS.lazySet(this, EMPTY);
+			this.subscribers = new SubscriberRegistry<>(PubSubInner::newArray);
 		}
 
 		boolean isTerminated(){
-			return subscribers == TERMINATED;
+			return subscribers.isTerminated();
 		}
 
 		@Override
@@ -288,7 +288,7 @@ final class FluxPublish<T> extends ConnectableFlux<T> implements Scannable {
 
 		@Override
 		public void dispose() {
-			if (SUBSCRIBERS.get(this) == TERMINATED) {
+			if (subscribers.isTerminated()) {
 				return;
 			}
 			if (CONNECTION.compareAndSet(parent, this, null)) {
@@ -312,59 +312,19 @@ final class FluxPublish<T> extends ConnectableFlux<T> implements Scannable {
 		}
 
 		boolean add(PublishInner<T> inner) {
-			for (; ; ) {
-				FluxPublish.PubSubInner<T>[] a = subscribers;
-				if (a == TERMINATED) {
-					return false;
-				}
-				int n = a.length;
-				PubSubInner<?>[] b = new PubSubInner[n + 1];
-				System.arraycopy(a, 0, b, 0, n);
-				b[n] = inner;
-				if (SUBSCRIBERS.compareAndSet(this, a, b)) {
-					return true;
-				}
-			}
+			return subscribers.add(inner);
 		}
 
-		@SuppressWarnings("unchecked")
 		public void remove(PubSubInner<T> inner) {
-			for (; ; ) {
-				PubSubInner<T>[] a = subscribers;
-				if (a == TERMINATED || a == EMPTY) {
-					return;
-				}
-				int n = a.length;
-				int j = 0;
-				for (int i = 0; i < n; i++) {
-					if (a[i] == inner) {
-						j = i;
-						break;
-					}
-				}
-
-				if (j < 0) { //TODO investigate condition always false
-					return;
-				}
-
-				PubSubInner<?>[] b;
-				if (n == 1) {
-					b = EMPTY;
-				}
-				else {
-					b = new PubSubInner<?>[n - 1];
-					System.arraycopy(a, 0, b, 0, j);
-					System.arraycopy(a, j + 1, b, j, n - j - 1);
-				}
-				if (SUBSCRIBERS.compareAndSet(this, a, b)) {
-					return;
-				}
-			}
+			subscribers.remove(inner);
 		}
 
-		@SuppressWarnings("unchecked")
 		PubSubInner<T>[] terminate() {
-			return SUBSCRIBERS.getAndSet(this, TERMINATED);
+			PubSubInner<T>[] inners = subscribers.terminate();
+			for (PubSubInner<T> inner : inners) {
+				inner.clearLagState();
+			}
+			return inners;
 		}
 
 		boolean tryConnect() {
@@ -390,8 +350,13 @@ final class FluxPublish<T> extends ConnectableFlux<T> implements Scannable {
 					return;
 				}
 
+				SlowSubscriberPolicy policy = parent.slowSubscriberPolicy;
+				if (policy != null) {
+					policy.apply(subscribers.snapshot(), empty ? 0 : q.size(), this::drain);
+				}
+
 				if (!empty) {
-					PubSubInner<T>[] a = subscribers;
+					PubSubInner<T>[] a = subscribers.snapshot();
 					long maxRequested = Long.MAX_VALUE;
 
 					int len = a.length;
@@ -400,7 +365,9 @@ final class FluxPublish<T> extends ConnectableFlux<T> implements Scannable {
 					for (PubSubInner<T> inner : a) {
 						long r = inner.requested;
 						if (r >= 0L) {
-							maxRequested = Math.min(maxRequested, r);
+							if (inner.lagMode == null) {
+								maxRequested = Math.min(maxRequested, r);
+							}
 						}
 						else { //Long.MIN
 							cancel++;
@@ -463,11 +430,16 @@ final class FluxPublish<T> extends ConnectableFlux<T> implements Scannable {
 						}
 
 						for (PubSubInner<T> inner : a) {
-							inner.actual.onNext(v);
-							if(Operators.producedCancellable(PubSubInner.REQUESTED,
-									inner,1) ==
-									Long.MIN_VALUE){
-								cancel = Integer.MIN_VALUE;
+							if (inner.lagMode != null) {
+								inner.onNextLagging(v);
+							}
+							else {
+								inner.actual.onNext(v);
+								if (Operators.producedCancellable(PubSubInner.REQUESTED,
+										inner, 1) ==
+										Long.MIN_VALUE) {
+									cancel = Integer.MIN_VALUE;
+								}
 							}
 						}
 
@@ -525,7 +497,7 @@ final class FluxPublish<T> extends ConnectableFlux<T> implements Scannable {
 
 		@Override
 		public Stream<? extends Scannable> inners() {
-			return Stream.of(subscribers);
+			return Stream.of(subscribers.snapshot());
 		}
 
 		@Override
@@ -548,19 +520,130 @@ final class FluxPublish<T> extends ConnectableFlux<T> implements Scannable {
 
 	}
 
-	static abstract class PubSubInner<T> implements InnerProducer<T> {
+	static abstract class PubSubInner<T>
+			implements InnerProducer<T>, SubscriberRegistry.Entry {
+
+		@SuppressWarnings("unchecked")
+		static <T> PubSubInner<T>[] newArray(int length) {
+			return new PubSubInner[length];
+		}
 
 		final CoreSubscriber<? super T> actual;
 
+		volatile int registryIndex = -1;
+
 		volatile long requested;
 		@SuppressWarnings("rawtypes")
 		static final AtomicLongFieldUpdater<PubSubInner> REQUESTED =
 				AtomicLongFieldUpdater.newUpdater(PubSubInner.class, "requested");
 
+		/**
+		 * The strategy applied since a {@link SlowSubscriberPolicy} found this subscriber
+		 * too slow, null while it gates the shared buffer. Like {@link #stallStart}, only
+		 * accessed from the parent's drain loop.
+		 */
+		@Nullable
+		OverflowStrategy lagMode;
+
+		long stallStart = Long.MIN_VALUE;
+
+		/**
+		 * The value kept in {@link OverflowStrategy#LATEST} mode, set by the parent's
+		 * drain loop and discarded by whoever cancels or terminates the subscriber.
+		 */
+		@Nullable
+		volatile T latest;
+		@SuppressWarnings("rawtypes")
+		static final AtomicReferenceFieldUpdater<PubSubInner, Object> LATEST =
+				AtomicReferenceFieldUpdater.newUpdater(PubSubInner.class, Object.class, "latest");
+
+		/**
+		 * The delayed check scheduled by a {@link SlowSubscriberPolicy} when this
+		 * subscriber started to stall.
+		 */
+		@Nullable
+		volatile Disposable stallCheck;
+		@SuppressWarnings("rawtypes")
+		static final AtomicReferenceFieldUpdater<PubSubInner, Disposable> STALL_CHECK =
+				AtomicReferenceFieldUpdater.newUpdater(PubSubInner.class, Disposable.class, "stallCheck");
+
 		PubSubInner(CoreSubscriber<? super T> actual) {
 			this.actual = actual;
 		}
 
+		/**
+		 * @param pending the number of values in the parent's buffer
+		 * @return the number of buffered values this subscriber lacks the demand for,
+		 * whether or not it still gates the buffer
+		 */
+		final int lag(int pending) {
+			long r = requested;
+			if (r < 0L || r >= pending) {
+				return 0;
+			}
+			return (int) (pending - r);
+		}
+
+		/**
+		 * Emit a value to a subscriber that no longer gates the shared buffer, dropping
+		 * it or keeping it as the latest value if there is no demand for it.
+		 */
+		final void onNextLagging(T v) {
+			drainLatest();
+			long r = requested;
+			if (r > 0L) {
+				actual.onNext(v);
+				Operators.producedCancellable(REQUESTED, this, 1);
+			}
+			else if (r == 0L && lagMode == OverflowStrategy.LATEST) {
+				@SuppressWarnings("unchecked")
+				T old = (T) LATEST.getAndSet(this, v);
+				if (old != null) {
+					Operators.onDiscard(old, actual.currentContext());
+				}
+				if (isCancelled()) {
+					//a concurrent cancel might have missed the new value
+					discardLatest();
+				}
+			}
+			else {
+				Operators.onDiscard(v, actual.currentContext());
+			}
+		}
+
+		final void drainLatest() {
+			T v = latest;
+			if (v != null && requested > 0L && LATEST.compareAndSet(this, v, null)) {
+				actual.onNext(v);
+				Operators.producedCancellable(REQUESTED, this, 1);
+			}
+		}
+
+		final void discardLatest() {
+			@SuppressWarnings("unchecked")
+			T v = (T) LATEST.getAndSet(this, null);
+			if (v != null) {
+				Operators.onDiscard(v, actual.currentContext());
+			}
+		}
+
+		/**
+		 * Set the delayed stall check, disposing the previous one if any, or the new one
+		 * if the subscriber is already cancelled or terminated.
+		 */
+		final void stallCheck(Disposable check) {
+			OperatorDisposables.set(STALL_CHECK, this, check);
+		}
+
+		/**
+		 * Release what a {@link SlowSubscriberPolicy} holds for this subscriber, once it
+		 * is cancelled or the sequence terminates.
+		 */
+		final void clearLagState() {
+			OperatorDisposables.dispose(STALL_CHECK, this);
+			discardLatest();
+		}
+
 		@Override
 		public final void request(long n) {
 			if (Operators.validate(n)) {
@@ -575,6 +658,7 @@ final class FluxPublish<T> extends ConnectableFlux<T> implements Scannable {
 			if (r != Long.MIN_VALUE) {
 				r = REQUESTED.getAndSet(this, Long.MIN_VALUE);
 				if (r != Long.MIN_VALUE) {
+					clearLagState();
 					removeAndDrainParent();
 				}
 			}
@@ -589,15 +673,27 @@ final class FluxPublish<T> extends ConnectableFlux<T> implements Scannable {
 			return actual;
 		}
 
+		@Override
+		public final int registryIndex() {
+			return registryIndex;
+		}
+
+		@Override
+		public final void registryIndex(int index) {
+			registryIndex = index;
+		}
+
 		@Override
 		@Nullable
 		public Object scanUnsafe(Attr key) {
 			if (key == Attr.CANCELLED) return isCancelled();
 			if (key == Attr.REQUESTED_FROM_DOWNSTREAM) return isCancelled() ? 0L : requested;
+			if (key == Attr.LAG) return lag(parentPending());
 
 			return InnerProducer.super.scanUnsafe(key);
 		}
 
+		abstract int parentPending();
 		abstract void drainParent();
 		abstract void removeAndDrainParent();
 	}
@@ -609,6 +705,13 @@ final class FluxPublish<T> extends ConnectableFlux<T> implements Scannable {
 			super(actual);
 		}
 
+		@Override
+		int parentPending() {
+			PublishSubscriber<T> p = parent;
+			Queue<T> q = p != null ? p.queue : null;
+			return q != null ? q.size() : 0;
+		}
+
 		@Override
 		void drainParent() {
 			PublishSubscriber<T> p = parent;
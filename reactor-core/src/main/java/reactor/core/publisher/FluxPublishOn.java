@@ -21,6 +21,8 @@ import java.util.Queue;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
 import java.util.function.Supplier;
 
 import org.reactivestreams.Subscriber;
@@ -31,6 +33,8 @@ import reactor.core.Fuseable;
 import reactor.core.scheduler.Scheduler;
 import reactor.core.scheduler.Scheduler.Worker;
 import reactor.util.annotation.Nullable;
+import reactor.util.concurrent.BatchQueue;
+import reactor.util.concurrent.WaitStrategy;
 
 /**
  * Emits events on a different thread specified by a scheduler callback.
@@ -51,12 +55,28 @@ final class FluxPublishOn<T> extends FluxOperator<T, T> implements Fuseable {
 
 	final int lowTide;
 
+	@Nullable
+	final WaitStrategy waitStrategy;
+
+	final long maxIdleNanos;
+
 	FluxPublishOn(Flux<? extends T> source,
 			Scheduler scheduler,
 			boolean delayError,
 			int prefetch,
 			int lowTide,
 			Supplier<? extends Queue<T>> queueSupplier) {
+		this(source, scheduler, delayError, prefetch, lowTide, queueSupplier, null, 0L);
+	}
+
+	FluxPublishOn(Flux<? extends T> source,
+			Scheduler scheduler,
+			boolean delayError,
+			int prefetch,
+			int lowTide,
+			Supplier<? extends Queue<T>> queueSupplier,
+			@Nullable WaitStrategy waitStrategy,
+			long maxIdleNanos) {
 		super(source);
 		if (prefetch <= 0) {
 			throw new IllegalArgumentException("prefetch > 0 required but it was " + prefetch);
@@ -66,6 +86,8 @@ final class FluxPublishOn<T> extends FluxOperator<T, T> implements Fuseable {
 		this.prefetch = prefetch;
 		this.lowTide = lowTide;
 		this.queueSupplier = Objects.requireNonNull(queueSupplier, "queueSupplier");
+		this.waitStrategy = waitStrategy;
+		this.maxIdleNanos = maxIdleNanos;
 	}
 
 	@Override
@@ -102,7 +124,9 @@ final class FluxPublishOn<T> extends FluxOperator<T, T> implements Fuseable {
 					delayError,
 					prefetch,
 					lowTide,
-					queueSupplier));
+					queueSupplier,
+					waitStrategy,
+					maxIdleNanos));
 			return;
 		}
 		source.subscribe(new PublishOnSubscriber<>(actual,
@@ -111,7 +135,9 @@ final class FluxPublishOn<T> extends FluxOperator<T, T> implements Fuseable {
 				delayError,
 				prefetch,
 				lowTide,
-				queueSupplier));
+				queueSupplier,
+				waitStrategy,
+				maxIdleNanos));
 	}
 
 	static final class PublishOnSubscriber<T>
@@ -157,6 +183,27 @@ final class FluxPublishOn<T> extends FluxOperator<T, T> implements Fuseable {
 
 		boolean outputFused;
 
+		final Consumer<T> drainConsumer = this::emitDrained;
+
+		@Nullable
+		final WaitStrategy waitStrategy;
+
+		final long maxIdleNanos;
+
+		@Nullable
+		final LongSupplier wipSupplier;
+
+		@Nullable
+		final Runnable idleCheck;
+
+		long idleDeadline;
+
+		/**
+		 * Whether the drain loop is blocked in {@link #awaitWork(int)}, so that new
+		 * signals only wake the {@link #waitStrategy} up when needed.
+		 */
+		volatile boolean parked;
+
 		PublishOnSubscriber(CoreSubscriber<? super T> actual,
 				Scheduler scheduler,
 				Worker worker,
@@ -164,6 +211,18 @@ final class FluxPublishOn<T> extends FluxOperator<T, T> implements Fuseable {
 				int prefetch,
 				int lowTide,
 				Supplier<? extends Queue<T>> queueSupplier) {
+			this(actual, scheduler, worker, delayError, prefetch, lowTide, queueSupplier, null, 0L);
+		}
+
+		PublishOnSubscriber(CoreSubscriber<? super T> actual,
+				Scheduler scheduler,
+				Worker worker,
+				boolean delayError,
+				int prefetch,
+				int lowTide,
+				Supplier<? extends Queue<T>> queueSupplier,
+				@Nullable WaitStrategy waitStrategy,
+				long maxIdleNanos) {
 			this.actual = actual;
 			this.worker = worker;
 			this.scheduler = scheduler;
@@ -171,6 +230,16 @@ final class FluxPublishOn<T> extends FluxOperator<T, T> implements Fuseable {
 			this.prefetch = prefetch;
 			this.queueSupplier = queueSupplier;
 			this.limit = Operators.unboundedOrLimit(prefetch, lowTide);
+			this.waitStrategy = waitStrategy;
+			this.maxIdleNanos = maxIdleNanos;
+			if (waitStrategy != null) {
+				this.wipSupplier = () -> wip;
+				this.idleCheck = this::checkIdle;
+			}
+			else {
+				this.wipSupplier = null;
+				this.idleCheck = null;
+			}
 		}
 
 		@Override
@@ -275,6 +344,9 @@ final class FluxPublishOn<T> extends FluxOperator<T, T> implements Fuseable {
 			if (WIP.getAndIncrement(this) == 0) {
 				Operators.onDiscardQueueWithClear(queue, actual.currentContext(), null);
 			}
+			else if (parked && waitStrategy != null) {
+				waitStrategy.signalAllWhenBlocking();
+			}
 		}
 
 		void trySchedule(
@@ -282,6 +354,9 @@ final class FluxPublishOn<T> extends FluxOperator<T, T> implements Fuseable {
 				@Nullable Throwable suppressed,
 				@Nullable Object dataSignal) {
 			if (WIP.getAndIncrement(this) != 0) {
+				if (parked && waitStrategy != null) {
+					waitStrategy.signalAllWhenBlocking();
+				}
 				return;
 			}
 
@@ -300,6 +375,7 @@ final class FluxPublishOn<T> extends FluxOperator<T, T> implements Fuseable {
 
 			final Subscriber<? super T> a = actual;
 			final Queue<T> q = queue;
+			final BatchQueue<T> bq = q instanceof BatchQueue ? (BatchQueue<T>) q : null;
 
 			long e = produced;
 
@@ -308,6 +384,33 @@ final class FluxPublishOn<T> extends FluxOperator<T, T> implements Fuseable {
 				long r = requested;
 
 				while (e != r) {
+					if (bq != null) {
+						int n;
+
+						try {
+							//chunks are capped so that requested and cancellation
+							//are regularly checked on long or unbounded sources
+							n = bq.drain(drainConsumer, (int) Math.min(r - e, limit));
+						}
+						catch (Throwable ex) {
+							doError(a, Operators.onOperatorError(s, ex,
+									actual.currentContext()));
+							return;
+						}
+
+						if (cancelled) {
+							Operators.onDiscardQueueWithClear(q, actual.currentContext(), null);
+							return;
+						}
+						if (n == 0) {
+							doComplete(a);
+							return;
+						}
+
+						e += n;
+						continue;
+					}
+
 					T v;
 
 					try {
@@ -362,6 +465,7 @@ final class FluxPublishOn<T> extends FluxOperator<T, T> implements Fuseable {
 
 			final Subscriber<? super T> a = actual;
 			final Queue<T> q = queue;
+			final BatchQueue<T> bq = q instanceof BatchQueue ? (BatchQueue<T>) q : null;
 
 			long e = produced;
 
@@ -371,6 +475,47 @@ final class FluxPublishOn<T> extends FluxOperator<T, T> implements Fuseable {
 
 				while (e != r) {
 					boolean d = done;
+
+					if (bq != null) {
+						//an error that is already there must not wait behind a batch
+						//when errors aren't delayed
+						if (checkTerminated(d, false, a)) {
+							return;
+						}
+
+						int n;
+
+						try {
+							n = bq.drain(drainConsumer, (int) Math.min(r - e, limit - e));
+						}
+						catch (Throwable ex) {
+							Exceptions.throwIfFatal(ex);
+							s.cancel();
+							Operators.onDiscardQueueWithClear(q, actual.currentContext(), null);
+
+							doError(a, Operators.onOperatorError(ex, actual.currentContext()));
+							return;
+						}
+
+						if (checkTerminated(d, n == 0, a)) {
+							return;
+						}
+
+						if (n == 0) {
+							break;
+						}
+
+						e += n;
+						if (e == limit) {
+							if (r != Long.MAX_VALUE) {
+								r = REQUESTED.addAndGet(this, -e);
+							}
+							s.request(e);
+							e = 0L;
+						}
+						continue;
+					}
+
 					T v;
 
 					try {
@@ -414,6 +559,12 @@ final class FluxPublishOn<T> extends FluxOperator<T, T> implements Fuseable {
 				int w = wip;
 				if (missed == w) {
 					produced = e;
+					if (waitStrategy != null) {
+						missed = awaitWork(missed);
+						if (missed != 1) {
+							continue;
+						}
+					}
 					missed = WIP.addAndGet(this, -missed);
 					if (missed == 0) {
 						break;
@@ -425,6 +576,61 @@ final class FluxPublishOn<T> extends FluxOperator<T, T> implements Fuseable {
 			}
 		}
 
+		/**
+		 * Keep the worker for up to {@link #maxIdleNanos}, waiting with the
+		 * {@link #waitStrategy} for a new signal rather than exiting the drain loop and
+		 * having that signal schedule a new drain.
+		 *
+		 * While waiting, {@link #wip} is brought back to 1 so that it stays bounded however
+		 * long the drain loop is kept busy, while still preventing new signals from
+		 * scheduling a concurrent drain.
+		 *
+		 * @param missed the work already accounted for by the drain loop, equal to {@link #wip}
+		 * @return the work to account for in the next drain loop iteration, or 1 if the
+		 * drain loop should exit
+		 */
+		int awaitWork(int missed) {
+			if (!WIP.compareAndSet(this, missed, 1)) {
+				return wip;
+			}
+			idleDeadline = System.nanoTime() + maxIdleNanos;
+			parked = true;
+			try {
+				waitStrategy.waitFor(2L, wipSupplier, idleCheck);
+			}
+			catch (InterruptedException ie) {
+				Thread.currentThread().interrupt();
+			}
+			catch (RuntimeException ex) {
+				if (!WaitStrategy.isAlert(ex)) {
+					throw ex;
+				}
+			}
+			finally {
+				parked = false;
+			}
+			return wip;
+		}
+
+		void checkIdle() {
+			if (cancelled || System.nanoTime() - idleDeadline >= 0) {
+				WaitStrategy.alert();
+			}
+		}
+
+		/**
+		 * Emit an element drained in batch from a {@link BatchQueue}, discarding it instead
+		 * if cancelled in the middle of the batch.
+		 */
+		void emitDrained(T t) {
+			if (cancelled) {
+				Operators.onDiscard(t, actual.currentContext());
+			}
+			else {
+				actual.onNext(t);
+			}
+		}
+
 		void runBackfused() {
 			int missed = 1;
 
@@ -630,6 +836,25 @@ final class FluxPublishOn<T> extends FluxOperator<T, T> implements Fuseable {
 
 		boolean outputFused;
 
+		@Nullable
+		final WaitStrategy waitStrategy;
+
+		final long maxIdleNanos;
+
+		@Nullable
+		final LongSupplier wipSupplier;
+
+		@Nullable
+		final Runnable idleCheck;
+
+		long idleDeadline;
+
+		/**
+		 * Whether the drain loop is blocked in {@link #awaitWork(int)}, so that new
+		 * signals only wake the {@link #waitStrategy} up when needed.
+		 */
+		volatile boolean parked;
+
 		PublishOnConditionalSubscriber(ConditionalSubscriber<? super T> actual,
 				Scheduler scheduler,
 				Worker worker,
@@ -637,6 +862,18 @@ final class FluxPublishOn<T> extends FluxOperator<T, T> implements Fuseable {
 				int prefetch,
 				int lowTide,
 				Supplier<? extends Queue<T>> queueSupplier) {
+			this(actual, scheduler, worker, delayError, prefetch, lowTide, queueSupplier, null, 0L);
+		}
+
+		PublishOnConditionalSubscriber(ConditionalSubscriber<? super T> actual,
+				Scheduler scheduler,
+				Worker worker,
+				boolean delayError,
+				int prefetch,
+				int lowTide,
+				Supplier<? extends Queue<T>> queueSupplier,
+				@Nullable WaitStrategy waitStrategy,
+				long maxIdleNanos) {
 			this.actual = actual;
 			this.worker = worker;
 			this.scheduler = scheduler;
@@ -644,6 +881,16 @@ final class FluxPublishOn<T> extends FluxOperator<T, T> implements Fuseable {
 			this.prefetch = prefetch;
 			this.queueSupplier = queueSupplier;
 			this.limit = Operators.unboundedOrLimit(prefetch, lowTide);
+			this.waitStrategy = waitStrategy;
+			this.maxIdleNanos = maxIdleNanos;
+			if (waitStrategy != null) {
+				this.wipSupplier = () -> wip;
+				this.idleCheck = this::checkIdle;
+			}
+			else {
+				this.wipSupplier = null;
+				this.idleCheck = null;
+			}
 		}
 
 		@Override
@@ -745,6 +992,9 @@ final class FluxPublishOn<T> extends FluxOperator<T, T> implements Fuseable {
 			if (WIP.getAndIncrement(this) == 0) {
 				Operators.onDiscardQueueWithClear(queue, actual.currentContext(), null);
 			}
+			else if (parked && waitStrategy != null) {
+				waitStrategy.signalAllWhenBlocking();
+			}
 		}
 
 		void trySchedule(
@@ -752,6 +1002,9 @@ final class FluxPublishOn<T> extends FluxOperator<T, T> implements Fuseable {
 				@Nullable Throwable suppressed,
 				@Nullable Object dataSignal) {
 			if (WIP.getAndIncrement(this) != 0) {
+				if (parked && waitStrategy != null) {
+					waitStrategy.signalAllWhenBlocking();
+				}
 				return;
 			}
 
@@ -883,6 +1136,12 @@ final class FluxPublishOn<T> extends FluxOperator<T, T> implements Fuseable {
 				if (missed == w) {
 					produced = emitted;
 					consumed = polled;
+					if (waitStrategy != null) {
+						missed = awaitWork(missed);
+						if (missed != 1) {
+							continue;
+						}
+					}
 					missed = WIP.addAndGet(this, -missed);
 					if (missed == 0) {
 						break;
@@ -895,6 +1154,48 @@ final class FluxPublishOn<T> extends FluxOperator<T, T> implements Fuseable {
 
 		}
 
+		/**
+		 * Keep the worker for up to {@link #maxIdleNanos}, waiting with the
+		 * {@link #waitStrategy} for a new signal rather than exiting the drain loop and
+		 * having that signal schedule a new drain.
+		 *
+		 * While waiting, {@link #wip} is brought back to 1 so that it stays bounded however
+		 * long the drain loop is kept busy, while still preventing new signals from
+		 * scheduling a concurrent drain.
+		 *
+		 * @param missed the work already accounted for by the drain loop, equal to {@link #wip}
+		 * @return the work to account for in the next drain loop iteration, or 1 if the
+		 * drain loop should exit
+		 */
+		int awaitWork(int missed) {
+			if (!WIP.compareAndSet(this, missed, 1)) {
+				return wip;
+			}
+			idleDeadline = System.nanoTime() + maxIdleNanos;
+			parked = true;
+			try {
+				waitStrategy.waitFor(2L, wipSupplier, idleCheck);
+			}
+			catch (InterruptedException ie) {
+				Thread.currentThread().interrupt();
+			}
+			catch (RuntimeException ex) {
+				if (!WaitStrategy.isAlert(ex)) {
+					throw ex;
+				}
+			}
+			finally {
+				parked = false;
+			}
+			return wip;
+		}
+
+		void checkIdle() {
+			if (cancelled || System.nanoTime() - idleDeadline >= 0) {
+				WaitStrategy.alert();
+			}
+		}
+
 		void runBackfused() {
 			int missed = 1;
 
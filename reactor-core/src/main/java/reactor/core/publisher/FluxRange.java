@@ -16,6 +16,7 @@
 package reactor.core.publisher;
 
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.function.Consumer;
 
 import org.reactivestreams.Subscriber;
 import reactor.core.CoreSubscriber;
@@ -74,7 +75,8 @@ final class FluxRange extends Flux<Integer>
 	}
 
 	static final class RangeSubscription implements InnerProducer<Integer>,
-	                                                SynchronousSubscription<Integer> {
+	                                                SynchronousSubscription<Integer>,
+	                                                BatchQueueSubscription<Integer> {
 
 		final CoreSubscriber<? super Integer> actual;
 
@@ -203,6 +205,24 @@ final class FluxRange extends Flux<Integer>
 			return (int)i;
 		}
 
+		@Override
+		public int drain(Consumer<? super Integer> consumer, int limit) {
+			long i = index;
+			int n = (int) Math.min(limit, end - i);
+			long f = i + n;
+			try {
+				while (i != f) {
+					int v = (int) i;
+					i++;
+					consumer.accept(v);
+				}
+			}
+			finally {
+				index = i;
+			}
+			return n;
+		}
+
 		@Override
 		public boolean isEmpty() {
 			return index == end;
@@ -221,7 +241,8 @@ final class FluxRange extends Flux<Integer>
 	
 	static final class RangeSubscriptionConditional
 			implements InnerProducer<Integer>,
-			           SynchronousSubscription<Integer> {
+			           SynchronousSubscription<Integer>,
+			           BatchQueueSubscription<Integer> {
 
 		final ConditionalSubscriber<? super Integer> actual;
 
@@ -353,6 +374,24 @@ final class FluxRange extends Flux<Integer>
 			return (int)i;
 		}
 
+		@Override
+		public int drain(Consumer<? super Integer> consumer, int limit) {
+			long i = index;
+			int n = (int) Math.min(limit, end - i);
+			long f = i + n;
+			try {
+				while (i != f) {
+					int v = (int) i;
+					i++;
+					consumer.accept(v);
+				}
+			}
+			finally {
+				index = i;
+			}
+			return n;
+		}
+
 		@Override
 		public boolean isEmpty() {
 			return index == end;
@@ -21,7 +21,6 @@ import java.util.concurrent.CancellationException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
-import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
@@ -113,27 +112,52 @@ final class FluxReplay<T> extends ConnectableFlux<T> implements Scannable, Fusea
 		boolean isExpired();
 	}
 
-	static final class SizeAndTimeBoundReplayBuffer<T> implements ReplayBuffer<T> {
+	/**
+	 * A chunk of consecutive values of a bounded {@link ReplayBuffer}, with their
+	 * timestamps in a parallel array for time-bounded buffers. {@link #base} is the
+	 * sequence number of the first value, chunks being linked from the oldest to the
+	 * newest.
+	 * <p>
+	 * Evicted values are not cleared, as a slow {@link ReplaySubscription} can still be
+	 * reading them: a whole chunk becomes garbage once no subscription references it,
+	 * so a buffer retains at most {@code chunkSize - 1} values more than its limit.
+	 */
+	static final class ReplayChunk {
+
+		static final int MAX_SIZE = 64;
+
+		final Object[] values;
+		@Nullable
+		final long[]   times;
+		final int      base;
 
-		static final class TimedNode<T> extends AtomicReference<TimedNode<T>> {
+		ReplayChunk next;
 
-			final T    value;
-			final long time;
+		ReplayChunk(int size, int base, boolean timed) {
+			this.values = new Object[size];
+			this.times = timed ? new long[size] : null;
+			this.base = base;
+		}
 
-			TimedNode(@Nullable T value, long time) {
-				this.value = value;
-				this.time = time;
-			}
+		static int size(int limit) {
+			return Math.max(1, Math.min(limit, MAX_SIZE));
 		}
+	}
+
+	static final class SizeAndTimeBoundReplayBuffer<T> implements ReplayBuffer<T> {
 
 		final int            limit;
 		final long           maxAge;
 		final Scheduler scheduler;
-		int size;
+		final int            chunkSize;
 
-		volatile TimedNode<T> head;
+		volatile ReplayChunk head;
+		volatile int         headIndex;
 
-		TimedNode<T> tail;
+		ReplayChunk tail;
+		int         tailOffset;
+
+		volatile int produced;
 
 		Throwable error;
 		static final long NOT_DONE = Long.MIN_VALUE;
@@ -146,7 +170,8 @@ final class FluxReplay<T> extends ConnectableFlux<T> implements Scannable, Fusea
 			this.limit = limit;
 			this.maxAge = maxAge;
 			this.scheduler = scheduler;
-			TimedNode<T> h = new TimedNode<>(null, 0L);
+			this.chunkSize = ReplayChunk.size(limit);
+			ReplayChunk h = new ReplayChunk(chunkSize, 0, true);
 			this.tail = h;
 			this.head = h;
 		}
@@ -157,30 +182,52 @@ final class FluxReplay<T> extends ConnectableFlux<T> implements Scannable, Fusea
 			return done != NOT_DONE && scheduler.now(TimeUnit.MILLISECONDS) - maxAge > done;
 		}
 
-		@SuppressWarnings("unchecked")
+		/**
+		 * Position a {@link ReplaySubscription} without a chunk on the oldest value,
+		 * skipping the values that are too old if {@code skipExpired}.
+		 */
+		ReplayChunk start(ReplaySubscription<T> rs, boolean skipExpired) {
+			int i = headIndex;
+			ReplayChunk c = head;
+			if (i - c.base < 0) {
+				//the head moved to a next chunk in the meantime
+				i = c.base;
+			}
+			int o = i - c.base;
+
+			if (skipExpired) {
+				long limit = scheduler.now(TimeUnit.MILLISECONDS) - maxAge;
+				int p = produced;
+				while (i != p) {
+					if (o == chunkSize) {
+						c = c.next;
+						o = 0;
+					}
+					if (c.times[o] > limit) {
+						break;
+					}
+					i++;
+					o++;
+				}
+			}
+
+			rs.node(c);
+			rs.index(i);
+			rs.tailIndex(o);
+			return c;
+		}
+
 		void replayNormal(ReplaySubscription<T> rs) {
 			int missed = 1;
 			final Subscriber<? super T> a = rs.actual();
 
 			for (; ; ) {
-				@SuppressWarnings("unchecked") TimedNode<T> node =
-						(TimedNode<T>) rs.node();
+				ReplayChunk node = (ReplayChunk) rs.node();
 				if (node == null) {
-					node = head;
-					if (done == NOT_DONE) {
-						// skip old entries
-						long limit = scheduler.now(TimeUnit.MILLISECONDS) - maxAge;
-						TimedNode<T> next = node;
-						while (next != null) {
-							long ts = next.time;
-							if (ts > limit) {
-								break;
-							}
-							node = next;
-							next = node.get();
-						}
-					}
+					node = start(rs, done == NOT_DONE);
 				}
+				int index = rs.index();
+				int offset = rs.tailIndex();
 
 				long r = rs.requested();
 				long e = 0L;
@@ -192,8 +239,7 @@ final class FluxReplay<T> extends ConnectableFlux<T> implements Scannable, Fusea
 					}
 
 					boolean d = done != NOT_DONE;
-					TimedNode<T> next = node.get();
-					boolean empty = next == null;
+					boolean empty = index == produced;
 
 					if (d && empty) {
 						rs.node(null);
@@ -211,10 +257,18 @@ final class FluxReplay<T> extends ConnectableFlux<T> implements Scannable, Fusea
 						break;
 					}
 
-					a.onNext(next.value);
+					if (offset == chunkSize) {
+						node = node.next;
+						offset = 0;
+					}
+
+					@SuppressWarnings("unchecked") T v = (T) node.values[offset];
+
+					a.onNext(v);
 
 					e++;
-					node = next;
+					offset++;
+					index++;
 				}
 
 				if (e == r) {
@@ -224,7 +278,7 @@ final class FluxReplay<T> extends ConnectableFlux<T> implements Scannable, Fusea
 					}
 
 					boolean d = done != NOT_DONE;
-					boolean empty = node.get() == null;
+					boolean empty = index == produced;
 
 					if (d && empty) {
 						rs.node(null);
@@ -245,6 +299,8 @@ final class FluxReplay<T> extends ConnectableFlux<T> implements Scannable, Fusea
 					}
 				}
 
+				rs.index(index);
+				rs.tailIndex(offset);
 				rs.node(node);
 
 				missed = rs.leave(missed);
@@ -310,43 +366,75 @@ final class FluxReplay<T> extends ConnectableFlux<T> implements Scannable, Fusea
 			return done != NOT_DONE;
 		}
 
-		@SuppressWarnings("unchecked")
-		TimedNode<T> latestHead(ReplaySubscription<T> rs) {
-			long now = scheduler.now(TimeUnit.MILLISECONDS) - maxAge;
-
-			TimedNode<T> h = (TimedNode<T>) rs.node();
-			if (h == null) {
-				h = head;
+		/**
+		 * @return the sequence number of the first value that is not too old at or after
+		 * the position of the {@link ReplaySubscription}, {@code produced} if none
+		 */
+		int liveIndex(ReplaySubscription<T> rs) {
+			ReplayChunk node = (ReplayChunk) rs.node();
+			int index;
+			int offset;
+			if (node == null) {
+				node = head;
+				index = headIndex;
+				if (index - node.base < 0) {
+					index = node.base;
+				}
+				offset = index - node.base;
+			}
+			else {
+				index = rs.index();
+				offset = rs.tailIndex();
 			}
-			TimedNode<T> n;
-			while ((n = h.get()) != null) {
-				if (n.time > now) {
+
+			long limit = scheduler.now(TimeUnit.MILLISECONDS) - maxAge;
+			int p = produced;
+			while (index != p) {
+				if (offset == chunkSize) {
+					node = node.next;
+					offset = 0;
+				}
+				if (node.times[offset] > limit) {
 					break;
 				}
-				h = n;
+				index++;
+				offset++;
 			}
-			return h;
+			return index;
 		}
 
 		@Override
 		@Nullable
 		public T poll(ReplaySubscription<T> rs) {
-			TimedNode<T> node = latestHead(rs);
-			TimedNode<T> next;
-			long now = scheduler.now(TimeUnit.MILLISECONDS) - maxAge;
-			while ((next = node.get()) != null) {
-				if (next.time > now) {
-					node = next;
+			ReplayChunk node = (ReplayChunk) rs.node();
+			if (node == null) {
+				node = start(rs, false);
+			}
+			int index = rs.index();
+			int offset = rs.tailIndex();
+
+			long limit = scheduler.now(TimeUnit.MILLISECONDS) - maxAge;
+			int p = produced;
+			T v = null;
+			while (index != p) {
+				if (offset == chunkSize) {
+					node = node.next;
+					offset = 0;
+				}
+				long ts = node.times[offset];
+				@SuppressWarnings("unchecked") T next = (T) node.values[offset];
+				index++;
+				offset++;
+				if (ts > limit) {
+					v = next;
 					break;
 				}
-				node = next;
 			}
-			if (next == null) {
-				return null;
-			}
-			rs.node(next);
 
-			return node.value;
+			rs.node(node);
+			rs.index(index);
+			rs.tailIndex(offset);
+			return v;
 		}
 
 		@Override
@@ -355,38 +443,20 @@ final class FluxReplay<T> extends ConnectableFlux<T> implements Scannable, Fusea
 		}
 
 		@Override
-		@SuppressWarnings("unchecked")
 		public boolean isEmpty(ReplaySubscription<T> rs) {
-			TimedNode<T> node = latestHead(rs);
-			return node.get() == null;
+			return liveIndex(rs) == produced;
 		}
 
 		@Override
 		public int size(ReplaySubscription<T> rs) {
-			TimedNode<T> node = latestHead(rs);
-			int count = 0;
-
-			TimedNode<T> next;
-			while ((next = node.get()) != null && count != Integer.MAX_VALUE) {
-				count++;
-				node = next;
-			}
-
-			return count;
+			int index = liveIndex(rs);
+			return produced - index;
 		}
 
 		@Override
 		public int size() {
-			TimedNode<T> node = head;
-			int count = 0;
-
-			TimedNode<T> next;
-			while ((next = node.get()) != null && count != Integer.MAX_VALUE) {
-				count++;
-				node = next;
-			}
-
-			return count;
+			int index = headIndex;
+			return produced - index;
 		}
 
 		@Override
@@ -396,42 +466,48 @@ final class FluxReplay<T> extends ConnectableFlux<T> implements Scannable, Fusea
 
 		@Override
 		public void add(T value) {
-			TimedNode<T> n = new TimedNode<>(value, scheduler.now(TimeUnit.MILLISECONDS));
-			tail.set(n);
-			tail = n;
-			int s = size;
-			if (s == limit) {
-				head = head.get();
-			}
-			else {
-				size = s + 1;
-			}
-			long limit = scheduler.now(TimeUnit.MILLISECONDS) - maxAge;
-
-			TimedNode<T> h = head;
-			TimedNode<T> next;
-			int removed = 0;
-			for (; ; ) {
-				next = h.get();
-				if (next == null) {
-					break;
+			long now = scheduler.now(TimeUnit.MILLISECONDS);
+
+			ReplayChunk t = tail;
+			int o = tailOffset;
+			if (o == chunkSize) {
+				ReplayChunk n = new ReplayChunk(chunkSize, t.base + chunkSize, true);
+				t.next = n;
+				tail = n;
+				t = n;
+				o = 0;
+			}
+			t.values[o] = value;
+			t.times[o] = now;
+			tailOffset = o + 1;
+			int p = produced + 1;
+			produced = p;
+
+			long expired = now - maxAge;
+			ReplayChunk h = head;
+			int i = headIndex;
+			int offset = i - h.base;
+			boolean overflow = p - i > limit;
+			while (i != p) {
+				if (offset == chunkSize) {
+					h = h.next;
+					offset = 0;
 				}
-
-				if (next.time > limit) {
-					if (removed != 0) {
-						size = size - removed;
-						head = h;
-					}
+				if (!overflow && h.times[offset] > expired) {
 					break;
 				}
-
-				h = next;
-				removed++;
+				overflow = false;
+				i++;
+				offset++;
+			}
+			if (i != headIndex) {
+				//publish the chunk first so that readers never see an index before it
+				head = h;
+				headIndex = i;
 			}
 		}
 
 		@Override
-		@SuppressWarnings("unchecked")
 		public void replay(ReplaySubscription<T> rs) {
 			if (!rs.enter()) {
 				return;
@@ -711,12 +787,15 @@ final class FluxReplay<T> extends ConnectableFlux<T> implements Scannable, Fusea
 	static final class SizeBoundReplayBuffer<T> implements ReplayBuffer<T> {
 
 		final int limit;
+		final int chunkSize;
 
-		volatile Node<T> head;
+		volatile ReplayChunk head;
+		volatile int         headIndex;
 
-		Node<T> tail;
+		ReplayChunk tail;
+		int         tailOffset;
 
-		int size;
+		volatile int produced;
 
 		volatile boolean done;
 		Throwable error;
@@ -726,7 +805,8 @@ final class FluxReplay<T> extends ConnectableFlux<T> implements Scannable, Fusea
 				throw new IllegalArgumentException("Limit cannot be negative");
 			}
 			this.limit = limit;
-			Node<T> n = new Node<>(null);
+			this.chunkSize = ReplayChunk.size(limit);
+			ReplayChunk n = new ReplayChunk(chunkSize, 0, false);
 			this.tail = n;
 			this.head = n;
 		}
@@ -743,15 +823,30 @@ final class FluxReplay<T> extends ConnectableFlux<T> implements Scannable, Fusea
 
 		@Override
 		public void add(T value) {
-			Node<T> n = new Node<>(value);
-			tail.set(n);
-			tail = n;
-			int s = size;
-			if (s == limit) {
-				head = head.get();
-			}
-			else {
-				size = s + 1;
+			ReplayChunk t = tail;
+			int o = tailOffset;
+			if (o == chunkSize) {
+				ReplayChunk n = new ReplayChunk(chunkSize, t.base + chunkSize, false);
+				t.next = n;
+				tail = n;
+				t = n;
+				o = 0;
+			}
+			t.values[o] = value;
+			tailOffset = o + 1;
+			int p = produced + 1;
+			produced = p;
+
+			int i = headIndex;
+			if (p - i > limit) {
+				ReplayChunk h = head;
+				if (i - h.base == chunkSize) {
+					h = h.next;
+				}
+				i++;
+				//publish the chunk first so that readers never see an index before it
+				head = h;
+				headIndex = i;
 			}
 		}
 
@@ -766,6 +861,22 @@ final class FluxReplay<T> extends ConnectableFlux<T> implements Scannable, Fusea
 			done = true;
 		}
 
+		/**
+		 * Position a {@link ReplaySubscription} without a chunk on the oldest value.
+		 */
+		ReplayChunk start(ReplaySubscription<T> rs) {
+			int i = headIndex;
+			ReplayChunk c = head;
+			if (i - c.base < 0) {
+				//the head moved to a next chunk in the meantime
+				i = c.base;
+			}
+			rs.node(c);
+			rs.index(i);
+			rs.tailIndex(i - c.base);
+			return c;
+		}
+
 		void replayNormal(ReplaySubscription<T> rs) {
 			final Subscriber<? super T> a = rs.actual();
 
@@ -776,10 +887,12 @@ final class FluxReplay<T> extends ConnectableFlux<T> implements Scannable, Fusea
 				long r = rs.requested();
 				long e = 0L;
 
-				@SuppressWarnings("unchecked") Node<T> node = (Node<T>) rs.node();
+				ReplayChunk node = (ReplayChunk) rs.node();
 				if (node == null) {
-					node = head;
+					node = start(rs);
 				}
+				int index = rs.index();
+				int offset = rs.tailIndex();
 
 				while (e != r) {
 					if (rs.isCancelled()) {
@@ -788,8 +901,7 @@ final class FluxReplay<T> extends ConnectableFlux<T> implements Scannable, Fusea
 					}
 
 					boolean d = done;
-					Node<T> next = node.get();
-					boolean empty = next == null;
+					boolean empty = index == produced;
 
 					if (d && empty) {
 						rs.node(null);
@@ -807,10 +919,18 @@ final class FluxReplay<T> extends ConnectableFlux<T> implements Scannable, Fusea
 						break;
 					}
 
-					a.onNext(next.value);
+					if (offset == chunkSize) {
+						node = node.next;
+						offset = 0;
+					}
+
+					@SuppressWarnings("unchecked") T v = (T) node.values[offset];
+
+					a.onNext(v);
 
 					e++;
-					node = next;
+					offset++;
+					index++;
 				}
 
 				if (e == r) {
@@ -820,7 +940,7 @@ final class FluxReplay<T> extends ConnectableFlux<T> implements Scannable, Fusea
 					}
 
 					boolean d = done;
-					boolean empty = node.get() == null;
+					boolean empty = index == produced;
 
 					if (d && empty) {
 						rs.node(null);
@@ -841,6 +961,8 @@ final class FluxReplay<T> extends ConnectableFlux<T> implements Scannable, Fusea
 					}
 				}
 
+				rs.index(index);
+				rs.tailIndex(offset);
 				rs.node(node);
 
 				missed = rs.leave(missed);
@@ -909,34 +1031,27 @@ final class FluxReplay<T> extends ConnectableFlux<T> implements Scannable, Fusea
 			return done;
 		}
 
-		static final class Node<T> extends AtomicReference<Node<T>> {
-
-			/** */
-			private static final long serialVersionUID = 3713592843205853725L;
-
-			final T value;
-
-			Node(@Nullable T value) {
-				this.value = value;
-			}
-		}
-
 		@Override
 		@Nullable
 		public T poll(ReplaySubscription<T> rs) {
-			@SuppressWarnings("unchecked") Node<T> node = (Node<T>) rs.node();
+			ReplayChunk node = (ReplayChunk) rs.node();
 			if (node == null) {
-				node = head;
-				rs.node(node);
+				node = start(rs);
 			}
-
-			Node<T> next = node.get();
-			if (next == null) {
+			int index = rs.index();
+			if (index == produced) {
 				return null;
 			}
-			rs.node(next);
-
-			return next.value;
+			int offset = rs.tailIndex();
+			if (offset == chunkSize) {
+				node = node.next;
+				offset = 0;
+				rs.node(node);
+			}
+			@SuppressWarnings("unchecked") T v = (T) node.values[offset];
+			rs.index(index + 1);
+			rs.tailIndex(offset + 1);
+			return v;
 		}
 
 		@Override
@@ -946,43 +1061,32 @@ final class FluxReplay<T> extends ConnectableFlux<T> implements Scannable, Fusea
 
 		@Override
 		public boolean isEmpty(ReplaySubscription<T> rs) {
-			@SuppressWarnings("unchecked") Node<T> node = (Node<T>) rs.node();
-			if (node == null) {
-				node = head;
-				rs.node(node);
+			if (rs.node() == null) {
+				start(rs);
 			}
-			return node.get() == null;
+			return rs.index() == produced;
 		}
 
 		@Override
 		public int size(ReplaySubscription<T> rs) {
-			@SuppressWarnings("unchecked") Node<T> node = (Node<T>) rs.node();
-			if (node == null) {
-				node = head;
+			int index;
+			if (rs.node() == null) {
+				index = headIndex;
+				int base = head.base;
+				if (index - base < 0) {
+					index = base;
+				}
 			}
-			int count = 0;
-
-			Node<T> next;
-			while ((next = node.get()) != null && count != Integer.MAX_VALUE) {
-				count++;
-				node = next;
+			else {
+				index = rs.index();
 			}
-
-			return count;
+			return produced - index;
 		}
 
 		@Override
 		public int size() {
-			Node<T> node = head;
-			int count = 0;
-
-			Node<T> next;
-			while ((next = node.get()) != null && count != Integer.MAX_VALUE) {
-				count++;
-				node = next;
-			}
-
-			return count;
+			int index = headIndex;
+			return produced - index;
 		}
 	}
 
@@ -22,6 +22,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.ToLongFunction;
 import java.util.stream.Stream;
 
 import org.reactivestreams.Subscriber;
@@ -32,6 +33,7 @@ import reactor.core.Disposables;
 import reactor.core.Exceptions;
 import reactor.core.Scannable;
 import reactor.core.scheduler.Scheduler;
+import reactor.util.annotation.Nullable;
 import reactor.util.concurrent.Queues;
 
 /**
@@ -42,6 +44,10 @@ final class FluxWindowTimeout<T> extends FluxOperator<T, Flux<T>> {
 	final int            maxSize;
 	final long           timespan;
 	final Scheduler      timer;
+	final long           maxWeight;
+
+	@Nullable
+	final ToLongFunction<? super T> weigher;
 
 	FluxWindowTimeout(Flux<T> source, int maxSize, long timespan, Scheduler timer) {
 		super(source);
@@ -54,11 +60,38 @@ final class FluxWindowTimeout<T> extends FluxOperator<T, Flux<T>> {
 		this.timer = Objects.requireNonNull(timer, "Timer");
 		this.timespan = timespan;
 		this.maxSize = maxSize;
+		this.maxWeight = maxSize;
+		this.weigher = null;
+	}
+
+	/**
+	 * Cut windows once the cumulated weight of their elements reaches {@code maxWeight},
+	 * or before an element that would make it exceed {@code maxWeight}.
+	 */
+	FluxWindowTimeout(Flux<T> source,
+			long maxWeight,
+			ToLongFunction<? super T> weigher,
+			long timespan,
+			Scheduler timer) {
+		super(source);
+		if (timespan <= 0) {
+			throw new IllegalArgumentException("Timeout period must be strictly positive");
+		}
+		if (maxWeight <= 0) {
+			throw new IllegalArgumentException("maxWeight must be strictly positive");
+		}
+		this.timer = Objects.requireNonNull(timer, "Timer");
+		this.timespan = timespan;
+		this.maxSize = (int) Math.min(maxWeight, Integer.MAX_VALUE);
+		this.maxWeight = maxWeight;
+		this.weigher = Objects.requireNonNull(weigher, "weigher");
 	}
 
 	@Override
 	public void subscribe(CoreSubscriber<? super Flux<T>> actual) {
 		source.subscribe(new WindowTimeoutSubscriber<>(actual, maxSize,
+				maxWeight,
+				weigher,
 				timespan,
 				timer));
 	}
@@ -76,6 +109,9 @@ final class FluxWindowTimeout<T> extends FluxOperator<T, Flux<T>> {
 		final long                            timespan;
 		final Scheduler                       scheduler;
 		final int                             maxSize;
+		final long                            maxWeight;
+		@Nullable
+		final ToLongFunction<? super T>       weigher;
 		final Scheduler.Worker                worker;
 		final Queue<Object>                   queue;
 
@@ -95,7 +131,7 @@ final class FluxWindowTimeout<T> extends FluxOperator<T, Flux<T>> {
 				AtomicIntegerFieldUpdater.newUpdater(WindowTimeoutSubscriber.class,
 						"wip");
 
-		int  count;
+		long count;
 		long producerIndex;
 
 		Subscription s;
@@ -113,11 +149,22 @@ final class FluxWindowTimeout<T> extends FluxOperator<T, Flux<T>> {
 				int maxSize,
 				long timespan,
 				Scheduler scheduler) {
+			this(actual, maxSize, maxSize, null, timespan, scheduler);
+		}
+
+		WindowTimeoutSubscriber(CoreSubscriber<? super Flux<T>> actual,
+				int maxSize,
+				long maxWeight,
+				@Nullable ToLongFunction<? super T> weigher,
+				long timespan,
+				Scheduler scheduler) {
 			this.actual = actual;
 			this.queue = Queues.unboundedMultiproducer().get();
 			this.timespan = timespan;
 			this.scheduler = scheduler;
 			this.maxSize = maxSize;
+			this.maxWeight = maxWeight;
+			this.weigher = weigher;
 			this.worker = scheduler.createWorker();
 		}
 
@@ -197,48 +244,8 @@ final class FluxWindowTimeout<T> extends FluxOperator<T, Flux<T>> {
 			}
 
 			if (WIP.get(this) == 0 && WIP.compareAndSet(this, 0, 1)) {
-				UnicastProcessor<T> w = window;
-				w.onNext(t);
-
-				int c = count + 1;
-
-				if (c >= maxSize) {
-					producerIndex++;
-					count = 0;
-
-					w.onComplete();
-
-					long r = requested;
-
-					if (r != 0L) {
-						w = UnicastProcessor.create();
-						window = w;
-						actual.onNext(w);
-						if (r != Long.MAX_VALUE) {
-							REQUESTED.decrementAndGet(this);
-						}
-
-						Disposable tm = timer;
-						tm.dispose();
-
-						Disposable task = newPeriod();
-
-						if (!TIMER.compareAndSet(this, tm, task)) {
-							task.dispose();
-						}
-					}
-					else {
-						window = null;
-						actual.onError(Operators.onOperatorError(s,
-								Exceptions.failWithOverflow(), t, actual
-										.currentContext()));
-						timer.dispose();
-						worker.dispose();
-						return;
-					}
-				}
-				else {
-					count = c;
+				if (!emit(t)) {
+					return;
 				}
 
 				if (WIP.decrementAndGet(this) == 0) {
@@ -360,54 +367,103 @@ final class FluxWindowTimeout<T> extends FluxOperator<T, Flux<T>> {
 						continue;
 					}
 
-					w.onNext((T) o);
-					int c = count + 1;
+					if (!emit((T) o)) {
+						return;
+					}
+					w = window;
+				}
 
-					if (c >= maxSize) {
-						producerIndex++;
-						count = 0;
+				missed = WIP.addAndGet(this, -missed);
+				if (missed == 0) {
+					break;
+				}
+			}
+		}
 
-						w.onComplete();
+		/**
+		 * Emit a value in the current window, opening a new window beforehand if the
+		 * value would make the current one exceed {@link #maxWeight}, and afterwards if
+		 * the current one reaches it.
+		 *
+		 * @return false if the sequence was terminated
+		 */
+		boolean emit(T t) {
+			long weight;
+			ToLongFunction<? super T> weigher = this.weigher;
+			if (weigher == null) {
+				weight = 1L;
+			}
+			else {
+				try {
+					weight = weigher.applyAsLong(t);
+				}
+				catch (Throwable e) {
+					Throwable ex = Operators.onOperatorError(s, e, t, actual.currentContext());
+					UnicastProcessor<T> w = window;
+					window = null;
+					actual.onError(ex);
+					if (!w.isDisposed()) {
+						w.onError(ex);
+					}
+					timer.dispose();
+					worker.dispose();
+					return false;
+				}
+			}
 
-						long r = requested;
+			long c = count;
+			if (c != 0L && c + weight > maxWeight && !rotate(t)) {
+				return false;
+			}
 
-						if (r != 0L) {
-							w = UnicastProcessor.create();
-							window = w;
-							actual.onNext(w);
-							if (r != Long.MAX_VALUE) {
-								REQUESTED.decrementAndGet(this);
-							}
+			window.onNext(t);
+			c = count + weight;
 
-							Disposable tm = timer;
-							tm.dispose();
+			if (c >= maxWeight) {
+				return rotate(t);
+			}
+			count = c;
+			return true;
+		}
 
-							Disposable task = newPeriod();
+		/**
+		 * Complete the current window and open a new one, provided there is demand.
+		 *
+		 * @return false if the sequence was terminated for lack of demand
+		 */
+		boolean rotate(Object signal) {
+			producerIndex++;
+			count = 0;
 
-							if (!TIMER.compareAndSet(this, tm, task)) {
-								task.dispose();
-							}
-						}
-						else {
-							window = null;
-							a.onError(Operators.onOperatorError(s,
-									Exceptions.failWithOverflow(), o, actual
-											.currentContext()));
-							timer.dispose();
-							worker.dispose();
-							return;
-						}
-					}
-					else {
-						count = c;
-					}
+			window.onComplete();
+
+			long r = requested;
+
+			if (r != 0L) {
+				UnicastProcessor<T> w = UnicastProcessor.create();
+				window = w;
+				actual.onNext(w);
+				if (r != Long.MAX_VALUE) {
+					REQUESTED.decrementAndGet(this);
 				}
 
-				missed = WIP.addAndGet(this, -missed);
-				if (missed == 0) {
-					break;
+				Disposable tm = timer;
+				tm.dispose();
+
+				Disposable task = newPeriod();
+
+				if (!TIMER.compareAndSet(this, tm, task)) {
+					task.dispose();
 				}
+				return true;
 			}
+			window = null;
+			actual.onError(Operators.onOperatorError(s,
+					Exceptions.failWithOverflow(), signal, actual
+							.currentContext()));
+			timer.dispose();
+			worker.dispose();
+			return false;
 		}
 
 		boolean enter() {
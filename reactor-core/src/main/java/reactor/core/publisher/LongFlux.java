@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2011-2018 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.publisher;
+
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * A cold, synchronous sequence of primitive {@code long} values that can be filtered,
+ * transformed and reduced without boxing each value, before turning into a {@link Flux}
+ * or a {@link Mono}.
+ * <p>
+ * A {@link LongFlux} is not a {@link org.reactivestreams.Publisher} itself: it describes
+ * how to generate the values, and each subscription to the {@link Flux} or {@link Mono}
+ * it is converted into replays the whole chain. Only the conversion steps ({@link #mapToObj},
+ * {@link #boxed()} and the reductions) allocate, and only for the values they emit.
+ * <p>
+ * Sequences of {@code int} are represented as {@link LongFlux} as well, see
+ * {@link #range(long, long)}.
+ */
+public abstract class LongFlux {
+
+	/**
+	 * Build a {@link LongFlux} that will only generate a sequence of {@code count}
+	 * incrementing values, starting from {@code start}. That is, generate values between
+	 * {@code start} (included) and {@code start + count} (excluded) then complete.
+	 *
+	 * @param start the first value in the range
+	 * @param count the number of values to generate
+	 *
+	 * @return a ranged {@link LongFlux}
+	 */
+	public static LongFlux range(long start, long count) {
+		return new LongFluxRange(start, count);
+	}
+
+	/**
+	 * Evaluate each value against the given {@link LongPredicate}. If the predicate test
+	 * succeeds, the value is kept in the sequence. If the predicate test fails, the value
+	 * is skipped.
+	 *
+	 * @param predicate the {@link LongPredicate} to test values against
+	 *
+	 * @return a new {@link LongFlux} containing only values that pass the predicate test
+	 */
+	public final LongFlux filter(LongPredicate predicate) {
+		return new LongFluxFilter(this, predicate);
+	}
+
+	/**
+	 * Transform each value by applying a {@link LongUnaryOperator} to it.
+	 *
+	 * @param mapper the {@link LongUnaryOperator} to apply to each value
+	 *
+	 * @return a transformed {@link LongFlux}
+	 */
+	public final LongFlux map(LongUnaryOperator mapper) {
+		return new LongFluxMap(this, mapper);
+	}
+
+	/**
+	 * Transform each value into an object by applying a {@link LongFunction}, and emit
+	 * these objects in a {@link Flux} that supports backpressure and fusion like
+	 * {@link Flux#fromIterable(Iterable)}.
+	 *
+	 * @param mapper the {@link LongFunction} to apply to each value
+	 * @param <T> the type of the objects emitted by the resulting {@link Flux}
+	 *
+	 * @return a {@link Flux} of the transformed values
+	 */
+	public final <T> Flux<T> mapToObj(LongFunction<? extends T> mapper) {
+		Objects.requireNonNull(mapper, "mapper");
+		return Flux.onAssembly(new FluxIterable<T>(() -> new MapToObjIterator<>(iterator(), mapper)));
+	}
+
+	/**
+	 * Box each value into a {@link Long} and emit them in a {@link Flux}.
+	 *
+	 * @return a {@link Flux} of the boxed values
+	 */
+	public final Flux<Long> boxed() {
+		return mapToObj(Long::valueOf);
+	}
+
+	/**
+	 * Count the number of values in this sequence.
+	 *
+	 * @return a new {@link Mono} of the number of values
+	 */
+	public final Mono<Long> count() {
+		return reduce(0L, (count, v) -> count + 1);
+	}
+
+	/**
+	 * Sum the values in this sequence, with the usual {@code long} overflow semantics.
+	 *
+	 * @return a new {@link Mono} of the sum of the values, {@code 0} for an empty sequence
+	 */
+	public final Mono<Long> sum() {
+		return reduce(0L, Long::sum);
+	}
+
+	/**
+	 * Reduce the values in this sequence into a single value by using a
+	 * {@link LongBinaryOperator}, starting from an initial accumulated value. Only the
+	 * final result is boxed.
+	 *
+	 * @param initial the initial accumulated value, emitted for an empty sequence
+	 * @param accumulator the reducing {@link LongBinaryOperator}
+	 *
+	 * @return a new {@link Mono} of the reduced value
+	 */
+	public final Mono<Long> reduce(long initial, LongBinaryOperator accumulator) {
+		return Mono.onAssembly(new MonoLongReduce(this, initial, accumulator));
+	}
+
+	/**
+	 * @return a new iterator over this sequence's values, used by each subscription
+	 */
+	abstract PrimitiveIterator.OfLong iterator();
+
+	static final class MapToObjIterator<T> implements Iterator<T> {
+
+		final PrimitiveIterator.OfLong source;
+
+		final LongFunction<? extends T> mapper;
+
+		MapToObjIterator(PrimitiveIterator.OfLong source, LongFunction<? extends T> mapper) {
+			this.source = source;
+			this.mapper = mapper;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return source.hasNext();
+		}
+
+		@Override
+		public T next() {
+			return mapper.apply(source.nextLong());
+		}
+	}
+}
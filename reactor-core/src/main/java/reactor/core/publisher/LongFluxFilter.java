@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2011-2018 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.publisher;
+
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.function.LongPredicate;
+
+/**
+ * Filters out the primitive long values that don't match a predicate.
+ */
+final class LongFluxFilter extends LongFlux {
+
+	final LongFlux source;
+
+	final LongPredicate predicate;
+
+	LongFluxFilter(LongFlux source, LongPredicate predicate) {
+		this.source = source;
+		this.predicate = Objects.requireNonNull(predicate, "predicate");
+	}
+
+	@Override
+	PrimitiveIterator.OfLong iterator() {
+		return new FilterIterator(source.iterator(), predicate);
+	}
+
+	static final class FilterIterator implements PrimitiveIterator.OfLong {
+
+		final PrimitiveIterator.OfLong source;
+
+		final LongPredicate predicate;
+
+		boolean hasValue;
+
+		long value;
+
+		FilterIterator(PrimitiveIterator.OfLong source, LongPredicate predicate) {
+			this.source = source;
+			this.predicate = predicate;
+		}
+
+		@Override
+		public boolean hasNext() {
+			if (hasValue) {
+				return true;
+			}
+			final PrimitiveIterator.OfLong s = source;
+			while (s.hasNext()) {
+				long v = s.nextLong();
+				if (predicate.test(v)) {
+					value = v;
+					hasValue = true;
+					return true;
+				}
+			}
+			return false;
+		}
+
+		@Override
+		public long nextLong() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			hasValue = false;
+			return value;
+		}
+	}
+}
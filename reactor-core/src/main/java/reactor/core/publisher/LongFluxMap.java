@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2011-2018 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.publisher;
+
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Maps the primitive long values with a function.
+ */
+final class LongFluxMap extends LongFlux {
+
+	final LongFlux source;
+
+	final LongUnaryOperator mapper;
+
+	LongFluxMap(LongFlux source, LongUnaryOperator mapper) {
+		this.source = source;
+		this.mapper = Objects.requireNonNull(mapper, "mapper");
+	}
+
+	@Override
+	PrimitiveIterator.OfLong iterator() {
+		return new MapIterator(source.iterator(), mapper);
+	}
+
+	static final class MapIterator implements PrimitiveIterator.OfLong {
+
+		final PrimitiveIterator.OfLong source;
+
+		final LongUnaryOperator mapper;
+
+		MapIterator(PrimitiveIterator.OfLong source, LongUnaryOperator mapper) {
+			this.source = source;
+			this.mapper = mapper;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return source.hasNext();
+		}
+
+		@Override
+		public long nextLong() {
+			return mapper.applyAsLong(source.nextLong());
+		}
+	}
+}
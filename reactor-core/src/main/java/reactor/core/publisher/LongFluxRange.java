@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2011-2018 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.publisher;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Generates a range of primitive long values.
+ */
+final class LongFluxRange extends LongFlux {
+
+	final long start;
+
+	final long end;
+
+	LongFluxRange(long start, long count) {
+		if (count < 0) {
+			throw new IllegalArgumentException("count >= required but it was " + count);
+		}
+		if (start > Long.MAX_VALUE - count) {
+			throw new IllegalArgumentException("start + count must be less than or equal to Long.MAX_VALUE");
+		}
+		this.start = start;
+		this.end = start + count;
+	}
+
+	@Override
+	PrimitiveIterator.OfLong iterator() {
+		return new RangeIterator(start, end);
+	}
+
+	static final class RangeIterator implements PrimitiveIterator.OfLong {
+
+		final long end;
+
+		long index;
+
+		RangeIterator(long start, long end) {
+			this.index = start;
+			this.end = end;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return index != end;
+		}
+
+		@Override
+		public long nextLong() {
+			long i = index;
+			if (i == end) {
+				throw new NoSuchElementException();
+			}
+			index = i + 1;
+			return i;
+		}
+	}
+}
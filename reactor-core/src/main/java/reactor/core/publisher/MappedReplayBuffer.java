@@ -0,0 +1,508 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.publisher;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Function;
+
+import org.reactivestreams.Subscriber;
+import reactor.util.annotation.Nullable;
+
+import static reactor.core.Fuseable.NONE;
+
+/**
+ * An unbounded {@link FluxReplay.ReplayBuffer} that serializes each value into an
+ * append-only log file, memory-mapped in regions of equal size. The history lives in
+ * the file and the page cache rather than on the heap, and a buffer opened on an
+ * existing log starts with the values recorded there.
+ * <p>
+ * The file starts with a magic number and the region size. Each record is a header
+ * {@code int} followed by the serialized bytes, padded to a multiple of 4 bytes so that
+ * a header never straddles two regions. A header of {@code n > 0} announces {@code n - 1}
+ * bytes, {@link #SKIP} means that the rest of the region is unused and {@link #END},
+ * the zero of a freshly mapped region, marks the end of the log. The header is written
+ * after the bytes, so that a record is only seen once it is complete, and after an
+ * {@link #END} in the header slot that follows, so that the log still ends there when
+ * that slot holds the bytes of a record left incomplete before a reopening.
+ * <p>
+ * There is a single writer, the values being added serially, while each
+ * {@link FluxReplay.ReplaySubscription} reads through its own {@link Cursor}: records
+ * are published to readers by the volatile {@link #size}. Terminal signals are not
+ * recorded, and the log is never forced to the storage device.
+ *
+ * @param <T> the value type
+ */
+final class MappedReplayBuffer<T> implements FluxReplay.ReplayBuffer<T> {
+
+	static final int MAGIC = 0x52504c31;
+
+	static final int HEADER_SIZE = 8;
+
+	static final int END = 0;
+
+	static final int SKIP = -1;
+
+	/**
+	 * The default size of a mapped region, which is also the maximum size of a record.
+	 */
+	static final int DEFAULT_REGION_SIZE = 16 * 1024 * 1024;
+
+	final Function<? super T, byte[]>   serializer;
+	final Function<byte[], ? extends T> deserializer;
+	final int                           regionSize;
+
+	@Nullable
+	FileChannel channel;
+
+	ByteBuffer writer;
+
+	volatile MappedByteBuffer[] regions;
+
+	volatile int size;
+
+	volatile boolean done;
+	Throwable error;
+
+	/**
+	 * @param file the log file, created if it doesn't exist
+	 * @param regionSize the size of a mapped region for a new log, ignored for an
+	 * existing log which records its own
+	 * @param serializer the {@link Function} turning a value into bytes
+	 * @param deserializer the {@link Function} turning bytes back into a value
+	 */
+	MappedReplayBuffer(Path file,
+			int regionSize,
+			Function<? super T, byte[]> serializer,
+			Function<byte[], ? extends T> deserializer) {
+		if (regionSize < 64 || (regionSize & 3) != 0) {
+			throw new IllegalArgumentException("regionSize must be a multiple of 4 of at least 64 bytes");
+		}
+		this.serializer = Objects.requireNonNull(serializer, "serializer");
+		this.deserializer = Objects.requireNonNull(deserializer, "deserializer");
+
+		FileChannel c = null;
+		try {
+			c = FileChannel.open(file,
+					StandardOpenOption.CREATE,
+					StandardOpenOption.READ,
+					StandardOpenOption.WRITE);
+
+			if (c.size() == 0L) {
+				MappedByteBuffer r = c.map(FileChannel.MapMode.READ_WRITE, 0L, regionSize);
+				r.putInt(0, MAGIC);
+				r.putInt(4, regionSize);
+				this.regionSize = regionSize;
+				this.regions = new MappedByteBuffer[]{r};
+				this.writer = r.duplicate();
+				this.writer.position(HEADER_SIZE);
+			}
+			else {
+				ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+				while (header.hasRemaining()) {
+					if (c.read(header, header.position()) < 0) {
+						break;
+					}
+				}
+				if (header.hasRemaining() || header.getInt(0) != MAGIC) {
+					throw new IllegalArgumentException(file + " is not a replay log");
+				}
+				this.regionSize = header.getInt(4);
+				recover(c);
+			}
+		}
+		catch (IOException e) {
+			close(c);
+			throw new UncheckedIOException(e);
+		}
+		catch (RuntimeException e) {
+			close(c);
+			throw e;
+		}
+		this.channel = c;
+	}
+
+	/**
+	 * Map the regions of an existing log, then count its records to find where the next
+	 * one will be written.
+	 */
+	void recover(FileChannel c) throws IOException {
+		int count = (int) ((c.size() + regionSize - 1) / regionSize);
+		MappedByteBuffer[] rs = new MappedByteBuffer[count];
+		for (int k = 0; k < count; k++) {
+			rs[k] = c.map(FileChannel.MapMode.READ_WRITE, (long) k * regionSize, regionSize);
+		}
+
+		int n = 0;
+		int k = 0;
+		int p = HEADER_SIZE;
+		for (;;) {
+			if (p == regionSize) {
+				if (k + 1 == count) {
+					break;
+				}
+				k++;
+				p = 0;
+				continue;
+			}
+			int h = rs[k].getInt(p);
+			if (h == END) {
+				break;
+			}
+			if (h == SKIP) {
+				p = regionSize;
+				continue;
+			}
+			p += recordLength(h - 1);
+			n++;
+		}
+
+		this.regions = rs;
+		this.writer = rs[k].duplicate();
+		this.writer.position(p);
+		this.size = n;
+	}
+
+	static int recordLength(int byteCount) {
+		return (Integer.BYTES + byteCount + 3) & ~3;
+	}
+
+	static void close(@Nullable FileChannel c) {
+		if (c != null) {
+			try {
+				c.close();
+			}
+			catch (IOException ignored) {
+				//mapped regions stay valid
+			}
+		}
+	}
+
+	@Override
+	public boolean isExpired() {
+		return false;
+	}
+
+	@Override
+	@Nullable
+	public Throwable getError() {
+		return error;
+	}
+
+	@Override
+	public int capacity() {
+		return Integer.MAX_VALUE;
+	}
+
+	@Override
+	public void add(T value) {
+		byte[] bytes = Objects.requireNonNull(serializer.apply(value),
+				"The serializer returned a null value");
+		int length = recordLength(bytes.length);
+		if (length > regionSize) {
+			throw new IllegalArgumentException("A value serialized to " + bytes.length +
+					" bytes does not fit in a region of " + regionSize + " bytes");
+		}
+
+		ByteBuffer w = writer;
+		if (w.remaining() < length) {
+			if (w.hasRemaining()) {
+				w.putInt(w.position(), SKIP);
+			}
+			w = nextRegion();
+		}
+
+		int p = w.position();
+		w.position(p + Integer.BYTES);
+		w.put(bytes);
+		if (p + length < regionSize) {
+			w.putInt(p + length, END);
+		}
+		w.putInt(p, bytes.length + 1);
+		w.position(p + length);
+
+		size = size + 1;
+	}
+
+	ByteBuffer nextRegion() {
+		FileChannel c = channel;
+		if (c == null) {
+			throw new IllegalStateException("The replay log is closed");
+		}
+		MappedByteBuffer[] rs = regions;
+		MappedByteBuffer r;
+		try {
+			r = c.map(FileChannel.MapMode.READ_WRITE, (long) rs.length * regionSize, regionSize);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		MappedByteBuffer[] b = Arrays.copyOf(rs, rs.length + 1);
+		b[rs.length] = r;
+		regions = b;
+		ByteBuffer w = r.duplicate();
+		writer = w;
+		return w;
+	}
+
+	@Override
+	public void onError(Throwable ex) {
+		error = ex;
+		done = true;
+		close(channel);
+		channel = null;
+	}
+
+	@Override
+	public void onComplete() {
+		done = true;
+		close(channel);
+		channel = null;
+	}
+
+	/**
+	 * Read the bytes of the next record, which must have been published.
+	 */
+	byte[] read(Cursor cursor) {
+		for (;;) {
+			ByteBuffer v = cursor.view;
+			if (v.hasRemaining()) {
+				int p = v.position();
+				int h = v.getInt(p);
+				if (h != SKIP) {
+					byte[] bytes = new byte[h - 1];
+					v.position(p + Integer.BYTES);
+					v.get(bytes);
+					v.position(p + recordLength(bytes.length));
+					return bytes;
+				}
+			}
+			cursor.region++;
+			cursor.view = regions[cursor.region].duplicate();
+		}
+	}
+
+	Cursor cursor(FluxReplay.ReplaySubscription<T> rs) {
+		Cursor cursor = (Cursor) rs.node();
+		if (cursor == null) {
+			ByteBuffer view = regions[0].duplicate();
+			view.position(HEADER_SIZE);
+			cursor = new Cursor(view);
+			rs.node(cursor);
+		}
+		return cursor;
+	}
+
+	void replayNormal(FluxReplay.ReplaySubscription<T> rs) {
+		int missed = 1;
+
+		final Subscriber<? super T> a = rs.actual();
+
+		for (; ; ) {
+
+			long r = rs.requested();
+			long e = 0L;
+
+			Cursor cursor = cursor(rs);
+			int index = rs.index();
+
+			while (e != r) {
+				if (rs.isCancelled()) {
+					rs.node(null);
+					return;
+				}
+
+				boolean d = done;
+				boolean empty = index == size;
+
+				if (d && empty) {
+					rs.node(null);
+					Throwable ex = error;
+					if (ex != null) {
+						a.onError(ex);
+					}
+					else {
+						a.onComplete();
+					}
+					return;
+				}
+
+				if (empty) {
+					break;
+				}
+
+				T v;
+				try {
+					v = Objects.requireNonNull(deserializer.apply(read(cursor)),
+							"The deserializer returned a null value");
+				}
+				catch (Throwable ex) {
+					rs.node(null);
+					rs.cancel();
+					a.onError(Operators.onOperatorError(ex, rs.actual().currentContext()));
+					return;
+				}
+
+				a.onNext(v);
+
+				e++;
+				index++;
+			}
+
+			if (e == r) {
+				if (rs.isCancelled()) {
+					rs.node(null);
+					return;
+				}
+
+				boolean d = done;
+				boolean empty = index == size;
+
+				if (d && empty) {
+					rs.node(null);
+					Throwable ex = error;
+					if (ex != null) {
+						a.onError(ex);
+					}
+					else {
+						a.onComplete();
+					}
+					return;
+				}
+			}
+
+			if (e != 0L) {
+				if (r != Long.MAX_VALUE) {
+					rs.produced(e);
+				}
+			}
+
+			rs.index(index);
+
+			missed = rs.leave(missed);
+			if (missed == 0) {
+				break;
+			}
+		}
+	}
+
+	void replayFused(FluxReplay.ReplaySubscription<T> rs) {
+		int missed = 1;
+
+		final Subscriber<? super T> a = rs.actual();
+
+		for (; ; ) {
+
+			if (rs.isCancelled()) {
+				rs.node(null);
+				return;
+			}
+
+			boolean d = done;
+
+			a.onNext(null);
+
+			if (d) {
+				Throwable ex = error;
+				if (ex != null) {
+					a.onError(ex);
+				}
+				else {
+					a.onComplete();
+				}
+				return;
+			}
+
+			missed = rs.leave(missed);
+			if (missed == 0) {
+				break;
+			}
+		}
+	}
+
+	@Override
+	public void replay(FluxReplay.ReplaySubscription<T> rs) {
+		if (!rs.enter()) {
+			return;
+		}
+
+		if (rs.fusionMode() == NONE) {
+			replayNormal(rs);
+		}
+		else {
+			replayFused(rs);
+		}
+	}
+
+	@Override
+	public boolean isDone() {
+		return done;
+	}
+
+	@Override
+	@Nullable
+	public T poll(FluxReplay.ReplaySubscription<T> rs) {
+		int index = rs.index();
+		if (index == size) {
+			return null;
+		}
+		byte[] bytes = read(cursor(rs));
+		rs.index(index + 1);
+		return Objects.requireNonNull(deserializer.apply(bytes),
+				"The deserializer returned a null value");
+	}
+
+	@Override
+	public void clear(FluxReplay.ReplaySubscription<T> rs) {
+		rs.node(null);
+	}
+
+	@Override
+	public boolean isEmpty(FluxReplay.ReplaySubscription<T> rs) {
+		return rs.index() == size;
+	}
+
+	@Override
+	public int size(FluxReplay.ReplaySubscription<T> rs) {
+		return size - rs.index();
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * The read position of a {@link FluxReplay.ReplaySubscription} in the log.
+	 */
+	static final class Cursor {
+
+		int        region;
+		ByteBuffer view;
+
+		Cursor(ByteBuffer view) {
+			this.view = view;
+		}
+	}
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2011-2018 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.publisher;
+
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.Callable;
+import java.util.function.LongBinaryOperator;
+
+import reactor.core.CoreSubscriber;
+import reactor.util.annotation.Nullable;
+
+/**
+ * Reduces the primitive long values of a {@link LongFlux} into a single value, boxed only
+ * once at the end.
+ */
+final class MonoLongReduce extends Mono<Long>
+		implements Callable<Long>, SourceProducer<Long> {
+
+	/**
+	 * How many values are reduced between two checks for cancellation.
+	 */
+	static final int CANCEL_CHECK_MASK = 1023;
+
+	final LongFlux source;
+
+	final long initial;
+
+	final LongBinaryOperator accumulator;
+
+	MonoLongReduce(LongFlux source, long initial, LongBinaryOperator accumulator) {
+		this.source = source;
+		this.initial = initial;
+		this.accumulator = Objects.requireNonNull(accumulator, "accumulator");
+	}
+
+	@Override
+	public void subscribe(CoreSubscriber<? super Long> actual) {
+		Operators.MonoSubscriber<Long, Long> sds = new Operators.MonoSubscriber<>(actual);
+
+		actual.onSubscribe(sds);
+
+		if (sds.isCancelled()) {
+			return;
+		}
+
+		final LongBinaryOperator f = accumulator;
+		long acc = initial;
+		long n = 0L;
+
+		try {
+			final PrimitiveIterator.OfLong it = source.iterator();
+			while (it.hasNext()) {
+				acc = f.applyAsLong(acc, it.nextLong());
+
+				if ((++n & CANCEL_CHECK_MASK) == 0 && sds.isCancelled()) {
+					return;
+				}
+			}
+		}
+		catch (Throwable e) {
+			actual.onError(Operators.onOperatorError(e, actual.currentContext()));
+			return;
+		}
+
+		sds.complete(acc);
+	}
+
+	@Override
+	public Long call() throws Exception {
+		final LongBinaryOperator f = accumulator;
+		final PrimitiveIterator.OfLong it = source.iterator();
+		long acc = initial;
+		while (it.hasNext()) {
+			acc = f.applyAsLong(acc, it.nextLong());
+		}
+		return acc;
+	}
+
+	@Override
+	@Nullable
+	public Object scanUnsafe(Attr key) {
+		return null; //no particular key to be represented, still useful in hooks
+	}
+}
@@ -16,11 +16,13 @@
 
 package reactor.core.publisher;
 
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.Objects;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
 import org.reactivestreams.Subscriber;
@@ -293,6 +295,35 @@ public final class ReplayProcessor<T> extends FluxProcessor<T, T>
 				scheduler));
 	}
 
+	/**
+	 * Create a new {@link ReplayProcessor} that replays all the elements, recording its
+	 * history in an append-only log file that is memory-mapped rather than held on the
+	 * heap. Each element is serialized once when it is pushed, and deserialized for each
+	 * {@link Subscriber} it is replayed to.
+	 * <p>
+	 * If the file already contains a log, for instance written by a previous run, the
+	 * processor starts with its elements and appends the new ones after them. Terminal
+	 * signals are not recorded in the log. An element that cannot be serialized, or whose
+	 * serialized form is larger than 16 MiB, terminates the processor with an error.
+	 *
+	 * @param file the log file, created if it doesn't exist
+	 * @param serializer the {@link Function} turning an element into bytes
+	 * @param deserializer the {@link Function} turning bytes back into an element
+	 * @param <T> the type of the pushed elements
+	 *
+	 * @return a new {@link ReplayProcessor} that replays the whole history kept in
+	 * {@code file} to each new {@link Subscriber}
+	 */
+	public static <T> ReplayProcessor<T> createMapped(Path file,
+			Function<? super T, byte[]> serializer,
+			Function<byte[], ? extends T> deserializer) {
+		Objects.requireNonNull(file, "file");
+		return new ReplayProcessor<>(new MappedReplayBuffer<>(file,
+				MappedReplayBuffer.DEFAULT_REGION_SIZE,
+				serializer,
+				deserializer));
+	}
+
 	final FluxReplay.ReplayBuffer<T> buffer;
 
 	Subscription subscription;
@@ -437,7 +468,13 @@ public final class ReplayProcessor<T> extends FluxProcessor<T, T>
 			Operators.onNextDropped(t, currentContext());
 		}
 		else {
-			b.add(t);
+			try {
+				b.add(t);
+			}
+			catch (Throwable e) {
+				onError(Operators.onOperatorError(subscription, e, t, currentContext()));
+				return;
+			}
 			for (FluxReplay.ReplaySubscription<T> rs : subscribers) {
 				b.replay(rs);
 			}
@@ -360,6 +360,15 @@ abstract class RingBuffer<E> implements LongSupplier {
 	 * @param sequence the sequence to publish.
 	 */
 	abstract void publish(long sequence);
+
+	/**
+	 * Publish the specified range of sequences, claimed with {@link #next(int)}, waking
+	 * up the readers only once.
+	 * @param lo the first sequence to publish
+	 * @param hi the last sequence to publish
+	 */
+	abstract void publish(long lo, long hi);
+
 	/**
 	 * Remove the specified sequence from this ringBuffer.
 	 * @param sequence to be removed.
@@ -767,6 +776,15 @@ abstract class RingBufferProducer {
 	 */
 	abstract void publish(long sequence);
 
+	/**
+	 * Publishes a range of sequences claimed with {@link #next(int)}. Call when all
+	 * the events have been filled.
+	 *
+	 * @param lo the first sequence number to be published
+	 * @param hi the last sequence number to be published
+	 */
+	abstract void publish(long lo, long hi);
+
 	/**
 	 *
 	 * @return the gating sequences array
@@ -878,6 +896,14 @@ final class SingleProducerSequencer extends SingleProducerSequencerFields {
 		waitStrategy.signalAllWhenBlocking();
 	}
 
+	/**
+	 * See {@code RingBufferProducer.publish(long, long)}.
+	 */
+	@Override
+	void publish(long lo, long hi) {
+		publish(hi);
+	}
+
 	@Override
 	long getHighestPublishedSequence(long lowerBound, long availableSequence) {
 		return availableSequence;
@@ -1003,6 +1029,12 @@ final class NotFunRingBuffer<E> extends NotFunRingBufferFields<E>
 		sequenceProducer.publish(sequence);
 	}
 
+	@Override
+	void publish(long lo, long hi)
+	{
+		sequenceProducer.publish(lo, hi);
+	}
+
 	@Override
 	int getPending() {
 		return (int)sequenceProducer.getPending();
@@ -1191,6 +1223,12 @@ final class UnsafeRingBuffer<E> extends RingBufferFields<E>
 		sequenceProducer.publish(sequence);
 	}
 
+	@Override
+	void publish(long lo, long hi)
+	{
+		sequenceProducer.publish(lo, hi);
+	}
+
 	@Override
 	int getPending() {
 		return (int)sequenceProducer.getPending();
@@ -1393,6 +1431,19 @@ final class MultiProducerRingBuffer extends RingBufferProducer
 		waitStrategy.signalAllWhenBlocking();
 	}
 
+	/**
+	 * See {@code RingBufferProducer.publish(long, long)}.
+	 */
+	@Override
+	void publish(long lo, long hi)
+	{
+		for (long sequence = lo; sequence <= hi; sequence++)
+		{
+			setAvailable(sequence);
+		}
+		waitStrategy.signalAllWhenBlocking();
+	}
+
 	/**
 	 * The below methods work on the availableBuffer flag.
 	 *
@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.publisher;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import reactor.core.Exceptions;
+import reactor.core.Scannable;
+import reactor.core.publisher.FluxSink.OverflowStrategy;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * A policy for multicasting components like {@link EmitterProcessor} and
+ * {@link Flux#publish(int, SlowSubscriberPolicy)}, where the shared buffer only advances
+ * as fast as the subscriber with the lowest demand. The policy detects subscribers that
+ * hold the others back, either by too many values or for too long, and stops waiting for
+ * them.
+ * <p>
+ * The lag of a subscriber is the number of buffered values it lacks the demand for,
+ * and is exposed through {@link Scannable.Attr#LAG}. Once a subscriber is found too slow,
+ * it is handled according to an {@link OverflowStrategy}:
+ * <ul>
+ *     <li>{@link OverflowStrategy#ERROR} cancels the subscriber and signals an
+ *     {@link IllegalStateException} to it, as created by
+ *     {@link Exceptions#failWithOverflow(String)}</li>
+ *     <li>{@link OverflowStrategy#DROP} keeps the subscriber connected but drops the
+ *     values it has no demand for, for the rest of its subscription</li>
+ *     <li>{@link OverflowStrategy#LATEST} keeps the subscriber connected but only keeps
+ *     the latest value it has no demand for, for the rest of its subscription. That value
+ *     is dropped if the sequence terminates before the subscriber requests it</li>
+ * </ul>
+ * Dropped values are passed to the discard hook of the slow subscriber's context.
+ */
+public final class SlowSubscriberPolicy {
+
+	/**
+	 * Stop waiting for a subscriber once it lags behind by more than {@code maxLag}
+	 * buffered values. As the buffer is bounded, {@code maxLag} should be lower than its
+	 * size for the policy to ever apply.
+	 *
+	 * @param maxLag the number of buffered values a subscriber is allowed to lag behind
+	 * @param strategy the {@link OverflowStrategy} applied to slow subscribers, one of
+	 * {@link OverflowStrategy#ERROR}, {@link OverflowStrategy#DROP} or
+	 * {@link OverflowStrategy#LATEST}
+	 *
+	 * @return a new {@link SlowSubscriberPolicy}
+	 */
+	public static SlowSubscriberPolicy afterLag(int maxLag, OverflowStrategy strategy) {
+		if (maxLag < 0) {
+			throw new IllegalArgumentException("maxLag >= 0 required but it was " + maxLag);
+		}
+		return new SlowSubscriberPolicy(maxLag, -1L, strategy);
+	}
+
+	/**
+	 * Stop waiting for a subscriber once it has been lagging behind for {@code maxStall}
+	 * without catching up. The elapsed time is measured with {@link Schedulers#parallel()},
+	 * which also triggers a new check once {@code maxStall} has elapsed in case no other
+	 * signal does.
+	 *
+	 * @param maxStall the time a subscriber is allowed to lag behind
+	 * @param strategy the {@link OverflowStrategy} applied to slow subscribers, one of
+	 * {@link OverflowStrategy#ERROR}, {@link OverflowStrategy#DROP} or
+	 * {@link OverflowStrategy#LATEST}
+	 *
+	 * @return a new {@link SlowSubscriberPolicy}
+	 */
+	public static SlowSubscriberPolicy afterStall(Duration maxStall, OverflowStrategy strategy) {
+		Objects.requireNonNull(maxStall, "maxStall");
+		if (maxStall.isNegative()) {
+			throw new IllegalArgumentException("maxStall >= 0 required but it was " + maxStall);
+		}
+		return new SlowSubscriberPolicy(-1, maxStall.toNanos(), strategy);
+	}
+
+	final int maxLag;
+
+	final long maxStallNanos;
+
+	final OverflowStrategy strategy;
+
+	SlowSubscriberPolicy(int maxLag, long maxStallNanos, OverflowStrategy strategy) {
+		Objects.requireNonNull(strategy, "strategy");
+		if (strategy != OverflowStrategy.ERROR && strategy != OverflowStrategy.DROP && strategy != OverflowStrategy.LATEST) {
+			throw new IllegalArgumentException("ERROR, DROP or LATEST strategy required but it was " + strategy);
+		}
+		this.maxLag = maxLag;
+		this.maxStallNanos = maxStallNanos;
+		this.strategy = strategy;
+	}
+
+	/**
+	 * Emit the values kept for subscribers in {@link OverflowStrategy#LATEST} mode that
+	 * requested more, then apply the policy to the subscribers that lag behind. Must be
+	 * called from the drain loop of the multicasting component.
+	 *
+	 * @param subscribers the current subscribers
+	 * @param pending the number of values in the shared buffer
+	 * @param recheck the drain loop, scheduled to check stalled subscribers again. The
+	 * scheduled check is disposed once the subscriber is cancelled or terminated
+	 */
+	<T> void apply(FluxPublish.PubSubInner<T>[] subscribers, int pending, Runnable recheck) {
+		long now = Long.MIN_VALUE;
+		for (FluxPublish.PubSubInner<T> inner : subscribers) {
+			if (inner.lagMode != null) {
+				inner.drainLatest();
+				continue;
+			}
+			int lag = inner.lag(pending);
+			if (lag == 0) {
+				inner.stallStart = Long.MIN_VALUE;
+				continue;
+			}
+
+			boolean slow;
+			if (maxLag >= 0) {
+				slow = lag > maxLag;
+			}
+			else {
+				Scheduler timer = Schedulers.parallel();
+				if (now == Long.MIN_VALUE) {
+					now = timer.now(TimeUnit.NANOSECONDS);
+				}
+				if (inner.stallStart == Long.MIN_VALUE) {
+					inner.stallStart = now;
+					slow = maxStallNanos == 0L;
+					if (!slow) {
+						try {
+							inner.stallCheck(timer.schedule(recheck, maxStallNanos, TimeUnit.NANOSECONDS));
+						}
+						catch (RejectedExecutionException ree) {
+							//the stall will be checked again on the next signal
+						}
+					}
+				}
+				else {
+					slow = now - inner.stallStart >= maxStallNanos;
+				}
+			}
+
+			if (slow) {
+				if (strategy == OverflowStrategy.ERROR) {
+					inner.cancel();
+					inner.actual.onError(Exceptions.failWithOverflow(
+							"The subscriber lagged behind by " + lag + " values"));
+				}
+				else {
+					inner.lagMode = strategy;
+				}
+			}
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "SlowSubscriberPolicy(" + (maxLag >= 0 ? "maxLag=" + maxLag :
+				"maxStall=" + Duration.ofNanos(maxStallNanos)) + ", " + strategy + ")";
+	}
+}
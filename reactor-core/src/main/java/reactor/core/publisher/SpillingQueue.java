@@ -0,0 +1,309 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.publisher;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractQueue;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.function.Function;
+
+import reactor.util.Logger;
+import reactor.util.Loggers;
+import reactor.util.annotation.Nullable;
+
+/**
+ * An unbounded single-producer single-consumer {@link java.util.Queue} that keeps up to
+ * {@code maxInMemory} elements on the heap, then serializes the overflow into segment
+ * files created in a spill directory.
+ * <p>
+ * Once an element has been spilled, the following ones are spilled as well until the
+ * consumer has caught up with the spilled elements, so that elements are always polled
+ * in the order they were offered. Each record is stored as its length followed by its
+ * serialized bytes. A segment file is deleted as soon as all of its records have been
+ * polled, or when the queue is cleared. The heap footprint is thus bounded by the
+ * in-memory elements plus a small descriptor per segment, whatever the backlog.
+ * <p>
+ * Segments are written and read through a {@link FileChannel} at explicit positions
+ * rather than memory-mapped, as a mapping can't be released on demand and would keep
+ * the file, and its address space, around until the buffer is garbage collected.
+ * Peeking a spilled element deserializes it ahead of time, the element then being
+ * kept on the heap until polled.
+ * <p>
+ * Serialization, deserialization and I/O happen while holding the queue's lock. I/O
+ * errors are rethrown as {@link UncheckedIOException}.
+ *
+ * @param <T> the element type
+ */
+final class SpillingQueue<T> extends AbstractQueue<T> {
+
+	static final Logger log = Loggers.getLogger(SpillingQueue.class);
+
+	/**
+	 * The default size of a segment file, larger records get a segment of their own.
+	 */
+	static final int DEFAULT_SEGMENT_SIZE = 8 * 1024 * 1024;
+
+	final int                            maxInMemory;
+	final Path                           directory;
+	final int                            segmentSize;
+	final Function<? super T, byte[]>    serializer;
+	final Function<byte[], ? extends T>  deserializer;
+	final ArrayDeque<T>                  head;
+	final ArrayDeque<Segment>            segments;
+
+	long spilled;
+
+	/** the spilled element already read from its segment by {@link #peek()}, if any */
+	@Nullable
+	T spilledHead;
+
+	SpillingQueue(int maxInMemory,
+			Path directory,
+			int segmentSize,
+			Function<? super T, byte[]> serializer,
+			Function<byte[], ? extends T> deserializer) {
+		if (maxInMemory < 1) {
+			throw new IllegalArgumentException("maxInMemory must be strictly positive");
+		}
+		if (segmentSize < 1) {
+			throw new IllegalArgumentException("segmentSize must be strictly positive");
+		}
+		this.maxInMemory = maxInMemory;
+		this.directory = Objects.requireNonNull(directory, "directory");
+		this.segmentSize = segmentSize;
+		this.serializer = Objects.requireNonNull(serializer, "serializer");
+		this.deserializer = Objects.requireNonNull(deserializer, "deserializer");
+		this.head = new ArrayDeque<>(Math.min(maxInMemory, 256));
+		this.segments = new ArrayDeque<>();
+	}
+
+	@Override
+	public synchronized boolean offer(T t) {
+		Objects.requireNonNull(t, "t");
+		if (spilled == 0L && head.size() < maxInMemory) {
+			head.offer(t);
+			return true;
+		}
+		byte[] bytes = Objects.requireNonNull(serializer.apply(t),
+				"The serializer returned a null value");
+		Segment segment = segments.peekLast();
+		if (segment == null || !segment.hasRoomFor(bytes.length)) {
+			segment = new Segment(directory, Math.max(segmentSize, Integer.BYTES + bytes.length));
+			segments.offer(segment);
+		}
+		segment.write(bytes);
+		spilled++;
+		return true;
+	}
+
+	@Override
+	@Nullable
+	public synchronized T poll() {
+		T t = head.poll();
+		if (t != null || spilled == 0L) {
+			return t;
+		}
+		t = spilledHead;
+		if (t != null) {
+			spilledHead = null;
+		}
+		else {
+			t = readSpilled();
+		}
+		if (--spilled == 0L) {
+			deleteSegments();
+		}
+		return t;
+	}
+
+	@Override
+	@Nullable
+	public synchronized T peek() {
+		T t = head.peek();
+		if (t != null || spilled == 0L) {
+			return t;
+		}
+		t = spilledHead;
+		if (t == null) {
+			t = readSpilled();
+			spilledHead = t;
+		}
+		return t;
+	}
+
+	/**
+	 * Read and deserialize the next spilled record, deleting the segments it skips
+	 * over as they are exhausted.
+	 */
+	T readSpilled() {
+		Segment segment = segments.peek();
+		byte[] bytes = segment.read();
+		while (bytes == null) {
+			segments.poll().delete();
+			segment = segments.peek();
+			bytes = segment.read();
+		}
+		return Objects.requireNonNull(deserializer.apply(bytes),
+				"The deserializer returned a null value");
+	}
+
+	@Override
+	public synchronized boolean isEmpty() {
+		return spilled == 0L && head.isEmpty();
+	}
+
+	@Override
+	public synchronized int size() {
+		return (int) Math.min(head.size() + spilled, Integer.MAX_VALUE);
+	}
+
+	@Override
+	public synchronized void clear() {
+		head.clear();
+		spilled = 0L;
+		spilledHead = null;
+		deleteSegments();
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * @return the number of segment files currently in use
+	 */
+	synchronized int segmentCount() {
+		return segments.size();
+	}
+
+	void deleteSegments() {
+		Segment segment;
+		while ((segment = segments.poll()) != null) {
+			segment.delete();
+		}
+	}
+
+	static final class Segment {
+
+		final Path        file;
+		final FileChannel channel;
+		final int         capacity;
+
+		long writePosition;
+		long readPosition;
+
+		Segment(Path directory, int capacity) {
+			Path f;
+			try {
+				f = Files.createTempFile(directory, "reactor-spill-", ".segment");
+			}
+			catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			try {
+				this.channel = FileChannel.open(f,
+						StandardOpenOption.READ,
+						StandardOpenOption.WRITE);
+			}
+			catch (IOException e) {
+				deleteFile(f);
+				throw new UncheckedIOException(e);
+			}
+			this.file = f;
+			this.capacity = capacity;
+		}
+
+		boolean hasRoomFor(int length) {
+			return capacity - writePosition - Integer.BYTES >= length;
+		}
+
+		void write(byte[] bytes) {
+			byte[] r = new byte[Integer.BYTES + bytes.length];
+			ByteBuffer.wrap(r).putInt(bytes.length);
+			System.arraycopy(bytes, 0, r, Integer.BYTES, bytes.length);
+			ByteBuffer record = ByteBuffer.wrap(r);
+			try {
+				long position = writePosition;
+				while (record.hasRemaining()) {
+					position += channel.write(record, position);
+				}
+			}
+			catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			//only account for a record once it has been fully written
+			writePosition += record.limit();
+		}
+
+		@Nullable
+		byte[] read() {
+			if (readPosition == writePosition) {
+				return null;
+			}
+			try {
+				ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+				readFully(length, readPosition);
+				byte[] bytes = new byte[length.getInt(0)];
+				readFully(ByteBuffer.wrap(bytes), readPosition + Integer.BYTES);
+				readPosition += Integer.BYTES + bytes.length;
+				return bytes;
+			}
+			catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+
+		void readFully(ByteBuffer buffer, long position) throws IOException {
+			while (buffer.hasRemaining()) {
+				int n = channel.read(buffer, position);
+				if (n < 0) {
+					throw new EOFException("Truncated spill segment " + file);
+				}
+				position += n;
+			}
+		}
+
+		void delete() {
+			try {
+				channel.close();
+			}
+			catch (IOException e) {
+				log.warn("Unable to close spill segment " + file, e);
+			}
+			deleteFile(file);
+		}
+
+		static void deleteFile(Path file) {
+			try {
+				Files.deleteIfExists(file);
+			}
+			catch (IOException e) {
+				log.warn("Unable to delete spill segment " + file, e);
+			}
+		}
+	}
+}
@@ -0,0 +1,340 @@
+/*
+ * Copyright (c) 2011-2018 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.publisher;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.function.IntFunction;
+
+import reactor.util.concurrent.Queues;
+
+/**
+ * The subscribers of a multicasting component.
+ * <p>
+ * Instead of copying a single array on each change, subscribers are kept in an array
+ * guarded by a lock, where adding appends to the end and removing leaves a tombstone
+ * that is compacted away once tombstones make up half of the array, so both are
+ * amortized O(1). Subscribers remember their position through {@link Entry}. The array
+ * is only allocated once a first subscriber is added.
+ * <p>
+ * Broadcasting iterates over a plain array {@link #snapshot() snapshot}, which is
+ * only rebuilt when the registry changed since the previous one, so a burst of changes
+ * between two signals costs a single copy. The snapshot follows the order of
+ * registration.
+ * <p>
+ * A striped registry, meant for a large number of subscribers joining and leaving
+ * concurrently, spreads the subscribers over a few such arrays, or stripes, picked by
+ * the calling thread so that concurrent changes don't contend on a single lock. Its
+ * snapshot lists the stripes one after the other, so it only follows the order of
+ * registration for subscribers added from the same thread.
+ *
+ * @param <E> the subscriber type
+ */
+final class SubscriberRegistry<E extends SubscriberRegistry.Entry> {
+
+	/**
+	 * A subscriber that can be registered in a single {@link SubscriberRegistry}.
+	 */
+	interface Entry {
+
+		/**
+		 * @return the position last set by the registry, or -1 if not registered
+		 */
+		int registryIndex();
+
+		/**
+		 * @param index the position of this subscriber in the registry, -1 once removed
+		 */
+		void registryIndex(int index);
+	}
+
+	static final int STRIPES = Math.min(16, Queues.ceilingNextPowerOfTwo(Runtime.getRuntime().availableProcessors()));
+
+	static final int STRIPE_BITS = Integer.numberOfTrailingZeros(STRIPES);
+
+	static final int INITIAL_CAPACITY = 8;
+
+	static final Entry[] NO_ENTRIES = new Entry[0];
+
+	final Stripe[] stripes;
+
+	final int stripeMask;
+
+	final IntFunction<E[]> arrayFactory;
+
+	final E[] empty;
+
+	volatile int terminated;
+	@SuppressWarnings("rawtypes")
+	static final AtomicIntegerFieldUpdater<SubscriberRegistry> TERMINATED =
+			AtomicIntegerFieldUpdater.newUpdater(SubscriberRegistry.class, "terminated");
+
+	volatile int size;
+	@SuppressWarnings("rawtypes")
+	static final AtomicIntegerFieldUpdater<SubscriberRegistry> SIZE =
+			AtomicIntegerFieldUpdater.newUpdater(SubscriberRegistry.class, "size");
+
+	volatile long version;
+	@SuppressWarnings("rawtypes")
+	static final AtomicLongFieldUpdater<SubscriberRegistry> VERSION =
+			AtomicLongFieldUpdater.newUpdater(SubscriberRegistry.class, "version");
+
+	volatile Snapshot<E> snapshot;
+
+	/**
+	 * Create a registry keeping the order of registration.
+	 *
+	 * @param arrayFactory creates the snapshot arrays, e.g. a static
+	 * {@code Inner::newArray} method creating a generic array
+	 */
+	SubscriberRegistry(IntFunction<E[]> arrayFactory) {
+		this(arrayFactory, false);
+	}
+
+	/**
+	 * @param arrayFactory creates the snapshot arrays, e.g. a static
+	 * {@code Inner::newArray} method creating a generic array
+	 * @param striped true to spread the subscribers over stripes picked by the calling
+	 * thread, false to keep the order of registration
+	 */
+	SubscriberRegistry(IntFunction<E[]> arrayFactory, boolean striped) {
+		this.arrayFactory = arrayFactory;
+		this.empty = arrayFactory.apply(0);
+		int count = striped ? STRIPES : 1;
+		int bits = striped ? STRIPE_BITS : 0;
+		this.stripes = new Stripe[count];
+		for (int i = 0; i < count; i++) {
+			stripes[i] = new Stripe(i, bits);
+		}
+		this.stripeMask = count - 1;
+		this.snapshot = new Snapshot<>(0L, empty);
+	}
+
+	/**
+	 * Register a subscriber.
+	 *
+	 * @param e the subscriber to add
+	 * @return false if the registry has been terminated
+	 */
+	boolean add(E e) {
+		Stripe stripe = stripes[(int) Thread.currentThread().getId() & stripeMask];
+		synchronized (stripe) {
+			if (terminated != 0) {
+				return false;
+			}
+			stripe.add(e);
+			SIZE.incrementAndGet(this);
+			VERSION.incrementAndGet(this);
+		}
+		return true;
+	}
+
+	/**
+	 * Unregister a subscriber, if it is registered.
+	 *
+	 * @param e the subscriber to remove
+	 * @return the number of remaining subscribers, or -1 if {@code e} wasn't registered
+	 */
+	int remove(E e) {
+		int index = e.registryIndex();
+		if (index < 0) {
+			return -1;
+		}
+		Stripe stripe = stripes[index & stripeMask];
+		synchronized (stripe) {
+			if (!stripe.remove(e)) {
+				return -1;
+			}
+			VERSION.incrementAndGet(this);
+			return SIZE.decrementAndGet(this);
+		}
+	}
+
+	/**
+	 * Prevent any further registration and unregister all the current subscribers.
+	 *
+	 * @return the subscribers that were registered, empty if the registry was already
+	 * terminated
+	 */
+	E[] terminate() {
+		if (!TERMINATED.compareAndSet(this, 0, 1)) {
+			return empty;
+		}
+		E[] a = collect(true);
+		snapshot = new Snapshot<>(VERSION.incrementAndGet(this), empty);
+		return a;
+	}
+
+	boolean isTerminated() {
+		return terminated != 0;
+	}
+
+	/**
+	 * @return the number of registered subscribers
+	 */
+	int size() {
+		return size;
+	}
+
+	/**
+	 * Return the registered subscribers as an array that must not be modified. The
+	 * same array is returned until the registry changes.
+	 *
+	 * @return the registered subscribers, in registration order, only for a given thread
+	 * if striped
+	 */
+	E[] snapshot() {
+		Snapshot<E> s = snapshot;
+		long v = version;
+		if (s.version == v) {
+			return s.array;
+		}
+		if (size == 0) {
+			s = new Snapshot<>(v, empty);
+		}
+		else {
+			s = new Snapshot<>(v, collect(false));
+		}
+		snapshot = s;
+		return s.array;
+	}
+
+	@SuppressWarnings("unchecked")
+	E[] collect(boolean clear) {
+		E[] a = arrayFactory.apply(size);
+		int n = 0;
+		for (Stripe stripe : stripes) {
+			synchronized (stripe) {
+				Entry[] entries = stripe.entries;
+				for (int i = 0; i < stripe.count; i++) {
+					Entry e = entries[i];
+					if (e != null) {
+						if (n == a.length) {
+							a = Arrays.copyOf(a, n + 1 + (n >> 1));
+						}
+						a[n++] = (E) e;
+						if (clear) {
+							e.registryIndex(-1);
+						}
+					}
+				}
+				if (clear) {
+					SIZE.addAndGet(this, -stripe.live);
+					stripe.clear();
+				}
+			}
+		}
+		return n == a.length ? a : Arrays.copyOf(a, n);
+	}
+
+	static final class Snapshot<E> {
+
+		final long version;
+		final E[]  array;
+
+		Snapshot(long version, E[] array) {
+			this.version = version;
+			this.array = array;
+		}
+	}
+
+	/**
+	 * A slice of the registry, only accessed while holding its monitor.
+	 */
+	static final class Stripe {
+
+		/** the position of this stripe in the registry, the low bits of its indexes */
+		final int index;
+		final int bits;
+
+		Entry[] entries = NO_ENTRIES;
+
+		/** the number of used slots, including tombstones */
+		int count;
+
+		/** the number of registered subscribers */
+		int live;
+
+		Stripe(int index, int bits) {
+			this.index = index;
+			this.bits = bits;
+		}
+
+		void add(Entry e) {
+			if (count == entries.length) {
+				entries = Arrays.copyOf(entries, Math.max(INITIAL_CAPACITY, count << 1));
+			}
+			e.registryIndex(count << bits | index);
+			entries[count++] = e;
+			live++;
+		}
+
+		boolean remove(Entry e) {
+			int index = e.registryIndex();
+			if (index < 0) {
+				return false;
+			}
+			int slot = index >>> bits;
+			if (slot >= count || entries[slot] != e) {
+				return false;
+			}
+			entries[slot] = null;
+			e.registryIndex(-1);
+			live--;
+			if (live == 0) {
+				clear();
+			}
+			else if (live <= count >> 1) {
+				compact();
+			}
+			return true;
+		}
+
+		void compact() {
+			Entry[] a = entries;
+			int n = 0;
+			for (int i = 0; i < count; i++) {
+				Entry e = a[i];
+				if (e != null) {
+					if (i != n) {
+						a[n] = e;
+						e.registryIndex(n << bits | index);
+					}
+					n++;
+				}
+			}
+			Arrays.fill(a, n, count, null);
+			count = n;
+			if (a.length > INITIAL_CAPACITY && n < a.length >> 2) {
+				entries = Arrays.copyOf(a, Math.max(INITIAL_CAPACITY, a.length >> 1));
+			}
+		}
+
+		void clear() {
+			Entry[] a = entries;
+			if (a.length > INITIAL_CAPACITY) {
+				entries = NO_ENTRIES;
+			}
+			else {
+				Arrays.fill(a, 0, count, null);
+			}
+			count = 0;
+			live = 0;
+		}
+	}
+}
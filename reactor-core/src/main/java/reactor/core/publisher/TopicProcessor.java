@@ -472,21 +472,26 @@ public final class TopicProcessor<E> extends EventLoopProcessor<E>  {
 					try {
 
 						final long availableSequence = processor.barrier.waitFor(nextSequence, waiter);
+						long granted = 0L;
 						while (nextSequence <= availableSequence) {
 							event = processor.ringBuffer.get(nextSequence);
 
-								//if bounded and out of capacity
-								while (!unbounded && getAndSub(pendingRequest, 1L) ==
-												0) {
-									//Todo Use WaitStrategy?
-									if(!running.get() || processor.isTerminated()){
-										WaitStrategy.alert();
+								//if bounded, take the demand for as much of the available
+								//batch as possible at once, waiting while out of capacity
+								if (!unbounded && granted == 0L) {
+									long batch = availableSequence - nextSequence + 1L;
+									while ((granted = Math.min(getAndSub(pendingRequest, batch), batch)) == 0L) {
+										//Todo Use WaitStrategy?
+										if(!running.get() || processor.isTerminated()){
+											WaitStrategy.alert();
+										}
+										LockSupport.parkNanos(1L);
 									}
-									LockSupport.parkNanos(1L);
 								}
 
 								//It's an unbounded subscriber or there is enough capacity to process the signal
 								subscriber.onNext(event.value);
+								granted--;
 								nextSequence++;
 
 						}
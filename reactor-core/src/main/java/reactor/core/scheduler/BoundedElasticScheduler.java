@@ -0,0 +1,538 @@
+/*
+ * Copyright (c) 2011-2018 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.scheduler;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.Scannable;
+import reactor.util.annotation.Nullable;
+
+/**
+ * Dynamically creates ScheduledExecutorService-based Workers and caches the thread pools,
+ * reusing them once the Workers have been shut down. Unlike the {@link ElasticScheduler},
+ * the number of live threads is capped: once the cap is reached, new Workers and direct
+ * tasks share the least busy of the existing thread pools. Each thread pool can in turn
+ * enqueue a bounded number of pending tasks, after which scheduling is rejected with a
+ * {@link RejectedExecutionException}. This scheduler is time-capable (can schedule with
+ * delay / periodically).
+ * <p>
+ * The default time-to-live for unused thread pools is 60 seconds, use the
+ * appropriate constructor to set a different value.
+ * <p>
+ * This scheduler is not restartable.
+ */
+final class BoundedElasticScheduler
+		implements Scheduler, Supplier<ScheduledExecutorService>, Scannable {
+
+	static final AtomicLong COUNTER = new AtomicLong();
+
+	static final int DEFAULT_TTL_SECONDS = 60;
+
+	static final BoundedState SHUTDOWN = new BoundedState(null);
+
+	final int threadCap;
+
+	final int queuedTaskCap;
+
+	final ThreadFactory factory;
+
+	final int ttlSeconds;
+
+	/** the pools that currently back at least one Worker or direct task, guarded by this */
+	final List<BoundedState> busy;
+
+	/** the pools that are unused and candidate for eviction, oldest first, guarded by this */
+	final Deque<BoundedState> idle;
+
+	final ScheduledExecutorService evictor;
+
+	volatile boolean shutdown;
+
+	BoundedElasticScheduler(int threadCap, int queuedTaskCap, ThreadFactory factory, int ttlSeconds) {
+		if (threadCap <= 0) {
+			throw new IllegalArgumentException("threadCap must be strictly positive, was: " + threadCap);
+		}
+		if (queuedTaskCap <= 0) {
+			throw new IllegalArgumentException("queuedTaskCap must be strictly positive, was: " + queuedTaskCap);
+		}
+		if (ttlSeconds <= 0) {
+			throw new IllegalArgumentException("ttlSeconds must be strictly positive, was: " + ttlSeconds);
+		}
+		this.threadCap = threadCap;
+		this.queuedTaskCap = queuedTaskCap;
+		this.factory = factory;
+		this.ttlSeconds = ttlSeconds;
+		this.busy = new ArrayList<>();
+		this.idle = new ArrayDeque<>();
+		this.evictor = Executors.newScheduledThreadPool(1, ElasticScheduler.EVICTOR_FACTORY);
+		this.evictor.scheduleAtFixedRate(this::eviction,
+				ttlSeconds,
+				ttlSeconds,
+				TimeUnit.SECONDS);
+	}
+
+	/**
+	 * Instantiates the default {@link ScheduledExecutorService} for the
+	 * BoundedElasticScheduler (a {@link ScheduledThreadPoolExecutor} with core and max
+	 * pool size of 1 that rejects tasks once {@link #queuedTaskCap} tasks are pending).
+	 */
+	@Override
+	public ScheduledExecutorService get() {
+		return new BoundedScheduledExecutorService(queuedTaskCap, factory);
+	}
+
+	@Override
+	public void start() {
+		throw new UnsupportedOperationException("Restarting not supported yet");
+	}
+
+	@Override
+	public boolean isDisposed() {
+		return shutdown;
+	}
+
+	@Override
+	public void dispose() {
+		if (shutdown) {
+			return;
+		}
+		shutdown = true;
+
+		evictor.shutdownNow();
+
+		List<BoundedState> all;
+		synchronized (this) {
+			all = new ArrayList<>(busy);
+			all.addAll(idle);
+			busy.clear();
+			idle.clear();
+		}
+
+		for (BoundedState state : all) {
+			state.exec.shutdownNow();
+		}
+	}
+
+	/**
+	 * Pick a {@link BoundedState} for a new Worker or direct task: the most recently
+	 * released idle pool if any, otherwise a new pool if the thread cap allows it,
+	 * otherwise the busy pool that currently backs the fewest Workers.
+	 *
+	 * @return the {@link BoundedState} to use, marked as used once more
+	 */
+	BoundedState pick() {
+		if (shutdown) {
+			return SHUTDOWN;
+		}
+		BoundedState result;
+		synchronized (this) {
+			if (shutdown) {
+				return SHUTDOWN;
+			}
+			result = idle.pollLast();
+			if (result == null) {
+				if (busy.size() < threadCap) {
+					result = new BoundedState(this);
+				}
+				else {
+					result = busy.get(0);
+					for (int i = 1; i < busy.size(); i++) {
+						BoundedState candidate = busy.get(i);
+						if (candidate.markCount < result.markCount) {
+							result = candidate;
+						}
+					}
+					result.markCount++;
+					return result;
+				}
+			}
+			busy.add(result);
+			result.markCount = 1;
+		}
+		return result;
+	}
+
+	void release(BoundedState state) {
+		synchronized (this) {
+			if (shutdown || state.markCount == 0) {
+				return;
+			}
+			if (--state.markCount == 0) {
+				busy.remove(state);
+				state.idleSinceMillis = System.currentTimeMillis();
+				idle.offerLast(state);
+			}
+		}
+	}
+
+	@Override
+	public Disposable schedule(Runnable task) {
+		return schedule(task, 0L, TimeUnit.MILLISECONDS);
+	}
+
+	@Override
+	public Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+		BoundedState state = pick();
+		DirectScheduleTask directTask = new DirectScheduleTask(task, state);
+		try {
+			directTask.scheduled =
+					Schedulers.directSchedule(state.exec, directTask, delay, unit);
+		}
+		catch (RejectedExecutionException ex) {
+			directTask.release();
+			throw ex;
+		}
+		return directTask;
+	}
+
+	@Override
+	public Disposable schedulePeriodically(Runnable task, long initialDelay, long period, TimeUnit unit) {
+		BoundedState state = pick();
+		//the holder is never run, it only releases the state once disposed
+		DirectScheduleTask directTask = new DirectScheduleTask(task, state);
+		try {
+			directTask.scheduled = Schedulers.directSchedulePeriodically(state.exec,
+					task,
+					initialDelay,
+					period,
+					unit);
+		}
+		catch (RejectedExecutionException ex) {
+			directTask.release();
+			throw ex;
+		}
+		return directTask;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder ts = new StringBuilder(Schedulers.BOUNDED_ELASTIC)
+				.append('(');
+		if (factory instanceof ReactorThreadFactory) {
+			ts.append('\"').append(((ReactorThreadFactory) factory).get()).append("\",");
+		}
+		ts.append("maxThreads=").append(threadCap)
+		  .append(",maxTaskQueuedPerThread=").append(queuedTaskCap)
+		  .append(",ttl=").append(ttlSeconds).append("s)");
+		return ts.toString();
+	}
+
+	/**
+	 * Scannable view of this scheduler: {@link Attr#CAPACITY} is the thread cap,
+	 * {@link Attr#BUFFERED} the number of active threads (backing at least one Worker or
+	 * direct task) and {@link Attr#LARGE_BUFFERED} the total number of tasks queued
+	 * across all threads. {@link #inners()} exposes both active and idle threads, each
+	 * reporting its own queue size as {@link Attr#BUFFERED}.
+	 */
+	@Override
+	public Object scanUnsafe(Attr key) {
+		if (key == Attr.TERMINATED || key == Attr.CANCELLED) return isDisposed();
+		if (key == Attr.CAPACITY) return threadCap;
+		if (key == Attr.BUFFERED) return activeCount();
+		if (key == Attr.LARGE_BUFFERED) return queuedCount();
+		if (key == Attr.NAME) return this.toString();
+
+		return null;
+	}
+
+	@Override
+	public Stream<? extends Scannable> inners() {
+		List<BoundedState> all;
+		synchronized (this) {
+			all = new ArrayList<>(busy);
+			all.addAll(idle);
+		}
+		return all.stream();
+	}
+
+	@Override
+	public Worker createWorker() {
+		return new BoundedWorker(pick());
+	}
+
+	synchronized int activeCount() {
+		return busy.size();
+	}
+
+	synchronized int idleCount() {
+		return idle.size();
+	}
+
+	long queuedCount() {
+		long total = 0L;
+		List<BoundedState> all;
+		synchronized (this) {
+			all = new ArrayList<>(busy);
+			all.addAll(idle);
+		}
+		for (BoundedState state : all) {
+			total += state.queuedTasks();
+		}
+		return total;
+	}
+
+	void eviction() {
+		long expiry = System.currentTimeMillis() - ttlSeconds * 1000L;
+
+		List<BoundedState> evicted = new ArrayList<>();
+		synchronized (this) {
+			BoundedState state;
+			while ((state = idle.peekFirst()) != null && state.idleSinceMillis < expiry) {
+				evicted.add(idle.pollFirst());
+			}
+		}
+
+		for (BoundedState state : evicted) {
+			state.exec.shutdownNow();
+		}
+	}
+
+	static final class BoundedState implements Disposable, Scannable {
+
+		final BoundedElasticScheduler  parent;
+		final ScheduledExecutorService exec;
+
+		/** number of Workers and direct tasks using this pool, guarded by parent */
+		int  markCount;
+		/** when this pool last became idle, guarded by parent */
+		long idleSinceMillis;
+
+		BoundedState(@Nullable BoundedElasticScheduler parent) {
+			this.parent = parent;
+			if (parent != null) {
+				this.exec = Schedulers.decorateExecutorService(Schedulers.BOUNDED_ELASTIC, parent);
+			}
+			else {
+				this.exec = Executors.newSingleThreadScheduledExecutor();
+				this.exec.shutdownNow();
+			}
+		}
+
+		int queuedTasks() {
+			if (exec instanceof ThreadPoolExecutor) {
+				return ((ThreadPoolExecutor) exec).getQueue().size();
+			}
+			Object buffered = Schedulers.scanExecutor(exec, Attr.BUFFERED);
+			return buffered instanceof Integer ? (Integer) buffered : 0;
+		}
+
+		@Override
+		public void dispose() {
+			if (parent != null) {
+				parent.release(this);
+			}
+		}
+
+		@Override
+		public boolean isDisposed() {
+			return exec.isShutdown();
+		}
+
+		@Override
+		public Object scanUnsafe(Attr key) {
+			if (key == Attr.TERMINATED || key == Attr.CANCELLED) return isDisposed();
+			if (parent == null) return null;
+			if (key == Attr.NAME) return parent.scanUnsafe(key) + ".worker";
+			if (key == Attr.PARENT) return parent;
+			if (key == Attr.CAPACITY) return parent.queuedTaskCap;
+			if (key == Attr.BUFFERED) return queuedTasks();
+			return Schedulers.scanExecutor(exec, key);
+		}
+	}
+
+	/**
+	 * A {@link ScheduledThreadPoolExecutor} with a single thread that rejects new tasks
+	 * once its queue holds {@code queueCapacity} pending tasks. The capacity check is
+	 * best effort: concurrent submissions can slightly overshoot it.
+	 */
+	static final class BoundedScheduledExecutorService extends ScheduledThreadPoolExecutor {
+
+		final int queueCapacity;
+
+		BoundedScheduledExecutorService(int queueCapacity, ThreadFactory factory) {
+			super(1, factory);
+			setMaximumPoolSize(1);
+			setRemoveOnCancelPolicy(true);
+			this.queueCapacity = queueCapacity;
+		}
+
+		void ensureQueueCapacity() {
+			int queued = getQueue().size();
+			if (queued >= queueCapacity) {
+				throw new RejectedExecutionException("Task capacity of bounded elastic scheduler reached while scheduling 1 tasks (" + (queued + 1) + "/" + queueCapacity + ")");
+			}
+		}
+
+		@Override
+		public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+			ensureQueueCapacity();
+			return super.schedule(command, delay, unit);
+		}
+
+		@Override
+		public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+			ensureQueueCapacity();
+			return super.schedule(callable, delay, unit);
+		}
+
+		@Override
+		public ScheduledFuture<?> scheduleAtFixedRate(Runnable command,
+				long initialDelay,
+				long period,
+				TimeUnit unit) {
+			ensureQueueCapacity();
+			return super.scheduleAtFixedRate(command, initialDelay, period, unit);
+		}
+
+		@Override
+		public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command,
+				long initialDelay,
+				long delay,
+				TimeUnit unit) {
+			ensureQueueCapacity();
+			return super.scheduleWithFixedDelay(command, initialDelay, delay, unit);
+		}
+	}
+
+	/**
+	 * Wraps a directly scheduled task so that its {@link BoundedState} is released exactly
+	 * once, either after the task has run or when it is disposed. Periodic tasks use it
+	 * as a holder only, releasing the state upon disposal.
+	 */
+	static final class DirectScheduleTask extends AtomicBoolean implements Runnable, Disposable {
+
+		final Runnable     delegate;
+		final BoundedState state;
+
+		volatile Disposable scheduled;
+
+		DirectScheduleTask(Runnable delegate, BoundedState state) {
+			this.delegate = delegate;
+			this.state = state;
+		}
+
+		@Override
+		public void run() {
+			try {
+				delegate.run();
+			}
+			finally {
+				release();
+			}
+		}
+
+		void release() {
+			if (compareAndSet(false, true)) {
+				state.dispose();
+			}
+		}
+
+		@Override
+		public void dispose() {
+			Disposable s = scheduled;
+			if (s != null) {
+				s.dispose();
+			}
+			release();
+		}
+
+		@Override
+		public boolean isDisposed() {
+			Disposable s = scheduled;
+			return s != null ? s.isDisposed() : get();
+		}
+	}
+
+	static final class BoundedWorker extends AtomicBoolean implements Worker, Scannable {
+
+		final BoundedState state;
+
+		final Disposable.Composite tasks;
+
+		BoundedWorker(BoundedState state) {
+			this.state = state;
+			this.tasks = Disposables.composite();
+		}
+
+		@Override
+		public Disposable schedule(Runnable task) {
+			return Schedulers.workerSchedule(state.exec,
+					tasks,
+					task,
+					0L,
+					TimeUnit.MILLISECONDS);
+		}
+
+		@Override
+		public Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+			return Schedulers.workerSchedule(state.exec, tasks, task, delay, unit);
+		}
+
+		@Override
+		public Disposable schedulePeriodically(Runnable task,
+				long initialDelay,
+				long period,
+				TimeUnit unit) {
+			return Schedulers.workerSchedulePeriodically(state.exec,
+					tasks,
+					task,
+					initialDelay,
+					period,
+					unit);
+		}
+
+		@Override
+		public void dispose() {
+			if (compareAndSet(false, true)) {
+				tasks.dispose();
+				state.dispose();
+			}
+		}
+
+		@Override
+		public boolean isDisposed() {
+			return tasks.isDisposed();
+		}
+
+		@Override
+		public Object scanUnsafe(Attr key) {
+			if (key == Attr.TERMINATED || key == Attr.CANCELLED) return isDisposed();
+			if (key == Attr.NAME) return state.scanUnsafe(key);
+			if (key == Attr.PARENT) return state.parent;
+
+			return state.scanUnsafe(key);
+		}
+	}
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2011-2018 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.scheduler;
+
+import java.util.Queue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+import reactor.core.Exceptions;
+import reactor.util.concurrent.Queues;
+
+/**
+ * Hosts a fixed pool of event loops, each one a single thread draining its own
+ * multi-producer single-consumer queue, and is suited for parallel work. Immediate tasks
+ * are offered straight to the queue of a loop, without going through an
+ * {@link java.util.concurrent.ExecutorService}: no lock, no delay heap and no
+ * {@link java.util.concurrent.FutureTask} are involved. Each {@link Worker} is pinned to
+ * a single loop, which naturally runs its tasks in FIFO order and non-concurrently.
+ * <p>
+ * Delayed and periodic tasks are handed off to their loop once due, see
+ * {@link PinnedQueueScheduler}.
+ * <p>
+ * This scheduler is not restartable.
+ */
+final class EventLoopScheduler extends PinnedQueueScheduler<EventLoopScheduler.EventLoop> {
+
+	static final AtomicLong COUNTER = new AtomicLong();
+
+	EventLoopScheduler(int n, ThreadFactory factory) {
+		super(Schedulers.EVENT_LOOP, n, factory, EventLoop[]::new);
+	}
+
+	@Override
+	EventLoop newLoop(int index) {
+		return new EventLoop(this, index);
+	}
+
+	@Override
+	public Worker createWorker() {
+		return new EventLoopWorker(this, pick());
+	}
+
+	/**
+	 * A thread of the pool, draining its own multi-producer single-consumer queue of
+	 * tasks.
+	 */
+	static final class EventLoop extends Loop<EventLoopScheduler, Queue<Runnable>> {
+
+		EventLoop(EventLoopScheduler parent, int index) {
+			super(parent, "loop" + index, Queues.<Runnable>unboundedMultiproducer().get());
+		}
+	}
+
+	/**
+	 * A worker pinned to a single event loop, whose thread runs its tasks in submission
+	 * order.
+	 */
+	static final class EventLoopWorker extends PinnedWorker<EventLoop> {
+
+		EventLoopWorker(EventLoopScheduler parent, EventLoop loop) {
+			super(parent, loop);
+		}
+
+		@Override
+		void enqueue(Runnable task) {
+			if (terminated) {
+				throw Exceptions.failWithRejected();
+			}
+			parent.submit(task, loop);
+		}
+	}
+}
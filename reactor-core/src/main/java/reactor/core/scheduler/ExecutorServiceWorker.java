@@ -16,31 +16,181 @@
 
 package reactor.core.scheduler;
 
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 import reactor.core.Disposable;
 import reactor.core.Disposables;
+import reactor.core.Exceptions;
 import reactor.core.Scannable;
+import reactor.util.annotation.Nullable;
 
 /**
+ * A {@link Scheduler.Worker} backed by a {@link ScheduledExecutorService}.
+ * <p>
+ * When the executor is known to be single-threaded, immediate tasks are trampolined:
+ * they are queued in the worker itself, and the worker submits a single drain to the
+ * executor whenever it goes from idle to busy. Such tasks don't need to be tracked by
+ * the {@link Disposable.Composite} of the worker and double as nodes of its queue, so
+ * scheduling one only allocates the task itself, plus the executor's own wrapper when
+ * the worker was idle. Delayed and periodic tasks always go through the executor.
+ * <p>
+ * As the executor is typically shared with other workers, a drain runs at most
+ * {@link #TRAMPOLINE_BATCH_SIZE} tasks before submitting itself again, letting the tasks
+ * of other workers and delayed tasks run in between.
+ *
  * @author Stephane Maldini
  */
-final class ExecutorServiceWorker implements Scheduler.Worker, Disposable, Scannable {
+final class ExecutorServiceWorker implements Scheduler.Worker, Disposable, Scannable,
+                                             Runnable {
+
+	/**
+	 * The maximum number of trampolined tasks run by a single drain.
+	 */
+	static final int TRAMPOLINE_BATCH_SIZE = 64;
 
 	final ScheduledExecutorService exec;
 
 	final Composite tasks;
 
+	final boolean trampoline;
+
+	/** the last consumed task of the trampoline queue, only accessed by the drain */
+	TrampolinedTask consumerNode;
+
+	volatile TrampolinedTask producerNode;
+	static final AtomicReferenceFieldUpdater<ExecutorServiceWorker, TrampolinedTask> PRODUCER_NODE =
+			AtomicReferenceFieldUpdater.newUpdater(ExecutorServiceWorker.class, TrampolinedTask.class, "producerNode");
+
+	volatile int wip;
+	static final AtomicIntegerFieldUpdater<ExecutorServiceWorker> WIP =
+			AtomicIntegerFieldUpdater.newUpdater(ExecutorServiceWorker.class, "wip");
+
+	/** the trampolined task being run, if any */
+	@Nullable
+	volatile TrampolinedTask running;
+
+	volatile boolean terminated;
 
 	ExecutorServiceWorker(ScheduledExecutorService exec) {
+		this(exec, false);
+	}
+
+	/**
+	 * @param exec the backing executor
+	 * @param trampoline true if the executor is single-threaded, so that immediate tasks
+	 * can be trampolined without reordering them relative to delayed tasks
+	 */
+	ExecutorServiceWorker(ScheduledExecutorService exec, boolean trampoline) {
 		this.exec = exec;
 		this.tasks = Disposables.composite();
+		this.trampoline = trampoline;
+		if (trampoline) {
+			TrampolinedTask stub = new TrampolinedTask(TrampolinedTask.STUB, this);
+			this.consumerNode = stub;
+			PRODUCER_NODE.lazySet(this, stub);
+		}
 	}
 
 	@Override
 	public Disposable schedule(Runnable task) {
-		return Schedulers.workerSchedule(exec, tasks, task, 0L, TimeUnit.MILLISECONDS);
+		if (!trampoline) {
+			return Schedulers.workerSchedule(exec, tasks, task, 0L, TimeUnit.MILLISECONDS);
+		}
+		if (terminated || exec.isShutdown()) {
+			throw Exceptions.failWithRejected();
+		}
+		TrampolinedTask r = new TrampolinedTask(task, this);
+		PRODUCER_NODE.getAndSet(this, r).soNext(r);
+		if (WIP.getAndIncrement(this) == 0) {
+			try {
+				exec.execute(this);
+			}
+			catch (RejectedExecutionException ex) {
+				dispose();
+				//RejectedExecutionException are propagated up
+				throw ex;
+			}
+		}
+		return r;
+	}
+
+	/**
+	 * Drain the trampolined tasks, on the thread of the executor.
+	 */
+	@Override
+	public void run() {
+		int missed = 1;
+		int processed = 0;
+		for (; ; ) {
+			for (; ; ) {
+				if (terminated) {
+					clear();
+					return;
+				}
+				if (processed == TRAMPOLINE_BATCH_SIZE) {
+					resubmit();
+					return;
+				}
+				TrampolinedTask r = poll();
+				if (r == null) {
+					break;
+				}
+				//like in a ThreadPoolExecutor, don't leak an interruption to the next task
+				Thread.interrupted();
+				running = r;
+				r.run();
+				running = null;
+				processed++;
+			}
+			missed = WIP.addAndGet(this, -missed);
+			if (missed == 0) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Continue draining in a new executor task, the work-in-progress count being carried
+	 * over, so that the current drain doesn't monopolize the executor thread.
+	 */
+	void resubmit() {
+		try {
+			exec.execute(this);
+		}
+		catch (RejectedExecutionException ex) {
+			//the executor is shut down, the remaining tasks will never run
+			terminated = true;
+			clear();
+		}
+	}
+
+	@Nullable
+	TrampolinedTask poll() {
+		TrampolinedTask current = consumerNode;
+		TrampolinedTask next = current.next;
+		if (next == null) {
+			if (current == producerNode) {
+				return null;
+			}
+			//a producer has swapped the producer node but not linked it yet
+			while ((next = current.next) == null) {
+				Thread.yield();
+			}
+		}
+		//the polled task becomes the new stub, unlink the previous one
+		consumerNode = next;
+		current.next = null;
+		return next;
+	}
+
+	void clear() {
+		while (poll() != null) {
+			//drop the task
+		}
 	}
 
 	@Override
@@ -63,6 +213,13 @@ final class ExecutorServiceWorker implements Scheduler.Worker, Disposable, Scann
 
 	@Override
 	public void dispose() {
+		if (trampoline && !terminated) {
+			terminated = true;
+			TrampolinedTask r = running;
+			if (r != null) {
+				r.dispose();
+			}
+		}
 		tasks.dispose();
 	}
 
@@ -73,10 +230,45 @@ final class ExecutorServiceWorker implements Scheduler.Worker, Disposable, Scann
 
 	@Override
 	public Object scanUnsafe(Attr key) {
-		if (key == Attr.BUFFERED) return tasks.size();
+		if (key == Attr.BUFFERED) return tasks.size() + (trampoline ? wip : 0);
 		if (key == Attr.TERMINATED || key == Attr.CANCELLED) return isDisposed();
 		if (key == Attr.NAME) return "ExecutorServiceWorker"; //could be parallel, single or fromExecutorService
 
 		return Schedulers.scanExecutor(exec, key);
 	}
+
+	/**
+	 * An immediate task trampolined by the worker, that is also a node of the worker's
+	 * queue. It is interruptible, and considered disposed once the worker is disposed.
+	 */
+	static final class TrampolinedTask extends HandOffTask {
+
+		/** the task of the queue stub, which is never run */
+		static final Runnable STUB = () -> {};
+
+		final ExecutorServiceWorker parent;
+
+		volatile TrampolinedTask next;
+		static final AtomicReferenceFieldUpdater<TrampolinedTask, TrampolinedTask> NEXT =
+				AtomicReferenceFieldUpdater.newUpdater(TrampolinedTask.class, TrampolinedTask.class, "next");
+
+		TrampolinedTask(Runnable task, ExecutorServiceWorker parent) {
+			super(task, false, false, true);
+			this.parent = parent;
+		}
+
+		void soNext(TrampolinedTask n) {
+			NEXT.lazySet(this, n);
+		}
+
+		@Override
+		boolean isOwnerTerminated() {
+			return parent.terminated;
+		}
+
+		@Override
+		void untrack() {
+			//trampolined tasks aren't tracked by the worker
+		}
+	}
 }
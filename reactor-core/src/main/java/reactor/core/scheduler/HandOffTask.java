@@ -0,0 +1,234 @@
+/*
+ * Copyright (c) 2011-2018 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.scheduler;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.Consumer;
+
+import reactor.core.Disposable;
+import reactor.util.annotation.Nullable;
+
+/**
+ * A task handed off to the threads of a {@link Scheduler} without being wrapped by an
+ * {@link java.util.concurrent.ExecutorService}, either directly, through the trampoline
+ * queue of a worker or by a timer once due. It is cancelled by not executing it and, if interruptible, by interrupting
+ * the thread running it. Like in a {@link java.util.concurrent.FutureTask}, that thread
+ * is only interrupted while it runs this very task.
+ * <p>
+ * Delayed and periodic tasks additionally cancel their timer {@link Future}. Subclasses
+ * untrack the task from their owner once it is disposed or, unless periodic, once done.
+ */
+abstract class HandOffTask implements Runnable, Disposable {
+
+	static final int READY        = 0;
+	static final int RUNNING      = 1;
+	static final int DONE         = 2;
+	static final int CANCELLED    = 3;
+	static final int INTERRUPTING = 4;
+
+	final Runnable task;
+	final boolean  timed;
+	final boolean  periodic;
+	final boolean  interruptible;
+
+	volatile int state;
+	static final AtomicIntegerFieldUpdater<HandOffTask> STATE =
+			AtomicIntegerFieldUpdater.newUpdater(HandOffTask.class, "state");
+
+	volatile Future<?> future;
+	static final AtomicReferenceFieldUpdater<HandOffTask, Future> FUTURE =
+			AtomicReferenceFieldUpdater.newUpdater(HandOffTask.class, Future.class, "future");
+
+	volatile int pending;
+	static final AtomicIntegerFieldUpdater<HandOffTask> PENDING =
+			AtomicIntegerFieldUpdater.newUpdater(HandOffTask.class, "pending");
+
+	/** the thread running an interruptible task, set before the task becomes RUNNING */
+	@Nullable
+	volatile Thread runner;
+
+	HandOffTask(Runnable task, boolean timed, boolean periodic, boolean interruptible) {
+		this.task = task;
+		this.timed = timed;
+		this.periodic = periodic;
+		this.interruptible = interruptible;
+	}
+
+	/**
+	 * @return true if the owner of this task, if any, has been disposed
+	 */
+	boolean isOwnerTerminated() {
+		return false;
+	}
+
+	/**
+	 * Stop tracking this task once it is disposed or done.
+	 */
+	abstract void untrack();
+
+	@Override
+	public final void run() {
+		if (isDisposed()) {
+			return;
+		}
+		if (interruptible) {
+			runner = Thread.currentThread();
+			if (!STATE.compareAndSet(this, READY, RUNNING)) {
+				runner = null;
+				return;
+			}
+		}
+		try {
+			task.run();
+		}
+		catch (Throwable ex) {
+			Schedulers.handleError(ex);
+		}
+		finally {
+			if (interruptible) {
+				if (!STATE.compareAndSet(this, RUNNING, periodic ? READY : DONE)) {
+					//wait for a concurrent dispose to deliver its interrupt, so that it
+					//can't hit whatever the thread runs next
+					while (state == INTERRUPTING) {
+						Thread.yield();
+					}
+					Thread.interrupted();
+				}
+				runner = null;
+				if (periodic) {
+					PENDING.lazySet(this, 0);
+				}
+				else if (state == DONE) {
+					done();
+				}
+			}
+			else if (periodic) {
+				PENDING.lazySet(this, 0);
+			}
+			else if (STATE.compareAndSet(this, READY, DONE)) {
+				done();
+			}
+		}
+	}
+
+	void done() {
+		if (timed) {
+			FUTURE.lazySet(this, WorkerTask.FINISHED);
+		}
+		untrack();
+	}
+
+	/**
+	 * @return true if the task can be handed off, which a periodic task that is still
+	 * pending or running from a previous period can't
+	 */
+	boolean markPending() {
+		return !periodic || PENDING.compareAndSet(this, 0, 1);
+	}
+
+	void setFuture(Future<?> f) {
+		if (!FUTURE.compareAndSet(this, null, f) || state >= DONE) {
+			f.cancel(false);
+		}
+	}
+
+	@Override
+	public boolean isDisposed() {
+		return state >= DONE || isOwnerTerminated();
+	}
+
+	@Override
+	public void dispose() {
+		for (; ; ) {
+			int s = state;
+			if (s >= DONE) {
+				return;
+			}
+			if (s == RUNNING) {
+				if (!STATE.compareAndSet(this, RUNNING, INTERRUPTING)) {
+					continue;
+				}
+				Thread t = runner;
+				if (t != null && t != Thread.currentThread()) {
+					t.interrupt();
+				}
+				state = CANCELLED;
+			}
+			else if (!STATE.compareAndSet(this, READY, CANCELLED)) {
+				continue;
+			}
+			Future<?> f = FUTURE.getAndSet(this, WorkerTask.FINISHED);
+			if (f != null && f != WorkerTask.FINISHED) {
+				f.cancel(false);
+			}
+			untrack();
+			return;
+		}
+	}
+
+	/**
+	 * Register a task on the timer, or on the timing wheel if one is enabled, which hands
+	 * the task over to the given target each time it is due. A periodic task that is still pending or running when the next
+	 * period elapses skips that period rather than running concurrently with itself.
+	 *
+	 * @return the task, as its {@link Disposable}
+	 */
+	static <T extends HandOffTask> Disposable scheduleTimed(ScheduledExecutorService timer,
+			T r,
+			Consumer<? super T> target,
+			long initialDelay,
+			long period,
+			TimeUnit unit) {
+		Runnable handOff = () -> {
+			if (!r.isDisposed() && r.markPending()) {
+				try {
+					target.accept(r);
+				}
+				catch (RejectedExecutionException ree) {
+					r.dispose();
+				}
+			}
+		};
+		try {
+			Future<?> f;
+			if (r.periodic) {
+				f = Schedulers.scheduleAtFixedRate(timer, handOff, initialDelay, period, unit);
+			}
+			else {
+				f = Schedulers.scheduleDelayed(timer, Executors.callable(handOff), initialDelay, unit);
+			}
+			r.setFuture(f);
+		}
+		catch (RejectedExecutionException ex) {
+			r.dispose();
+			//RejectedExecutionException are propagated up
+			throw ex;
+		}
+		catch (IllegalArgumentException | NullPointerException ex) {
+			r.dispose();
+			//IllegalArgumentException are wrapped into RejectedExecutionException and propagated up
+			throw new RejectedExecutionException(ex);
+		}
+		return r;
+	}
+}
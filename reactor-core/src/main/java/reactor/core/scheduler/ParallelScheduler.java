@@ -198,6 +198,6 @@ final class ParallelScheduler implements Scheduler, Supplier<ScheduledExecutorSe
 
     @Override
     public Worker createWorker() {
-        return new ExecutorServiceWorker(pick());
+        return new ExecutorServiceWorker(pick(), true);
     }
 }
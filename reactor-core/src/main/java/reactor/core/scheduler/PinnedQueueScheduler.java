@@ -0,0 +1,430 @@
+/*
+ * Copyright (c) 2011-2018 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.scheduler;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.Exceptions;
+import reactor.core.Scannable;
+import reactor.util.annotation.Nullable;
+
+/**
+ * Base of the schedulers hosting a fixed pool of threads that each drain their own queue
+ * of tasks, without going through an {@link java.util.concurrent.ExecutorService}. Tasks
+ * are cancelled by not executing them, and each {@link Worker} is pinned to the queue of
+ * a single thread.
+ * <p>
+ * Delayed and periodic tasks are kept by a single-threaded timer
+ * {@link ScheduledExecutorService}, or by the timing wheel set up by
+ * {@link Schedulers#enableTimerWheel(java.time.Duration)}, which hands them off to the
+ * queue of their thread once due.
+ * <p>
+ * These schedulers are not restartable.
+ *
+ * @param <L> the type of the threads of the pool
+ */
+abstract class PinnedQueueScheduler<L extends PinnedQueueScheduler.Loop<?, ?>>
+		implements Scheduler, Supplier<ScheduledExecutorService>, Scannable {
+
+	final String name;
+
+	final int n;
+
+	final ThreadFactory factory;
+
+	final L[] loops;
+
+	final ScheduledExecutorService timer;
+
+	volatile boolean shutdown;
+
+	int roundRobin;
+
+	PinnedQueueScheduler(String name, int n, ThreadFactory factory, IntFunction<L[]> arrayFactory) {
+		if (n <= 0) {
+			throw new IllegalArgumentException("n > 0 required but it was " + n);
+		}
+		this.name = name;
+		this.n = n;
+		this.factory = factory;
+		this.timer = Schedulers.decorateExecutorService(name, this);
+		this.loops = arrayFactory.apply(n);
+		for (int i = 0; i < n; i++) {
+			loops[i] = newLoop(i);
+		}
+		for (L loop : loops) {
+			loop.thread.start();
+		}
+	}
+
+	/**
+	 * Create the thread of the pool at the given index, without starting it.
+	 */
+	abstract L newLoop(int index);
+
+	/**
+	 * Instantiates the default {@link ScheduledExecutorService} used as a timer by the
+	 * scheduler ({@code Executors.newScheduledThreadPoolExecutor} with core and max pool
+	 * size of 1).
+	 */
+	@Override
+	public ScheduledExecutorService get() {
+		ScheduledThreadPoolExecutor poolExecutor = new ScheduledThreadPoolExecutor(1, factory);
+		poolExecutor.setMaximumPoolSize(1);
+		poolExecutor.setRemoveOnCancelPolicy(true);
+		return poolExecutor;
+	}
+
+	@Override
+	public boolean isDisposed() {
+		return shutdown;
+	}
+
+	@Override
+	public void start() {
+		throw new UnsupportedOperationException("Restarting not supported yet");
+	}
+
+	@Override
+	public void dispose() {
+		if (shutdown) {
+			return;
+		}
+		shutdown = true;
+
+		timer.shutdownNow();
+
+		for (L loop : loops) {
+			loop.thread.interrupt();
+		}
+	}
+
+	L pick() {
+		// ignoring the race condition here, its already random who gets which thread
+		int idx = roundRobin;
+		if (idx == n) {
+			idx = 0;
+			roundRobin = 1;
+		}
+		else {
+			roundRobin = idx + 1;
+		}
+		return loops[idx];
+	}
+
+	/**
+	 * Offer a task to the queue of the given thread, then wake up a thread to run it.
+	 *
+	 * @param task the task to run
+	 * @param loop the thread to which the task is offered
+	 */
+	void submit(Runnable task, L loop) {
+		if (shutdown) {
+			throw Exceptions.failWithRejected();
+		}
+		loop.queue.offer(task);
+		wakeUp(loop);
+	}
+
+	/**
+	 * Wake up the thread to which a task has just been offered, if it is parked.
+	 *
+	 * @param loop the thread to which the task has been offered
+	 */
+	void wakeUp(L loop) {
+		if (loop.parked) {
+			LockSupport.unpark(loop.thread);
+		}
+	}
+
+	@Override
+	public Disposable schedule(Runnable task) {
+		Objects.requireNonNull(task, "task");
+		PinnedTask r = new PinnedTask(task, null, false, false);
+		submit(r, pick());
+		return r;
+	}
+
+	@Override
+	public Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+		if (delay <= 0L) {
+			return schedule(task);
+		}
+		Objects.requireNonNull(task, "task");
+		L loop = pick();
+		PinnedTask r = new PinnedTask(task, null, true, false);
+		return scheduleTimed(r, t -> submit(t, loop), delay, 0L, unit);
+	}
+
+	@Override
+	public Disposable schedulePeriodically(Runnable task,
+			long initialDelay,
+			long period,
+			TimeUnit unit) {
+		Objects.requireNonNull(task, "task");
+		L loop = pick();
+		PinnedTask r = new PinnedTask(task, null, true, true);
+		return scheduleTimed(r, t -> submit(t, loop), initialDelay, period, unit);
+	}
+
+	/**
+	 * Register a task on the timer, which hands the task over to the given target each
+	 * time it is due.
+	 */
+	Disposable scheduleTimed(PinnedTask r,
+			Consumer<PinnedTask> target,
+			long initialDelay,
+			long period,
+			TimeUnit unit) {
+		if (shutdown) {
+			throw Exceptions.failWithRejected();
+		}
+		return HandOffTask.scheduleTimed(timer, r, target, initialDelay, period, unit);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder ts = new StringBuilder(name)
+				.append('(').append(n);
+		if (factory instanceof ReactorThreadFactory) {
+			ts.append(",\"").append(((ReactorThreadFactory) factory).get()).append('\"');
+		}
+		ts.append(')');
+		return ts.toString();
+	}
+
+	@Override
+	public Object scanUnsafe(Attr key) {
+		if (key == Attr.TERMINATED || key == Attr.CANCELLED) return isDisposed();
+		if (key == Attr.CAPACITY || key == Attr.BUFFERED) return n; //BUFFERED: number of workers doesn't vary
+		if (key == Attr.NAME) return this.toString();
+
+		return null;
+	}
+
+	@Override
+	public Stream<? extends Scannable> inners() {
+		return Stream.of(loops);
+	}
+
+	/**
+	 * A thread of the pool, draining its own queue of tasks. The thread parks while there
+	 * is no task to run.
+	 *
+	 * @param <S> the type of the scheduler
+	 * @param <Q> the type of the queue of tasks
+	 */
+	abstract static class Loop<S extends PinnedQueueScheduler<?>, Q extends Queue<Runnable>>
+			implements Runnable, Scannable {
+
+		final S      parent;
+		final String name;
+		final Q      queue;
+		final Thread thread;
+
+		volatile boolean parked;
+
+		Loop(S parent, String name, Q queue) {
+			this.parent = parent;
+			this.name = name;
+			this.queue = queue;
+			this.thread = parent.factory.newThread(this);
+		}
+
+		/**
+		 * @return the next task to run, or null if there is none
+		 */
+		@Nullable
+		Runnable poll() {
+			return queue.poll();
+		}
+
+		@Override
+		public void run() {
+			for (; ; ) {
+				if (parent.shutdown) {
+					queue.clear();
+					return;
+				}
+				Runnable task = poll();
+				if (task == null) {
+					parked = true;
+					//check again after publishing the parked flag, so that a concurrent
+					//submit either sees the flag or has its task visible to us
+					task = poll();
+					if (task == null) {
+						if (parent.shutdown) {
+							queue.clear();
+							return;
+						}
+						LockSupport.park(this);
+						parked = false;
+						//interruption is either a dispose signal or a stale cancellation
+						Thread.interrupted();
+						continue;
+					}
+					parked = false;
+				}
+				try {
+					task.run();
+				}
+				catch (Throwable ex) {
+					Schedulers.handleError(ex);
+				}
+			}
+		}
+
+		@Override
+		public Object scanUnsafe(Attr key) {
+			if (key == Attr.TERMINATED || key == Attr.CANCELLED) return parent.isDisposed();
+			if (key == Attr.PARENT) return parent;
+			if (key == Attr.NAME) return parent.toString() + "." + name;
+			if (key == Attr.CAPACITY) return 1;
+			if (key == Attr.BUFFERED) return queue.size();
+
+			return null;
+		}
+	}
+
+	/**
+	 * A task that can be cancelled by not executing it, as the threads of the pool are
+	 * shared by all the workers. Tasks scheduled through a worker are also considered
+	 * disposed once that worker is disposed, and delayed or periodic ones are tracked by
+	 * that worker.
+	 */
+	static final class PinnedTask extends HandOffTask {
+
+		@Nullable
+		final PinnedWorker<?> owner;
+
+		PinnedTask(Runnable task,
+				@Nullable PinnedWorker<?> owner,
+				boolean timed,
+				boolean periodic) {
+			super(task, timed, periodic, false);
+			this.owner = owner;
+		}
+
+		@Override
+		boolean isOwnerTerminated() {
+			return owner != null && owner.terminated;
+		}
+
+		@Override
+		void untrack() {
+			if (timed && owner != null) {
+				owner.timedTasks.remove(this);
+			}
+		}
+	}
+
+	/**
+	 * A worker pinned to a single thread of the pool, which tracks its delayed and
+	 * periodic tasks.
+	 *
+	 * @param <L> the type of the threads of the pool
+	 */
+	abstract static class PinnedWorker<L extends Loop<?, ?>> implements Worker, Scannable {
+
+		final PinnedQueueScheduler<L> parent;
+		final L                       loop;
+		final Composite               timedTasks;
+
+		volatile boolean terminated;
+
+		PinnedWorker(PinnedQueueScheduler<L> parent, L loop) {
+			this.parent = parent;
+			this.loop = loop;
+			this.timedTasks = Disposables.composite();
+		}
+
+		/**
+		 * Hand a task over to the thread of this worker.
+		 *
+		 * @param task the task to run
+		 */
+		abstract void enqueue(Runnable task);
+
+		@Override
+		public Disposable schedule(Runnable task) {
+			Objects.requireNonNull(task, "task");
+			PinnedTask r = new PinnedTask(task, this, false, false);
+			enqueue(r);
+			return r;
+		}
+
+		@Override
+		public Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+			if (delay <= 0L) {
+				return schedule(task);
+			}
+			Objects.requireNonNull(task, "task");
+			return scheduleTimed(new PinnedTask(task, this, true, false), delay, 0L, unit);
+		}
+
+		@Override
+		public Disposable schedulePeriodically(Runnable task,
+				long initialDelay,
+				long period,
+				TimeUnit unit) {
+			Objects.requireNonNull(task, "task");
+			return scheduleTimed(new PinnedTask(task, this, true, true), initialDelay, period, unit);
+		}
+
+		Disposable scheduleTimed(PinnedTask r, long initialDelay, long period, TimeUnit unit) {
+			if (!timedTasks.add(r)) {
+				throw Exceptions.failWithRejected();
+			}
+			return parent.scheduleTimed(r, this::enqueue, initialDelay, period, unit);
+		}
+
+		@Override
+		public void dispose() {
+			if (terminated) {
+				return;
+			}
+			terminated = true;
+			timedTasks.dispose();
+		}
+
+		@Override
+		public boolean isDisposed() {
+			return terminated;
+		}
+
+		@Override
+		public Object scanUnsafe(Attr key) {
+			if (key == Attr.TERMINATED || key == Attr.CANCELLED) return isDisposed();
+			if (key == Attr.PARENT) return parent;
+			if (key == Attr.NAME) return parent.toString() + ".worker";
+
+			return null;
+		}
+	}
+}
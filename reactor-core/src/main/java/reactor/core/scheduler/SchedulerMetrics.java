@@ -0,0 +1,466 @@
+/*
+ * Copyright (c) 2011-2018 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.scheduler;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.Scannable;
+import reactor.util.annotation.Nullable;
+
+/**
+ * Instruments {@link Scheduler} instances with Micrometer meters, by decorating the
+ * scheduler and its {@link Scheduler.Worker workers} so that every task is counted and
+ * timed, whatever the backing implementation.
+ *
+ * @implNote Schedulers.isMicrometerAvailable() test should be performed BEFORE
+ * instantiating or referencing this class, otherwise a {@link NoClassDefFoundError} will
+ * be thrown if Micrometer is not there.
+ *
+ * @see Schedulers#enableMetrics()
+ */
+final class SchedulerMetrics implements Function<Scheduler, Scheduler> {
+
+	//Note: meters and tag names are normalized by micrometer on the basis that the word
+	// separator is the dot, not camelCase...
+	/**
+	 * Meter that counts the tasks submitted to a scheduler, directly or through a worker.
+	 */
+	static final String METER_SUBMITTED = "reactor.scheduler.tasks.submitted";
+	/**
+	 * Meter that counts the task executions that ran to completion, whether normally or
+	 * with an error. Each execution of a periodic task is counted.
+	 */
+	static final String METER_COMPLETED = "reactor.scheduler.tasks.completed";
+	/**
+	 * Meter that counts the tasks rejected by a scheduler.
+	 */
+	static final String METER_REJECTED  = "reactor.scheduler.tasks.rejected";
+	/**
+	 * Meter that gauges the number of submitted tasks that haven't started yet, nor have
+	 * been cancelled. Like the other meters, it adds up the schedulers of the same name.
+	 */
+	static final String METER_PENDING   = "reactor.scheduler.tasks.pending";
+	/**
+	 * Meter that times the delay between the moment a task could have started (its
+	 * submission, or its due time for delayed and periodic tasks) and the moment it did.
+	 */
+	static final String METER_QUEUED    = "reactor.scheduler.tasks.queued";
+	/**
+	 * Meter that times the execution of each task.
+	 */
+	static final String METER_RUN       = "reactor.scheduler.tasks.run";
+
+	/**
+	 * Tag bearing the scheduler's name, as given by {@link Scannable.Attr#NAME}.
+	 */
+	static final String TAG_SCHEDULER = "scheduler";
+
+	/**
+	 * The pending task counts, per registry and scheduler name. Micrometer only registers
+	 * one gauge per name and keeps a weak reference to its state, so the schedulers
+	 * sharing a name, like one re-created after a shutdown, must share a count that is
+	 * strongly held for as long as the registry is.
+	 */
+	static final Map<MeterRegistry, Map<String, AtomicLong>> PENDING_COUNTS = new WeakHashMap<>();
+
+	final MeterRegistry registry;
+
+	SchedulerMetrics(MeterRegistry registry) {
+		this.registry = registry;
+	}
+
+	/**
+	 * @return a decorator publishing to Micrometer's global registry, typed so that
+	 * callers don't need Micrometer classes to verify
+	 */
+	static Function<Scheduler, Scheduler> globalRegistryDecorator() {
+		return new SchedulerMetrics(Metrics.globalRegistry);
+	}
+
+	@Override
+	public Scheduler apply(Scheduler scheduler) {
+		String name = Scannable.from(scheduler).scanOrDefault(Scannable.Attr.NAME, scheduler.toString());
+		return new TimedScheduler(scheduler, new Meters(registry, name));
+	}
+
+	static AtomicLong pendingCount(MeterRegistry registry, String name) {
+		synchronized (PENDING_COUNTS) {
+			return PENDING_COUNTS.computeIfAbsent(registry, r -> new HashMap<>())
+			                     .computeIfAbsent(name, n -> new AtomicLong());
+		}
+	}
+
+	/**
+	 * The meters of a scheduler, shared with the schedulers of the same name.
+	 */
+	static final class Meters {
+
+		final Clock      clock;
+		final Counter    submitted;
+		final Counter    completed;
+		final Counter    rejected;
+		final Timer      queued;
+		final Timer      run;
+		final AtomicLong pending;
+
+		Meters(MeterRegistry registry, String name) {
+			Tags tags = Tags.of(TAG_SCHEDULER, name);
+			this.clock = registry.config().clock();
+			this.pending = pendingCount(registry, name);
+			this.submitted = Counter.builder(METER_SUBMITTED)
+			                        .tags(tags)
+			                        .description("Counts the tasks submitted to the scheduler")
+			                        .register(registry);
+			this.completed = Counter.builder(METER_COMPLETED)
+			                        .tags(tags)
+			                        .description("Counts the task executions that completed")
+			                        .register(registry);
+			this.rejected = Counter.builder(METER_REJECTED)
+			                       .tags(tags)
+			                       .description("Counts the tasks rejected by the scheduler")
+			                       .register(registry);
+			this.queued = Timer.builder(METER_QUEUED)
+			                   .tags(tags)
+			                   .description("Times how long tasks waited for a thread once due")
+			                   .publishPercentileHistogram()
+			                   .register(registry);
+			this.run = Timer.builder(METER_RUN)
+			                .tags(tags)
+			                .description("Times the execution of tasks")
+			                .publishPercentileHistogram()
+			                .register(registry);
+			Gauge.builder(METER_PENDING, pending, AtomicLong::get)
+			     .tags(tags)
+			     .description("Gauges the tasks submitted to the scheduler that haven't started yet")
+			     .register(registry);
+		}
+	}
+
+	static final class TimedScheduler implements Scheduler, Scannable {
+
+		final Scheduler delegate;
+		final Meters    meters;
+
+		TimedScheduler(Scheduler delegate, Meters meters) {
+			this.delegate = delegate;
+			this.meters = meters;
+		}
+
+		@Override
+		public Disposable schedule(Runnable task) {
+			TimedRunnable r = new TimedRunnable(task, meters, null, 0L, 0L);
+			try {
+				r.setDelegate(delegate.schedule(r));
+			}
+			catch (RejectedExecutionException ree) {
+				r.rejected();
+				throw ree;
+			}
+			return r;
+		}
+
+		@Override
+		public Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+			TimedRunnable r = new TimedRunnable(task, meters, null, unit.toNanos(delay), 0L);
+			try {
+				r.setDelegate(delegate.schedule(r, delay, unit));
+			}
+			catch (RejectedExecutionException ree) {
+				r.rejected();
+				throw ree;
+			}
+			return r;
+		}
+
+		@Override
+		public Disposable schedulePeriodically(Runnable task,
+				long initialDelay,
+				long period,
+				TimeUnit unit) {
+			TimedRunnable r = new TimedRunnable(task, meters, null, unit.toNanos(initialDelay),
+					unit.toNanos(period));
+			try {
+				r.setDelegate(delegate.schedulePeriodically(r, initialDelay, period, unit));
+			}
+			catch (RejectedExecutionException ree) {
+				r.rejected();
+				throw ree;
+			}
+			return r;
+		}
+
+		@Override
+		public long now(TimeUnit unit) {
+			return delegate.now(unit);
+		}
+
+		@Override
+		public Worker createWorker() {
+			return new TimedWorker(delegate.createWorker(), meters);
+		}
+
+		@Override
+		public void dispose() {
+			delegate.dispose();
+		}
+
+		@Override
+		public boolean isDisposed() {
+			return delegate.isDisposed();
+		}
+
+		@Override
+		public void start() {
+			delegate.start();
+		}
+
+		@Override
+		@Nullable
+		public Object scanUnsafe(Attr key) {
+			if (key == Attr.ACTUAL) return delegate;
+			return Scannable.from(delegate).scanUnsafe(key);
+		}
+
+		@Override
+		public Stream<? extends Scannable> inners() {
+			return Scannable.from(delegate).inners();
+		}
+
+		@Override
+		public String toString() {
+			return delegate.toString();
+		}
+	}
+
+	static final class TimedWorker implements Scheduler.Worker, Scannable {
+
+		final Scheduler.Worker delegate;
+		final Meters           meters;
+
+		/**
+		 * The tasks that haven't started yet, so that the pending gauge can be updated
+		 * when they are dropped by the disposal of the worker.
+		 */
+		final Composite notStarted;
+
+		TimedWorker(Scheduler.Worker delegate, Meters meters) {
+			this.delegate = delegate;
+			this.meters = meters;
+			this.notStarted = Disposables.composite();
+		}
+
+		@Override
+		public Disposable schedule(Runnable task) {
+			TimedRunnable r = new TimedRunnable(task, meters, notStarted, 0L, 0L);
+			try {
+				r.setDelegate(delegate.schedule(r));
+			}
+			catch (RejectedExecutionException ree) {
+				r.rejected();
+				throw ree;
+			}
+			return r;
+		}
+
+		@Override
+		public Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+			TimedRunnable r = new TimedRunnable(task, meters, notStarted, unit.toNanos(delay), 0L);
+			try {
+				r.setDelegate(delegate.schedule(r, delay, unit));
+			}
+			catch (RejectedExecutionException ree) {
+				r.rejected();
+				throw ree;
+			}
+			return r;
+		}
+
+		@Override
+		public Disposable schedulePeriodically(Runnable task,
+				long initialDelay,
+				long period,
+				TimeUnit unit) {
+			TimedRunnable r = new TimedRunnable(task, meters, notStarted,
+					unit.toNanos(initialDelay), unit.toNanos(period));
+			try {
+				r.setDelegate(delegate.schedulePeriodically(r, initialDelay, period, unit));
+			}
+			catch (RejectedExecutionException ree) {
+				r.rejected();
+				throw ree;
+			}
+			return r;
+		}
+
+		@Override
+		public void dispose() {
+			delegate.dispose();
+			notStarted.dispose();
+		}
+
+		@Override
+		public boolean isDisposed() {
+			return delegate.isDisposed();
+		}
+
+		@Override
+		@Nullable
+		public Object scanUnsafe(Attr key) {
+			if (key == Attr.ACTUAL) return delegate;
+			return Scannable.from(delegate).scanUnsafe(key);
+		}
+
+		@Override
+		public String toString() {
+			return delegate.toString();
+		}
+	}
+
+	/**
+	 * Wraps a task to record its meters, and acts as the {@link Disposable} returned to
+	 * the caller, so that cancelling a task that hasn't started updates the pending gauge.
+	 */
+	static final class TimedRunnable implements Runnable, Disposable {
+
+		static final int NOT_STARTED = 0;
+		static final int STARTED     = 1;
+		static final int CANCELLED   = 2;
+
+		final Runnable            task;
+		final Meters              meters;
+		@Nullable
+		final Disposable.Composite tracker;
+		final long                periodNanos;
+
+		/** the time at which the next execution is due, only updated by executions */
+		long dueTime;
+
+		volatile int state;
+		static final AtomicIntegerFieldUpdater<TimedRunnable> STATE =
+				AtomicIntegerFieldUpdater.newUpdater(TimedRunnable.class, "state");
+
+		volatile Disposable delegate;
+
+		TimedRunnable(Runnable task,
+				Meters meters,
+				@Nullable Disposable.Composite tracker,
+				long delayNanos,
+				long periodNanos) {
+			this.task = Objects.requireNonNull(task, "task");
+			this.meters = meters;
+			this.tracker = tracker;
+			this.periodNanos = periodNanos;
+			this.dueTime = meters.clock.monotonicTime() + Math.max(delayNanos, 0L);
+			meters.submitted.increment();
+			meters.pending.incrementAndGet();
+			if (tracker != null) {
+				tracker.add(this);
+			}
+		}
+
+		void setDelegate(Disposable d) {
+			delegate = d;
+			if (state == CANCELLED) {
+				d.dispose();
+			}
+		}
+
+		void rejected() {
+			meters.rejected.increment();
+			if (STATE.compareAndSet(this, NOT_STARTED, CANCELLED)) {
+				meters.pending.decrementAndGet();
+				if (tracker != null) {
+					tracker.remove(this);
+				}
+			}
+		}
+
+		@Override
+		public void run() {
+			if (state == NOT_STARTED) {
+				if (!STATE.compareAndSet(this, NOT_STARTED, STARTED)) {
+					return;
+				}
+				meters.pending.decrementAndGet();
+				if (tracker != null) {
+					tracker.remove(this);
+				}
+			}
+			else if (state == CANCELLED) {
+				return;
+			}
+			Clock clock = meters.clock;
+			long start = clock.monotonicTime();
+			meters.queued.record(Math.max(start - dueTime, 0L), TimeUnit.NANOSECONDS);
+			if (periodNanos > 0L) {
+				dueTime += periodNanos;
+			}
+			try {
+				task.run();
+			}
+			finally {
+				meters.run.record(clock.monotonicTime() - start, TimeUnit.NANOSECONDS);
+				meters.completed.increment();
+			}
+		}
+
+		@Override
+		public void dispose() {
+			int s = state;
+			if (s == CANCELLED) {
+				return;
+			}
+			if (s == NOT_STARTED && STATE.compareAndSet(this, NOT_STARTED, CANCELLED)) {
+				meters.pending.decrementAndGet();
+				if (tracker != null) {
+					tracker.remove(this);
+				}
+			}
+			else {
+				state = CANCELLED;
+			}
+			Disposable d = delegate;
+			if (d != null) {
+				d.dispose();
+			}
+		}
+
+		@Override
+		public boolean isDisposed() {
+			Disposable d = delegate;
+			return d != null ? d.isDisposed() : state == CANCELLED;
+		}
+	}
+}
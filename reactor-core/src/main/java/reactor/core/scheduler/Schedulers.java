@@ -16,6 +16,7 @@
 
 package reactor.core.scheduler;
 
+import java.time.Duration;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.Callable;
@@ -29,6 +30,7 @@ import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 import reactor.core.Disposable;
@@ -96,7 +98,7 @@ public abstract class Schedulers {
 		if(!trampoline && executor instanceof ExecutorService){
 			return fromExecutorService((ExecutorService) executor);
 		}
-		return new ExecutorScheduler(executor, trampoline);
+		return instrument(new ExecutorScheduler(executor, trampoline));
 	}
 
 	/**
@@ -108,7 +110,7 @@ public abstract class Schedulers {
 	 * @return a new {@link Scheduler}
 	 */
 	public static Scheduler fromExecutorService(ExecutorService executorService) {
-		return new DelegateServiceScheduler(executorService);
+		return instrument(new DelegateServiceScheduler(executorService));
 	}
 
 	/**
@@ -225,7 +227,128 @@ public abstract class Schedulers {
 	 * down.
 	 */
 	public static Scheduler newElastic(int ttlSeconds, ThreadFactory threadFactory) {
-		return factory.newElastic(ttlSeconds, threadFactory);
+		return instrument(factory.newElastic(ttlSeconds, threadFactory));
+	}
+
+	/**
+	 * {@link Scheduler} that runs each task, or each burst of tasks of a
+	 * {@link reactor.core.scheduler.Scheduler.Worker}, on a new virtual thread, and is
+	 * suited for blocking work. Each {@link reactor.core.scheduler.Scheduler.Worker}
+	 * executes its tasks in FIFO order and non-concurrently. Virtual threads are never
+	 * {@link NonBlocking}, so blocking Reactor APIs are allowed in the tasks.
+	 * <p>
+	 * On a JDK without virtual threads (before 21), this falls back to a
+	 * {@link #newElastic(String, int, boolean) daemon elastic} {@link Scheduler}.
+	 * <p>
+	 * This scheduler is not restartable.
+	 *
+	 * @param name Thread prefix
+	 *
+	 * @return a new {@link Scheduler} backed by virtual threads, or by an elastic pool of
+	 * platform threads if virtual threads are not supported
+	 */
+	public static Scheduler newVirtualThreadScheduler(String name) {
+		return instrument(factory.newVirtualThreadScheduler(name));
+	}
+
+	/**
+	 * {@link Scheduler} that dynamically creates a bounded number of ExecutorService-based
+	 * Workers, reusing them once the Workers have been shut down. The underlying
+	 * single-threaded executors can queue a bounded number of tasks, after which
+	 * scheduling is rejected with a {@link RejectedExecutionException}.
+	 * <p>
+	 * Once {@code threadCap} threads are alive, new Workers share the least busy of the
+	 * existing threads.
+	 * <p>
+	 * The default time-to-live for unused thread pools is 60 seconds, use the appropriate
+	 * factory to set a different value.
+	 * <p>
+	 * This scheduler is not restartable.
+	 *
+	 * @param threadCap maximum number of underlying threads to create
+	 * @param queuedTaskCap maximum number of tasks to enqueue on each thread
+	 * @param name Thread prefix
+	 *
+	 * @return a new {@link Scheduler} that dynamically creates a bounded number of
+	 * ExecutorService-based workers and is suited for blocking work
+	 */
+	public static Scheduler newBoundedElastic(int threadCap, int queuedTaskCap, String name) {
+		return newBoundedElastic(threadCap, queuedTaskCap, name,
+				BoundedElasticScheduler.DEFAULT_TTL_SECONDS);
+	}
+
+	/**
+	 * {@link Scheduler} that dynamically creates a bounded number of ExecutorService-based
+	 * Workers, reusing them once the Workers have been shut down. The underlying
+	 * single-threaded executors can queue a bounded number of tasks, after which
+	 * scheduling is rejected with a {@link RejectedExecutionException}.
+	 * <p>
+	 * Once {@code threadCap} threads are alive, new Workers share the least busy of the
+	 * existing threads.
+	 * <p>
+	 * This scheduler is not restartable.
+	 *
+	 * @param threadCap maximum number of underlying threads to create
+	 * @param queuedTaskCap maximum number of tasks to enqueue on each thread
+	 * @param name Thread prefix
+	 * @param ttlSeconds Time-to-live for an idle {@link reactor.core.scheduler.Scheduler.Worker}
+	 *
+	 * @return a new {@link Scheduler} that dynamically creates a bounded number of
+	 * ExecutorService-based workers and is suited for blocking work
+	 */
+	public static Scheduler newBoundedElastic(int threadCap, int queuedTaskCap, String name, int ttlSeconds) {
+		return newBoundedElastic(threadCap, queuedTaskCap, name, ttlSeconds, false);
+	}
+
+	/**
+	 * {@link Scheduler} that dynamically creates a bounded number of ExecutorService-based
+	 * Workers, reusing them once the Workers have been shut down. The underlying
+	 * single-threaded executors can queue a bounded number of tasks, after which
+	 * scheduling is rejected with a {@link RejectedExecutionException}.
+	 * <p>
+	 * Once {@code threadCap} threads are alive, new Workers share the least busy of the
+	 * existing threads.
+	 * <p>
+	 * This scheduler is not restartable.
+	 *
+	 * @param threadCap maximum number of underlying threads to create
+	 * @param queuedTaskCap maximum number of tasks to enqueue on each thread
+	 * @param name Thread prefix
+	 * @param ttlSeconds Time-to-live for an idle {@link reactor.core.scheduler.Scheduler.Worker}
+	 * @param daemon false if the {@link Scheduler} requires an explicit {@link
+	 * Scheduler#dispose()} to exit the VM.
+	 *
+	 * @return a new {@link Scheduler} that dynamically creates a bounded number of
+	 * ExecutorService-based workers and is suited for blocking work
+	 */
+	public static Scheduler newBoundedElastic(int threadCap, int queuedTaskCap, String name, int ttlSeconds, boolean daemon) {
+		return newBoundedElastic(threadCap, queuedTaskCap,
+				new ReactorThreadFactory(name, BoundedElasticScheduler.COUNTER, daemon, false,
+						Schedulers::defaultUncaughtException),
+				ttlSeconds);
+	}
+
+	/**
+	 * {@link Scheduler} that dynamically creates a bounded number of ExecutorService-based
+	 * Workers, reusing them once the Workers have been shut down. The underlying
+	 * single-threaded executors can queue a bounded number of tasks, after which
+	 * scheduling is rejected with a {@link RejectedExecutionException}.
+	 * <p>
+	 * Once {@code threadCap} threads are alive, new Workers share the least busy of the
+	 * existing threads.
+	 * <p>
+	 * This scheduler is not restartable.
+	 *
+	 * @param threadCap maximum number of underlying threads to create
+	 * @param queuedTaskCap maximum number of tasks to enqueue on each thread
+	 * @param threadFactory a {@link ThreadFactory} to use each thread initialization
+	 * @param ttlSeconds Time-to-live for an idle {@link reactor.core.scheduler.Scheduler.Worker}
+	 *
+	 * @return a new {@link Scheduler} that dynamically creates a bounded number of
+	 * ExecutorService-based workers and is suited for blocking work
+	 */
+	public static Scheduler newBoundedElastic(int threadCap, int queuedTaskCap, ThreadFactory threadFactory, int ttlSeconds) {
+		return instrument(factory.newBoundedElastic(threadCap, queuedTaskCap, threadFactory, ttlSeconds));
 	}
 
 	/**
@@ -288,7 +411,201 @@ public abstract class Schedulers {
 	 * ExecutorService-based workers and is suited for parallel work
 	 */
 	public static Scheduler newParallel(int parallelism, ThreadFactory threadFactory) {
-		return factory.newParallel(parallelism, threadFactory);
+		return instrument(factory.newParallel(parallelism, threadFactory));
+	}
+
+	/**
+	 * {@link Scheduler} that hosts a fixed pool of event loops, and is suited for
+	 * parallel work with many short tasks, like {@code publishOn} hops. Each event loop
+	 * drains its own lock-free task queue instead of going through a
+	 * {@link ScheduledExecutorService}, and each
+	 * {@link reactor.core.scheduler.Scheduler.Worker} is pinned to a single event loop. This type of {@link Scheduler}
+	 * detects and rejects usage of blocking Reactor APIs.
+	 * <p>
+	 * This scheduler is not restartable.
+	 *
+	 * @param parallelism Number of event loops.
+	 *
+	 * @return a new event-loop {@link Scheduler} suited for parallel work
+	 */
+	public static Scheduler newEventLoop(int parallelism) {
+		return newEventLoop(EVENT_LOOP, parallelism);
+	}
+
+	/**
+	 * {@link Scheduler} that hosts a fixed pool of event loops, and is suited for
+	 * parallel work with many short tasks, like {@code publishOn} hops. Each event loop
+	 * drains its own lock-free task queue instead of going through a
+	 * {@link ScheduledExecutorService}, and each
+	 * {@link reactor.core.scheduler.Scheduler.Worker} is pinned to a single event loop. This type of {@link Scheduler}
+	 * detects and rejects usage of blocking Reactor APIs.
+	 * <p>
+	 * This scheduler is not restartable.
+	 *
+	 * @param name Thread prefix
+	 *
+	 * @return a new event-loop {@link Scheduler} suited for parallel work
+	 */
+	public static Scheduler newEventLoop(String name) {
+		return newEventLoop(name, DEFAULT_POOL_SIZE);
+	}
+
+	/**
+	 * {@link Scheduler} that hosts a fixed pool of event loops, and is suited for
+	 * parallel work with many short tasks, like {@code publishOn} hops. Each event loop
+	 * drains its own lock-free task queue instead of going through a
+	 * {@link ScheduledExecutorService}, and each
+	 * {@link reactor.core.scheduler.Scheduler.Worker} is pinned to a single event loop. This type of {@link Scheduler}
+	 * detects and rejects usage of blocking Reactor APIs.
+	 * <p>
+	 * This scheduler is not restartable.
+	 *
+	 * @param name Thread prefix
+	 * @param parallelism Number of event loops.
+	 *
+	 * @return a new event-loop {@link Scheduler} suited for parallel work
+	 */
+	public static Scheduler newEventLoop(String name, int parallelism) {
+		return newEventLoop(name, parallelism, false);
+	}
+
+	/**
+	 * {@link Scheduler} that hosts a fixed pool of event loops, and is suited for
+	 * parallel work with many short tasks, like {@code publishOn} hops. Each event loop
+	 * drains its own lock-free task queue instead of going through a
+	 * {@link ScheduledExecutorService}, and each
+	 * {@link reactor.core.scheduler.Scheduler.Worker} is pinned to a single event loop. This type of {@link Scheduler}
+	 * detects and rejects usage of blocking Reactor APIs.
+	 * <p>
+	 * This scheduler is not restartable.
+	 *
+	 * @param name Thread prefix
+	 * @param parallelism Number of event loops.
+	 * @param daemon false if the {@link Scheduler} requires an explicit {@link
+	 * Scheduler#dispose()} to exit the VM.
+	 *
+	 * @return a new event-loop {@link Scheduler} suited for parallel work
+	 */
+	public static Scheduler newEventLoop(String name, int parallelism, boolean daemon) {
+		return newEventLoop(parallelism,
+				new ReactorThreadFactory(name, EventLoopScheduler.COUNTER, daemon,
+						true, Schedulers::defaultUncaughtException));
+	}
+
+	/**
+	 * {@link Scheduler} that hosts a fixed pool of event loops, and is suited for
+	 * parallel work with many short tasks, like {@code publishOn} hops. Each event loop
+	 * drains its own lock-free task queue instead of going through a
+	 * {@link ScheduledExecutorService}, and each
+	 * {@link reactor.core.scheduler.Scheduler.Worker} is pinned to a single event loop.
+	 * <p>
+	 * This scheduler is not restartable.
+	 *
+	 * @param parallelism Number of event loops.
+	 * @param threadFactory a {@link ThreadFactory} to use for the event loop threads, as
+	 * well as the timer thread
+	 *
+	 * @return a new event-loop {@link Scheduler} suited for parallel work
+	 */
+	public static Scheduler newEventLoop(int parallelism, ThreadFactory threadFactory) {
+		return instrument(factory.newEventLoop(parallelism, threadFactory));
+	}
+
+	/**
+	 * {@link Scheduler} that hosts a fixed pool of threads sharing their work, and is
+	 * suited for parallel work with skewed task durations. Each
+	 * {@link reactor.core.scheduler.Scheduler.Worker} executes its tasks in FIFO order and
+	 * non-concurrently, but idle threads can steal whole workers queued behind a busy
+	 * thread. This type of {@link Scheduler} detects and rejects usage of blocking
+	 * Reactor APIs.
+	 * <p>
+	 * This scheduler is not restartable.
+	 *
+	 * @param parallelism Number of pooled threads.
+	 *
+	 * @return a new work-stealing {@link Scheduler} suited for parallel work
+	 */
+	public static Scheduler newWorkStealing(int parallelism) {
+		return newWorkStealing(WORK_STEALING, parallelism);
+	}
+
+	/**
+	 * {@link Scheduler} that hosts a fixed pool of threads sharing their work, and is
+	 * suited for parallel work with skewed task durations. Each
+	 * {@link reactor.core.scheduler.Scheduler.Worker} executes its tasks in FIFO order and
+	 * non-concurrently, but idle threads can steal whole workers queued behind a busy
+	 * thread. This type of {@link Scheduler} detects and rejects usage of blocking
+	 * Reactor APIs.
+	 * <p>
+	 * This scheduler is not restartable.
+	 *
+	 * @param name Thread prefix
+	 *
+	 * @return a new work-stealing {@link Scheduler} suited for parallel work
+	 */
+	public static Scheduler newWorkStealing(String name) {
+		return newWorkStealing(name, DEFAULT_POOL_SIZE);
+	}
+
+	/**
+	 * {@link Scheduler} that hosts a fixed pool of threads sharing their work, and is
+	 * suited for parallel work with skewed task durations. Each
+	 * {@link reactor.core.scheduler.Scheduler.Worker} executes its tasks in FIFO order and
+	 * non-concurrently, but idle threads can steal whole workers queued behind a busy
+	 * thread. This type of {@link Scheduler} detects and rejects usage of blocking
+	 * Reactor APIs.
+	 * <p>
+	 * This scheduler is not restartable.
+	 *
+	 * @param name Thread prefix
+	 * @param parallelism Number of pooled threads.
+	 *
+	 * @return a new work-stealing {@link Scheduler} suited for parallel work
+	 */
+	public static Scheduler newWorkStealing(String name, int parallelism) {
+		return newWorkStealing(name, parallelism, false);
+	}
+
+	/**
+	 * {@link Scheduler} that hosts a fixed pool of threads sharing their work, and is
+	 * suited for parallel work with skewed task durations. Each
+	 * {@link reactor.core.scheduler.Scheduler.Worker} executes its tasks in FIFO order and
+	 * non-concurrently, but idle threads can steal whole workers queued behind a busy
+	 * thread. This type of {@link Scheduler} detects and rejects usage of blocking
+	 * Reactor APIs.
+	 * <p>
+	 * This scheduler is not restartable.
+	 *
+	 * @param name Thread prefix
+	 * @param parallelism Number of pooled threads.
+	 * @param daemon false if the {@link Scheduler} requires an explicit {@link
+	 * Scheduler#dispose()} to exit the VM.
+	 *
+	 * @return a new work-stealing {@link Scheduler} suited for parallel work
+	 */
+	public static Scheduler newWorkStealing(String name, int parallelism, boolean daemon) {
+		return newWorkStealing(parallelism,
+				new ReactorThreadFactory(name, WorkStealingScheduler.COUNTER, daemon,
+						true, Schedulers::defaultUncaughtException));
+	}
+
+	/**
+	 * {@link Scheduler} that hosts a fixed pool of threads sharing their work, and is
+	 * suited for parallel work with skewed task durations. Each
+	 * {@link reactor.core.scheduler.Scheduler.Worker} executes its tasks in FIFO order and
+	 * non-concurrently, but idle threads can steal whole workers queued behind a busy
+	 * thread.
+	 * <p>
+	 * This scheduler is not restartable.
+	 *
+	 * @param parallelism Number of pooled threads.
+	 * @param threadFactory a {@link ThreadFactory} to use for the fixed initialized
+	 * number of {@link Thread}, as well as the timer thread
+	 *
+	 * @return a new work-stealing {@link Scheduler} suited for parallel work
+	 */
+	public static Scheduler newWorkStealing(int parallelism, ThreadFactory threadFactory) {
+		return instrument(factory.newWorkStealing(parallelism, threadFactory));
 	}
 
 	/**
@@ -333,7 +650,7 @@ public abstract class Schedulers {
 	 * worker
 	 */
 	public static Scheduler newSingle(ThreadFactory threadFactory) {
-		return factory.newSingle(threadFactory);
+		return instrument(factory.newSingle(threadFactory));
 	}
 
 	/**
@@ -373,6 +690,89 @@ public abstract class Schedulers {
 		return t instanceof NonBlocking;
 	}
 
+	/**
+	 * Route the delayed and periodic tasks of the {@link Schedulers}-created
+	 * {@link Scheduler} instances through a hashed timing wheel of 512 ticks of the given
+	 * duration, rather than through the delay queue of their backing
+	 * {@link ScheduledExecutorService}. Delays are then only as precise as the tick
+	 * duration, but scheduling and cancelling a delayed task becomes O(1), which pays off
+	 * with many short-lived timeouts.
+	 * <p>
+	 * Tasks already scheduled when replacing or disabling the wheel are still executed by
+	 * the previous wheel.
+	 *
+	 * @param tickDuration the resolution of the timing wheel
+	 * @see #disableTimerWheel()
+	 */
+	public static void enableTimerWheel(Duration tickDuration) {
+		enableTimerWheel(tickDuration, TimerWheel.DEFAULT_TICKS_PER_WHEEL);
+	}
+
+	/**
+	 * Route the delayed and periodic tasks of the {@link Schedulers}-created
+	 * {@link Scheduler} instances through a hashed timing wheel, rather than through the
+	 * delay queue of their backing {@link ScheduledExecutorService}. Delays are then only
+	 * as precise as the tick duration, but scheduling and cancelling a delayed task
+	 * becomes O(1), which pays off with many short-lived timeouts.
+	 * <p>
+	 * Tasks already scheduled when replacing or disabling the wheel are still executed by
+	 * the previous wheel.
+	 *
+	 * @param tickDuration the resolution of the timing wheel
+	 * @param ticksPerWheel the number of buckets of the wheel, rounded up to a power of two
+	 * @see #disableTimerWheel()
+	 */
+	public static void enableTimerWheel(Duration tickDuration, int ticksPerWheel) {
+		TimerWheel old = TIMER_WHEEL.getAndSet(new TimerWheel(tickDuration.toNanos(), ticksPerWheel));
+		if (old != null) {
+			old.drain();
+		}
+	}
+
+	/**
+	 * Stop routing new delayed and periodic tasks through the timing wheel set up by
+	 * {@link #enableTimerWheel(Duration, int)}, falling back to the delay queue of each
+	 * {@link ScheduledExecutorService}.
+	 */
+	public static void disableTimerWheel() {
+		TimerWheel old = TIMER_WHEEL.getAndSet(null);
+		if (old != null) {
+			old.drain();
+		}
+	}
+
+	/**
+	 * Instrument the {@link Scheduler} instances created by {@link Schedulers} from now on
+	 * with Micrometer meters, published to the global registry: submitted, completed and
+	 * rejected task counts, pending task gauge, and histograms of the time tasks wait
+	 * for a thread once due and of their execution time. Meters are tagged with the name
+	 * of each scheduler.
+	 * <p>
+	 * Schedulers created before this call, including the cached ones like
+	 * {@link #parallel()}, are not instrumented: call {@link #shutdownNow()} afterwards to
+	 * have the shared schedulers re-created with metrics. This is a no-op if Micrometer
+	 * is not on the classpath.
+	 *
+	 * @see #disableMetrics()
+	 */
+	public static void enableMetrics() {
+		if (!isMicrometerAvailable()) {
+			log.warn("Scheduler metrics were enabled but Micrometer is not on the classpath, ignoring");
+			return;
+		}
+		metricsDecorator = SchedulerMetrics.globalRegistryDecorator();
+	}
+
+	/**
+	 * Stop instrumenting the {@link Scheduler} instances created from now on. Schedulers
+	 * already instrumented keep publishing their meters.
+	 *
+	 * @see #enableMetrics()
+	 */
+	public static void disableMetrics() {
+		metricsDecorator = null;
+	}
+
 	/**
 	 * Re-apply default factory to {@link Schedulers}
 	 */
@@ -392,7 +792,8 @@ public abstract class Schedulers {
 
 	/**
 	 * Replace {@link Schedulers} factories ({@link #newParallel(String) newParallel},
-	 * {@link #newSingle(String) newSingle} and {@link #newElastic(String) newElastic}). Also
+	 * {@link #newSingle(String) newSingle}, {@link #newElastic(String) newElastic} and
+	 * {@link #newBoundedElastic(int, int, String) newBoundedElastic}). Also
 	 * shutdown Schedulers from the cached factories (like {@link #single()}) in order to
 	 * also use these replacements, re-creating the shared schedulers from the new factory
 	 * upon next use.
@@ -484,6 +885,44 @@ public abstract class Schedulers {
 			return new ElasticScheduler(threadFactory, ttlSeconds);
 		}
 
+		/**
+		 * {@link Scheduler} that runs its tasks on new virtual threads, falling back to
+		 * {@link #newElastic(int, ThreadFactory)} with daemon threads on a JDK without
+		 * virtual threads.
+		 *
+		 * @param name Thread prefix
+		 *
+		 * @return a new {@link Scheduler} backed by virtual threads if supported
+		 */
+		default Scheduler newVirtualThreadScheduler(String name) {
+			ThreadFactory virtualThreadFactory = VirtualThreadScheduler.virtualThreadFactory(name);
+			if (virtualThreadFactory == null) {
+				return newElastic(ElasticScheduler.DEFAULT_TTL_SECONDS,
+						new ReactorThreadFactory(name, ElasticScheduler.COUNTER, true,
+								false, Schedulers::defaultUncaughtException));
+			}
+			return new VirtualThreadScheduler(name, virtualThreadFactory);
+		}
+
+		/**
+		 * {@link Scheduler} that dynamically creates a bounded number of Workers
+		 * resources and caches them, reusing them once the Workers have been shut down.
+		 * <p>
+		 * Each underlying resource can queue at most {@code queuedTaskCap} tasks.
+		 *
+		 * @param threadCap maximum number of underlying threads to create
+		 * @param queuedTaskCap maximum number of tasks to enqueue on each thread
+		 * @param threadFactory a {@link ThreadFactory} to use
+		 * @param ttlSeconds Time-to-live for an idle {@link reactor.core.scheduler.Scheduler.Worker}
+		 *
+		 * @return a new {@link Scheduler} that dynamically creates a bounded number of
+		 * Workers resources and caches them, reusing them once the Workers have been
+		 * shut down.
+		 */
+		default Scheduler newBoundedElastic(int threadCap, int queuedTaskCap, ThreadFactory threadFactory, int ttlSeconds) {
+			return new BoundedElasticScheduler(threadCap, queuedTaskCap, threadFactory, ttlSeconds);
+		}
+
 		/**
 		 * {@link Scheduler} that hosts a fixed pool of workers and is suited for parallel
 		 * work.
@@ -499,6 +938,35 @@ public abstract class Schedulers {
 			return new ParallelScheduler(parallelism, threadFactory);
 		}
 
+		/**
+		 * {@link Scheduler} that hosts a fixed pool of threads that steal work from
+		 * each other, and is suited for parallel work.
+		 *
+		 * @param parallelism Number of pooled threads.
+		 * @param threadFactory a {@link ThreadFactory} to use for the fixed initialized
+		 * number of {@link Thread}
+		 *
+		 * @return a new {@link Scheduler} that hosts a fixed pool of work-stealing
+		 * threads and is suited for parallel work
+		 */
+		default Scheduler newWorkStealing(int parallelism, ThreadFactory threadFactory) {
+			return new WorkStealingScheduler(parallelism, threadFactory);
+		}
+
+		/**
+		 * {@link Scheduler} that hosts a fixed pool of event loops, each draining its own
+		 * task queue, and is suited for parallel work.
+		 *
+		 * @param parallelism Number of event loops.
+		 * @param threadFactory a {@link ThreadFactory} to use for the event loop threads
+		 *
+		 * @return a new {@link Scheduler} that hosts a fixed pool of event loops and is
+		 * suited for parallel work
+		 */
+		default Scheduler newEventLoop(int parallelism, ThreadFactory threadFactory) {
+			return new EventLoopScheduler(parallelism, threadFactory);
+		}
+
 		/**
 		 * {@link Scheduler} that hosts a single worker and is suited for non-blocking
 		 * work.
@@ -515,7 +983,11 @@ public abstract class Schedulers {
 
 	// Internals
 	static final String ELASTIC               = "elastic"; // IO stuff
+	static final String BOUNDED_ELASTIC       = "boundedElastic"; // IO stuff, capped
 	static final String PARALLEL              = "parallel"; //scale up common tasks
+	static final String WORK_STEALING         = "workStealing"; //scale up skewed tasks
+	static final String EVENT_LOOP            = "eventLoop"; //scale up short tasks
+	static final String VIRTUAL_THREAD        = "virtualThread"; // blocking stuff, unpooled
 	static final String SINGLE                = "single"; //non blocking tasks
 	static final String IMMEDIATE             = "immediate";
 	static final String FROM_EXECUTOR         = "fromExecutor";
@@ -540,6 +1012,43 @@ public abstract class Schedulers {
 
 	static volatile Factory factory = DEFAULT;
 
+	static final AtomicReference<TimerWheel> TIMER_WHEEL = new AtomicReference<>();
+
+	@Nullable
+	static volatile Function<Scheduler, Scheduler> metricsDecorator;
+
+	static final boolean isMicrometerAvailable;
+
+	static {
+		//only look Micrometer up by name: referencing its classes from this class would
+		//fail its verification when Micrometer is absent, see SchedulerMetrics
+		boolean micrometer;
+		try {
+			Class.forName("io.micrometer.core.instrument.MeterRegistry", false,
+					Schedulers.class.getClassLoader());
+			micrometer = true;
+		}
+		catch (Throwable t) {
+			micrometer = false;
+		}
+		isMicrometerAvailable = micrometer;
+	}
+
+	/**
+	 * @return true if the Micrometer instrumentation facade is available
+	 */
+	static boolean isMicrometerAvailable() {
+		return isMicrometerAvailable;
+	}
+
+	/**
+	 * Decorate a new {@link Scheduler} with metrics if {@link #enableMetrics()} is active.
+	 */
+	static Scheduler instrument(Scheduler scheduler) {
+		Function<Scheduler, Scheduler> decorator = metricsDecorator;
+		return decorator == null ? scheduler : decorator.apply(scheduler);
+	}
+
 	/**
 	 * Get a {@link CachedScheduler} out of the {@code reference} or create one using the
 	 * {@link Supplier} if the reference is empty, effectively creating a single instance
@@ -677,7 +1186,7 @@ public abstract class Schedulers {
 			f = exec.submit((Callable<?>) sr);
 		}
 		else {
-			f = exec.schedule((Callable<?>) sr, delay, unit);
+			f = scheduleDelayed(exec, sr, delay, unit);
 		}
 		sr.setFuture(f);
 
@@ -692,7 +1201,7 @@ public abstract class Schedulers {
 
 		PeriodicSchedulerTask sr = new PeriodicSchedulerTask(task);
 
-		Future<?> f = exec.scheduleAtFixedRate(sr, initialDelay, period, unit);
+		Future<?> f = scheduleAtFixedRate(exec, sr, initialDelay, period, unit);
 		sr.setFuture(f);
 
 		return sr;
@@ -715,7 +1224,7 @@ public abstract class Schedulers {
 				f = exec.submit((Callable<?>) sr);
 			}
 			else {
-				f = exec.schedule((Callable<?>) sr, delay, unit);
+				f = scheduleDelayed(exec, sr, delay, unit);
 			}
 			sr.setFuture(f);
 		}
@@ -744,7 +1253,7 @@ public abstract class Schedulers {
 					f = exec.submit(isr);
 				}
 				else {
-					f = exec.schedule(isr, initialDelay, unit);
+					f = scheduleDelayed(exec, isr, initialDelay, unit);
 				}
 				isr.setFirst(f);
 			}
@@ -768,7 +1277,7 @@ public abstract class Schedulers {
 		}
 
 		try {
-			Future<?> f = exec.scheduleAtFixedRate(sr, initialDelay, period, unit);
+			Future<?> f = scheduleAtFixedRate(exec, sr, initialDelay, period, unit);
 			sr.setFuture(f);
 		}
 		catch (RejectedExecutionException ex) {
@@ -786,6 +1295,39 @@ public abstract class Schedulers {
 	}
 
 
+	static Future<?> scheduleDelayed(ScheduledExecutorService exec,
+			Callable<?> task,
+			long delay,
+			TimeUnit unit) {
+		TimerWheel wheel = TIMER_WHEEL.get();
+		if (wheel == null || !isWheelCapable(exec)) {
+			return exec.schedule(task, delay, unit);
+		}
+		return wheel.schedule(exec, task, delay, unit);
+	}
+
+	static Future<?> scheduleAtFixedRate(ScheduledExecutorService exec,
+			Runnable task,
+			long initialDelay,
+			long period,
+			TimeUnit unit) {
+		TimerWheel wheel = TIMER_WHEEL.get();
+		if (wheel == null || !isWheelCapable(exec)) {
+			return exec.scheduleAtFixedRate(task, initialDelay, period, unit);
+		}
+		return wheel.scheduleAtFixedRate(exec, task, initialDelay, period, unit);
+	}
+
+	/**
+	 * Executors that reject time-based scheduling or that enforce a capacity when
+	 * scheduling must keep receiving the delayed tasks directly, so that they can reject
+	 * them synchronously.
+	 */
+	static boolean isWheelCapable(ScheduledExecutorService exec) {
+		return !(exec instanceof DelegateServiceScheduler.UnsupportedScheduledExecutorService)
+				&& !(exec instanceof BoundedElasticScheduler.BoundedScheduledExecutorService);
+	}
+
 	static ScheduledExecutorService decorateExecutorService(String schedulerType,
 			Supplier<? extends ScheduledExecutorService> actual) {
 		return factory.decorateExecutorService(schedulerType, actual);
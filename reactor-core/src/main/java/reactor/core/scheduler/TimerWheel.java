@@ -0,0 +1,606 @@
+/*
+ * Copyright (c) 2011-2018 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.scheduler;
+
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+
+import reactor.core.Exceptions;
+import reactor.util.annotation.Nullable;
+import reactor.util.concurrent.Queues;
+
+/**
+ * A hashed timing wheel that keeps delayed and periodic tasks for the
+ * {@link ScheduledExecutorService} instances backing the {@link Schedulers}, handing each
+ * task over to its executor once due. Scheduling and cancelling a task is O(1), and
+ * cancelled tasks are unlinked from the wheel on the next tick, or before the wheel goes
+ * idle, instead of lingering until their deadline.
+ * <p>
+ * Tasks are never run early, but can run up to one tick late: the tick duration is thus
+ * the resolution of the timer. A single daemon thread advances the wheel, and parks
+ * indefinitely while no task is pending.
+ *
+ * @see Schedulers#enableTimerWheel(java.time.Duration, int)
+ */
+final class TimerWheel implements Runnable {
+
+	static final AtomicLong COUNTER = new AtomicLong();
+
+	static final int DEFAULT_TICKS_PER_WHEEL = 512;
+
+	/** maximum number of new timeouts to transfer into the wheel per tick */
+	static final int MAX_TRANSFER_PER_TICK = 100_000;
+
+	final long     tickNanos;
+	final int      mask;
+	final Bucket[] wheel;
+	final long     startTime;
+	final Thread   thread;
+
+	final Queue<Timeout> pendingTimeouts;
+	final Queue<Timeout> cancelledTimeouts;
+
+	/** number of timeouts not yet expired nor cancelled */
+	volatile long pending;
+	static final AtomicLongFieldUpdater<TimerWheel> PENDING_COUNT =
+			AtomicLongFieldUpdater.newUpdater(TimerWheel.class, "pending");
+
+	volatile boolean parked;
+	volatile boolean draining;
+	volatile boolean terminated;
+
+	/** the current tick, only accessed by the wheel thread */
+	long tick;
+
+	TimerWheel(long tickNanos, int ticksPerWheel) {
+		if (tickNanos <= 0L) {
+			throw new IllegalArgumentException("tickDuration must be strictly positive, was: " + tickNanos + "ns");
+		}
+		if (ticksPerWheel <= 0 || ticksPerWheel > (1 << 30)) {
+			throw new IllegalArgumentException("ticksPerWheel must be in (0, 2^30], was: " + ticksPerWheel);
+		}
+		int size = Queues.ceilingNextPowerOfTwo(ticksPerWheel);
+		this.tickNanos = tickNanos;
+		this.mask = size - 1;
+		this.wheel = new Bucket[size];
+		for (int i = 0; i < size; i++) {
+			wheel[i] = new Bucket();
+		}
+		this.pendingTimeouts = Queues.<Timeout>unboundedMultiproducer().get();
+		this.cancelledTimeouts = Queues.<Timeout>unboundedMultiproducer().get();
+		this.startTime = System.nanoTime();
+		this.thread = new Thread(this, "timer-wheel-" + COUNTER.incrementAndGet());
+		this.thread.setDaemon(true);
+		this.thread.start();
+	}
+
+	/**
+	 * Schedule a task to be submitted to the given executor after a delay.
+	 *
+	 * @return a {@link Future} that cancels the task in the wheel or in the executor
+	 */
+	Future<?> schedule(ScheduledExecutorService executor,
+			Callable<?> task,
+			long delay,
+			TimeUnit unit) {
+		if (executor.isShutdown()) {
+			throw Exceptions.failWithRejected();
+		}
+		Timeout t = new Timeout(this, executor, task, null, 0L);
+		t.deadline = System.nanoTime() - startTime + unit.toNanos(delay);
+		if (!offer(t)) {
+			return executor.schedule(task, delay, unit);
+		}
+		return t;
+	}
+
+	/**
+	 * Schedule a task to be submitted to the given executor periodically, at a fixed rate.
+	 * The next period is armed once the previous execution has completed, so that
+	 * executions never overlap.
+	 *
+	 * @return a {@link Future} that cancels further executions of the task
+	 */
+	Future<?> scheduleAtFixedRate(ScheduledExecutorService executor,
+			Runnable task,
+			long initialDelay,
+			long period,
+			TimeUnit unit) {
+		if (period <= 0L) {
+			throw new IllegalArgumentException("period must be strictly positive, was: " + period);
+		}
+		if (executor.isShutdown()) {
+			throw Exceptions.failWithRejected();
+		}
+		Timeout t = new Timeout(this, executor, null, task, unit.toNanos(period));
+		t.deadline = System.nanoTime() - startTime + unit.toNanos(initialDelay);
+		if (!offer(t)) {
+			return executor.scheduleAtFixedRate(task, initialDelay, period, unit);
+		}
+		return t;
+	}
+
+	/**
+	 * Hand a timeout over to the wheel thread.
+	 *
+	 * @return false if the wheel has terminated, in which case the timeout is dropped
+	 */
+	boolean offer(Timeout t) {
+		PENDING_COUNT.incrementAndGet(this);
+		if (terminated) {
+			PENDING_COUNT.decrementAndGet(this);
+			return false;
+		}
+		pendingTimeouts.offer(t);
+		if (parked) {
+			LockSupport.unpark(thread);
+		}
+		return true;
+	}
+
+	void cancelled(Timeout t) {
+		//enqueue before decrementing, so that a wheel thread seeing no pending timeout
+		//also sees every cancelled one it has to unlink before idling
+		cancelledTimeouts.offer(t);
+		PENDING_COUNT.decrementAndGet(this);
+	}
+
+	/**
+	 * Stop accepting new timeouts once the currently pending ones have expired or have
+	 * been cancelled, at which point the wheel thread terminates.
+	 */
+	void drain() {
+		draining = true;
+		LockSupport.unpark(thread);
+	}
+
+	@Override
+	public void run() {
+		for (; ; ) {
+			if (pending == 0L) {
+				//every timeout still in the wheel, or on its way to it, has been cancelled:
+				//unlink them now rather than on a next tick that may never come, so that
+				//they don't hold on to their task while the wheel is idle
+				processCancelled();
+				//the buckets are now empty, so the ticks elapsed since the last one can be
+				//skipped
+				tick = (System.nanoTime() - startTime) / tickNanos;
+				transferPending();
+				if (pending != 0L || !pendingTimeouts.isEmpty()) {
+					continue;
+				}
+				if (draining) {
+					terminated = true;
+					if (pending == 0L) {
+						return;
+					}
+					terminated = false;
+				}
+				parked = true;
+				//check again after publishing the parked flag, so that a concurrent
+				//offer either sees the flag or has its pending count visible to us
+				if (pending == 0L && !draining) {
+					LockSupport.park(this);
+				}
+				parked = false;
+				//the buckets are still empty, so ticks elapsed while parked can be skipped
+				tick = (System.nanoTime() - startTime) / tickNanos;
+				continue;
+			}
+
+			long deadline = waitForNextTick();
+			processCancelled();
+			transferPending();
+			wheel[(int) (tick & mask)].expire(deadline);
+			tick++;
+		}
+	}
+
+	long waitForNextTick() {
+		long deadline = tickNanos * (tick + 1);
+		for (; ; ) {
+			long current = System.nanoTime() - startTime;
+			long sleepNanos = deadline - current;
+			if (sleepNanos <= 0L) {
+				return current;
+			}
+			LockSupport.parkNanos(this, sleepNanos);
+		}
+	}
+
+	void processCancelled() {
+		Timeout t;
+		while ((t = cancelledTimeouts.poll()) != null) {
+			Bucket bucket = t.bucket;
+			if (bucket != null) {
+				bucket.remove(t);
+			}
+		}
+	}
+
+	void transferPending() {
+		for (int i = 0; i < MAX_TRANSFER_PER_TICK; i++) {
+			Timeout t = pendingTimeouts.poll();
+			if (t == null) {
+				return;
+			}
+			if (t.state == Timeout.CANCELLED) {
+				continue;
+			}
+			long calculated = t.deadline / tickNanos;
+			t.remainingRounds = (calculated - tick) / wheel.length;
+			long ticks = Math.max(calculated, tick);
+			wheel[(int) (ticks & mask)].add(t);
+		}
+	}
+
+	/**
+	 * A doubly linked list of timeouts, only accessed by the wheel thread.
+	 */
+	static final class Bucket {
+
+		@Nullable
+		Timeout head;
+		@Nullable
+		Timeout tail;
+
+		void add(Timeout t) {
+			t.bucket = this;
+			if (head == null) {
+				head = tail = t;
+			}
+			else {
+				tail.next = t;
+				t.prev = tail;
+				tail = t;
+			}
+		}
+
+		void expire(long deadline) {
+			Timeout t = head;
+			while (t != null) {
+				Timeout next = t.next;
+				if (t.remainingRounds <= 0L) {
+					remove(t);
+					if (t.deadline <= deadline) {
+						t.expire();
+					}
+					else {
+						//the timeout was placed in the wrong bucket, re-insert it later
+						t.wheel.pendingTimeouts.offer(t);
+					}
+				}
+				else if (t.state == Timeout.CANCELLED) {
+					remove(t);
+				}
+				else {
+					t.remainingRounds--;
+				}
+				t = next;
+			}
+		}
+
+		void remove(Timeout t) {
+			Timeout next = t.next;
+			if (t.prev != null) {
+				t.prev.next = next;
+			}
+			if (t.next != null) {
+				t.next.prev = t.prev;
+			}
+			if (t == head) {
+				if (t == tail) {
+					tail = null;
+					head = null;
+				}
+				else {
+					head = next;
+				}
+			}
+			else if (t == tail) {
+				tail = t.prev;
+			}
+			t.prev = null;
+			t.next = null;
+			t.bucket = null;
+		}
+	}
+
+	/**
+	 * A delayed or periodic task held by the wheel, also acting as the {@link Future}
+	 * returned to the scheduling code. Once due, the task is submitted to its executor and
+	 * cancellation is forwarded to the executor's own {@link Future}.
+	 * <p>
+	 * Waiting on a delayed task blocks until it has been submitted, then on the
+	 * executor's {@link Future}. Like with a {@link ScheduledExecutorService}, waiting on
+	 * a periodic task only returns once it has been cancelled or one of its executions
+	 * has failed.
+	 */
+	static final class Timeout implements Future<Object>, Runnable {
+
+		static final int PENDING   = 0;
+		static final int HANDED    = 1;
+		static final int CANCELLED = 2;
+		static final int FAILED    = 3;
+
+		/** marker that the task was cancelled with interruption */
+		static final Future<Void> CANCELLED_INTERRUPT    = new FutureTask<>(() -> null);
+		/** marker that the task was cancelled without interruption */
+		static final Future<Void> CANCELLED_NO_INTERRUPT = new FutureTask<>(() -> null);
+
+		final TimerWheel               wheel;
+		final ScheduledExecutorService executor;
+		@Nullable
+		final Callable<?>              task;
+		@Nullable
+		final Runnable                 periodicTask;
+		final long                     periodNanos;
+
+		/** deadline relative to the wheel start time, published through the queue */
+		long deadline;
+
+		//fields below are only accessed by the wheel thread
+		long    remainingRounds;
+		@Nullable
+		Timeout next;
+		@Nullable
+		Timeout prev;
+		@Nullable
+		Bucket  bucket;
+
+		volatile int state;
+		static final AtomicIntegerFieldUpdater<Timeout> STATE =
+				AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+
+		volatile Future<?> delegate;
+		static final AtomicReferenceFieldUpdater<Timeout, Future> DELEGATE =
+				AtomicReferenceFieldUpdater.newUpdater(Timeout.class, Future.class, "delegate");
+
+		/** the failure of a periodic execution, published by the FAILED state */
+		@Nullable
+		Throwable error;
+
+		/** set once a thread waits on this timeout, so that it is only notified if needed */
+		volatile boolean awaited;
+
+		Timeout(TimerWheel wheel,
+				ScheduledExecutorService executor,
+				@Nullable Callable<?> task,
+				@Nullable Runnable periodicTask,
+				long periodNanos) {
+			this.wheel = wheel;
+			this.executor = executor;
+			this.task = task;
+			this.periodicTask = periodicTask;
+			this.periodNanos = periodNanos;
+		}
+
+		/**
+		 * Submit the task to its executor, called by the wheel thread once due.
+		 */
+		void expire() {
+			if (!STATE.compareAndSet(this, PENDING, HANDED)) {
+				return;
+			}
+			PENDING_COUNT.decrementAndGet(wheel);
+			try {
+				if (task != null) {
+					setDelegate(executor.submit(task));
+				}
+				else {
+					setDelegate(executor.submit((Runnable) this));
+				}
+			}
+			catch (RejectedExecutionException ree) {
+				state = CANCELLED;
+				signal();
+				if (!executor.isShutdown()) {
+					Schedulers.handleError(ree);
+				}
+			}
+		}
+
+		/**
+		 * Run one period of a periodic task on its executor, then arm the next period.
+		 */
+		@Override
+		public void run() {
+			Runnable r = periodicTask;
+			if (r == null || state != HANDED) {
+				return;
+			}
+			try {
+				r.run();
+			}
+			catch (Throwable ex) {
+				//like in a ScheduledExecutorService, a failed execution ends the task
+				error = ex;
+				if (STATE.compareAndSet(this, HANDED, FAILED)) {
+					signal();
+				}
+				throw ex;
+			}
+
+			deadline += periodNanos;
+			if (!STATE.compareAndSet(this, HANDED, PENDING)) {
+				return;
+			}
+			if (!wheel.offer(this)) {
+				//the wheel has been replaced and drained in the meantime
+				state = HANDED;
+				long delay = deadline - (System.nanoTime() - wheel.startTime);
+				try {
+					setDelegate(executor.schedule(this, delay, TimeUnit.NANOSECONDS));
+				}
+				catch (RejectedExecutionException ree) {
+					state = CANCELLED;
+					signal();
+				}
+			}
+		}
+
+		void setDelegate(Future<?> f) {
+			for (; ; ) {
+				Future o = delegate;
+				if (o == CANCELLED_INTERRUPT || o == CANCELLED_NO_INTERRUPT) {
+					f.cancel(o == CANCELLED_INTERRUPT);
+					return;
+				}
+				if (DELEGATE.compareAndSet(this, o, f)) {
+					if (o == null && task != null) {
+						signal();
+					}
+					return;
+				}
+			}
+		}
+
+		@Override
+		public boolean cancel(boolean mayInterruptIfRunning) {
+			for (; ; ) {
+				int s = state;
+				if (s == CANCELLED || s == FAILED) {
+					return false;
+				}
+				if (STATE.compareAndSet(this, s, CANCELLED)) {
+					if (s == PENDING) {
+						wheel.cancelled(this);
+					}
+					Future f = DELEGATE.getAndSet(this,
+							mayInterruptIfRunning ? CANCELLED_INTERRUPT : CANCELLED_NO_INTERRUPT);
+					if (f != null && f != CANCELLED_INTERRUPT && f != CANCELLED_NO_INTERRUPT) {
+						f.cancel(mayInterruptIfRunning);
+					}
+					signal();
+					return true;
+				}
+			}
+		}
+
+		@Override
+		public boolean isCancelled() {
+			return state == CANCELLED;
+		}
+
+		@Override
+		public boolean isDone() {
+			int s = state;
+			if (s == CANCELLED || s == FAILED) {
+				return true;
+			}
+			if (periodicTask != null || state != HANDED) {
+				return false;
+			}
+			Future<?> f = delegate;
+			return f != null && f.isDone();
+		}
+
+		@Override
+		public Object get() throws InterruptedException, ExecutionException {
+			await(false, 0L);
+			return settled().get();
+		}
+
+		@Override
+		public Object get(long timeout, TimeUnit unit)
+				throws InterruptedException, ExecutionException, TimeoutException {
+			long timeoutNanos = unit.toNanos(timeout);
+			long deadline = System.nanoTime() + timeoutNanos;
+			if (!await(true, timeoutNanos)) {
+				throw new TimeoutException();
+			}
+			return settled().get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+		}
+
+		/**
+		 * @return true once a delayed task has been submitted to its executor, or the
+		 * task has been cancelled or has failed
+		 */
+		boolean isSettled() {
+			int s = state;
+			return s == CANCELLED || s == FAILED || (task != null && delegate != null);
+		}
+
+		/**
+		 * Block until {@link #isSettled()}.
+		 *
+		 * @return false if the timeout elapsed first
+		 */
+		boolean await(boolean timed, long timeoutNanos) throws InterruptedException {
+			if (isSettled()) {
+				return true;
+			}
+			long deadline = System.nanoTime() + timeoutNanos;
+			//checked again under the monitor, so either the waiter sees the new state or
+			//the signalling thread sees the waiter
+			awaited = true;
+			synchronized (this) {
+				while (!isSettled()) {
+					if (timed) {
+						long remaining = deadline - System.nanoTime();
+						if (remaining <= 0L) {
+							return false;
+						}
+						TimeUnit.NANOSECONDS.timedWait(this, remaining);
+					}
+					else {
+						wait();
+					}
+				}
+			}
+			return true;
+		}
+
+		void signal() {
+			if (awaited) {
+				synchronized (this) {
+					notifyAll();
+				}
+			}
+		}
+
+		/**
+		 * @return the executor's {@link Future} of a settled delayed task
+		 * @throws CancellationException if the task was cancelled
+		 * @throws ExecutionException if a periodic execution failed
+		 */
+		Future<?> settled() throws ExecutionException {
+			Future<?> f = delegate;
+			if (state == FAILED) {
+				throw new ExecutionException(error);
+			}
+			if (task == null || f == null || f == CANCELLED_INTERRUPT || f == CANCELLED_NO_INTERRUPT) {
+				throw new CancellationException();
+			}
+			return f;
+		}
+	}
+}
@@ -0,0 +1,387 @@
+/*
+ * Copyright (c) 2011-2018 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.scheduler;
+
+import java.lang.reflect.Method;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.Exceptions;
+import reactor.core.Scannable;
+import reactor.util.Logger;
+import reactor.util.Loggers;
+import reactor.util.annotation.Nullable;
+import reactor.util.concurrent.Queues;
+
+/**
+ * Runs each task, or each burst of tasks of a {@link Worker}, on a fresh virtual thread
+ * (JDK 21+), and is suited for blocking work. Virtual threads are cheap to create and
+ * to block, so unlike the {@link ElasticScheduler} nothing is pooled. Each worker runs
+ * its tasks in FIFO order and non-concurrently, draining its own queue from one virtual
+ * thread at a time.
+ * <p>
+ * Virtual threads never implement {@link NonBlocking}, blocking Reactor APIs are thus
+ * allowed in the tasks. Delayed and periodic tasks are kept by a single-threaded
+ * platform timer {@link ScheduledExecutorService}, or by the timing wheel set up by
+ * {@link Schedulers#enableTimerWheel(java.time.Duration)}, which hands them off to a
+ * virtual thread once due.
+ * <p>
+ * This scheduler is not restartable.
+ */
+final class VirtualThreadScheduler implements Scheduler, Supplier<ScheduledExecutorService>,
+                                              Scannable {
+
+	static final Logger log = Loggers.getLogger(VirtualThreadScheduler.class);
+
+	static final AtomicLong COUNTER = new AtomicLong();
+
+	/**
+	 * The {@code Thread.ofVirtual()} method, or null when running on a JDK without
+	 * virtual threads.
+	 */
+	@Nullable
+	static final Method OF_VIRTUAL = ofVirtual();
+
+	@Nullable
+	static Method ofVirtual() {
+		try {
+			return Thread.class.getMethod("ofVirtual");
+		}
+		catch (NoSuchMethodException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * @return true if the current JDK supports virtual threads
+	 */
+	static boolean isSupported() {
+		return OF_VIRTUAL != null;
+	}
+
+	/**
+	 * Create a {@link ThreadFactory} of virtual threads named after the given prefix,
+	 * or return null if the current JDK doesn't support virtual threads.
+	 *
+	 * @param name the thread name prefix
+	 * @return a factory of virtual threads, or null if unsupported
+	 */
+	@Nullable
+	static ThreadFactory virtualThreadFactory(String name) {
+		if (OF_VIRTUAL == null) {
+			return null;
+		}
+		try {
+			Object builder = OF_VIRTUAL.invoke(null);
+			Class<?> builderType = Class.forName("java.lang.Thread$Builder$OfVirtual");
+			builder = builderType.getMethod("name", String.class, long.class)
+			                     .invoke(builder, name + "-", 0L);
+			return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+		}
+		catch (ReflectiveOperationException | RuntimeException e) {
+			log.warn("Virtual threads could not be initialized, falling back to platform threads", e);
+			return null;
+		}
+	}
+
+	final String        name;
+	final ThreadFactory factory;
+
+	final Composite tasks;
+
+	final ScheduledExecutorService timer;
+
+	volatile boolean shutdown;
+
+	VirtualThreadScheduler(String name, ThreadFactory factory) {
+		this.name = name;
+		this.factory = factory;
+		this.tasks = Disposables.composite();
+		this.timer = Schedulers.decorateExecutorService(Schedulers.VIRTUAL_THREAD, this);
+	}
+
+	/**
+	 * Instantiates the default {@link ScheduledExecutorService} used as a timer by the
+	 * VirtualThreadScheduler ({@code Executors.newScheduledThreadPoolExecutor} with core
+	 * and max pool size of 1, on a daemon platform thread).
+	 */
+	@Override
+	public ScheduledExecutorService get() {
+		ScheduledThreadPoolExecutor poolExecutor = new ScheduledThreadPoolExecutor(1,
+				new ReactorThreadFactory(name + "-timer", COUNTER, true, false,
+						Schedulers::defaultUncaughtException));
+		poolExecutor.setMaximumPoolSize(1);
+		poolExecutor.setRemoveOnCancelPolicy(true);
+		return poolExecutor;
+	}
+
+	@Override
+	public boolean isDisposed() {
+		return shutdown;
+	}
+
+	@Override
+	public void start() {
+		throw new UnsupportedOperationException("Restarting not supported yet");
+	}
+
+	@Override
+	public void dispose() {
+		if (shutdown) {
+			return;
+		}
+		shutdown = true;
+
+		timer.shutdownNow();
+		tasks.dispose();
+	}
+
+	/**
+	 * Start a new thread running the given unit.
+	 */
+	void startThread(Runnable unit) {
+		if (shutdown) {
+			throw Exceptions.failWithRejected();
+		}
+		factory.newThread(unit).start();
+	}
+
+	@Override
+	public Disposable schedule(Runnable task) {
+		Objects.requireNonNull(task, "task");
+		VirtualThreadTask r = new VirtualThreadTask(task, tasks, false, false);
+		if (!tasks.add(r)) {
+			throw Exceptions.failWithRejected();
+		}
+		try {
+			startThread(r);
+		}
+		catch (RejectedExecutionException ex) {
+			r.dispose();
+			throw ex;
+		}
+		return r;
+	}
+
+	@Override
+	public Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+		if (delay <= 0L) {
+			return schedule(task);
+		}
+		Objects.requireNonNull(task, "task");
+		VirtualThreadTask r = new VirtualThreadTask(task, tasks, true, false);
+		if (!tasks.add(r)) {
+			throw Exceptions.failWithRejected();
+		}
+		return HandOffTask.scheduleTimed(timer, r, this::startThread, delay, 0L, unit);
+	}
+
+	@Override
+	public Disposable schedulePeriodically(Runnable task,
+			long initialDelay,
+			long period,
+			TimeUnit unit) {
+		Objects.requireNonNull(task, "task");
+		VirtualThreadTask r = new VirtualThreadTask(task, tasks, true, true);
+		if (!tasks.add(r)) {
+			throw Exceptions.failWithRejected();
+		}
+		return HandOffTask.scheduleTimed(timer, r, this::startThread, initialDelay, period, unit);
+	}
+
+	@Override
+	public String toString() {
+		return Schedulers.VIRTUAL_THREAD + "(\"" + name + "\")";
+	}
+
+	@Override
+	public Object scanUnsafe(Attr key) {
+		if (key == Attr.TERMINATED || key == Attr.CANCELLED) return isDisposed();
+		if (key == Attr.NAME) return this.toString();
+		if (key == Attr.BUFFERED) return tasks.size();
+
+		return null;
+	}
+
+	@Override
+	public Worker createWorker() {
+		VirtualThreadWorker w = new VirtualThreadWorker(this);
+		if (!tasks.add(w)) {
+			w.dispose();
+		}
+		return w;
+	}
+
+	/**
+	 * A task that can be cancelled by not executing it, or by interrupting the thread
+	 * running it. The task removes itself from its tracking {@link Disposable.Composite}
+	 * once disposed or, unless periodic, once done.
+	 */
+	static final class VirtualThreadTask extends HandOffTask {
+
+		final Composite parent;
+
+		VirtualThreadTask(Runnable task, Composite parent, boolean timed, boolean periodic) {
+			super(task, timed, periodic, true);
+			this.parent = parent;
+		}
+
+		@Override
+		void untrack() {
+			parent.remove(this);
+		}
+	}
+
+	/**
+	 * A worker with its own task queue, drained by a new thread whenever it goes from
+	 * empty to non-empty. At most one thread drains it at any given time.
+	 */
+	static final class VirtualThreadWorker implements Worker, Runnable, Scannable {
+
+		final VirtualThreadScheduler parent;
+		final Queue<Runnable>        queue;
+		final Composite              tasks;
+
+		volatile int wip;
+		static final AtomicIntegerFieldUpdater<VirtualThreadWorker> WIP =
+				AtomicIntegerFieldUpdater.newUpdater(VirtualThreadWorker.class, "wip");
+
+		VirtualThreadWorker(VirtualThreadScheduler parent) {
+			this.parent = parent;
+			this.queue = Queues.<Runnable>unboundedMultiproducer().get();
+			this.tasks = Disposables.composite();
+		}
+
+		@Override
+		public Disposable schedule(Runnable task) {
+			Objects.requireNonNull(task, "task");
+			VirtualThreadTask r = new VirtualThreadTask(task, tasks, false, false);
+			if (!tasks.add(r)) {
+				throw Exceptions.failWithRejected();
+			}
+			try {
+				enqueue(r);
+			}
+			catch (RejectedExecutionException ex) {
+				r.dispose();
+				throw ex;
+			}
+			return r;
+		}
+
+		@Override
+		public Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+			if (delay <= 0L) {
+				return schedule(task);
+			}
+			Objects.requireNonNull(task, "task");
+			VirtualThreadTask r = new VirtualThreadTask(task, tasks, true, false);
+			if (!tasks.add(r)) {
+				throw Exceptions.failWithRejected();
+			}
+			return HandOffTask.scheduleTimed(parent.timer, r, this::enqueue, delay, 0L, unit);
+		}
+
+		@Override
+		public Disposable schedulePeriodically(Runnable task,
+				long initialDelay,
+				long period,
+				TimeUnit unit) {
+			Objects.requireNonNull(task, "task");
+			VirtualThreadTask r = new VirtualThreadTask(task, tasks, true, true);
+			if (!tasks.add(r)) {
+				throw Exceptions.failWithRejected();
+			}
+			return HandOffTask.scheduleTimed(parent.timer, r, this::enqueue, initialDelay, period, unit);
+		}
+
+		void enqueue(Runnable task) {
+			if (tasks.isDisposed()) {
+				throw Exceptions.failWithRejected();
+			}
+			queue.offer(task);
+			if (WIP.getAndIncrement(this) == 0) {
+				try {
+					parent.startThread(this);
+				}
+				catch (RejectedExecutionException ex) {
+					dispose();
+					throw ex;
+				}
+			}
+		}
+
+		@Override
+		public void run() {
+			final Queue<Runnable> q = queue;
+
+			int missed = 1;
+			for (; ; ) {
+				for (; ; ) {
+					if (tasks.isDisposed()) {
+						q.clear();
+						return;
+					}
+					Runnable task = q.poll();
+					if (task == null) {
+						break;
+					}
+					task.run();
+				}
+
+				missed = WIP.addAndGet(this, -missed);
+				if (missed == 0) {
+					return;
+				}
+			}
+		}
+
+		@Override
+		public void dispose() {
+			if (tasks.isDisposed()) {
+				return;
+			}
+			tasks.dispose();
+			parent.tasks.remove(this);
+		}
+
+		@Override
+		public boolean isDisposed() {
+			return tasks.isDisposed();
+		}
+
+		@Override
+		public Object scanUnsafe(Attr key) {
+			if (key == Attr.TERMINATED || key == Attr.CANCELLED) return isDisposed();
+			if (key == Attr.PARENT) return parent;
+			if (key == Attr.NAME) return parent.toString() + ".worker";
+			if (key == Attr.BUFFERED) return queue.size();
+
+			return null;
+		}
+	}
+}
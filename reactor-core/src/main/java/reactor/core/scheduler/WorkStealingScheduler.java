@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2011-2018 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.scheduler;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import reactor.core.Exceptions;
+import reactor.util.annotation.Nullable;
+import reactor.util.concurrent.Queues;
+
+/**
+ * Hosts a fixed pool of threads, each draining its own deque of runnable units, and is
+ * suited for parallel work. A unit is either a directly scheduled task or a whole
+ * {@link Worker} queue: workers drain their own tasks in FIFO order and strictly
+ * non-concurrently, but the unit representing a worker can be stolen by any idle thread
+ * while its home thread is busy. A single slow task thus only delays the tasks of its own
+ * worker instead of every task queued behind it on the same thread.
+ * <p>
+ * Delayed and periodic tasks are handed off to the pool once due, see
+ * {@link PinnedQueueScheduler}.
+ * <p>
+ * This scheduler is not restartable.
+ */
+final class WorkStealingScheduler extends PinnedQueueScheduler<WorkStealingScheduler.Lane> {
+
+	static final AtomicLong COUNTER = new AtomicLong();
+
+	/**
+	 * The maximum number of tasks a worker drains in one go before yielding its thread
+	 * to the other units waiting in the same deque.
+	 */
+	static final int WORKER_BATCH_SIZE = 64;
+
+	WorkStealingScheduler(int n, ThreadFactory factory) {
+		super(Schedulers.WORK_STEALING, n, factory, Lane[]::new);
+	}
+
+	@Override
+	Lane newLoop(int index) {
+		return new Lane(this, index);
+	}
+
+	/**
+	 * Wake up the thread of the lane if it is parked, or another parked thread that can
+	 * steal the unit otherwise.
+	 */
+	@Override
+	void wakeUp(Lane lane) {
+		if (lane.parked) {
+			LockSupport.unpark(lane.thread);
+			return;
+		}
+		for (Lane other : loops) {
+			if (other.parked) {
+				LockSupport.unpark(other.thread);
+				return;
+			}
+		}
+	}
+
+	@Nullable
+	Runnable steal(int thief) {
+		for (int i = 1; i < n; i++) {
+			Lane victim = loops[(thief + i) % n];
+			Runnable unit = victim.queue.pollLast();
+			if (unit != null) {
+				return unit;
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public Worker createWorker() {
+		return new WorkStealingWorker(this, pick());
+	}
+
+	/**
+	 * A thread of the pool, along with its deque of runnable units. The owner thread
+	 * polls from the head of its deque while thieves poll from the tail.
+	 */
+	static final class Lane extends Loop<WorkStealingScheduler, ConcurrentLinkedDeque<Runnable>> {
+
+		final int index;
+
+		Lane(WorkStealingScheduler parent, int index) {
+			super(parent, "lane" + index, new ConcurrentLinkedDeque<>());
+			this.index = index;
+		}
+
+		@Override
+		@Nullable
+		Runnable poll() {
+			Runnable unit = queue.pollFirst();
+			if (unit == null) {
+				unit = parent.steal(index);
+			}
+			return unit;
+		}
+	}
+
+	/**
+	 * A worker with its own task queue, submitted as a single unit to the lanes whenever
+	 * it has pending tasks. At most one lane drains it at any given time.
+	 */
+	static final class WorkStealingWorker extends PinnedWorker<Lane> implements Runnable {
+
+		final Queue<Runnable> queue;
+
+		volatile int wip;
+		static final AtomicIntegerFieldUpdater<WorkStealingWorker> WIP =
+				AtomicIntegerFieldUpdater.newUpdater(WorkStealingWorker.class, "wip");
+
+		WorkStealingWorker(WorkStealingScheduler parent, Lane home) {
+			super(parent, home);
+			this.queue = Queues.<Runnable>unboundedMultiproducer().get();
+		}
+
+		@Override
+		void enqueue(Runnable task) {
+			if (terminated) {
+				throw Exceptions.failWithRejected();
+			}
+			queue.offer(task);
+			if (WIP.getAndIncrement(this) == 0) {
+				try {
+					parent.submit(this, loop);
+				}
+				catch (RejectedExecutionException ex) {
+					dispose();
+					throw ex;
+				}
+			}
+		}
+
+		@Override
+		public void run() {
+			final Queue<Runnable> q = queue;
+
+			int drained = 0;
+			int e = 0;
+			int r = wip;
+
+			for (; ; ) {
+				while (e != r && drained + e < WORKER_BATCH_SIZE) {
+					if (terminated) {
+						q.clear();
+						return;
+					}
+					Runnable task = q.poll();
+
+					if (task == null) {
+						break;
+					}
+
+					task.run();
+
+					e++;
+				}
+
+				if (terminated) {
+					q.clear();
+					return;
+				}
+
+				drained += e;
+				r = WIP.addAndGet(this, -e);
+				if (r == 0) {
+					return;
+				}
+				e = 0;
+
+				if (drained >= WORKER_BATCH_SIZE) {
+					//let the other units of the lane run, the remaining tasks go to the tail
+					try {
+						parent.submit(this, loop);
+					}
+					catch (RejectedExecutionException ex) {
+						dispose();
+					}
+					return;
+				}
+			}
+		}
+
+		@Override
+		public Object scanUnsafe(Attr key) {
+			if (key == Attr.BUFFERED) return queue.size();
+
+			return super.scanUnsafe(key);
+		}
+	}
+}
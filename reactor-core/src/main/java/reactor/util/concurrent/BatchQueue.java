@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2011-2018 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.util.concurrent;
+
+import java.util.Queue;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * A {@link Queue} extension that moves several elements in or out at once, publishing
+ * its producer or consumer index only once per batch instead of once per element.
+ * <p>
+ * The single-producer and multi-producer/single-consumer array queues and the unbounded
+ * queues returned by {@link Queues} implement this interface, so operators can check for
+ * it with {@code instanceof} and fall back to {@link Queue#poll()} otherwise. The same
+ * threading constraints as {@link Queue#offer(Object)} and {@link Queue#poll()} apply:
+ * for instance a single-consumer queue must only be drained from one thread at a time.
+ *
+ * @param <T> the value type
+ */
+public interface BatchQueue<T> extends Queue<T> {
+
+	/**
+	 * Remove up to {@code limit} elements from the queue and hand each of them to the
+	 * given {@link Consumer}, in order. Draining stops early if the queue appears empty.
+	 * <p>
+	 * Elements handed to the consumer are removed from the queue even if the consumer
+	 * throws, in which case the exception is propagated and the remaining elements stay
+	 * in the queue.
+	 *
+	 * @param consumer the {@link Consumer} receiving the drained elements
+	 * @param limit the maximum number of elements to drain
+	 * @return the number of elements handed to the consumer
+	 */
+	int drain(Consumer<? super T> consumer, int limit);
+
+	/**
+	 * Add up to {@code limit} elements obtained from the given {@link Supplier} to the
+	 * queue. The supplier is only invoked when there is room for the element it returns,
+	 * so bounded queues stop early when full.
+	 *
+	 * @param supplier the non-null element {@link Supplier}
+	 * @param limit the maximum number of elements to add
+	 * @return the number of elements added to the queue
+	 */
+	int fill(Supplier<? extends T> supplier, int limit);
+}
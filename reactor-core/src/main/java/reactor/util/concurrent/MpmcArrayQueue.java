@@ -0,0 +1,280 @@
+/*
+ * Copyright (c) 2011-2018 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.util.concurrent;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.atomic.*;
+
+import reactor.util.annotation.Nullable;
+
+
+/**
+ * A bounded, array backed, multi-producer multi-consumer queue.
+ *
+ * This implementation is based on Dmitry Vyukov's
+ * <a href='http://www.1024cores.net/home/lock-free-algorithms/queues/bounded-mpmc-queue'>bounded MPMC queue</a>:
+ * each slot carries a sequence number telling producers and consumers whether the slot
+ * is free or filled for their current lap, so that claiming a slot only takes a CAS on
+ * the producer or consumer index. Like in JCTools, the sequence of a slot is twice the
+ * index it is free for, plus one once filled: with the original scheme, the filled mark
+ * of a slot is also the free mark of the next lap when the capacity is 1. Like
+ * {@link SpscArrayQueue}, the indexes are padded against false sharing through the class
+ * hierarchy.
+ *
+ * @param <T> the value type
+ */
+final class MpmcArrayQueue<T> extends MpmcArrayQueueP3<T> implements Queue<T> {
+	/** */
+	private static final long serialVersionUID = 6474830428431359484L;
+
+	MpmcArrayQueue(int capacity) {
+		super(Queues.ceilingNextPowerOfTwo(capacity));
+	}
+
+	@Override
+	public boolean offer(T e) {
+		Objects.requireNonNull(e, "e");
+		final AtomicLongArray seq = sequences;
+		for (;;) {
+			long pi = producerIndex;
+			int offset = (int)pi & mask;
+			long s = seq.get(offset);
+			if (s == 2 * pi) {
+				if (PRODUCER_INDEX.compareAndSet(this, pi, pi + 1)) {
+					lazySet(offset, e);
+					seq.lazySet(offset, 2 * pi + 1);
+					return true;
+				}
+			}
+			else if (s < 2 * pi) {
+				//the slot of the previous lap hasn't been consumed yet: full
+				return false;
+			}
+			//else another producer claimed the slot in the meantime, retry
+		}
+	}
+
+	@Override
+	@Nullable
+	public T poll() {
+		final AtomicLongArray seq = sequences;
+		for (;;) {
+			long ci = consumerIndex;
+			int offset = (int)ci & mask;
+			long s = seq.get(offset);
+			if (s == 2 * ci + 1) {
+				if (CONSUMER_INDEX.compareAndSet(this, ci, ci + 1)) {
+					T v = get(offset);
+					lazySet(offset, null);
+					seq.lazySet(offset, 2 * (ci + length()));
+					return v;
+				}
+			}
+			else if (s < 2 * ci + 1) {
+				//the slot hasn't been produced yet: empty
+				return null;
+			}
+			//else another consumer claimed the slot in the meantime, retry
+		}
+	}
+
+	@Override
+	@Nullable
+	public T peek() {
+		final AtomicLongArray seq = sequences;
+		for (;;) {
+			long ci = consumerIndex;
+			int offset = (int)ci & mask;
+			if (seq.get(offset) != 2 * ci + 1) {
+				return null;
+			}
+			T v = get(offset);
+			if (ci == consumerIndex) {
+				return v;
+			}
+		}
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return producerIndex == consumerIndex;
+	}
+
+	@Override
+	public void clear() {
+		while (poll() != null && !isEmpty());
+	}
+
+	@Override
+	public int size() {
+		long ci = consumerIndex;
+		for (;;) {
+			long pi = producerIndex;
+			long ci2 = consumerIndex;
+			if (ci == ci2) {
+				return (int)(pi - ci);
+			}
+			ci = ci2;
+		}
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public Object[] toArray() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public <R> R[] toArray(R[] a) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public boolean containsAll(Collection<?> c) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public boolean addAll(Collection<? extends T> c) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public boolean removeAll(Collection<?> c) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public boolean retainAll(Collection<?> c) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public boolean add(T e) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public T remove() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public T element() {
+		throw new UnsupportedOperationException();
+	}
+}
+
+class MpmcArrayQueueCold<T> extends AtomicReferenceArray<T> {
+	/** */
+	private static final long serialVersionUID = -2195409622409003325L;
+
+	final int             mask;
+	final AtomicLongArray sequences;
+
+	public MpmcArrayQueueCold(int length) {
+		super(length);
+		mask = length - 1;
+		sequences = new AtomicLongArray(length);
+		for (int i = 0; i < length; i++) {
+			sequences.lazySet(i, 2L * i);
+		}
+	}
+}
+class MpmcArrayQueueP1<T> extends MpmcArrayQueueCold<T> {
+	/** */
+	private static final long serialVersionUID = -1962747592066617386L;
+
+	volatile long p00, p01, p02, p03, p04, p05, p06, p07;
+	volatile long p08, p09, p0A, p0B, p0C, p0D, p0E;
+
+	public MpmcArrayQueueP1(int length) {
+		super(length);
+	}
+}
+
+class MpmcArrayQueueProducer<T> extends MpmcArrayQueueP1<T> {
+
+	/** */
+	private static final long serialVersionUID = 7351530339227549914L;
+
+	public MpmcArrayQueueProducer(int length) {
+		super(length);
+	}
+
+	volatile long producerIndex;
+	@SuppressWarnings("rawtypes")
+	static final AtomicLongFieldUpdater<MpmcArrayQueueProducer> PRODUCER_INDEX =
+			AtomicLongFieldUpdater.newUpdater(MpmcArrayQueueProducer.class, "producerIndex");
+
+}
+
+class MpmcArrayQueueP2<T> extends MpmcArrayQueueProducer<T> {
+	/** */
+	private static final long serialVersionUID = 2580946539414744427L;
+
+	volatile long p00, p01, p02, p03, p04, p05, p06, p07;
+	volatile long p08, p09, p0A, p0B, p0C, p0D, p0E;
+
+	public MpmcArrayQueueP2(int length) {
+		super(length);
+	}
+}
+
+class MpmcArrayQueueConsumer<T> extends MpmcArrayQueueP2<T> {
+
+	/** */
+	private static final long serialVersionUID = -5937003367390838935L;
+
+	public MpmcArrayQueueConsumer(int length) {
+		super(length);
+	}
+
+	volatile long consumerIndex;
+	@SuppressWarnings("rawtypes")
+	static final AtomicLongFieldUpdater<MpmcArrayQueueConsumer> CONSUMER_INDEX =
+			AtomicLongFieldUpdater.newUpdater(MpmcArrayQueueConsumer.class, "consumerIndex");
+
+}
+
+class MpmcArrayQueueP3<T> extends MpmcArrayQueueConsumer<T> {
+	/** */
+	private static final long serialVersionUID = 4361488436011563431L;
+
+	volatile long p00, p01, p02, p03, p04, p05, p06, p07;
+	volatile long p08, p09, p0A, p0B, p0C, p0D, p0E;
+
+	public MpmcArrayQueueP3(int length) {
+		super(length);
+	}
+}
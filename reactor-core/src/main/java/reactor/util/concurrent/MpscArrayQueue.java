@@ -0,0 +1,385 @@
+/*
+ * Copyright (c) 2011-2018 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.util.concurrent;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.atomic.*;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import reactor.util.annotation.Nullable;
+
+
+/**
+ * A bounded, array backed, multi-producer single-consumer queue.
+ *
+ * This implementation is based on JCTools' MPSC algorithm:
+ * <a href='https://github.com/JCTools/JCTools/blob/master/jctools-core/src/main/java/org/jctools/queues/atomic/MpscAtomicArrayQueue.java'>MpscAtomicArrayQueue</a>.
+ * Producers claim a slot with a CAS on the producer index, checked against a cached
+ * limit so that the consumer index is only read when the cached limit is reached, and
+ * the single consumer detects filled slots by their non-null value. Like
+ * {@link SpscArrayQueue}, this class inlines the AtomicReferenceArray directly and pads
+ * the indexes through the class hierarchy.
+ *
+ * @param <T> the value type
+ */
+final class MpscArrayQueue<T> extends MpscArrayQueueP3<T> implements BatchQueue<T> {
+	/** */
+	private static final long serialVersionUID = -3406484622063962932L;
+
+	/**
+	 * Stored by {@link #fill} in the slots it claimed but couldn't fill because its
+	 * supplier failed, so that the consumer skips them instead of waiting forever.
+	 */
+	static final Object SKIP = new Object();
+
+	MpscArrayQueue(int capacity) {
+		super(Queues.ceilingNextPowerOfTwo(capacity));
+	}
+
+	@Override
+	public boolean offer(T e) {
+		Objects.requireNonNull(e, "e");
+		long limit = producerLimit;
+		long pi;
+		do {
+			pi = producerIndex;
+			if (pi >= limit) {
+				limit = consumerIndex + length();
+				if (pi >= limit) {
+					return false;
+				}
+				PRODUCER_LIMIT.lazySet(this, limit);
+			}
+		}
+		while (!PRODUCER_INDEX.compareAndSet(this, pi, pi + 1));
+
+		lazySet((int)pi & mask, e);
+		return true;
+	}
+
+	@Override
+	@Nullable
+	public T poll() {
+		for (;;) {
+			long ci = consumerIndex;
+			int offset = (int) ci & mask;
+
+			T v = get(offset);
+			if (v == null) {
+				if (ci == producerIndex) {
+					return null;
+				}
+				//a producer claimed the slot but hasn't stored its value yet
+				while ((v = get(offset)) == null) {
+					Thread.yield();
+				}
+			}
+			lazySet(offset, null);
+			CONSUMER_INDEX.lazySet(this, ci + 1);
+			if (v != SKIP) {
+				return v;
+			}
+		}
+	}
+
+	/**
+	 * {@inheritDoc} <br>
+	 * <p>
+	 * IMPLEMENTATION NOTES:<br>
+	 * Drain is allowed from a SINGLE thread.<br>
+	 * Drain reads the slots like {@link #poll()}, waiting for claimed slots whose value
+	 * isn't stored yet, but only publishes the consumer index once per batch.
+	 */
+	@Override
+	public int drain(Consumer<? super T> consumer, int limit) {
+		final int m = mask;
+		final long ci = consumerIndex;
+		long index = ci;
+		int i = 0;
+		try {
+			while (i < limit) {
+				int offset = (int) index & m;
+				T v = get(offset);
+				if (v == null) {
+					if (index == producerIndex) {
+						break;
+					}
+					while ((v = get(offset)) == null) {
+						Thread.yield();
+					}
+				}
+				lazySet(offset, null);
+				index++;
+				if (v != SKIP) {
+					i++;
+					consumer.accept(v);
+				}
+			}
+		}
+		finally {
+			if (index != ci) {
+				CONSUMER_INDEX.lazySet(this, index);
+			}
+		}
+		return i;
+	}
+
+	/**
+	 * {@inheritDoc} <br>
+	 * <p>
+	 * IMPLEMENTATION NOTES:<br>
+	 * Fill is allowed from multiple threads.<br>
+	 * Fill claims all the available slots of the batch with a single CAS on the producer
+	 * index, then stores the supplied values. If the supplier throws or returns null,
+	 * the values supplied so far stay in the queue, the remaining claimed slots are
+	 * marked to be skipped by the consumer and the exception is propagated. Until the
+	 * consumer has gone past them, the skipped slots still count in {@link #size()}.
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public int fill(Supplier<? extends T> supplier, int limit) {
+		if (limit <= 0) {
+			return 0;
+		}
+		long pLimit = producerLimit;
+		long pi;
+		int n;
+		do {
+			pi = producerIndex;
+			long available = pLimit - pi;
+			if (available <= 0) {
+				pLimit = consumerIndex + length();
+				available = pLimit - pi;
+				if (available <= 0) {
+					return 0;
+				}
+				PRODUCER_LIMIT.lazySet(this, pLimit);
+			}
+			n = (int) Math.min(available, limit);
+		}
+		while (!PRODUCER_INDEX.compareAndSet(this, pi, pi + n));
+
+		final int m = mask;
+		int i = 0;
+		try {
+			for (; i < n; i++) {
+				lazySet((int) (pi + i) & m,
+						Objects.requireNonNull(supplier.get(), "The supplier returned a null value"));
+			}
+		}
+		finally {
+			for (int j = i; j < n; j++) {
+				lazySet((int) (pi + j) & m, (T) SKIP);
+			}
+		}
+		return n;
+	}
+
+	@Override
+	@Nullable
+	public T peek() {
+		for (;;) {
+			long ci = consumerIndex;
+			int offset = (int) ci & mask;
+
+			T v = get(offset);
+			if (v == null && ci != producerIndex) {
+				while ((v = get(offset)) == null) {
+					Thread.yield();
+				}
+			}
+			if (v != SKIP) {
+				return v;
+			}
+			//only the consumer peeks, so it can go past a skipped slot
+			lazySet(offset, null);
+			CONSUMER_INDEX.lazySet(this, ci + 1);
+		}
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return producerIndex == consumerIndex;
+	}
+
+	@Override
+	public void clear() {
+		while (poll() != null && !isEmpty());
+	}
+
+	@Override
+	public int size() {
+		long ci = consumerIndex;
+		for (;;) {
+			long pi = producerIndex;
+			long ci2 = consumerIndex;
+			if (ci == ci2) {
+				return (int)(pi - ci);
+			}
+			ci = ci2;
+		}
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public Object[] toArray() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public <R> R[] toArray(R[] a) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public boolean containsAll(Collection<?> c) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public boolean addAll(Collection<? extends T> c) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public boolean removeAll(Collection<?> c) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public boolean retainAll(Collection<?> c) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public boolean add(T e) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public T remove() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public T element() {
+		throw new UnsupportedOperationException();
+	}
+}
+
+class MpscArrayQueueCold<T> extends AtomicReferenceArray<T> {
+	/** */
+	private static final long serialVersionUID = 3839839437418936411L;
+
+	final int mask;
+
+	public MpscArrayQueueCold(int length) {
+		super(length);
+		mask = length - 1;
+	}
+}
+class MpscArrayQueueP1<T> extends MpscArrayQueueCold<T> {
+	/** */
+	private static final long serialVersionUID = -8123749216315428213L;
+
+	volatile long p00, p01, p02, p03, p04, p05, p06, p07;
+	volatile long p08, p09, p0A, p0B, p0C, p0D, p0E;
+
+	public MpscArrayQueueP1(int length) {
+		super(length);
+	}
+}
+
+class MpscArrayQueueProducer<T> extends MpscArrayQueueP1<T> {
+
+	/** */
+	private static final long serialVersionUID = 2434398718338787215L;
+
+	public MpscArrayQueueProducer(int length) {
+		super(length);
+		PRODUCER_LIMIT.lazySet(this, length);
+	}
+
+	volatile long producerIndex;
+	@SuppressWarnings("rawtypes")
+	static final AtomicLongFieldUpdater<MpscArrayQueueProducer> PRODUCER_INDEX =
+			AtomicLongFieldUpdater.newUpdater(MpscArrayQueueProducer.class, "producerIndex");
+
+	/** a cached upper bound of the producer index, lagging behind the consumer index */
+	volatile long producerLimit;
+	@SuppressWarnings("rawtypes")
+	static final AtomicLongFieldUpdater<MpscArrayQueueProducer> PRODUCER_LIMIT =
+			AtomicLongFieldUpdater.newUpdater(MpscArrayQueueProducer.class, "producerLimit");
+
+}
+
+class MpscArrayQueueP2<T> extends MpscArrayQueueProducer<T> {
+	/** */
+	private static final long serialVersionUID = -1045498622862245513L;
+
+	volatile long p00, p01, p02, p03, p04, p05, p06, p07;
+	volatile long p08, p09, p0A, p0B, p0C, p0D, p0E;
+
+	public MpscArrayQueueP2(int length) {
+		super(length);
+	}
+}
+
+class MpscArrayQueueConsumer<T> extends MpscArrayQueueP2<T> {
+
+	/** */
+	private static final long serialVersionUID = 6380307616467632154L;
+
+	public MpscArrayQueueConsumer(int length) {
+		super(length);
+	}
+
+	volatile long consumerIndex;
+	@SuppressWarnings("rawtypes")
+	static final AtomicLongFieldUpdater<MpscArrayQueueConsumer> CONSUMER_INDEX =
+			AtomicLongFieldUpdater.newUpdater(MpscArrayQueueConsumer.class, "consumerIndex");
+
+}
+
+class MpscArrayQueueP3<T> extends MpscArrayQueueConsumer<T> {
+	/** */
+	private static final long serialVersionUID = 5512964532101306428L;
+
+	volatile long p00, p01, p02, p03, p04, p05, p06, p07;
+	volatile long p08, p09, p0A, p0B, p0C, p0D, p0E;
+
+	public MpscArrayQueueP3(int length) {
+		super(length);
+	}
+}
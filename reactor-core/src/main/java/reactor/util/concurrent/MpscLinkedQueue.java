@@ -25,6 +25,8 @@ import java.util.Iterator;
 import java.util.Objects;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.function.BiPredicate;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import reactor.util.annotation.Nullable;
 
@@ -32,7 +34,7 @@ import reactor.util.annotation.Nullable;
  * A multi-producer single consumer unbounded queue.
  * @param <E> the contained value type
  */
-final class MpscLinkedQueue<E> extends AbstractQueue<E> implements BiPredicate<E, E> {
+final class MpscLinkedQueue<E> extends AbstractQueue<E> implements BatchQueue<E>, BiPredicate<E, E> {
 	private volatile LinkedQueueNode<E> producerNode;
 
 	private final static AtomicReferenceFieldUpdater<MpscLinkedQueue, LinkedQueueNode> PRODUCER_NODE_UPDATER
@@ -190,6 +192,72 @@ final class MpscLinkedQueue<E> extends AbstractQueue<E> implements BiPredicate<E
 		return null;
 	}
 
+	/**
+	 * {@inheritDoc} <br>
+	 * <p>
+	 * IMPLEMENTATION NOTES:<br>
+	 * Drain is allowed from a SINGLE thread.<br>
+	 * Drain walks the nodes like {@link #poll()} but only publishes the last consumed
+	 * node as the consumer node, once per batch.
+	 */
+	@Override
+	public int drain(Consumer<? super E> consumer, int limit) {
+		LinkedQueueNode<E> currConsumerNode = consumerNode;
+		int i = 0;
+		try {
+			while (i < limit) {
+				LinkedQueueNode<E> nextNode = currConsumerNode.lvNext();
+				if (nextNode == null) {
+					if (currConsumerNode == producerNode) {
+						break;
+					}
+					while ((nextNode = currConsumerNode.lvNext()) == null) { }
+				}
+				final E nextValue = nextNode.getAndNullValue();
+				currConsumerNode.soNext(currConsumerNode);
+				currConsumerNode = nextNode;
+				i++;
+				consumer.accept(nextValue);
+			}
+		}
+		finally {
+			if (i != 0) {
+				CONSUMER_NODE_UPDATER.lazySet(this, currConsumerNode);
+			}
+		}
+		return i;
+	}
+
+	/**
+	 * {@inheritDoc} <br>
+	 * <p>
+	 * IMPLEMENTATION NOTES:<br>
+	 * Fill is allowed from multiple threads.<br>
+	 * Fill links all the new nodes together first, then swaps the last one with the
+	 * current producer node once for the whole batch, as {@link #test} does for two
+	 * elements. If the supplier throws, none of the batch is added.
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public int fill(Supplier<? extends E> supplier, int limit) {
+		if (limit <= 0) {
+			return 0;
+		}
+		final LinkedQueueNode<E> firstNode =
+				new LinkedQueueNode<>(Objects.requireNonNull(supplier.get(), "The supplier returned a null value"));
+		LinkedQueueNode<E> lastNode = firstNode;
+		for (int i = 1; i < limit; i++) {
+			LinkedQueueNode<E> node =
+					new LinkedQueueNode<>(Objects.requireNonNull(supplier.get(), "The supplier returned a null value"));
+			lastNode.soNext(node);
+			lastNode = node;
+		}
+
+		final LinkedQueueNode<E> prevProducerNode = PRODUCER_NODE_UPDATER.getAndSet(this, lastNode);
+		prevProducerNode.soNext(firstNode); // StoreStore
+		return limit;
+	}
+
 	@Override
 	public boolean remove(Object o) {
 		throw new UnsupportedOperationException();
@@ -61,6 +61,12 @@ public final class Queues {
 		else if (q instanceof SpscArrayQueue) {
 			return ((SpscArrayQueue) q).length();
 		}
+		else if (q instanceof MpscArrayQueue) {
+			return ((MpscArrayQueue) q).length();
+		}
+		else if (q instanceof MpmcArrayQueue) {
+			return ((MpmcArrayQueue) q).length();
+		}
 		else if(q instanceof MpscLinkedQueue) {
 			return Integer.MAX_VALUE;
 		}
@@ -101,6 +107,9 @@ public final class Queues {
 	}
 
 	/**
+	 * Returns a single-producer/single-consumer queue supplier. Bounded sizes are
+	 * rounded up to the next power of 2 and backed by an array queue whose producer and
+	 * consumer indexes are padded to sit on separate cache lines.
 	 *
 	 * @param batchSize the bounded or unbounded (int.max) queue size
 	 * @param <T> the reified {@link Queue} generic type
@@ -224,6 +233,36 @@ public final class Queues {
 		return MpscLinkedQueue::new;
 	}
 
+	/**
+	 * Returns a bounded, array backed queue suitable for multi-producer/single-consumer
+	 * (MPSC) scenarios. The capacity is rounded up to the next power of 2.
+	 *
+	 * @param capacity the minimum capacity of the queue
+	 * @param <T> the reified {@link Queue} generic type
+	 * @return a bounded MPSC {@link Queue} {@link Supplier}
+	 */
+	public static <T> Supplier<Queue<T>> mpsc(int capacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("capacity > 0 required but it was " + capacity);
+		}
+		return () -> new MpscArrayQueue<>(capacity);
+	}
+
+	/**
+	 * Returns a bounded, array backed queue suitable for multi-producer/multi-consumer
+	 * (MPMC) scenarios. The capacity is rounded up to the next power of 2.
+	 *
+	 * @param capacity the minimum capacity of the queue
+	 * @param <T> the reified {@link Queue} generic type
+	 * @return a bounded MPMC {@link Queue} {@link Supplier}
+	 */
+	public static <T> Supplier<Queue<T>> mpmc(int capacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("capacity > 0 required but it was " + capacity);
+		}
+		return () -> new MpmcArrayQueue<>(capacity);
+	}
+
 	private Queues() {
 		//prevent construction
 	}
@@ -20,6 +20,8 @@ import java.util.Iterator;
 import java.util.Objects;
 import java.util.Queue;
 import java.util.concurrent.atomic.*;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import reactor.util.annotation.Nullable;
 
@@ -36,7 +38,7 @@ import reactor.util.annotation.Nullable;
  * 
  * @param <T> the value type
  */
-final class SpscArrayQueue<T> extends SpscArrayQueueP3<T> implements Queue<T> {
+final class SpscArrayQueue<T> extends SpscArrayQueueP3<T> implements BatchQueue<T> {
 	/** */
 	private static final long serialVersionUID = 494623116936946976L;
 
@@ -78,6 +80,53 @@ final class SpscArrayQueue<T> extends SpscArrayQueueP3<T> implements Queue<T> {
 		return get(offset);
 	}
 	
+	@Override
+	public int drain(Consumer<? super T> consumer, int limit) {
+		final int m = mask;
+		final long ci = consumerIndex;
+		int i = 0;
+		try {
+			while (i < limit) {
+				int offset = (int) (ci + i) & m;
+				T v = get(offset);
+				if (v == null) {
+					break;
+				}
+				lazySet(offset, null);
+				i++;
+				consumer.accept(v);
+			}
+		}
+		finally {
+			if (i != 0) {
+				CONSUMER_INDEX.lazySet(this, ci + i);
+			}
+		}
+		return i;
+	}
+
+	@Override
+	public int fill(Supplier<? extends T> supplier, int limit) {
+		final int m = mask;
+		final long pi = producerIndex;
+		int i = 0;
+		try {
+			for (; i < limit; i++) {
+				int offset = (int) (pi + i) & m;
+				if (get(offset) != null) {
+					break;
+				}
+				lazySet(offset, Objects.requireNonNull(supplier.get(), "The supplier returned a null value"));
+			}
+		}
+		finally {
+			if (i != 0) {
+				PRODUCER_INDEX.lazySet(this, pi + i);
+			}
+		}
+		return i;
+	}
+
 	@Override
 	public boolean isEmpty() {
 		return producerIndex == consumerIndex;
@@ -22,6 +22,8 @@ import java.util.Objects;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.BiPredicate;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import reactor.util.annotation.Nullable;
 
@@ -41,7 +43,7 @@ import reactor.util.annotation.Nullable;
  * @param <T> the value type
  */
 final class SpscLinkedArrayQueue<T> extends AbstractQueue<T>
-		implements BiPredicate<T, T> {
+		implements BatchQueue<T>, BiPredicate<T, T> {
 
 	final int mask;
 
@@ -189,6 +191,79 @@ final class SpscLinkedArrayQueue<T> extends AbstractQueue<T>
 		return (T) o;
 	}
 
+	@SuppressWarnings("unchecked")
+	@Override
+	public int drain(Consumer<? super T> consumer, int limit) {
+		final long ci = consumerIndex;
+		final int m = mask;
+		AtomicReferenceArray<Object> a = consumerArray;
+		int i = 0;
+		try {
+			while (i < limit) {
+				int offset = (int) (ci + i) & m;
+
+				Object o = a.get(offset);
+
+				if (o == null) {
+					break;
+				}
+				if (o == NEXT) {
+					AtomicReferenceArray<Object> b = (AtomicReferenceArray<Object>) a.get(m + 1);
+					a.lazySet(m + 1, null);
+					o = b.get(offset);
+					a = b;
+					consumerArray = b;
+				}
+				a.lazySet(offset, null);
+				i++;
+				consumer.accept((T) o);
+			}
+		}
+		finally {
+			if (i != 0) {
+				CONSUMER_INDEX.lazySet(this, ci + i);
+			}
+		}
+		return i;
+	}
+
+	@Override
+	public int fill(Supplier<? extends T> supplier, int limit) {
+		final long pi = producerIndex;
+		final int m = mask;
+		AtomicReferenceArray<Object> a = producerArray;
+		int i = 0;
+		try {
+			for (; i < limit; i++) {
+				T e = Objects.requireNonNull(supplier.get(), "The supplier returned a null value");
+				long p = pi + i;
+
+				int offset = (int) (p + 1) & m;
+
+				if (a.get(offset) != null) {
+					offset = (int) p & m;
+
+					AtomicReferenceArray<Object> b = new AtomicReferenceArray<>(m + 2);
+					producerArray = b;
+					b.lazySet(offset, e);
+					a.lazySet(m + 1, b);
+					a.lazySet(offset, NEXT);
+					a = b;
+				}
+				else {
+					offset = (int) p & m;
+					a.lazySet(offset, e);
+				}
+			}
+		}
+		finally {
+			if (i != 0) {
+				PRODUCER_INDEX.lazySet(this, pi + i);
+			}
+		}
+		return i;
+	}
+
 	@Override
 	public boolean isEmpty() {
 		return producerIndex == consumerIndex;
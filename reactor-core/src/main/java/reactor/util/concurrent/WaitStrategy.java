@@ -65,6 +65,19 @@ public abstract class WaitStrategy {
 	    return t == AlertException.INSTANCE;
     }
 
+    /**
+     * Test if a strategy can block until {@link #signalAllWhenBlocking()} is called,
+     * without running the spin observer given to {@link #waitFor(long, LongSupplier, Runnable)}
+     * in the meantime, like the lock based strategies do. Such a wait can't be ended by
+     * the spin observer alone.
+     *
+     * @param strategy the strategy checked
+     * @return true if the strategy can block until signalled
+     */
+    public static boolean isBlocking(WaitStrategy strategy) {
+        return strategy.blocksUntilSignalled();
+    }
+
     /**
      * Variation of the {@link #blocking()} that attempts to elide conditional wake-ups when the lock is uncontended.
      * Shows performance improvements on microbenchmarks.  However this wait strategy should be considered experimental
@@ -182,6 +195,10 @@ public abstract class WaitStrategy {
     public void signalAllWhenBlocking() {
     }
 
+    boolean blocksUntilSignalled() {
+        return false;
+    }
+
     /**
      * Wait for the given sequence to be available.  It is possible for this method to return a value
      * less than the sequence number supplied depending on the implementation of the WaitStrategy.  A common
@@ -238,6 +255,11 @@ public abstract class WaitStrategy {
         private final Lock      lock                     = new ReentrantLock();
         private final Condition processorNotifyCondition = lock.newCondition();
 
+        @Override
+        boolean blocksUntilSignalled() {
+            return true;
+        }
+
         @Override
         public void signalAllWhenBlocking()
         {
@@ -329,6 +351,11 @@ public abstract class WaitStrategy {
         private final Condition     processorNotifyCondition = lock.newCondition();
         private final AtomicBoolean signalNeeded             = new AtomicBoolean(false);
 
+        @Override
+        boolean blocksUntilSignalled() {
+            return true;
+        }
+
         @Override
         public void signalAllWhenBlocking()
         {
@@ -401,6 +428,11 @@ public abstract class WaitStrategy {
             this.fallbackStrategy = fallbackStrategy;
         }
 
+        @Override
+        boolean blocksUntilSignalled() {
+            return fallbackStrategy.blocksUntilSignalled();
+        }
+
         @Override
         public void signalAllWhenBlocking()
         {
@@ -267,4 +267,26 @@ public class DirectProcessorTest {
         assertThat(test.scan(Scannable.Attr.CANCELLED)).isTrue();
     }
 
+    @Test
+    public void largeFanOutDeliversToAllSubscribers() {
+        DirectProcessor<Integer> tp = DirectProcessor.createForLargeFanOut();
+        AssertSubscriber<Integer> ts1 = AssertSubscriber.create();
+        AssertSubscriber<Integer> ts2 = AssertSubscriber.create();
+
+        tp.subscribe(ts1);
+        tp.subscribe(ts2);
+        assertThat(tp.subscribers.stripes).hasSize(SubscriberRegistry.STRIPES);
+
+        tp.onNext(1);
+        ts1.cancel();
+        tp.onNext(2);
+        tp.onComplete();
+
+        ts1.assertValues(1)
+           .assertNotComplete();
+        ts2.assertValues(1, 2)
+           .assertComplete();
+        assertThat(tp.hasDownstreams()).isFalse();
+    }
+
 }
@@ -25,6 +25,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
 
 import org.junit.Assert;
 import org.junit.Ignore;
@@ -39,9 +40,12 @@ import reactor.core.Scannable;
 import reactor.core.scheduler.Scheduler;
 import reactor.core.scheduler.Schedulers;
 import reactor.test.StepVerifier;
+import reactor.test.scheduler.VirtualTimeScheduler;
 import reactor.test.subscriber.AssertSubscriber;
 import reactor.util.annotation.Nullable;
+import reactor.util.concurrent.BatchQueue;
 import reactor.util.concurrent.Queues;
+import reactor.util.context.Context;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.assertEquals;
@@ -863,4 +867,355 @@ public class EmitterProcessorTest {
 
 		assertThat(test.scan(Attr.ERROR)).hasMessage("boom");
 	}
+
+	@Test(timeout = 10000)
+	public void multiProducerOnNextFromSeveralThreads() throws InterruptedException {
+		int producers = 4;
+		int perProducer = 5_000;
+		EmitterProcessor<Integer> processor = EmitterProcessor.createMultiProducer(16);
+		AssertSubscriber<Integer> ts = AssertSubscriber.create();
+		processor.subscribe(ts);
+
+		CyclicBarrier start = new CyclicBarrier(producers);
+		CountDownLatch done = new CountDownLatch(producers);
+		for (int p = 0; p < producers; p++) {
+			new Thread(() -> {
+				try {
+					start.await();
+				}
+				catch (Exception e) {
+					throw new IllegalStateException(e);
+				}
+				for (int i = 0; i < perProducer; i++) {
+					processor.onNext(i);
+				}
+				done.countDown();
+			}).start();
+		}
+
+		assertThat(done.await(9, TimeUnit.SECONDS)).isTrue();
+		processor.onComplete();
+
+		ts.await(Duration.ofSeconds(5))
+		  .assertValueCount(producers * perProducer)
+		  .assertNoError()
+		  .assertComplete();
+		assertThat(ts.values().stream().mapToLong(Integer::longValue).sum())
+				.isEqualTo((long) producers * perProducer * (perProducer - 1) / 2);
+	}
+
+	@Test
+	public void multiProducerUsesBoundedMpscBacklog() {
+		EmitterProcessor<Integer> processor = EmitterProcessor.createMultiProducer(16);
+		AssertSubscriber<Integer> ts = AssertSubscriber.create(0);
+		processor.subscribe(ts);
+
+		for (int i = 0; i < 10; i++) {
+			processor.onNext(i);
+		}
+
+		assertThat(processor.isSerialized()).isTrue();
+		assertThat(processor.queue).isInstanceOf(BatchQueue.class);
+		assertThat(processor.getPending()).isEqualTo(10);
+
+		ts.request(3);
+		ts.assertValues(0, 1, 2);
+		assertThat(processor.getPending()).isEqualTo(7);
+
+		ts.request(Long.MAX_VALUE);
+		processor.onComplete();
+		ts.assertValueCount(10)
+		  .assertComplete();
+	}
+
+	@Test
+	public void chunkedDrainRespectsSlowestSubscriber() {
+		EmitterProcessor<Integer> processor = EmitterProcessor.create(32);
+		AssertSubscriber<Integer> fast = AssertSubscriber.create();
+		AssertSubscriber<Integer> slow = AssertSubscriber.create(2);
+		processor.subscribe(fast);
+		processor.subscribe(slow);
+
+		for (int i = 0; i < 5; i++) {
+			processor.onNext(i);
+		}
+
+		fast.assertValues(0, 1);
+		slow.assertValues(0, 1);
+
+		slow.cancel();
+		fast.assertValues(0, 1, 2, 3, 4);
+
+		processor.onComplete();
+		fast.assertComplete();
+	}
+
+	@Nullable
+	static Scannable innerOf(EmitterProcessor<?> processor, Subscriber<?> actual) {
+		return processor.inners()
+		                .filter(inner -> inner.scanUnsafe(Attr.ACTUAL) == actual)
+		                .findFirst()
+		                .orElse(null);
+	}
+
+	@Test
+	public void slowSubscriberDisconnectedAfterLag() {
+		EmitterProcessor<Integer> processor = EmitterProcessor.create(16, true,
+				SlowSubscriberPolicy.afterLag(4, FluxSink.OverflowStrategy.ERROR));
+		AssertSubscriber<Integer> fast = AssertSubscriber.create();
+		AssertSubscriber<Integer> slow = AssertSubscriber.create(1);
+		processor.subscribe(fast);
+		processor.subscribe(slow);
+
+		for (int i = 0; i < 3; i++) {
+			processor.onNext(i);
+		}
+		fast.assertValues(0);
+		assertThat(innerOf(processor, slow).scan(Attr.LAG)).isEqualTo(2);
+		assertThat(innerOf(processor, fast).scan(Attr.LAG)).isZero();
+
+		for (int i = 3; i < 10; i++) {
+			processor.onNext(i);
+		}
+		processor.onComplete();
+
+		fast.assertValues(0, 1, 2, 3, 4, 5, 6, 7, 8, 9)
+		    .assertComplete();
+		slow.assertValues(0)
+		    .assertErrorWith(e -> assertThat(e)
+				    .isInstanceOf(IllegalStateException.class)
+				    .hasMessage("The subscriber lagged behind by 5 values"));
+		assertThat(processor.downstreamCount()).isZero();
+	}
+
+	@Test
+	public void lagIsReportedOnceSwitchedToDrop() {
+		EmitterProcessor<Integer> processor = EmitterProcessor.create(16, true,
+				SlowSubscriberPolicy.afterLag(2, FluxSink.OverflowStrategy.DROP));
+		AssertSubscriber<Integer> gate = AssertSubscriber.create(1);
+		AssertSubscriber<Integer> slow = AssertSubscriber.create(0);
+		processor.subscribe(gate);
+		processor.subscribe(slow);
+
+		for (int i = 0; i < 3; i++) {
+			processor.onNext(i);
+		}
+		gate.assertValues(0);
+		slow.assertNoValues();
+
+		FluxPublish.PubSubInner<?> inner = (FluxPublish.PubSubInner<?>) innerOf(processor, slow);
+		assertThat(inner.lagMode).isEqualTo(FluxSink.OverflowStrategy.DROP);
+		assertThat(inner.scan(Attr.LAG)).as("slow lag").isEqualTo(2);
+		assertThat(innerOf(processor, gate).scan(Attr.LAG)).as("gate lag").isEqualTo(2);
+	}
+
+	@Test
+	public void slowSubscriberSwitchedToDropAfterLag() {
+		EmitterProcessor<Integer> processor = EmitterProcessor.create(16, true,
+				SlowSubscriberPolicy.afterLag(2, FluxSink.OverflowStrategy.DROP));
+		List<Object> discarded = new ArrayList<>();
+		AssertSubscriber<Integer> fast = AssertSubscriber.create();
+		AssertSubscriber<Integer> slow = new AssertSubscriber<>(
+				Context.of(Hooks.KEY_ON_DISCARD, (Consumer<Object>) discarded::add), 1);
+		processor.subscribe(fast);
+		processor.subscribe(slow);
+
+		for (int i = 0; i < 6; i++) {
+			processor.onNext(i);
+		}
+		fast.assertValues(0, 1, 2, 3, 4, 5);
+		slow.assertValues(0);
+		assertThat(discarded).containsExactly(1, 2, 3, 4, 5);
+		assertThat(innerOf(processor, slow).scan(Attr.LAG)).isZero();
+
+		slow.request(1);
+		processor.onNext(6);
+		processor.onComplete();
+
+		fast.assertValueCount(7)
+		    .assertComplete();
+		slow.assertValues(0, 6)
+		    .assertComplete();
+	}
+
+	@Test
+	public void slowSubscriberSwitchedToLatestAfterLag() {
+		EmitterProcessor<Integer> processor = EmitterProcessor.create(16, true,
+				SlowSubscriberPolicy.afterLag(1, FluxSink.OverflowStrategy.LATEST));
+		AssertSubscriber<Integer> fast = AssertSubscriber.create();
+		AssertSubscriber<Integer> slow = AssertSubscriber.create(1);
+		processor.subscribe(fast);
+		processor.subscribe(slow);
+
+		for (int i = 0; i < 5; i++) {
+			processor.onNext(i);
+		}
+		fast.assertValues(0, 1, 2, 3, 4);
+		slow.assertValues(0);
+
+		slow.request(2);
+		slow.assertValues(0, 4);
+
+		processor.onNext(5);
+		slow.assertValues(0, 4, 5);
+	}
+
+	@Test
+	public void slowSubscriberDisconnectedAfterStall() {
+		VirtualTimeScheduler vts = VirtualTimeScheduler.getOrSet();
+		try {
+			EmitterProcessor<Integer> processor = EmitterProcessor.create(16, true,
+					SlowSubscriberPolicy.afterStall(Duration.ofSeconds(1), FluxSink.OverflowStrategy.ERROR));
+			AssertSubscriber<Integer> fast = AssertSubscriber.create();
+			AssertSubscriber<Integer> slow = AssertSubscriber.create(0);
+			processor.subscribe(fast);
+			processor.subscribe(slow);
+
+			processor.onNext(1);
+			vts.advanceTimeBy(Duration.ofMillis(500));
+			processor.onNext(2);
+			fast.assertNoValues();
+
+			vts.advanceTimeBy(Duration.ofMillis(500));
+			fast.assertValues(1, 2);
+			slow.assertNoValues()
+			    .assertError(IllegalStateException.class);
+		}
+		finally {
+			VirtualTimeScheduler.reset();
+		}
+	}
+
+	@Test
+	public void slowSubscriberCatchingUpIsNotEvicted() {
+		VirtualTimeScheduler vts = VirtualTimeScheduler.getOrSet();
+		try {
+			EmitterProcessor<Integer> processor = EmitterProcessor.create(16, true,
+					SlowSubscriberPolicy.afterStall(Duration.ofSeconds(1), FluxSink.OverflowStrategy.ERROR));
+			AssertSubscriber<Integer> fast = AssertSubscriber.create();
+			AssertSubscriber<Integer> slow = AssertSubscriber.create(0);
+			processor.subscribe(fast);
+			processor.subscribe(slow);
+
+			processor.onNext(1);
+			vts.advanceTimeBy(Duration.ofMillis(900));
+			slow.request(1);
+			processor.onNext(2);
+			vts.advanceTimeBy(Duration.ofMillis(900));
+			slow.request(1);
+			vts.advanceTimeBy(Duration.ofSeconds(5));
+
+			fast.assertValues(1, 2);
+			slow.assertValues(1, 2)
+			    .assertNoError();
+		}
+		finally {
+			VirtualTimeScheduler.reset();
+		}
+	}
+	@Test
+	public void slowSubscriberLatestDiscardedOnComplete() {
+		EmitterProcessor<Integer> processor = EmitterProcessor.create(16, true,
+				SlowSubscriberPolicy.afterLag(1, FluxSink.OverflowStrategy.LATEST));
+		processor.subscribe(AssertSubscriber.create());
+
+		StepVerifier.create(processor, 1)
+		            .then(() -> {
+			            for (int i = 0; i < 5; i++) {
+				            processor.onNext(i);
+			            }
+			            processor.onComplete();
+		            })
+		            .expectNext(0)
+		            .expectComplete()
+		            .verifyThenAssertThat()
+		            .hasDiscardedExactly(1, 2, 3, 4);
+	}
+
+	@Test
+	public void slowSubscriberLatestDiscardedOnCancel() {
+		EmitterProcessor<Integer> processor = EmitterProcessor.create(16, true,
+				SlowSubscriberPolicy.afterLag(1, FluxSink.OverflowStrategy.LATEST));
+		processor.subscribe(AssertSubscriber.create());
+
+		StepVerifier.create(processor, 1)
+		            .then(() -> processor.onNext(0))
+		            .expectNext(0)
+		            .then(() -> {
+			            for (int i = 1; i < 5; i++) {
+				            processor.onNext(i);
+			            }
+		            })
+		            .thenCancel()
+		            .verifyThenAssertThat()
+		            .hasDiscardedExactly(1, 2, 3, 4);
+	}
+
+	@Test
+	public void slowSubscriberStallCheckDisposedOnCancel() {
+		VirtualTimeScheduler.getOrSet();
+		try {
+			EmitterProcessor<Integer> processor = EmitterProcessor.create(16, true,
+					SlowSubscriberPolicy.afterStall(Duration.ofSeconds(1), FluxSink.OverflowStrategy.ERROR));
+			AssertSubscriber<Integer> fast = AssertSubscriber.create();
+			AssertSubscriber<Integer> slow = AssertSubscriber.create(0);
+			processor.subscribe(fast);
+			processor.subscribe(slow);
+
+			processor.onNext(1);
+			FluxPublish.PubSubInner<?> inner = (FluxPublish.PubSubInner<?>) innerOf(processor, slow);
+			assertThat(inner.stallCheck).as("pending check").isNotNull();
+			assertThat(OperatorDisposables.isDisposed(inner.stallCheck)).as("pending check").isFalse();
+
+			slow.cancel();
+			assertThat(OperatorDisposables.isDisposed(inner.stallCheck)).as("check disposed").isTrue();
+		}
+		finally {
+			VirtualTimeScheduler.reset();
+		}
+	}
+
+	@Test
+	public void slowSubscriberStallCheckDisposedOnTerminate() {
+		VirtualTimeScheduler.getOrSet();
+		try {
+			EmitterProcessor<Integer> processor = EmitterProcessor.create(16, true,
+					SlowSubscriberPolicy.afterStall(Duration.ofSeconds(1), FluxSink.OverflowStrategy.ERROR));
+			AssertSubscriber<Integer> fast = AssertSubscriber.create();
+			AssertSubscriber<Integer> slow = AssertSubscriber.create(0);
+			processor.subscribe(fast);
+			processor.subscribe(slow);
+
+			processor.onNext(1);
+			FluxPublish.PubSubInner<?> inner = (FluxPublish.PubSubInner<?>) innerOf(processor, slow);
+			assertThat(inner.stallCheck).as("pending check").isNotNull();
+
+			processor.onError(new IllegalStateException("boom"));
+			assertThat(OperatorDisposables.isDisposed(inner.stallCheck)).as("check disposed").isTrue();
+			slow.assertError(IllegalStateException.class);
+		}
+		finally {
+			VirtualTimeScheduler.reset();
+		}
+	}
+
+	@Test
+	public void largeFanOutDeliversToAllSubscribers() {
+		EmitterProcessor<Integer> processor = EmitterProcessor.createForLargeFanOut(16, true);
+		AssertSubscriber<Integer> first = AssertSubscriber.create();
+		AssertSubscriber<Integer> second = AssertSubscriber.create();
+		processor.subscribe(first);
+		processor.subscribe(second);
+		assertThat(processor.subscribers.stripes).hasSize(SubscriberRegistry.STRIPES);
+
+		processor.onNext(1);
+		first.cancel();
+		processor.onNext(2);
+		processor.onComplete();
+
+		first.assertValues(1)
+		     .assertNotComplete();
+		second.assertValues(1, 2)
+		      .assertComplete();
+	}
 }
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.publisher;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import reactor.core.Exceptions;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+public class ExternalSortTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	static final Function<Integer, byte[]> INT_SERIALIZER =
+			v -> ByteBuffer.allocate(4).putInt(v).array();
+
+	static final Function<byte[], Integer> INT_DESERIALIZER =
+			bytes -> ByteBuffer.wrap(bytes).getInt();
+
+	static final Function<int[], byte[]> PAIR_SERIALIZER =
+			p -> ByteBuffer.allocate(8).putInt(p[0]).putInt(p[1]).array();
+
+	static final Function<byte[], int[]> PAIR_DESERIALIZER = bytes -> {
+		ByteBuffer buffer = ByteBuffer.wrap(bytes);
+		return new int[]{buffer.getInt(), buffer.getInt()};
+	};
+
+	static List<Integer> shuffled(int n) {
+		List<Integer> values = IntStream.range(0, n)
+		                                .boxed()
+		                                .collect(Collectors.toList());
+		Collections.shuffle(values, new Random(42));
+		return values;
+	}
+
+	Path spillDirectory() {
+		return folder.getRoot().toPath();
+	}
+
+	long spilledRuns() {
+		try (Stream<Path> files = Files.list(spillDirectory())) {
+			return files.filter(p -> p.getFileName().toString().startsWith("reactor-sort-"))
+			            .count();
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	@Test
+	public void sortsAcrossSpilledRuns() {
+		long runsBefore = spilledRuns();
+
+		StepVerifier.create(Flux.fromIterable(shuffled(10_500))
+		                        .sort(Comparator.naturalOrder(), 1000, spillDirectory(), INT_SERIALIZER, INT_DESERIALIZER)
+		                        .collectList())
+		            .assertNext(l -> assertThat(l).isSorted()
+		                                          .hasSize(10_500))
+		            .verifyComplete();
+
+		assertThat(spilledRuns()).isEqualTo(runsBefore);
+	}
+
+	@Test
+	public void sortIsStable() {
+		List<int[]> pairs = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			pairs.add(new int[]{i % 7, i});
+		}
+
+		StepVerifier.create(Flux.fromIterable(pairs)
+		                        .sort(Comparator.comparingInt(p -> p[0]), 10, spillDirectory(), PAIR_SERIALIZER, PAIR_DESERIALIZER)
+		                        .collectList())
+		            .assertNext(l -> {
+			            assertThat(l).hasSize(100);
+			            for (int i = 1; i < l.size(); i++) {
+				            int[] previous = l.get(i - 1);
+				            int[] current = l.get(i);
+				            assertThat(previous[0] < current[0] || (previous[0] == current[0] && previous[1] < current[1]))
+						            .as("%d,%d before %d,%d", previous[0], previous[1], current[0], current[1])
+						            .isTrue();
+			            }
+		            })
+		            .verifyComplete();
+	}
+
+	@Test
+	public void shortSequenceIsNotSpilled() {
+		StepVerifier.create(Flux.just(3, 1, 2)
+		                        .sort(Comparator.naturalOrder(), 10, spillDirectory(),
+				                        v -> {
+					                        throw new IllegalStateException("unexpected spill");
+				                        },
+				                        bytes -> {
+					                        throw new IllegalStateException("unexpected read");
+				                        }))
+		            .expectNext(1, 2, 3)
+		            .verifyComplete();
+	}
+
+	@Test
+	public void emptySequence() {
+		StepVerifier.create(Flux.<Integer>empty().sort(Comparator.naturalOrder(), 10, spillDirectory(), INT_SERIALIZER, INT_DESERIALIZER))
+		            .verifyComplete();
+	}
+
+	@Test
+	public void mergeHonorsBackpressureAndCleansUpOnCancel() {
+		long runsBefore = spilledRuns();
+
+		StepVerifier.create(Flux.fromIterable(shuffled(5000))
+		                        .sort(Comparator.naturalOrder(), 500, spillDirectory(), INT_SERIALIZER, INT_DESERIALIZER), 3)
+		            .expectNext(0, 1, 2)
+		            .then(() -> assertThat(spilledRuns()).isEqualTo(runsBefore + 10))
+		            .thenRequest(2)
+		            .expectNext(3, 4)
+		            .thenCancel()
+		            .verify();
+
+		assertThat(spilledRuns()).isEqualTo(runsBefore);
+	}
+
+	@Test
+	public void deserializerFailureTerminatesWithError() {
+		long runsBefore = spilledRuns();
+		StepVerifier.create(Flux.fromIterable(shuffled(100))
+		                        .sort(Comparator.naturalOrder(), 10, spillDirectory(),
+				                        INT_SERIALIZER,
+				                        bytes -> {
+					                        throw new IllegalStateException("boom");
+				                        }))
+		            .verifyErrorSatisfies(e -> assertThat(Exceptions.unwrapMultiple(e))
+				            .isNotEmpty()
+				            .allSatisfy(t -> assertThat(t).hasMessage("boom")));
+
+		assertThat(spilledRuns()).isEqualTo(runsBefore);
+	}
+
+	@Test
+	public void rejectsNonPositiveMaxInMemory() {
+		assertThatIllegalArgumentException()
+				.isThrownBy(() -> Flux.just(1).sort(Comparator.naturalOrder(), 0, spillDirectory(), INT_SERIALIZER, INT_DESERIALIZER))
+				.withMessage("maxInMemory > 0 required but it was 0");
+	}
+}
@@ -16,15 +16,20 @@
 
 package reactor.core.publisher;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.junit.Test;
 import org.mockito.Mockito;
 import reactor.core.CoreSubscriber;
 import reactor.core.Fuseable;
+import reactor.core.Fuseable.ConditionalSubscriber;
 import reactor.core.Scannable;
 import reactor.test.MockUtils;
 import reactor.test.subscriber.AssertSubscriber;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
 public class FluxArrayTest {
 
@@ -194,4 +199,37 @@ public class FluxArrayTest {
 		test.cancel();
 		assertThat(test.scan(Scannable.Attr.CANCELLED)).isTrue();
 	}
+
+	@Test
+	public void drainInChunks() {
+		@SuppressWarnings("unchecked")
+		CoreSubscriber<String> subscriber = Mockito.mock(InnerOperator.class);
+		FluxArray.ArraySubscription<String> test =
+				new FluxArray.ArraySubscription<>(subscriber, new String[] {"foo", "bar", "baz"});
+		List<String> drained = new ArrayList<>();
+
+		assertThat(test.drain(drained::add, 2)).isEqualTo(2);
+		assertThat(drained).containsExactly("foo", "bar");
+		assertThat(test.size()).isEqualTo(1);
+
+		assertThat(test.drain(drained::add, 2)).isEqualTo(1);
+		assertThat(test.drain(drained::add, 2)).isZero();
+		assertThat(drained).containsExactly("foo", "bar", "baz");
+		assertThat(test.scan(Scannable.Attr.TERMINATED)).isTrue();
+	}
+
+	@Test
+	public void drainStopsOnNullElement() {
+		@SuppressWarnings("unchecked")
+		ConditionalSubscriber<String> subscriber = Mockito.mock(ConditionalSubscriber.class);
+		FluxArray.ArrayConditionalSubscription<String> test =
+				new FluxArray.ArrayConditionalSubscription<>(subscriber, new String[] {"foo", null, "baz"});
+		List<String> drained = new ArrayList<>();
+
+		assertThatExceptionOfType(NullPointerException.class)
+				.isThrownBy(() -> test.drain(drained::add, 3))
+				.withMessage("Array returned null value");
+		assertThat(drained).containsExactly("foo");
+		assertThat(test.size()).isEqualTo(2);
+	}
 }
@@ -17,6 +17,8 @@ package reactor.core.publisher;
 
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.RejectedExecutionException;
 
@@ -33,6 +35,7 @@ import reactor.test.StepVerifier;
 import reactor.test.StepVerifierOptions;
 import reactor.test.publisher.TestPublisher;
 import reactor.test.scheduler.VirtualTimeScheduler;
+import reactor.util.concurrent.Queues;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.fail;
@@ -269,4 +272,178 @@ public class FluxBufferTimeoutTest {
 		            .verifyThenAssertThat()
 		            .hasDiscardedExactly(1, 2, 3);
 	}
-}
\ No newline at end of file
+
+	@Test
+	public void fairBackpressureHoldsTimedOutBufferUntilRequested() {
+		TestPublisher<Integer> testPublisher = TestPublisher.createNoncompliant(TestPublisher.Violation.REQUEST_OVERFLOW);
+
+		StepVerifier.withVirtualTime(() -> testPublisher.flux()
+		                                                .bufferTimeout(10, Duration.ofMillis(200), Schedulers.parallel(), true),
+				0)
+		            .expectSubscription()
+		            .then(() -> testPublisher.next(1, 2, 3))
+		            .thenAwait(Duration.ofMillis(250))
+		            .expectNoEvent(Duration.ofSeconds(1))
+		            .thenRequest(1)
+		            .expectNext(Arrays.asList(1, 2, 3))
+		            .then(testPublisher::complete)
+		            .verifyComplete();
+	}
+
+	@Test
+	public void fairBackpressureRequestsOnlyWhatIsNeeded() {
+		List<Long> requests = new ArrayList<>();
+
+		StepVerifier.create(Flux.range(1, 100)
+		                        .doOnRequest(requests::add)
+		                        .bufferTimeout(3, Duration.ofSeconds(1), Schedulers.parallel(), true),
+				2)
+		            .expectNext(Arrays.asList(1, 2, 3), Arrays.asList(4, 5, 6))
+		            .thenRequest(1)
+		            .expectNext(Arrays.asList(7, 8, 9))
+		            .thenCancel()
+		            .verify(Duration.ofSeconds(5));
+
+		assertThat(requests).containsExactly(6L, 3L);
+	}
+
+	@Test
+	public void fairBackpressureHoldsLastBufferUntilRequested() {
+		StepVerifier.create(Flux.just(1, 2, 3, 4, 5)
+		                        .bufferTimeout(2, Duration.ofSeconds(1), Schedulers.parallel(), true),
+				1)
+		            .expectNext(Arrays.asList(1, 2))
+		            .expectNoEvent(Duration.ofMillis(100))
+		            .thenRequest(2)
+		            .expectNext(Arrays.asList(3, 4), Collections.singletonList(5))
+		            .verifyComplete();
+	}
+
+	@Test
+	public void fairBackpressureDiscardOnCancel() {
+		StepVerifier.create(Flux.just(1, 2, 3)
+		                        .concatWith(Mono.never())
+		                        .bufferTimeout(10, Duration.ofMillis(100), Schedulers.parallel(), true),
+				0)
+		            .thenRequest(1)
+		            .thenAwait(Duration.ofMillis(10))
+		            .thenCancel()
+		            .verifyThenAssertThat()
+		            .hasDiscardedExactly(1, 2, 3);
+	}
+
+	@Test
+	public void fairBackpressureRejectedTimerLeadsToOnError() {
+		Scheduler scheduler = Schedulers.newSingle("fairBackpressureRejectedTimerLeadsToOnError");
+		scheduler.dispose();
+
+		StepVerifier.create(Flux.just(1, 2, 3)
+		                        .bufferTimeout(4, Duration.ofMillis(500), scheduler, true))
+		            .expectError(RejectedExecutionException.class)
+		            .verifyThenAssertThat()
+		            .hasDiscarded(1);
+	}
+
+	@Test
+	public void fairBackpressureConcurrentTimerAndSource() {
+		for (int i = 0; i < 20; i++) {
+			StepVerifier.create(Flux.range(1, 10_000)
+			                        .publishOn(Schedulers.single())
+			                        .bufferTimeout(7, Duration.ofMillis(1), Schedulers.parallel(), true)
+			                        .publishOn(Schedulers.elastic(), 1)
+			                        .flatMapIterable(l -> l)
+			                        .reduce(0L, (acc, v) -> {
+				                        if (v != acc + 1) {
+					                        throw new IllegalStateException("Out of order: " + v + " after " + acc);
+				                        }
+				                        return (long) v;
+			                        }))
+			            .expectNext(10_000L)
+			            .verifyComplete();
+		}
+	}
+
+	@Test
+	public void scanFairBackpressureSubscriber() {
+		CoreSubscriber<List<String>> actual = new LambdaSubscriber<>(null, e -> {}, null, s -> {});
+		Scheduler.Worker worker = Schedulers.elastic().createWorker();
+
+		FluxBufferTimeout.BufferTimeoutWithBackpressureSubscriber<String, List<String>> test =
+				new FluxBufferTimeout.BufferTimeoutWithBackpressureSubscriber<String, List<String>>(actual, 123, 1000, worker, ArrayList::new);
+		Subscription subscription = Operators.emptySubscription();
+		test.onSubscribe(subscription);
+
+		test.request(2);
+		test.onNext("foo");
+		test.onNext("bar");
+
+		assertThat(test.scan(Scannable.Attr.RUN_ON)).isSameAs(worker);
+		assertThat(test.scan(Scannable.Attr.PARENT)).isSameAs(subscription);
+		assertThat(test.scan(Scannable.Attr.ACTUAL)).isSameAs(actual);
+		assertThat(test.scan(Scannable.Attr.CAPACITY)).isEqualTo(123);
+		assertThat(test.scan(Scannable.Attr.BUFFERED)).isEqualTo(2);
+		assertThat(test.scan(Scannable.Attr.REQUESTED_FROM_DOWNSTREAM)).isEqualTo(2L);
+		assertThat(test.scan(Scannable.Attr.TERMINATED)).isFalse();
+		assertThat(test.scan(Scannable.Attr.CANCELLED)).isFalse();
+
+		test.cancel();
+		assertThat(test.scan(Scannable.Attr.CANCELLED)).isTrue();
+		assertThat(test.scan(Scannable.Attr.BUFFERED)).isEqualTo(0);
+	}
+
+	@Test
+	public void bufferByWeightCutsBeforeExceedingMaxWeight() {
+		StepVerifier.create(Flux.just("aaa", "bb", "cccc", "d", "eeeeeeeeee", "ff")
+		                        .bufferByWeight(5, String::length, Duration.ofSeconds(10)))
+		            .expectNext(Arrays.asList("aaa", "bb"))
+		            .expectNext(Arrays.asList("cccc", "d"))
+		            .expectNext(Collections.singletonList("eeeeeeeeee"))
+		            .expectNext(Collections.singletonList("ff"))
+		            .verifyComplete();
+	}
+
+	@Test
+	public void bufferByWeightFlushesPartialBufferOnTimeout() {
+		StepVerifier.withVirtualTime(() -> Flux.just("aa", "b")
+		                                       .concatWith(Mono.delay(Duration.ofSeconds(2)).map(l -> "ccc"))
+		                                       .bufferByWeight(10, String::length, Duration.ofSeconds(1)))
+		            .expectSubscription()
+		            .expectNoEvent(Duration.ofSeconds(1))
+		            .expectNext(Arrays.asList("aa", "b"))
+		            .thenAwait(Duration.ofSeconds(1))
+		            .expectNext(Collections.singletonList("ccc"))
+		            .verifyComplete();
+	}
+
+	@Test
+	public void bufferByWeightHoldsBuffersUntilRequested() {
+		List<Long> requests = new ArrayList<>();
+
+		StepVerifier.create(Flux.range(1, 1000)
+		                        .doOnRequest(requests::add)
+		                        .bufferByWeight(10, i -> 5L, Duration.ofSeconds(10)),
+				1)
+		            .expectNext(Arrays.asList(1, 2))
+		            .expectNoEvent(Duration.ofMillis(100))
+		            .thenRequest(2)
+		            .expectNext(Arrays.asList(3, 4), Arrays.asList(5, 6))
+		            .thenCancel()
+		            .verify(Duration.ofSeconds(5));
+
+		assertThat(requests).allMatch(r -> r <= Queues.SMALL_BUFFER_SIZE);
+	}
+
+	@Test
+	public void bufferByWeightWeigherFailureDiscards() {
+		StepVerifier.create(Flux.just("a", "b", "c")
+		                        .bufferByWeight(10, s -> {
+			                        if (s.equals("c")) {
+				                        throw new IllegalStateException("boom");
+			                        }
+			                        return 1L;
+		                        }, Duration.ofSeconds(1)))
+		            .expectErrorMessage("boom")
+		            .verifyThenAssertThat()
+		            .hasDiscarded("a", "b", "c");
+	}
+}
@@ -15,6 +15,9 @@
  */
 package reactor.core.publisher;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executors;
@@ -24,6 +27,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import java.util.stream.IntStream;
 
 import org.junit.Assert;
@@ -41,6 +45,7 @@ import reactor.core.scheduler.Schedulers;
 import reactor.test.StepVerifier;
 import reactor.test.StepVerifier.Step;
 import reactor.test.subscriber.AssertSubscriber;
+import reactor.util.context.Context;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 
@@ -1321,4 +1326,111 @@ public class FluxCreateTest {
 		            .expectNext("FluxSink(LATEST)")
 		            .verifyComplete();
 	}
-}
\ No newline at end of file
+
+	@Test(timeout = 10000)
+	public void multiProducerNextFromSeveralThreads() throws InterruptedException {
+		int producers = 4;
+		int perProducer = 5_000;
+		CountDownLatch done = new CountDownLatch(producers);
+		Flux<Integer> source = Flux.createMultiProducer(sink -> {
+			for (int p = 0; p < producers; p++) {
+				new Thread(() -> {
+					for (int i = 0; i < perProducer; i++) {
+						sink.next(i);
+					}
+					done.countDown();
+				}).start();
+			}
+			new Thread(() -> {
+				try {
+					done.await();
+				}
+				catch (InterruptedException e) {
+					sink.error(e);
+					return;
+				}
+				sink.complete();
+			}).start();
+		}, 16);
+
+		StepVerifier.create(source.reduce(0L, (acc, v) -> acc + v))
+		            .expectNext((long) producers * perProducer * (perProducer - 1) / 2)
+		            .expectComplete()
+		            .verify(Duration.ofSeconds(9));
+	}
+
+	@Test
+	public void multiProducerHonorsBackpressure() {
+		AtomicReference<FluxSink<Integer>> ref = new AtomicReference<>();
+		AssertSubscriber<Integer> ts = AssertSubscriber.create(0);
+		Flux.<Integer>createMultiProducer(ref::set, 8).subscribe(ts);
+
+		FluxSink<Integer> sink = ref.get();
+		for (int i = 0; i < 8; i++) {
+			sink.next(i);
+		}
+		sink.complete();
+		ts.assertNoValues()
+		  .assertNotComplete();
+
+		ts.request(3);
+		ts.assertValues(0, 1, 2)
+		  .assertNotComplete();
+
+		ts.request(5);
+		ts.assertValues(0, 1, 2, 3, 4, 5, 6, 7)
+		  .assertComplete();
+	}
+
+	@Test
+	public void multiProducerFirstErrorWins() {
+		StepVerifier.create(Flux.<Integer>createMultiProducer(sink -> {
+			sink.next(1);
+			sink.error(new IllegalStateException("first"));
+			sink.error(new IllegalStateException("second"));
+		}, 8))
+		            .expectNext(1)
+		            .expectErrorMessage("first")
+		            .verifyThenAssertThat()
+		            .hasDroppedErrorWithMessage("second");
+	}
+
+	@Test
+	public void multiProducerDiscardsBufferOnCancel() {
+		AtomicReference<FluxSink<Integer>> ref = new AtomicReference<>();
+		List<Object> discarded = new ArrayList<>();
+		AssertSubscriber<Integer> ts = new AssertSubscriber<>(
+				Context.of(Hooks.KEY_ON_DISCARD, (Consumer<Object>) discarded::add), 1);
+		Flux.<Integer>createMultiProducer(ref::set, 8).subscribe(ts);
+
+		FluxSink<Integer> sink = ref.get();
+		sink.next(1);
+		sink.next(2);
+		sink.next(3);
+		ts.cancel();
+		sink.next(4);
+
+		ts.assertValues(1);
+		assertThat(discarded.size()).isEqualTo(2);
+		assertThat(discarded.get(0)).isEqualTo(2);
+		assertThat(discarded.get(1)).isEqualTo(3);
+	}
+
+	@Test
+	public void scanMultiProducerBufferSink() {
+		CoreSubscriber<Integer> actual = new LambdaSubscriber<>(null, e -> {}, null, null);
+		FluxCreate.MultiProducerBufferSink<Integer> test =
+				new FluxCreate.MultiProducerBufferSink<>(actual, 10);
+		test.next(1);
+		test.next(2);
+
+		assertThat(test.scan(Scannable.Attr.BUFFERED)).isEqualTo(2);
+		assertThat(test.scan(Scannable.Attr.CAPACITY)).isEqualTo(10);
+		assertThat(test.scan(Scannable.Attr.TERMINATED)).isFalse();
+		assertThat(test.scan(Scannable.Attr.ERROR)).isNull();
+
+		test.error(new IllegalStateException("boom"));
+		assertThat(test.scan(Scannable.Attr.TERMINATED)).isTrue();
+		assertThat(test.scan(Scannable.Attr.ERROR)).hasMessage("boom");
+	}
+}
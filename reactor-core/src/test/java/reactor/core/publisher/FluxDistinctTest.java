@@ -16,6 +16,7 @@
 
 package reactor.core.publisher;
 
+import java.time.Duration;
 import java.util.AbstractCollection;
 import java.util.Arrays;
 import java.util.HashSet;
@@ -36,11 +37,13 @@ import reactor.core.Scannable;
 import reactor.test.MockUtils;
 import reactor.test.StepVerifier;
 import reactor.test.publisher.FluxOperatorTest;
+import reactor.test.scheduler.VirtualTimeScheduler;
 import reactor.test.subscriber.AssertSubscriber;
 import reactor.util.annotation.Nullable;
 import reactor.util.context.Context;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 
@@ -662,6 +665,109 @@ public class FluxDistinctTest extends FluxOperatorTest<String, String> {
 				.isEqualTo(50);
 	}
 
+	@Test
+	public void distinctLruForgetsLeastRecentlySeenKeys() {
+		StepVerifier.create(Flux.just(1, 2, 1, 3, 2, 1, 4, 1, 3)
+		                        .distinct(Function.identity(), 2))
+		            .expectNext(1, 2, 3, 2, 1, 4, 3)
+		            .verifyComplete();
+	}
+
+	@Test
+	public void distinctLruDiscardsDuplicates() {
+		StepVerifier.create(Flux.just(1, 2, 1, 2, 3)
+		                        .distinct(Function.identity(), 10))
+		            .expectNext(1, 2, 3)
+		            .expectComplete()
+		            .verifyThenAssertThat()
+		            .hasDiscardedExactly(1, 2);
+	}
+
+	@Test
+	public void distinctLruRejectsNonPositiveSize() {
+		assertThatIllegalArgumentException()
+				.isThrownBy(() -> Flux.just(1).distinct(Function.identity(), 0))
+				.withMessage("maxSize > 0 required but it was 0");
+	}
+
+	@Test
+	public void distinctTtlForgetsExpiredKeys() {
+		VirtualTimeScheduler vts = VirtualTimeScheduler.create();
+
+		StepVerifier.withVirtualTime(() -> Flux.just("a", "b", "a")
+		                                       .concatWith(Flux.just("a", "b", "c")
+		                                                       .delaySubscription(Duration.ofSeconds(2), vts))
+		                                       .concatWith(Flux.just("c")
+		                                                       .delaySubscription(Duration.ofMillis(500), vts))
+		                                       .distinct(Function.identity(), Duration.ofSeconds(1), vts),
+				() -> vts, Long.MAX_VALUE)
+		            .expectNext("a", "b")
+		            .thenAwait(Duration.ofSeconds(2))
+		            .expectNext("a", "b", "c")
+		            .thenAwait(Duration.ofMillis(500))
+		            .verifyComplete();
+	}
+
+	@Test
+	public void distinctTtlRejectsSubMillisecondTtl() {
+		assertThatIllegalArgumentException()
+				.isThrownBy(() -> Flux.just(1).distinct(Function.identity(), Duration.ofNanos(10)));
+	}
+
+	@Test
+	public void distinctApprox() {
+		StepVerifier.create(Flux.range(0, 10_000)
+		                        .map(i -> i % 1000)
+		                        .distinctApprox(Function.identity(), 2000, 0.001)
+		                        .count())
+		            .assertNext(n -> assertThat(n).isBetween(990L, 1000L))
+		            .verifyComplete();
+	}
+
+	@Test
+	public void bloomStoreHasNoFalseNegatives() {
+		FluxDistinct.BloomStore store = new FluxDistinct.BloomStore(1000, 0.01);
+		int falsePositives = 0;
+		for (int i = 0; i < 1000; i++) {
+			if (!store.add("key" + i)) {
+				falsePositives++;
+			}
+		}
+		assertThat(falsePositives).isLessThan(30);
+		for (int i = 0; i < 1000; i++) {
+			assertThat(store.add("key" + i)).as("key%d", i).isFalse();
+		}
+	}
+
+	@Test
+	public void bloomStoreFalsePositivesStayWithinFppAcrossGenerations() {
+		FluxDistinct.BloomStore store = new FluxDistinct.BloomStore(1000, 0.05);
+		int falsePositives = 0;
+		for (int i = 0; i < 100_000; i++) {
+			if (!store.add("key" + i)) {
+				falsePositives++;
+			}
+		}
+		assertThat(falsePositives).isLessThanOrEqualTo(5000);
+	}
+
+	@Test
+	public void bloomStoreForgetsOldGenerations() {
+		FluxDistinct.BloomStore store = new FluxDistinct.BloomStore(100, 0.00001);
+		assertThat(store.add("old")).isTrue();
+		for (int i = 0; i < 250; i++) {
+			store.add(i);
+		}
+		assertThat(store.add("old")).isTrue();
+	}
+
+	@Test
+	public void distinctApproxRejectsInvalidFpp() {
+		assertThatIllegalArgumentException()
+				.isThrownBy(() -> Flux.just(1).distinctApprox(Function.identity(), 10, 1d))
+				.withMessage("fpp must be strictly between 0 and 1 but it was 1.0");
+	}
+
 	static class DistinctDefault {
 
 		static final AtomicLong finalized = new AtomicLong();
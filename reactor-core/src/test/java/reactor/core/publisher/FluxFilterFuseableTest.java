@@ -16,6 +16,9 @@
 
 package reactor.core.publisher;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.junit.Test;
 import org.mockito.Mockito;
 import org.reactivestreams.Subscription;
@@ -297,4 +300,29 @@ public class FluxFilterFuseableTest extends FluxOperatorTest<String, String> {
 		            .hasDiscardedExactly(1, 3, 5, 7, 9);
 	}
 
+	@Test
+	public void drainSyncSkipsAndDiscardsPredicateMiss() {
+		FilterFuseableSubscriber<Integer> test =
+				new FilterFuseableSubscriber<>(Operators.emptySubscriber(), i -> i % 2 == 0);
+		test.onSubscribe(new FluxArray.ArraySubscription<>(test, new Integer[] {1, 2, 3, 4, 5, 6}));
+		assertThat(test.requestFusion(Fuseable.ANY)).isEqualTo(Fuseable.SYNC);
+		List<Integer> drained = new ArrayList<>();
+
+		assertThat(test.drain(drained::add, 2)).isEqualTo(2);
+		assertThat(drained).containsExactly(2, 4);
+		assertThat(test.drain(drained::add, 2)).isEqualTo(1);
+		assertThat(test.drain(drained::add, 2)).isZero();
+		assertThat(drained).containsExactly(2, 4, 6);
+	}
+
+	@Test
+	public void discardDrainSyncPredicateMiss() {
+		StepVerifier.create(Flux.just(1)
+		                        .flatMap(v -> Flux.range(1, 10)
+		                                          .filter(i -> i % 2 == 0)))
+		            .expectNext(2, 4, 6, 8, 10)
+		            .expectComplete()
+		            .verifyThenAssertThat()
+		            .hasDiscardedExactly(1, 3, 5, 7, 9);
+	}
 }
@@ -1641,4 +1641,31 @@ public class FluxFlatMapTest {
 				.hasDropped(0)
 				.hasDroppedErrors(1);
 	}
+
+	@Test
+	public void syncFusedInnerDrainErrorDelayed() {
+		StepVerifier.create(Flux.range(1, 3)
+		                        .flatMapDelayError(v -> Flux.range(v * 10, 3)
+		                                                    .map(i -> {
+			                                                    if (i == 21) {
+				                                                    throw new IllegalStateException("boom");
+			                                                    }
+			                                                    return i;
+		                                                    }), 1, 4))
+		            .expectNext(10, 11, 12, 20, 30, 31, 32)
+		            .expectErrorMessage("boom")
+		            .verify();
+	}
+
+	@Test
+	public void syncFusedInnerDrainedInChunksRespectsRequest() {
+		StepVerifier.create(Flux.just(1, 2)
+		                        .flatMap(v -> Flux.range(v * 100, 50), 2, 8), 0)
+		            .thenRequest(20)
+		            .expectNextCount(20)
+		            .thenRequest(80)
+		            .expectNextCount(80)
+		            .expectComplete()
+		            .verify();
+	}
 }
@@ -20,6 +20,7 @@ import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.junit.Assert;
@@ -32,10 +33,12 @@ import reactor.core.Scannable;
 import reactor.core.scheduler.Schedulers;
 import reactor.test.StepVerifier;
 import reactor.test.publisher.FluxOperatorTest;
+import reactor.test.scheduler.VirtualTimeScheduler;
 import reactor.test.subscriber.AssertSubscriber;
 import reactor.util.concurrent.Queues;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
 public class FluxGroupByTest extends
                              FluxOperatorTest<String, GroupedFlux<Integer, String>> {
@@ -882,4 +885,105 @@ public class FluxGroupByTest extends
 		assertThat(test.scan(Scannable.Attr.ERROR)).isSameAs(test.error);
 	}
 
+	@Test
+	public void maxGroupsEvictsLeastRecentlyActiveGroup() {
+		VirtualTimeScheduler timer = VirtualTimeScheduler.create();
+
+		StepVerifier.create(Flux.just(1, 2, 3, 1)
+		                        .groupBy(i -> i, 2, Duration.ofMinutes(1), timer)
+		                        .flatMap(g -> g.collectList().map(l -> g.key() + ":" + l)))
+		            .expectNext("1:[1]", "2:[2]", "3:[3]", "1:[1]")
+		            .verifyComplete();
+	}
+
+	@Test
+	public void maxGroupsAccessRefreshesRecency() {
+		VirtualTimeScheduler timer = VirtualTimeScheduler.create();
+
+		StepVerifier.create(Flux.just(1, 2, 1, 3)
+		                        .groupBy(i -> i, 2, Duration.ofMinutes(1), timer)
+		                        .flatMap(g -> g.collectList().map(l -> g.key() + ":" + l)))
+		            .expectNext("2:[2]", "1:[1, 1]", "3:[3]")
+		            .verifyComplete();
+	}
+
+	@Test
+	public void idleGroupsAreCompleted() {
+		VirtualTimeScheduler timer = VirtualTimeScheduler.create();
+		DirectProcessor<Integer> source = DirectProcessor.create();
+		AssertSubscriber<String> ts = AssertSubscriber.create();
+
+		source.groupBy(i -> i % 2, 10, Duration.ofSeconds(5), timer)
+		      .flatMap(g -> g.collectList().map(l -> g.key() + ":" + l))
+		      .subscribe(ts);
+
+		source.onNext(1);
+		timer.advanceTimeBy(Duration.ofSeconds(3));
+		source.onNext(2);
+		source.onNext(4);
+		timer.advanceTimeBy(Duration.ofMillis(2500));
+		ts.assertValues("1:[1]");
+
+		timer.advanceTimeBy(Duration.ofSeconds(3));
+		ts.assertValues("1:[1]", "0:[2, 4]");
+
+		source.onNext(3);
+		source.onComplete();
+		ts.assertValues("1:[1]", "0:[2, 4]", "1:[3]")
+		  .assertComplete();
+	}
+
+	@Test
+	public void maxGroupsAvoidsHangingWithLowConcurrency() {
+		VirtualTimeScheduler timer = VirtualTimeScheduler.create();
+
+		StepVerifier.create(Flux.range(0, 1000)
+		                        .groupBy(i -> i, 4, Duration.ofMinutes(1), timer)
+		                        .flatMap(Flux::count, 2)
+		                        .count())
+		            .expectNext(1000L)
+		            .expectComplete()
+		            .verify(Duration.ofSeconds(5));
+	}
+
+	@Test
+	public void evictingGroupsAreSignalledOutsideOfTheGroupMapMonitor() {
+		VirtualTimeScheduler timer = VirtualTimeScheduler.create();
+		DirectProcessor<Integer> source = DirectProcessor.create();
+		AtomicInteger signals = new AtomicInteger();
+		AtomicInteger signalsUnderMonitor = new AtomicInteger();
+		AssertSubscriber<String> ts = AssertSubscriber.create();
+
+		source.groupBy(i -> i % 3, 2, Duration.ofSeconds(5), timer)
+		      .flatMap(g -> g.doOnEach(signal -> {
+			                     signals.incrementAndGet();
+			                     FluxGroupBy.UnicastGroupedFlux<?, ?> group = (FluxGroupBy.UnicastGroupedFlux<?, ?>) g;
+			                     if (Thread.holdsLock(group.main.groupMap)) {
+				                     signalsUnderMonitor.incrementAndGet();
+			                     }
+		                     })
+		                     .collectList()
+		                     .map(l -> g.key() + ":" + l))
+		      .subscribe(ts);
+
+		source.onNext(1);
+		source.onNext(2);
+		//evicts the group of 1 to make room
+		source.onNext(3);
+		ts.assertValues("1:[1]");
+
+		//evicts the remaining groups once idle
+		timer.advanceTimeBy(Duration.ofSeconds(5));
+		ts.assertValues("1:[1]", "2:[2]", "0:[3]");
+
+		assertThat(signals).hasValue(6);
+		assertThat(signalsUnderMonitor).hasValue(0);
+	}
+
+	@Test
+	public void maxGroupsMustBePositive() {
+		assertThatExceptionOfType(IllegalArgumentException.class)
+				.isThrownBy(() -> Flux.just(1).groupBy(i -> i, 0, Duration.ofSeconds(1)))
+				.withMessage("maxGroups > 0 required but it was 0");
+	}
 }
@@ -15,6 +15,10 @@
  */
 package reactor.core.publisher;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -27,6 +31,7 @@ import reactor.core.Fuseable;
 import reactor.core.Scannable;
 import reactor.test.StepVerifier;
 import reactor.test.publisher.FluxOperatorTest;
+import reactor.test.subscriber.AssertSubscriber;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -151,7 +156,7 @@ public class FluxOnBackpressureBufferTest
         CoreSubscriber<Integer> actual = new LambdaSubscriber<>(null, e -> {}, null, null);
         FluxOnBackpressureBuffer.BackpressureBufferSubscriber<Integer> test =
         		new FluxOnBackpressureBuffer.BackpressureBufferSubscriber<>(actual,
-        				123, false, true, t -> {});
+        				123, false, true, t -> {}, null);
         Subscription parent = Operators.emptySubscription();
         test.onSubscribe(parent);
 
@@ -173,4 +178,83 @@ public class FluxOnBackpressureBufferTest
         test.cancel();
         assertThat(test.scan(Scannable.Attr.CANCELLED)).isTrue();
     }
-}
\ No newline at end of file
+
+    @Test
+    public void spillToDiskReplaysInOrder() throws IOException {
+        Path directory = Files.createTempDirectory("spillToDiskReplaysInOrder");
+        try {
+            StepVerifier.create(Flux.range(1, 1000)
+                                    .map(String::valueOf)
+                                    .onBackpressureBuffer(10, directory,
+                                            s -> s.getBytes(StandardCharsets.UTF_8),
+                                            b -> new String(b, StandardCharsets.UTF_8)), 0)
+                        .thenRequest(5)
+                        .expectNext("1", "2", "3", "4", "5")
+                        .then(() -> assertThat(directory.toFile().list()).isNotEmpty())
+                        .thenRequest(Long.MAX_VALUE)
+                        .expectNextCount(994)
+                        .expectNext("1000")
+                        .verifyComplete();
+
+            assertThat(directory.toFile().list()).isEmpty();
+        }
+        finally {
+            Files.deleteIfExists(directory);
+        }
+    }
+
+    @Test
+    public void spillToDiskCancelDeletesSegments() throws IOException {
+        Path directory = Files.createTempDirectory("spillToDiskCancelDeletesSegments");
+        try {
+            StepVerifier.create(Flux.range(1, 1000)
+                                    .map(String::valueOf)
+                                    .onBackpressureBuffer(10, directory,
+                                            s -> s.getBytes(StandardCharsets.UTF_8),
+                                            b -> new String(b, StandardCharsets.UTF_8)), 0)
+                        .thenRequest(1)
+                        .expectNext("1")
+                        .thenCancel()
+                        .verify();
+
+            assertThat(directory.toFile().list()).isEmpty();
+        }
+        finally {
+            Files.deleteIfExists(directory);
+        }
+    }
+
+    @Test
+    public void spillToDiskSerializerErrorIsDelayed() throws IOException {
+        Path directory = Files.createTempDirectory("spillToDiskSerializerErrorIsDelayed");
+        try {
+            AssertSubscriber<String> ts = AssertSubscriber.create(0);
+
+            Flux.range(1, 10)
+                .map(String::valueOf)
+                .onBackpressureBuffer(2, directory,
+                        s -> {
+                            if (s.equals("4")) {
+                                throw new IllegalStateException("boom");
+                            }
+                            return s.getBytes(StandardCharsets.UTF_8);
+                        },
+                        b -> new String(b, StandardCharsets.UTF_8))
+                .subscribe(ts);
+
+            ts.assertNoValues()
+              .assertNotComplete()
+              .assertNoError();
+
+            ts.request(10);
+
+            ts.assertValues("1", "2", "3")
+              .assertErrorMessage("boom");
+
+            assertThat(directory.toFile().list()).isEmpty();
+        }
+        finally {
+            Files.deleteIfExists(directory);
+        }
+    }
+}
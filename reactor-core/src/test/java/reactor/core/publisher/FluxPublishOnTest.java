@@ -58,6 +58,7 @@ import reactor.test.publisher.FluxOperatorTest;
 import reactor.test.subscriber.AssertSubscriber;
 import reactor.util.annotation.Nullable;
 import reactor.util.concurrent.Queues;
+import reactor.util.concurrent.WaitStrategy;
 import reactor.util.function.Tuple2;
 
 import static java.util.concurrent.Executors.newCachedThreadPool;
@@ -1476,4 +1477,238 @@ public class FluxPublishOnTest extends FluxOperatorTest<String, String> {
 		runOnScannable.parents().forEach(System.out::println);
 		System.out.println(runOnScannable.scan(Scannable.Attr.BUFFERED));
 	}
+
+	@Test
+	public void syncFusedSourceDrainedInChunks() {
+		StepVerifier.create(Flux.range(0, 1000)
+		                        .publishOn(Schedulers.single(), 32), 0)
+		            .expectFusion(Fuseable.NONE)
+		            .thenRequest(10)
+		            .expectNextCount(10)
+		            .thenRequest(Long.MAX_VALUE)
+		            .expectNextCount(990)
+		            .expectComplete()
+		            .verify(Duration.ofSeconds(5));
+	}
+
+	@Test
+	public void syncFusedSourceDrainErrorAfterValues() {
+		StepVerifier.create(Flux.fromArray(new Integer[] {1, 2, null, 4})
+		                        .publishOn(Schedulers.single()))
+		            .expectNext(1, 2)
+		            .expectError(NullPointerException.class)
+		            .verify(Duration.ofSeconds(5));
+	}
+
+	@Test
+	public void waitStrategyKeepsWorkerBetweenBursts() throws Exception {
+		ExecutorService exec = Executors.newSingleThreadExecutor();
+		AtomicInteger submits = new AtomicInteger();
+		AtomicReference<FluxSink<Integer>> sink = new AtomicReference<>();
+		try {
+			AssertSubscriber<Integer> ts = AssertSubscriber.create();
+			Flux.<Integer>create(sink::set)
+			    .publishOn(fromExecutor(r -> {
+				    submits.incrementAndGet();
+				    exec.execute(r);
+			    }), 32, WaitStrategy.parking(), Duration.ofSeconds(10))
+			    .subscribe(ts);
+
+			for (int burst = 0; burst < 10; burst++) {
+				for (int i = 0; i < 10; i++) {
+					sink.get().next(burst * 10 + i);
+				}
+				Thread.sleep(5);
+			}
+			sink.get().complete();
+
+			ts.await(Duration.ofSeconds(5))
+			  .assertValueCount(100)
+			  .assertComplete();
+			Assertions.assertThat(submits).hasValue(1);
+		}
+		finally {
+			exec.shutdownNow();
+		}
+	}
+
+	@Test
+	public void waitStrategyKeepsWorkerBetweenBurstsConditional() throws Exception {
+		ExecutorService exec = Executors.newSingleThreadExecutor();
+		AtomicInteger submits = new AtomicInteger();
+		AtomicReference<FluxSink<Integer>> sink = new AtomicReference<>();
+		try {
+			AssertSubscriber<Integer> ts = AssertSubscriber.create();
+			Flux.<Integer>create(sink::set)
+			    .publishOn(fromExecutor(r -> {
+				    submits.incrementAndGet();
+				    exec.execute(r);
+			    }), 32, WaitStrategy.yielding(), Duration.ofSeconds(10))
+			    .filter(i -> i % 2 == 0)
+			    .subscribe(ts);
+
+			for (int burst = 0; burst < 10; burst++) {
+				for (int i = 0; i < 10; i++) {
+					sink.get().next(burst * 10 + i);
+				}
+				Thread.sleep(5);
+			}
+			sink.get().complete();
+
+			ts.await(Duration.ofSeconds(5))
+			  .assertValueCount(50)
+			  .assertComplete();
+			Assertions.assertThat(submits).hasValue(1);
+		}
+		finally {
+			exec.shutdownNow();
+		}
+	}
+
+	@Test
+	public void waitStrategyReleasesWorkerAfterMaxIdle() throws Exception {
+		ExecutorService exec = Executors.newSingleThreadExecutor();
+		AtomicInteger submits = new AtomicInteger();
+		AtomicReference<FluxSink<Integer>> sink = new AtomicReference<>();
+		try {
+			AssertSubscriber<Integer> ts = AssertSubscriber.create();
+			Flux.<Integer>create(sink::set)
+			    .publishOn(fromExecutor(r -> {
+				    submits.incrementAndGet();
+				    exec.execute(r);
+			    }), 32, WaitStrategy.parking(), Duration.ofMillis(1))
+			    .subscribe(ts);
+
+			sink.get().next(1);
+			ts.awaitAndAssertNextValueCount(1);
+			//the worker is free again, so other tasks can use it
+			exec.submit(() -> { }).get(5, TimeUnit.SECONDS);
+
+			int before = submits.get();
+			sink.get().next(2);
+			ts.awaitAndAssertNextValueCount(1);
+			Assertions.assertThat(submits).hasValue(before + 1);
+		}
+		finally {
+			exec.shutdownNow();
+		}
+	}
+
+	@Test
+	public void waitStrategyReleasesWorkerOnCancel() throws Exception {
+		ExecutorService exec = Executors.newSingleThreadExecutor();
+		AtomicReference<FluxSink<Integer>> sink = new AtomicReference<>();
+		try {
+			AssertSubscriber<Integer> ts = AssertSubscriber.create();
+			Flux.<Integer>create(sink::set)
+			    .publishOn(fromExecutor(exec), 32, WaitStrategy.busySpin(), Duration.ofSeconds(30))
+			    .subscribe(ts);
+
+			sink.get().next(1);
+			ts.awaitAndAssertNextValueCount(1);
+			ts.cancel();
+
+			exec.submit(() -> { }).get(5, TimeUnit.SECONDS);
+		}
+		finally {
+			exec.shutdownNow();
+		}
+	}
+
+	@Test
+	public void waitStrategyKeepsWorkInProgressBounded() throws Exception {
+		ExecutorService exec = Executors.newSingleThreadExecutor();
+		AtomicReference<FluxSink<Integer>> sink = new AtomicReference<>();
+		AtomicReference<Subscription> upstream = new AtomicReference<>();
+		try {
+			AssertSubscriber<Integer> ts = AssertSubscriber.create();
+			Flux.<Integer>create(sink::set)
+			    .publishOn(fromExecutor(exec), 32, WaitStrategy.parking(), Duration.ofSeconds(10))
+			    .doOnSubscribe(upstream::set)
+			    .subscribe(ts);
+
+			for (int burst = 0; burst < 10; burst++) {
+				for (int i = 0; i < 100; i++) {
+					sink.get().next(burst * 100 + i);
+				}
+				Thread.sleep(5);
+			}
+			ts.awaitAndAssertNextValueCount(1000);
+			Thread.sleep(50);
+
+			//the drain loop is parked: only its own marker remains, whatever the number of signals
+			Assertions.assertThat(((FluxPublishOn.PublishOnSubscriber<?>) upstream.get()).wip)
+			          .isEqualTo(1);
+
+			sink.get().complete();
+			ts.await(Duration.ofSeconds(5))
+			  .assertComplete();
+		}
+		finally {
+			exec.shutdownNow();
+		}
+	}
+
+	@Test
+	public void waitStrategyRejectsNonPositiveMaxIdle() {
+		Assertions.assertThatExceptionOfType(IllegalArgumentException.class)
+		          .isThrownBy(() -> Flux.just(1, 2)
+		                                .publishOn(Schedulers.single(), 32,
+				                                WaitStrategy.parking(), Duration.ZERO))
+		          .withMessage("maxIdle > 0 required but it was PT0S");
+	}
+
+	@Test
+	public void waitStrategyRejectsLockBasedStrategies() {
+		for (WaitStrategy strategy : Arrays.asList(WaitStrategy.blocking(),
+				WaitStrategy.liteBlocking(),
+				WaitStrategy.phasedOffLock(1, 1, TimeUnit.MILLISECONDS),
+				WaitStrategy.phasedOffLiteLock(1, 1, TimeUnit.MILLISECONDS),
+				WaitStrategy.phasedOff(1, 1, TimeUnit.MILLISECONDS, WaitStrategy.blocking()))) {
+			Assertions.assertThatExceptionOfType(IllegalArgumentException.class)
+			          .as("%s", strategy)
+			          .isThrownBy(() -> Flux.just(1, 2)
+			                                .publishOn(Schedulers.single(), 32,
+					                                strategy, Duration.ofMillis(10)))
+			          .withMessage("waitStrategy must not block until signalled, " +
+					          "the worker couldn't be released after maxIdle");
+		}
+
+		Assertions.assertThat(WaitStrategy.isBlocking(
+				WaitStrategy.phasedOffSleep(1, 1, TimeUnit.MILLISECONDS))).isFalse();
+		Assertions.assertThat(WaitStrategy.isBlocking(WaitStrategy.parking())).isFalse();
+	}
+
+	@Test
+	public void queuedErrorIsNotDelayedBehindBatch() throws InterruptedException {
+		Scheduler scheduler = Schedulers.newSingle("queuedErrorIsNotDelayedBehindBatch");
+		try {
+			CountDownLatch release = new CountDownLatch(1);
+			scheduler.schedule(() -> {
+				try {
+					release.await();
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			});
+
+			AssertSubscriber<Integer> ts = AssertSubscriber.create();
+			Flux.range(1, 4)
+			    .concatWith(Flux.error(new IllegalStateException("boom")))
+			    .hide()
+			    .publishOn(scheduler, false, 8)
+			    .subscribe(ts);
+
+			//values and error are all queued while the worker is busy
+			release.countDown();
+
+			ts.await(Duration.ofSeconds(5))
+			  .assertNoValues()
+			  .assertErrorMessage("boom");
+		}
+		finally {
+			scheduler.dispose();
+		}
+	}
 }
@@ -627,4 +627,111 @@ public class FluxPublishTest extends FluxOperatorTest<String, String> {
 		assertThat(valueLatch.await(4, TimeUnit.SECONDS)).as("all values received").isTrue();
 		assertThat(onCompleteLatch.await(4, TimeUnit.SECONDS)).as("completed").isTrue();
 	}
+
+	@Test
+	public void slowSubscriberDroppedAfterLag() {
+		ConnectableFlux<Integer> connectable = Flux.range(0, 10)
+		                                           .hide()
+		                                           .publish(8, SlowSubscriberPolicy.afterLag(2,
+				                                           FluxSink.OverflowStrategy.DROP));
+		AssertSubscriber<Integer> fast = AssertSubscriber.create();
+		AssertSubscriber<Integer> slow = AssertSubscriber.create(1);
+		connectable.subscribe(fast);
+		connectable.subscribe(slow);
+
+		connectable.connect();
+
+		fast.assertValues(0, 1, 2, 3, 4, 5, 6, 7, 8, 9)
+		    .assertComplete();
+		slow.assertValues(0)
+		    .assertComplete();
+	}
+
+	@Test
+	public void slowSubscriberDisconnectedAfterLag() {
+		DirectProcessor<Integer> source = DirectProcessor.create();
+		ConnectableFlux<Integer> connectable = source.publish(8,
+				SlowSubscriberPolicy.afterLag(3, FluxSink.OverflowStrategy.ERROR));
+		AssertSubscriber<Integer> fast = AssertSubscriber.create();
+		AssertSubscriber<Integer> slow = AssertSubscriber.create(0);
+		connectable.subscribe(fast);
+		connectable.subscribe(slow);
+		connectable.connect();
+
+		source.onNext(1);
+		source.onNext(2);
+		fast.assertNoValues();
+
+		source.onNext(3);
+		source.onNext(4);
+		fast.assertValues(1, 2, 3, 4);
+		slow.assertNoValues()
+		    .assertError(IllegalStateException.class);
+
+		source.onNext(5);
+		fast.assertValues(1, 2, 3, 4, 5);
+	}
+
+	@Test
+	public void scanInnerLag() {
+		DirectProcessor<Integer> source = DirectProcessor.create();
+		ConnectableFlux<Integer> connectable = source.publish(8);
+		AssertSubscriber<Integer> fast = AssertSubscriber.create();
+		AssertSubscriber<Integer> slow = AssertSubscriber.create(1);
+		connectable.subscribe(fast);
+		connectable.subscribe(slow);
+		connectable.connect();
+
+		for (int i = 0; i < 4; i++) {
+			source.onNext(i);
+		}
+
+		FluxPublish.PublishSubscriber<?> parent = ((FluxPublish<?>) connectable).connection;
+		assertThat(parent.inners()
+		                 .map(inner -> inner.scan(Scannable.Attr.LAG)))
+				.containsExactly(0, 3);
+	}
+	@Test
+	public void slowSubscriberLatestDiscardedOnComplete() {
+		DirectProcessor<Integer> source = DirectProcessor.create();
+		ConnectableFlux<Integer> connectable = source.publish(8,
+				SlowSubscriberPolicy.afterLag(1, FluxSink.OverflowStrategy.LATEST));
+		connectable.subscribe(AssertSubscriber.create());
+
+		StepVerifier.create(connectable, 1)
+		            .then(() -> {
+			            connectable.connect();
+			            for (int i = 0; i < 5; i++) {
+				            source.onNext(i);
+			            }
+			            source.onComplete();
+		            })
+		            .expectNext(0)
+		            .expectComplete()
+		            .verifyThenAssertThat()
+		            .hasDiscardedExactly(1, 2, 3, 4);
+	}
+
+	@Test
+	public void slowSubscriberLatestDiscardedOnCancel() {
+		DirectProcessor<Integer> source = DirectProcessor.create();
+		ConnectableFlux<Integer> connectable = source.publish(8,
+				SlowSubscriberPolicy.afterLag(1, FluxSink.OverflowStrategy.LATEST));
+		connectable.subscribe(AssertSubscriber.create());
+
+		StepVerifier.create(connectable, 1)
+		            .then(() -> {
+			            connectable.connect();
+			            source.onNext(0);
+		            })
+		            .expectNext(0)
+		            .then(() -> {
+			            for (int i = 1; i < 5; i++) {
+				            source.onNext(i);
+			            }
+		            })
+		            .thenCancel()
+		            .verifyThenAssertThat()
+		            .hasDiscardedExactly(1, 2, 3, 4);
+	}
 }
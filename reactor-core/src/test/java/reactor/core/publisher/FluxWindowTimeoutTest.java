@@ -16,6 +16,8 @@
 package reactor.core.publisher;
 
 import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
@@ -34,6 +36,7 @@ import reactor.core.scheduler.Schedulers;
 import reactor.test.StepVerifier;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 
 public class FluxWindowTimeoutTest {
 
@@ -288,4 +291,48 @@ public class FluxWindowTimeoutTest {
 		test.cancel();
 		Assertions.assertThat(test.scan(Scannable.Attr.CANCELLED)).isTrue();
     }
-}
\ No newline at end of file
+
+	@Test
+	public void windowByWeightCutsBeforeExceedingMaxWeight() {
+		StepVerifier.create(Flux.just("aaa", "bb", "cccc", "d", "eeeeeeeeee", "ff")
+		                        .windowByWeight(5, String::length, Duration.ofSeconds(10))
+		                        .concatMap(Flux::collectList))
+		            .expectNext(Arrays.asList("aaa", "bb"))
+		            .expectNext(Arrays.asList("cccc", "d"))
+		            .expectNext(Collections.singletonList("eeeeeeeeee"))
+		            .expectNext(Collections.singletonList("ff"))
+		            .verifyComplete();
+	}
+
+	@Test
+	public void windowByWeightClosesOnTimeout() {
+		StepVerifier.withVirtualTime(() -> Flux.just("aa", "b")
+		                                       .concatWith(Mono.delay(Duration.ofSeconds(2)).map(l -> "ccc"))
+		                                       .windowByWeight(10, String::length, Duration.ofSeconds(1))
+		                                       .concatMap(Flux::collectList))
+		            .thenAwait(Duration.ofSeconds(3))
+		            .expectNext(Arrays.asList("aa", "b"))
+		            .expectNext(Collections.singletonList("ccc"))
+		            .verifyComplete();
+	}
+
+	@Test
+	public void windowByWeightWeigherFailure() {
+		StepVerifier.create(Flux.just("a", "b", "c")
+		                        .windowByWeight(10, s -> {
+			                        if (s.equals("b")) {
+				                        throw new IllegalStateException("boom");
+			                        }
+			                        return 1L;
+		                        }, Duration.ofSeconds(1))
+		                        .concatMap(Flux::collectList))
+		            .verifyErrorMessage("boom");
+	}
+
+	@Test
+	public void windowByWeightRejectsNonPositiveWeight() {
+		assertThatIllegalArgumentException()
+				.isThrownBy(() -> Flux.just(1).windowByWeight(0, i -> i, Duration.ofSeconds(1)))
+				.withMessage("maxWeight must be strictly positive");
+	}
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2011-2018 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.publisher;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+import reactor.core.Fuseable;
+import reactor.test.StepVerifier;
+import reactor.test.subscriber.AssertSubscriber;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class LongFluxTest {
+
+	@Test
+	public void rangeBoxed() {
+		StepVerifier.create(LongFlux.range(1, 5).boxed())
+		            .expectNext(1L, 2L, 3L, 4L, 5L)
+		            .verifyComplete();
+	}
+
+	@Test
+	public void emptyRange() {
+		StepVerifier.create(LongFlux.range(10, 0).boxed())
+		            .verifyComplete();
+		StepVerifier.create(LongFlux.range(10, 0).sum())
+		            .expectNext(0L)
+		            .verifyComplete();
+	}
+
+	@Test
+	public void rangeValidation() {
+		assertThatExceptionOfType(IllegalArgumentException.class)
+				.isThrownBy(() -> LongFlux.range(1, -1));
+		assertThatExceptionOfType(IllegalArgumentException.class)
+				.isThrownBy(() -> LongFlux.range(Long.MAX_VALUE, 2));
+
+		StepVerifier.create(LongFlux.range(Long.MAX_VALUE - 1, 1).boxed())
+		            .expectNext(Long.MAX_VALUE - 1)
+		            .verifyComplete();
+	}
+
+	@Test
+	public void filterMapMapToObj() {
+		StepVerifier.create(LongFlux.range(1, 10)
+		                            .filter(v -> v % 2 == 0)
+		                            .map(v -> v * 10)
+		                            .mapToObj(v -> "#" + v))
+		            .expectNext("#20", "#40", "#60", "#80", "#100")
+		            .verifyComplete();
+	}
+
+	@Test
+	public void mapToObjBackpressured() {
+		AssertSubscriber<Long> ts = AssertSubscriber.create(0);
+
+		LongFlux.range(1, 10).filter(v -> v > 5).boxed().subscribe(ts);
+
+		ts.assertNoValues()
+		  .assertNotComplete();
+
+		ts.request(2);
+
+		ts.assertValues(6L, 7L)
+		  .assertNotComplete();
+
+		ts.request(10);
+
+		ts.assertValues(6L, 7L, 8L, 9L, 10L)
+		  .assertComplete();
+	}
+
+	@Test
+	public void mapToObjFusesSynchronously() {
+		StepVerifier.create(LongFlux.range(1, 3).boxed())
+		            .expectFusion(Fuseable.SYNC)
+		            .expectNext(1L, 2L, 3L)
+		            .verifyComplete();
+	}
+
+	@Test
+	public void mapToObjNullIsError() {
+		StepVerifier.create(LongFlux.range(1, 3).mapToObj(v -> v == 2 ? null : v))
+		            .expectNext(1L)
+		            .verifyError(NullPointerException.class);
+	}
+
+	@Test
+	public void resubscribeReplaysTheChain() {
+		AtomicLong tested = new AtomicLong();
+		Mono<Long> sum = LongFlux.range(1, 4)
+		                         .filter(v -> tested.incrementAndGet() > 0)
+		                         .sum();
+
+		StepVerifier.create(sum).expectNext(10L).verifyComplete();
+		StepVerifier.create(sum).expectNext(10L).verifyComplete();
+		assertThat(tested).hasValue(8);
+	}
+
+	@Test
+	public void sumCountReduce() {
+		LongFlux odds = LongFlux.range(0, 1_000_000).filter(v -> (v & 1) == 1);
+
+		StepVerifier.create(odds.count())
+		            .expectNext(500_000L)
+		            .verifyComplete();
+		StepVerifier.create(odds.sum())
+		            .expectNext(250_000_000_000L)
+		            .verifyComplete();
+		StepVerifier.create(odds.reduce(Long.MIN_VALUE, Math::max))
+		            .expectNext(999_999L)
+		            .verifyComplete();
+	}
+
+	@Test
+	public void reduceIsCallable() throws Exception {
+		Mono<Long> sum = LongFlux.range(1, 100).sum();
+
+		assertThat(sum).isInstanceOf(Callable.class);
+		assertThat(((Callable<?>) sum).call()).isEqualTo(5050L);
+	}
+
+	@Test
+	public void reduceError() {
+		StepVerifier.create(LongFlux.range(1, 10)
+		                            .map(v -> {
+			                            if (v == 5) {
+				                            throw new IllegalStateException("boom");
+			                            }
+			                            return v;
+		                            })
+		                            .sum())
+		            .verifyErrorMessage("boom");
+	}
+
+	@Test
+	public void reduceStopsWhenCancelled() {
+		AtomicLong seen = new AtomicLong();
+		AssertSubscriber<Long> ts = AssertSubscriber.create();
+
+		LongFlux.range(0, Long.MAX_VALUE)
+		        .filter(v -> {
+			        if (seen.incrementAndGet() == 5000) {
+				        ts.cancel();
+			        }
+			        return true;
+		        })
+		        .count()
+		        .subscribe(ts);
+
+		ts.assertNoValues()
+		  .assertNotComplete();
+		assertThat(seen.get()).isLessThan(5000L + MonoLongReduce.CANCEL_CHECK_MASK + 1);
+	}
+}
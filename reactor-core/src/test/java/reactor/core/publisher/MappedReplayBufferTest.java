@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.publisher;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.function.Function;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import reactor.core.Fuseable;
+import reactor.test.StepVerifier;
+import reactor.test.subscriber.AssertSubscriber;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class MappedReplayBufferTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	static final Function<String, byte[]> SERIALIZER = s -> s.getBytes(StandardCharsets.UTF_8);
+
+	static final Function<byte[], String> DESERIALIZER = b -> new String(b, StandardCharsets.UTF_8);
+
+	Path log() {
+		return folder.getRoot().toPath().resolve("replay.log");
+	}
+
+	ReplayProcessor<String> processor(int regionSize) {
+		return new ReplayProcessor<>(new MappedReplayBuffer<>(log(), regionSize,
+				SERIALIZER, DESERIALIZER));
+	}
+
+	static String value(int i) {
+		//values of varying sizes, including empty ones
+		char[] chars = new char[i % 13];
+		Arrays.fill(chars, (char) ('a' + i % 26));
+		return i + ":" + new String(chars);
+	}
+
+	@Test
+	public void failInvalidRegionSize() {
+		assertThatExceptionOfType(IllegalArgumentException.class)
+				.isThrownBy(() -> processor(66));
+	}
+
+	@Test
+	public void failNotAReplayLog() throws IOException {
+		Files.write(log(), "not a log".getBytes(StandardCharsets.UTF_8));
+
+		assertThatExceptionOfType(IllegalArgumentException.class)
+				.isThrownBy(() -> processor(64))
+				.withMessageContaining("is not a replay log");
+	}
+
+	@Test
+	public void replaysAcrossRegions() {
+		ReplayProcessor<String> rp = processor(64);
+
+		for (int i = 0; i < 500; i++) {
+			rp.onNext(value(i));
+		}
+
+		StepVerifier.create(rp, 0)
+		            .thenRequest(10)
+		            .expectNext(value(0), value(1), value(2), value(3), value(4),
+				            value(5), value(6), value(7), value(8), value(9))
+		            .then(rp::onComplete)
+		            .thenRequest(Long.MAX_VALUE)
+		            .expectNextCount(489)
+		            .expectNext(value(499))
+		            .verifyComplete();
+
+		//a late subscriber replays the whole history again
+		StepVerifier.create(rp)
+		            .expectNextCount(500)
+		            .verifyComplete();
+	}
+
+	@Test
+	public void liveSubscriberSeesValuesAfterHistory() {
+		ReplayProcessor<String> rp = processor(64);
+		rp.onNext("a");
+
+		AssertSubscriber<String> ts = AssertSubscriber.create();
+		rp.subscribe(ts);
+		ts.assertValues("a");
+
+		rp.onNext("b");
+		rp.onError(new IllegalStateException("boom"));
+
+		ts.assertValues("a", "b")
+		  .assertErrorMessage("boom");
+	}
+
+	@Test
+	public void fusedReplay() {
+		ReplayProcessor<String> rp = processor(64);
+		for (int i = 0; i < 100; i++) {
+			rp.onNext(value(i));
+		}
+		rp.onComplete();
+
+		StepVerifier.create(rp)
+		            .expectFusion(Fuseable.ASYNC)
+		            .expectNextCount(99)
+		            .expectNext(value(99))
+		            .verifyComplete();
+	}
+
+	@Test
+	public void historySurvivesReopening() {
+		ReplayProcessor<String> first = processor(64);
+		for (int i = 0; i < 50; i++) {
+			first.onNext(value(i));
+		}
+
+		ReplayProcessor<String> second = processor(128);
+		second.onNext("after");
+		second.onComplete();
+
+		StepVerifier.create(second)
+		            .expectNext(value(0))
+		            .expectNextCount(49)
+		            .expectNext("after")
+		            .verifyComplete();
+	}
+
+	@Test
+	public void reopeningStopsAtIncompleteRecord() {
+		MappedReplayBuffer<String> buffer =
+				new MappedReplayBuffer<>(log(), 64, SERIALIZER, DESERIALIZER);
+		buffer.add("a");
+		buffer.add("b");
+		//as if the process died after writing the bytes but before the header
+		buffer.writer.putInt(buffer.writer.position() + Integer.BYTES, 42);
+
+		MappedReplayBuffer<String> reopened =
+				new MappedReplayBuffer<>(log(), 64, SERIALIZER, DESERIALIZER);
+
+		assertThat(reopened.size()).isEqualTo(2);
+	}
+
+	@Test
+	public void recordOverIncompleteRecordSurvivesSecondReopening() {
+		MappedReplayBuffer<String> buffer =
+				new MappedReplayBuffer<>(log(), 64, SERIALIZER, DESERIALIZER);
+		buffer.add("a");
+		//as if the process died after writing the bytes of a long value but before its
+		//header
+		int p = buffer.writer.position();
+		for (int i = Integer.BYTES; i < 32; i++) {
+			buffer.writer.put(p + i, (byte) 0x7f);
+		}
+
+		MappedReplayBuffer<String> reopened =
+				new MappedReplayBuffer<>(log(), 64, SERIALIZER, DESERIALIZER);
+		assertThat(reopened.size()).isEqualTo(1);
+		//a shorter record, the next header slot lies within the incomplete one
+		reopened.add("b");
+
+		ReplayProcessor<String> again = new ReplayProcessor<>(
+				new MappedReplayBuffer<>(log(), 64, SERIALIZER, DESERIALIZER));
+		again.onComplete();
+
+		StepVerifier.create(again)
+		            .expectNext("a", "b")
+		            .verifyComplete();
+	}
+
+	@Test
+	public void valueLargerThanRegionErrors() {
+		ReplayProcessor<String> rp = processor(64);
+		AssertSubscriber<String> ts = AssertSubscriber.create();
+		rp.subscribe(ts);
+
+		rp.onNext("small");
+		rp.onNext(value(12) + value(12) + value(12) + value(12) + value(12));
+
+		ts.assertValues("small")
+		  .assertError(IllegalArgumentException.class);
+		assertThat(rp.isTerminated()).isTrue();
+	}
+
+	@Test
+	public void deserializerErrorTerminatesSubscriber() {
+		ReplayProcessor<String> rp = new ReplayProcessor<>(new MappedReplayBuffer<>(log(), 64,
+				SERIALIZER,
+				b -> {
+					String s = DESERIALIZER.apply(b);
+					if (s.equals("bad")) {
+						throw new IllegalStateException("boom");
+					}
+					return s;
+				}));
+		rp.onNext("good");
+		rp.onNext("bad");
+		rp.onNext("ignored");
+
+		AssertSubscriber<String> ts = AssertSubscriber.create();
+		rp.subscribe(ts);
+
+		ts.assertValues("good")
+		  .assertErrorMessage("boom");
+		assertThat(rp.downstreamCount()).isZero();
+	}
+}
@@ -15,6 +15,10 @@
  */
 package reactor.core.publisher;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
 
 import org.junit.After;
@@ -642,4 +646,124 @@ public class ReplayProcessorTest {
 	public void teardownVirtualTime(){
 		VirtualTimeScheduler.reset();
 	}
+
+	@Test
+	public void createMappedReplaysHistoryFromFile() throws IOException {
+		Path file = Files.createTempFile("createMappedReplaysHistoryFromFile", ".log");
+		Files.delete(file);
+		try {
+			ReplayProcessor<String> rp = ReplayProcessor.createMapped(file,
+					s -> s.getBytes(StandardCharsets.UTF_8),
+					b -> new String(b, StandardCharsets.UTF_8));
+			rp.onNext("foo");
+			rp.onNext("bar");
+			rp.onComplete();
+
+			StepVerifier.create(rp)
+			            .expectNext("foo", "bar")
+			            .verifyComplete();
+
+			assertThat(Files.size(file)).isPositive();
+		}
+		finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	@Test
+	public void sizeBoundAcrossChunks() {
+		ReplayProcessor<Integer> rp = ReplayProcessor.create(100);
+
+		for (int i = 0; i < 1000; i++) {
+			rp.onNext(i);
+		}
+		rp.onComplete();
+
+		assertThat(rp.buffer.size()).isEqualTo(100);
+		StepVerifier.create(rp)
+		            .expectNext(900)
+		            .expectNextCount(98)
+		            .expectNext(999)
+		            .verifyComplete();
+	}
+
+	@Test
+	public void sizeBoundSlowSubscriberKeepsEvictedValues() {
+		ReplayProcessor<Integer> rp = ReplayProcessor.create(10);
+		AssertSubscriber<Integer> ts = AssertSubscriber.create(0L);
+		rp.subscribe(ts);
+
+		for (int i = 0; i < 500; i++) {
+			rp.onNext(i);
+		}
+		rp.onComplete();
+
+		ts.request(Long.MAX_VALUE);
+		ts.assertValueCount(500)
+		  .assertComplete();
+		assertThat(ts.values().get(0)).isEqualTo(0);
+		assertThat(ts.values().get(499)).isEqualTo(499);
+	}
+
+	@Test
+	public void sizeBoundZeroOnlyReplaysLiveValues() {
+		ReplayProcessor<Integer> rp = ReplayProcessor.create(0);
+		rp.onNext(1);
+		rp.onNext(2);
+
+		AssertSubscriber<Integer> ts = AssertSubscriber.create();
+		rp.subscribe(ts);
+		rp.onNext(3);
+		rp.onComplete();
+
+		ts.assertValues(3)
+		  .assertComplete();
+	}
+
+	@Test
+	public void sizeAndTimeBoundAcrossChunks() {
+		VirtualTimeScheduler vts = VirtualTimeScheduler.create();
+		ReplayProcessor<Integer> rp =
+				ReplayProcessor.createSizeAndTimeout(150, Duration.ofMillis(100), vts);
+
+		for (int i = 0; i < 1000; i++) {
+			rp.onNext(i);
+			vts.advanceTimeBy(Duration.ofMillis(1));
+		}
+
+		//values pushed at 900ms and before are too old at 1000ms
+		StepVerifier.create(rp.hide(), 0)
+		            .thenRequest(1)
+		            .expectNext(901)
+		            .thenRequest(Long.MAX_VALUE)
+		            .expectNextCount(98)
+		            .then(() -> rp.onNext(1000))
+		            .expectNext(1000)
+		            .then(rp::onComplete)
+		            .verifyComplete();
+
+		StepVerifier.create(rp)
+		            .expectFusion(Fuseable.ASYNC)
+		            .expectNext(901)
+		            .expectNextCount(99)
+		            .verifyComplete();
+	}
+
+	@Test
+	public void sizeAndTimeBoundSizeEvictsFirst() {
+		VirtualTimeScheduler vts = VirtualTimeScheduler.create();
+		ReplayProcessor<Integer> rp =
+				ReplayProcessor.createSizeAndTimeout(70, Duration.ofSeconds(10), vts);
+
+		for (int i = 0; i < 200; i++) {
+			rp.onNext(i);
+		}
+		rp.onComplete();
+
+		assertThat(rp.buffer.size()).isEqualTo(70);
+		StepVerifier.create(rp)
+		            .expectNext(130)
+		            .expectNextCount(69)
+		            .verifyComplete();
+	}
 }
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2011-2018 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+import java.time.Duration;
+
+import org.junit.Test;
+import reactor.core.publisher.FluxSink.OverflowStrategy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class SlowSubscriberPolicyTest {
+
+	@Test
+	public void rejectsNegativeMaxLag() {
+		assertThatExceptionOfType(IllegalArgumentException.class)
+				.isThrownBy(() -> SlowSubscriberPolicy.afterLag(-1, OverflowStrategy.ERROR))
+				.withMessage("maxLag >= 0 required but it was -1");
+	}
+
+	@Test
+	public void rejectsNegativeMaxStall() {
+		assertThatExceptionOfType(IllegalArgumentException.class)
+				.isThrownBy(() -> SlowSubscriberPolicy.afterStall(Duration.ofMillis(-1), OverflowStrategy.DROP));
+	}
+
+	@Test
+	public void rejectsBufferingStrategies() {
+		assertThatExceptionOfType(IllegalArgumentException.class)
+				.isThrownBy(() -> SlowSubscriberPolicy.afterLag(1, OverflowStrategy.BUFFER))
+				.withMessage("ERROR, DROP or LATEST strategy required but it was BUFFER");
+		assertThatExceptionOfType(IllegalArgumentException.class)
+				.isThrownBy(() -> SlowSubscriberPolicy.afterLag(1, OverflowStrategy.IGNORE));
+	}
+
+	@Test
+	public void toStringDescribesThreshold() {
+		assertThat(SlowSubscriberPolicy.afterLag(8, OverflowStrategy.LATEST))
+				.hasToString("SlowSubscriberPolicy(maxLag=8, LATEST)");
+		assertThat(SlowSubscriberPolicy.afterStall(Duration.ofSeconds(2), OverflowStrategy.ERROR))
+				.hasToString("SlowSubscriberPolicy(maxStall=PT2S, ERROR)");
+	}
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.publisher;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class SpillingQueueTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	static final Function<Integer, byte[]> SERIALIZER =
+			i -> ByteBuffer.allocate(Integer.BYTES).putInt(i).array();
+
+	static final Function<byte[], Integer> DESERIALIZER = b -> ByteBuffer.wrap(b).getInt();
+
+	SpillingQueue<Integer> queue(int maxInMemory, int segmentSize) {
+		return new SpillingQueue<>(maxInMemory, folder.getRoot().toPath(), segmentSize,
+				SERIALIZER, DESERIALIZER);
+	}
+
+	static long files(Path directory) {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.count();
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	@Test
+	public void failNonPositiveMaxInMemory() {
+		assertThatExceptionOfType(IllegalArgumentException.class)
+				.isThrownBy(() -> queue(0, 64));
+	}
+
+	@Test
+	public void spillsOverflowAcrossSegmentsInOrder() {
+		SpillingQueue<Integer> q = queue(2, 32);
+
+		for (int i = 0; i < 100; i++) {
+			assertThat(q.offer(i)).isTrue();
+		}
+
+		assertThat(q.size()).isEqualTo(100);
+		//4 records of 4 + 4 bytes per segment
+		assertThat(q.segmentCount()).isEqualTo(25);
+		assertThat(files(folder.getRoot().toPath())).isEqualTo(25);
+
+		List<Integer> polled = new ArrayList<>();
+		Integer v;
+		while ((v = q.poll()) != null) {
+			polled.add(v);
+		}
+
+		assertThat(polled).hasSize(100);
+		for (int i = 0; i < 100; i++) {
+			assertThat(polled.get(i)).isEqualTo(i);
+		}
+		assertThat(q.isEmpty()).isTrue();
+		assertThat(files(folder.getRoot().toPath())).isZero();
+	}
+
+	@Test
+	public void keepsSpillingUntilSpilledElementsArePolled() {
+		SpillingQueue<Integer> q = queue(2, 64);
+
+		q.offer(1);
+		q.offer(2);
+		q.offer(3);
+		assertThat(q.poll()).isEqualTo(1);
+
+		//there is room on the heap but 3 has been spilled, so 4 must follow it
+		q.offer(4);
+		assertThat(q.segmentCount()).isEqualTo(1);
+
+		assertThat(q.poll()).isEqualTo(2);
+		assertThat(q.poll()).isEqualTo(3);
+		assertThat(q.poll()).isEqualTo(4);
+		assertThat(q.poll()).isNull();
+		assertThat(q.segmentCount()).isZero();
+
+		q.offer(5);
+		assertThat(q.segmentCount()).isZero();
+		assertThat(q.poll()).isEqualTo(5);
+	}
+
+	@Test
+	public void peekSpilledElementDoesntConsumeIt() {
+		SpillingQueue<Integer> q = queue(1, 16);
+
+		for (int i = 0; i < 6; i++) {
+			q.offer(i);
+		}
+		assertThat(q.poll()).isEqualTo(0);
+
+		assertThat(q.peek()).isEqualTo(1);
+		assertThat(q.peek()).isEqualTo(1);
+		assertThat(q.size()).isEqualTo(5);
+		assertThat(q.poll()).isEqualTo(1);
+		assertThat(q.poll()).isEqualTo(2);
+		assertThat(q.segmentCount()).isEqualTo(3);
+
+		//1 and 2 filled the first segment, peeking 3 moves past it and deletes it
+		assertThat(q.peek()).isEqualTo(3);
+		assertThat(q.segmentCount()).isEqualTo(2);
+		assertThat(files(folder.getRoot().toPath())).isEqualTo(2);
+		assertThat(q.poll()).isEqualTo(3);
+
+		assertThat(q.poll()).isEqualTo(4);
+		assertThat(q.peek()).isEqualTo(5);
+		assertThat(q.poll()).isEqualTo(5);
+		assertThat(q.peek()).isNull();
+		assertThat(q.isEmpty()).isTrue();
+		assertThat(files(folder.getRoot().toPath())).isZero();
+	}
+
+	@Test
+	public void clearDropsPeekedSpilledElement() {
+		SpillingQueue<Integer> q = queue(1, 64);
+
+		q.offer(1);
+		q.offer(2);
+		assertThat(q.poll()).isEqualTo(1);
+		assertThat(q.peek()).isEqualTo(2);
+
+		q.clear();
+
+		assertThat(q.peek()).isNull();
+		q.offer(3);
+		assertThat(q.poll()).isEqualTo(3);
+		assertThat(files(folder.getRoot().toPath())).isZero();
+	}
+
+	@Test
+	public void recordLargerThanSegmentGetsItsOwnSegment() {
+		SpillingQueue<byte[]> q = new SpillingQueue<>(1, folder.getRoot().toPath(), 16,
+				Function.identity(), Function.identity());
+		byte[] large = new byte[1000];
+		large[999] = 42;
+
+		q.offer(new byte[1]);
+		q.offer(new byte[2]);
+		q.offer(large);
+		q.offer(new byte[3]);
+
+		assertThat(q.segmentCount()).isEqualTo(3);
+		assertThat(q.poll()).hasSize(1);
+		assertThat(q.poll()).hasSize(2);
+		assertThat(q.poll()).isEqualTo(large);
+		assertThat(q.poll()).hasSize(3);
+		assertThat(q.poll()).isNull();
+	}
+
+	@Test
+	public void clearDeletesSegments() {
+		SpillingQueue<Integer> q = queue(1, 32);
+
+		for (int i = 0; i < 10; i++) {
+			q.offer(i);
+		}
+		assertThat(files(folder.getRoot().toPath())).isGreaterThan(1);
+
+		q.clear();
+
+		assertThat(q.isEmpty()).isTrue();
+		assertThat(q.poll()).isNull();
+		assertThat(files(folder.getRoot().toPath())).isZero();
+	}
+
+	@Test
+	public void serializerErrorDoesNotCorruptQueue() {
+		SpillingQueue<Integer> q = new SpillingQueue<>(1, folder.getRoot().toPath(), 64,
+				i -> {
+					if (i == 2) {
+						throw new IllegalStateException("boom");
+					}
+					return SERIALIZER.apply(i);
+				}, DESERIALIZER);
+
+		q.offer(1);
+		assertThatExceptionOfType(IllegalStateException.class)
+				.isThrownBy(() -> q.offer(2))
+				.withMessage("boom");
+		q.offer(3);
+
+		assertThat(q.poll()).isEqualTo(1);
+		assertThat(q.poll()).isEqualTo(3);
+		assertThat(q.poll()).isNull();
+	}
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) 2011-2018 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import reactor.test.util.RaceTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SubscriberRegistryTest {
+
+	static final class Item implements SubscriberRegistry.Entry {
+
+		final int id;
+
+		int registryIndex = -1;
+
+		Item(int id) {
+			this.id = id;
+		}
+
+		@Override
+		public int registryIndex() {
+			return registryIndex;
+		}
+
+		@Override
+		public void registryIndex(int index) {
+			registryIndex = index;
+		}
+
+		@Override
+		public String toString() {
+			return "Item" + id;
+		}
+	}
+
+	static List<Item> items(int count) {
+		List<Item> list = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			list.add(new Item(i));
+		}
+		return list;
+	}
+
+	@Test
+	public void addAndRemove() {
+		SubscriberRegistry<Item> registry = new SubscriberRegistry<>(Item[]::new);
+		Item a = new Item(1);
+		Item b = new Item(2);
+
+		assertThat(registry.add(a)).isTrue();
+		assertThat(registry.add(b)).isTrue();
+		assertThat(registry.size()).isEqualTo(2);
+		assertThat(registry.snapshot()).containsExactly(a, b);
+
+		assertThat(registry.remove(a)).isEqualTo(1);
+		assertThat(a.registryIndex()).isEqualTo(-1);
+		assertThat(registry.remove(a)).as("removed twice").isEqualTo(-1);
+		assertThat(registry.snapshot()).containsExactly(b);
+
+		assertThat(registry.remove(b)).isEqualTo(0);
+		assertThat(registry.snapshot()).isEmpty();
+	}
+
+	@Test
+	public void removeNeverAdded() {
+		SubscriberRegistry<Item> registry = new SubscriberRegistry<>(Item[]::new);
+		registry.add(new Item(1));
+
+		assertThat(registry.remove(new Item(2))).isEqualTo(-1);
+		assertThat(registry.size()).isEqualTo(1);
+	}
+
+	@Test
+	public void snapshotIsCachedUntilChanged() {
+		SubscriberRegistry<Item> registry = new SubscriberRegistry<>(Item[]::new);
+		registry.add(new Item(1));
+
+		Item[] first = registry.snapshot();
+		assertThat(registry.snapshot()).isSameAs(first);
+
+		registry.add(new Item(2));
+		assertThat(registry.snapshot()).isNotSameAs(first)
+		                               .hasSize(2);
+	}
+
+	@Test
+	public void compactionKeepsOrderAndIndexes() {
+		SubscriberRegistry<Item> registry = new SubscriberRegistry<>(Item[]::new);
+		List<Item> items = items(100);
+		items.forEach(registry::add);
+
+		List<Item> kept = new ArrayList<>();
+		for (Item item : items) {
+			if (item.id % 10 == 0) {
+				kept.add(item);
+			}
+			else {
+				assertThat(registry.remove(item)).isNotNegative();
+			}
+		}
+
+		assertThat(registry.size()).isEqualTo(10);
+		assertThat(registry.snapshot()).containsExactlyElementsOf(kept);
+
+		//entries moved by the compaction can still be removed
+		for (Item item : kept) {
+			assertThat(registry.remove(item)).isNotNegative();
+		}
+		assertThat(registry.size()).isZero();
+		assertThat(registry.snapshot()).isEmpty();
+		for (SubscriberRegistry.Stripe stripe : registry.stripes) {
+			assertThat(stripe.count).isZero();
+			assertThat(stripe.entries.length)
+					.isLessThanOrEqualTo(SubscriberRegistry.INITIAL_CAPACITY);
+		}
+	}
+
+	@Test
+	public void entriesAreAllocatedLazily() {
+		SubscriberRegistry<Item> registry = new SubscriberRegistry<>(Item[]::new);
+
+		assertThat(registry.stripes).hasSize(1);
+		assertThat(registry.stripes[0].entries).isEmpty();
+
+		registry.add(new Item(1));
+		assertThat(registry.stripes[0].entries)
+				.hasSize(SubscriberRegistry.INITIAL_CAPACITY);
+	}
+
+	@Test
+	public void registrationOrderIsKeptAcrossThreads() throws Exception {
+		SubscriberRegistry<Item> registry = new SubscriberRegistry<>(Item[]::new);
+		List<Item> items = items(20);
+
+		for (Item item : items) {
+			Thread t = new Thread(() -> registry.add(item));
+			t.start();
+			t.join();
+		}
+
+		assertThat(registry.snapshot()).containsExactlyElementsOf(items);
+	}
+
+	@Test
+	public void stripedAddRemove() {
+		SubscriberRegistry<Item> registry = new SubscriberRegistry<>(Item[]::new, true);
+		List<Item> items = items(100);
+		items.forEach(registry::add);
+
+		assertThat(registry.stripes).hasSize(SubscriberRegistry.STRIPES);
+		assertThat(registry.snapshot()).containsExactlyElementsOf(items);
+
+		for (int i = 0; i < items.size(); i += 2) {
+			assertThat(registry.remove(items.get(i))).isNotNegative();
+		}
+		assertThat(registry.size()).isEqualTo(50);
+		assertThat(registry.snapshot()).hasSize(50)
+		                               .allMatch(item -> item.id % 2 == 1);
+		assertThat(registry.terminate()).hasSize(50);
+	}
+
+	@Test
+	public void terminateReturnsAllOnce() {
+		SubscriberRegistry<Item> registry = new SubscriberRegistry<>(Item[]::new);
+		List<Item> items = items(20);
+		items.forEach(registry::add);
+
+		assertThat(registry.terminate()).containsExactlyElementsOf(items);
+		assertThat(registry.isTerminated()).isTrue();
+		assertThat(registry.size()).isZero();
+		assertThat(registry.snapshot()).isEmpty();
+		assertThat(items).allMatch(item -> item.registryIndex() == -1);
+
+		assertThat(registry.terminate()).isEmpty();
+		assertThat(registry.add(new Item(21))).isFalse();
+		assertThat(registry.remove(items.get(0))).isEqualTo(-1);
+	}
+
+	@Test
+	public void concurrentAddRemove() {
+		for (int round = 0; round < 100; round++) {
+			SubscriberRegistry<Item> registry = new SubscriberRegistry<>(Item[]::new);
+			List<Item> left = items(50);
+			List<Item> right = items(50);
+
+			RaceTestUtils.race(() -> churn(registry, left), () -> churn(registry, right));
+
+			assertThat(registry.size()).isEqualTo(50);
+			assertThat(registry.snapshot()).hasSize(50);
+		}
+	}
+
+	@Test
+	public void stripedConcurrentAddRemove() {
+		for (int round = 0; round < 100; round++) {
+			SubscriberRegistry<Item> registry = new SubscriberRegistry<>(Item[]::new, true);
+			List<Item> left = items(50);
+			List<Item> right = items(50);
+
+			RaceTestUtils.race(() -> churn(registry, left), () -> churn(registry, right));
+
+			assertThat(registry.size()).isEqualTo(50);
+			assertThat(registry.snapshot()).hasSize(50);
+		}
+	}
+
+	static void churn(SubscriberRegistry<Item> registry, List<Item> items) {
+		items.forEach(registry::add);
+		for (int i = 0; i < items.size(); i += 2) {
+			registry.remove(items.get(i));
+		}
+	}
+}
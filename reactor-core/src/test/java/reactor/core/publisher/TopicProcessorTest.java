@@ -16,6 +16,8 @@
 package reactor.core.publisher;
 
 import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
@@ -886,4 +888,89 @@ public class TopicProcessorTest {
 					.thenCancel()
 					.verify();
 	}
+
+	@Test
+	public void onNextAllLargerThanBuffer() {
+		TopicProcessor<Integer> processor = TopicProcessor.<Integer>builder()
+				.name("processor")
+				.bufferSize(8)
+				.build();
+		List<Integer> values = Flux.range(0, 100).collectList().block();
+
+		AssertSubscriber<Integer> ts = AssertSubscriber.create();
+		processor.subscribe(ts);
+
+		processor.onNextAll(values);
+		processor.onComplete();
+
+		ts.await(Duration.ofSeconds(5))
+		  .assertValueSequence(values)
+		  .assertComplete();
+	}
+
+	@Test
+	public void onNextAllSharedFromSeveralProducers() throws Exception {
+		TopicProcessor<Integer> processor = TopicProcessor.<Integer>builder()
+				.name("processor")
+				.bufferSize(16)
+				.share(true)
+				.build();
+		List<Integer> first = Flux.range(0, 500).collectList().block();
+		List<Integer> second = Flux.range(500, 500).collectList().block();
+
+		AssertSubscriber<Integer> ts = AssertSubscriber.create();
+		processor.subscribe(ts);
+
+		ExecutorService producers = Executors.newFixedThreadPool(2);
+		try {
+			producers.submit(() -> processor.onNextAll(first));
+			producers.submit(() -> processor.onNextAll(second));
+			producers.shutdown();
+			assertThat(producers.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+		}
+		finally {
+			producers.shutdownNow();
+		}
+		processor.onComplete();
+
+		ts.await(Duration.ofSeconds(5))
+		  .assertValueCount(1000)
+		  .assertComplete();
+		//each producer's batch keeps its order
+		assertThat(ts.values().stream().filter(v -> v < 500)).containsExactlyElementsOf(first);
+		assertThat(ts.values().stream().filter(v -> v >= 500)).containsExactlyElementsOf(second);
+	}
+
+	@Test
+	public void onNextAllRejectsNullValues() {
+		TopicProcessor<Integer> processor = TopicProcessor.<Integer>builder()
+				.name("processor")
+				.bufferSize(8)
+				.build();
+
+		Assertions.assertThatNullPointerException()
+		          .isThrownBy(() -> processor.onNextAll(Arrays.asList(1, null, 3)))
+		          .withMessage("onNextAll");
+		assertThat(processor.ringBuffer.getCursor()).as("nothing claimed").isEqualTo(-1L);
+		processor.shutdown();
+	}
+
+	@Test
+	public void boundedSubscriberTakesDemandPerBatch() {
+		TopicProcessor<Integer> processor = TopicProcessor.<Integer>builder()
+				.name("processor")
+				.bufferSize(16)
+				.build();
+
+		StepVerifier.create(processor, 0)
+		            .then(() -> processor.onNextAll(Flux.range(0, 10).collectList().block()))
+		            .thenRequest(3)
+		            .expectNext(0, 1, 2)
+		            .expectNoEvent(Duration.ofMillis(100))
+		            .thenRequest(7)
+		            .expectNext(3, 4, 5, 6, 7, 8, 9)
+		            .then(processor::onComplete)
+		            .expectComplete()
+		            .verify(Duration.ofSeconds(5));
+	}
 }
@@ -1556,4 +1556,26 @@ public class WorkQueueProcessorTest {
 		assertTrue(processor.awaitAndShutdown(Duration.ofMillis(400)));
 	}
 
+	@Test
+	public void onNextAllLargerThanBuffer() {
+		WorkQueueProcessor<Integer> processor = WorkQueueProcessor.<Integer>builder()
+				.name("processor")
+				.bufferSize(8)
+				.build();
+		AssertSubscriber<Integer> first = AssertSubscriber.create();
+		AssertSubscriber<Integer> second = AssertSubscriber.create();
+		processor.subscribe(first);
+		processor.subscribe(second);
+
+		processor.onNextAll(Flux.range(0, 100).collectList().block());
+		processor.onComplete();
+
+		first.await(Duration.ofSeconds(5)).assertComplete();
+		second.await(Duration.ofSeconds(5)).assertComplete();
+		Assertions.assertThat(Flux.fromIterable(first.values())
+		               .concatWith(Flux.fromIterable(second.values()))
+		               .sort()
+		               .collectList()
+		               .block()).containsExactlyElementsOf(Flux.range(0, 100).collectList().block());
+	}
 }
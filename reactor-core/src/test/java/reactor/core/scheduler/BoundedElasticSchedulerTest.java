@@ -0,0 +1,262 @@
+/*
+ * Copyright (c) 2011-2018 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.scheduler;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import reactor.core.Disposable;
+import reactor.core.Scannable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class BoundedElasticSchedulerTest extends AbstractSchedulerTest {
+
+	@Override
+	protected Scheduler scheduler() {
+		return Schedulers.newBoundedElastic(4, Integer.MAX_VALUE, "BoundedElasticSchedulerTest");
+	}
+
+	@Override
+	protected boolean shouldCheckInterrupted() {
+		return true;
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void unsupportedStart() {
+		Scheduler s = scheduler();
+		try {
+			s.start();
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void negativeThreadCap() {
+		Schedulers.newBoundedElastic(-1, 10, "test");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void negativeQueuedTaskCap() {
+		Schedulers.newBoundedElastic(1, -1, "test");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void negativeTime() {
+		Schedulers.newBoundedElastic(1, 10, "test", -1);
+	}
+
+	@Test
+	public void threadCapIsRespectedAndLeastBusyIsPicked() {
+		BoundedElasticScheduler s = (BoundedElasticScheduler)
+				Schedulers.newBoundedElastic(2, 10, "threadCap");
+		try {
+			Scheduler.Worker w1 = s.createWorker();
+			Scheduler.Worker w2 = s.createWorker();
+			Scheduler.Worker w3 = s.createWorker();
+
+			assertThat(s.activeCount()).isEqualTo(2);
+			assertThat(((BoundedElasticScheduler.BoundedWorker) w3).state)
+					.isSameAs(((BoundedElasticScheduler.BoundedWorker) w1).state);
+
+			w2.dispose();
+			assertThat(s.activeCount()).isEqualTo(1);
+			assertThat(s.idleCount()).isEqualTo(1);
+
+			Scheduler.Worker w4 = s.createWorker();
+			assertThat(((BoundedElasticScheduler.BoundedWorker) w4).state)
+					.as("idle pool reused")
+					.isSameAs(((BoundedElasticScheduler.BoundedWorker) w2).state);
+			assertThat(s.idleCount()).isZero();
+
+			w1.dispose();
+			assertThat(s.activeCount()).as("w3 still uses the pool").isEqualTo(2);
+			w3.dispose();
+			w4.dispose();
+			assertThat(s.activeCount()).isZero();
+			assertThat(s.idleCount()).isEqualTo(2);
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void threadsAreCapped() throws InterruptedException {
+		Scheduler s = Schedulers.newBoundedElastic(3, Integer.MAX_VALUE, "capped");
+		Set<String> threads = new HashSet<>();
+		CountDownLatch latch = new CountDownLatch(100);
+		try {
+			for (int i = 0; i < 100; i++) {
+				s.schedule(() -> {
+					synchronized (threads) {
+						threads.add(Thread.currentThread().getName());
+					}
+					latch.countDown();
+				});
+			}
+			assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+			assertThat(threads).hasSize(3);
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void rejectsOnceQueueIsFull() throws InterruptedException {
+		Scheduler s = Schedulers.newBoundedElastic(1, 2, "rejects");
+		CountDownLatch running = new CountDownLatch(1);
+		CountDownLatch block = new CountDownLatch(1);
+		try {
+			Scheduler.Worker worker = s.createWorker();
+			worker.schedule(() -> {
+				running.countDown();
+				try {
+					block.await();
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			});
+			assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+
+			worker.schedule(() -> {});
+			worker.schedule(() -> {});
+
+			assertThatExceptionOfType(RejectedExecutionException.class)
+					.isThrownBy(() -> worker.schedule(() -> {}))
+					.withMessage("Task capacity of bounded elastic scheduler reached while scheduling 1 tasks (3/2)");
+			assertThatExceptionOfType(RejectedExecutionException.class)
+					.as("direct schedule shares the queue")
+					.isThrownBy(() -> s.schedule(() -> {}));
+
+			assertThat(Scannable.from(s).scan(Scannable.Attr.LARGE_BUFFERED)).isEqualTo(2L);
+		}
+		finally {
+			block.countDown();
+			s.dispose();
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void directTaskReleasesStateOnceDone() throws InterruptedException {
+		BoundedElasticScheduler s = (BoundedElasticScheduler)
+				Schedulers.newBoundedElastic(1, 10, "release");
+		try {
+			CountDownLatch latch = new CountDownLatch(1);
+			s.schedule(latch::countDown);
+			assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+
+			while (s.activeCount() != 0) {
+				Thread.sleep(10);
+			}
+			assertThat(s.idleCount()).isEqualTo(1);
+
+			Disposable d = s.schedule(() -> {}, 1, TimeUnit.HOURS);
+			assertThat(s.activeCount()).isEqualTo(1);
+			d.dispose();
+			d.dispose(); //noop
+			assertThat(s.activeCount()).isZero();
+			assertThat(s.idleCount()).isEqualTo(1);
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void eviction() throws Exception {
+		BoundedElasticScheduler s = (BoundedElasticScheduler)
+				Schedulers.newBoundedElastic(2, 10, "eviction", 1);
+		s.evictor.shutdownNow();
+		try {
+			Scheduler.Worker worker = s.createWorker();
+			worker.dispose();
+			assertThat(s.idleCount()).isEqualTo(1);
+
+			while (s.idleCount() != 0) {
+				s.eviction();
+				Thread.sleep(100);
+			}
+			assertThat(((BoundedElasticScheduler.BoundedWorker) worker).state.isDisposed()).isTrue();
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test
+	public void scanName() {
+		Scheduler withNamedFactory = Schedulers.newBoundedElastic(1, 2, "scanName", 3);
+		Scheduler withBasicFactory = Schedulers.newBoundedElastic(1, 2, Thread::new, 3);
+
+		Scheduler.Worker workerWithNamedFactory = withNamedFactory.createWorker();
+		Scheduler.Worker workerWithBasicFactory = withBasicFactory.createWorker();
+
+		try {
+			assertThat(Scannable.from(withNamedFactory).scan(Scannable.Attr.NAME))
+					.as("withNamedFactory")
+					.isEqualTo("boundedElastic(\"scanName\",maxThreads=1,maxTaskQueuedPerThread=2,ttl=3s)");
+
+			assertThat(Scannable.from(withBasicFactory).scan(Scannable.Attr.NAME))
+					.as("withBasicFactory")
+					.isEqualTo("boundedElastic(maxThreads=1,maxTaskQueuedPerThread=2,ttl=3s)");
+
+			assertThat(Scannable.from(workerWithNamedFactory).scan(Scannable.Attr.NAME))
+					.as("workerWithNamedFactory")
+					.isEqualTo("boundedElastic(\"scanName\",maxThreads=1,maxTaskQueuedPerThread=2,ttl=3s).worker");
+
+			assertThat(Scannable.from(workerWithBasicFactory).scan(Scannable.Attr.NAME))
+					.as("workerWithBasicFactory")
+					.isEqualTo("boundedElastic(maxThreads=1,maxTaskQueuedPerThread=2,ttl=3s).worker");
+		}
+		finally {
+			withNamedFactory.dispose();
+			withBasicFactory.dispose();
+			workerWithNamedFactory.dispose();
+			workerWithBasicFactory.dispose();
+		}
+	}
+
+	@Test
+	public void scanCapacityAndCounts() {
+		Scheduler scheduler = Schedulers.newBoundedElastic(3, 5, Thread::new, 60);
+		Scheduler.Worker worker1 = scheduler.createWorker();
+		Scheduler.Worker worker2 = scheduler.createWorker();
+		try {
+			worker2.dispose();
+
+			assertThat(Scannable.from(scheduler).scan(Scannable.Attr.CAPACITY)).as("thread cap").isEqualTo(3);
+			assertThat(Scannable.from(scheduler).scan(Scannable.Attr.BUFFERED)).as("active threads").isEqualTo(1);
+			assertThat(Scannable.from(scheduler).inners()).as("active and idle threads").hasSize(2);
+			assertThat(Scannable.from(worker1).scan(Scannable.Attr.CAPACITY)).as("worker queue capacity").isEqualTo(5);
+			assertThat(Scannable.from(worker1).scan(Scannable.Attr.BUFFERED)).as("worker queued tasks").isZero();
+		}
+		finally {
+			worker1.dispose();
+			scheduler.dispose();
+		}
+	}
+}
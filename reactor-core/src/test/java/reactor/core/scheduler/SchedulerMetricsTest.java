@@ -0,0 +1,224 @@
+/*
+ * Copyright (c) 2011-2018 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.scheduler;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.reactivestreams.Publisher;
+import reactor.core.Disposable;
+import reactor.core.Scannable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static reactor.core.scheduler.SchedulerMetrics.*;
+
+public class SchedulerMetricsTest extends AbstractSchedulerTest {
+
+	MeterRegistry registry;
+
+	@Before
+	public void setUpRegistry() {
+		registry = new SimpleMeterRegistry();
+	}
+
+	@After
+	public void tearDownMetrics() {
+		Schedulers.disableMetrics();
+	}
+
+	@Override
+	protected Scheduler scheduler() {
+		return new SchedulerMetrics(new SimpleMeterRegistry())
+				.apply(Schedulers.newParallel("SchedulerMetricsTest", 2));
+	}
+
+	@Override
+	protected boolean shouldCheckInterrupted() {
+		return true;
+	}
+
+	double count(String meter, String scheduler) {
+		return registry.get(meter).tag(TAG_SCHEDULER, scheduler).counter().count();
+	}
+
+	@Test(timeout = 10000)
+	public void countsAndTimesTasks() throws InterruptedException {
+		Scheduler s = new SchedulerMetrics(registry).apply(Schedulers.newSingle("counts"));
+		String name = "single(\"counts\")";
+		try {
+			CountDownLatch latch = new CountDownLatch(3);
+			s.schedule(latch::countDown);
+			s.schedule(latch::countDown, 10, TimeUnit.MILLISECONDS);
+			Scheduler.Worker w = s.createWorker();
+			w.schedule(() -> {
+				try {
+					Thread.sleep(20);
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				latch.countDown();
+			});
+			assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+
+			while (count(METER_COMPLETED, name) < 3d) {
+				Thread.sleep(10);
+			}
+			assertThat(count(METER_SUBMITTED, name)).isEqualTo(3d);
+			assertThat(registry.get(METER_PENDING).tag(TAG_SCHEDULER, name).gauge().value())
+					.isZero();
+			assertThat(registry.get(METER_QUEUED).tag(TAG_SCHEDULER, name).timer().count())
+					.isEqualTo(3L);
+			assertThat(registry.get(METER_RUN).tag(TAG_SCHEDULER, name).timer()
+			                   .max(TimeUnit.MILLISECONDS))
+					.isGreaterThanOrEqualTo(20d);
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test
+	public void pendingGaugeTracksCancellation() {
+		Scheduler s = new SchedulerMetrics(registry).apply(Schedulers.newSingle("pending"));
+		String name = "single(\"pending\")";
+		try {
+			Disposable d = s.schedule(() -> {}, 1, TimeUnit.HOURS);
+			Scheduler.Worker w = s.createWorker();
+			w.schedule(() -> {}, 1, TimeUnit.HOURS);
+			w.schedule(() -> {}, 1, TimeUnit.HOURS);
+
+			assertThat(registry.get(METER_PENDING).tag(TAG_SCHEDULER, name).gauge().value())
+					.isEqualTo(3d);
+
+			d.dispose();
+			assertThat(d.isDisposed()).isTrue();
+			assertThat(registry.get(METER_PENDING).tag(TAG_SCHEDULER, name).gauge().value())
+					.isEqualTo(2d);
+
+			w.dispose();
+			assertThat(registry.get(METER_PENDING).tag(TAG_SCHEDULER, name).gauge().value())
+					.as("worker disposal drops its tasks")
+					.isZero();
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test
+	public void pendingGaugeSurvivesSchedulerRecreation() {
+		SchedulerMetrics metrics = new SchedulerMetrics(registry);
+		String name = "single(\"recreated\")";
+
+		Scheduler first = metrics.apply(Schedulers.newSingle("recreated"));
+		Disposable d = first.schedule(() -> {}, 1, TimeUnit.HOURS);
+		assertThat(registry.get(METER_PENDING).tag(TAG_SCHEDULER, name).gauge().value())
+				.isEqualTo(1d);
+		d.dispose();
+		first.dispose();
+		first = null;
+		d = null;
+		System.gc();
+
+		Scheduler second = metrics.apply(Schedulers.newSingle("recreated"));
+		try {
+			second.schedule(() -> {}, 1, TimeUnit.HOURS);
+			second.schedule(() -> {}, 1, TimeUnit.HOURS);
+
+			assertThat(registry.get(METER_PENDING).tag(TAG_SCHEDULER, name).gauge().value())
+					.as("the gauge reports the re-created scheduler")
+					.isEqualTo(2d);
+			assertThat(registry.find(METER_PENDING).gauges()).hasSize(1);
+		}
+		finally {
+			second.dispose();
+		}
+	}
+
+	@Test
+	public void countsRejections() {
+		Scheduler s = new SchedulerMetrics(registry)
+				.apply(Schedulers.fromExecutor(Executors.newSingleThreadExecutor(), true));
+		String name = Scannable.from(s).scan(Scannable.Attr.NAME);
+		s.dispose();
+
+		assertThatExceptionOfType(RejectedExecutionException.class)
+				.isThrownBy(() -> s.schedule(() -> {}));
+		assertThat(count(METER_REJECTED, name)).isEqualTo(1d);
+		assertThat(registry.get(METER_PENDING).tag(TAG_SCHEDULER, name).gauge().value())
+				.isZero();
+	}
+
+	@Test
+	public void metricsAreOptIn() {
+		Scheduler plain = Schedulers.newSingle("optIn");
+		Schedulers.enableMetrics();
+		Scheduler instrumented = Schedulers.newSingle("optIn");
+		Schedulers.disableMetrics();
+		Scheduler plainAgain = Schedulers.newSingle("optIn");
+		try {
+			assertThat(plain).isInstanceOf(SingleScheduler.class);
+			assertThat(instrumented).isInstanceOf(TimedScheduler.class);
+			assertThat(Scannable.from(instrumented).scan(Scannable.Attr.NAME))
+					.isEqualTo("single(\"optIn\")");
+			assertThat(plainAgain).isInstanceOf(SingleScheduler.class);
+		}
+		finally {
+			plain.dispose();
+			instrumented.dispose();
+			plainAgain.dispose();
+		}
+	}
+
+	@Test
+	public void schedulersWorkWithoutMicrometer() throws Exception {
+		URL[] classpath = {
+				Schedulers.class.getProtectionDomain().getCodeSource().getLocation(),
+				Publisher.class.getProtectionDomain().getCodeSource().getLocation()
+		};
+		try (URLClassLoader loader = new URLClassLoader(classpath, ClassLoader.getSystemClassLoader().getParent())) {
+			assertThatExceptionOfType(ClassNotFoundException.class)
+					.isThrownBy(() -> loader.loadClass("io.micrometer.core.instrument.MeterRegistry"));
+
+			Class<?> schedulers = loader.loadClass(Schedulers.class.getName());
+			schedulers.getMethod("enableMetrics").invoke(null);
+			try {
+				Object single = schedulers.getMethod("single").invoke(null);
+				CountDownLatch latch = new CountDownLatch(1);
+				loader.loadClass(Scheduler.class.getName())
+				      .getMethod("schedule", Runnable.class)
+				      .invoke(single, (Runnable) latch::countDown);
+
+				assertThat(latch.await(5, TimeUnit.SECONDS)).as("task ran").isTrue();
+			}
+			finally {
+				schedulers.getMethod("shutdownNow").invoke(null);
+			}
+		}
+	}
+}
@@ -20,10 +20,12 @@ import static org.assertj.core.api.Assertions.assertThat;
 import java.lang.management.ManagementFactory;
 import java.time.Duration;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.junit.*;
 
+import reactor.core.Disposable;
 import reactor.core.Scannable;
 import reactor.core.publisher.*;
 import reactor.core.scheduler.Scheduler.Worker;
@@ -183,4 +185,103 @@ public class SingleSchedulerTest extends AbstractSchedulerTest {
 			scheduler.dispose();
 		}
 	}
+
+	@Test(timeout = 10000)
+	public void immediateWorkerTasksAreTrampolinedWithoutTracking() throws InterruptedException {
+		Scheduler s = Schedulers.newSingle("trampoline");
+		CountDownLatch running = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicLong ran = new AtomicLong();
+		try {
+			ExecutorServiceWorker w = (ExecutorServiceWorker) s.createWorker();
+			w.schedule(() -> {
+				running.countDown();
+				try {
+					release.await();
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			});
+			assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+
+			for (int i = 0; i < 100; i++) {
+				w.schedule(ran::incrementAndGet);
+			}
+			assertThat(w.tasks.size()).as("immediate tasks not tracked").isZero();
+			assertThat(Scannable.from(w).scan(Scannable.Attr.BUFFERED)).isEqualTo(101);
+
+			release.countDown();
+			CountDownLatch done = new CountDownLatch(1);
+			w.schedule(done::countDown);
+			assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+			assertThat(ran.get()).isEqualTo(100);
+		}
+		finally {
+			release.countDown();
+			s.dispose();
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void busyTrampolineDoesntStarveOtherWorkers() throws InterruptedException {
+		Scheduler s = Schedulers.newSingle("trampolineFairness");
+		AtomicBoolean spinning = new AtomicBoolean(true);
+		try {
+			Scheduler.Worker busy = s.createWorker();
+			Scheduler.Worker other = s.createWorker();
+			busy.schedule(new Runnable() {
+				@Override
+				public void run() {
+					if (spinning.get()) {
+						busy.schedule(this);
+					}
+				}
+			});
+
+			CountDownLatch ran = new CountDownLatch(1);
+			other.schedule(ran::countDown);
+			assertThat(ran.await(5, TimeUnit.SECONDS)).as("other worker ran").isTrue();
+		}
+		finally {
+			spinning.set(false);
+			s.dispose();
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void disposingRunningTaskDoesntInterruptNextTask() throws InterruptedException {
+		Scheduler s = Schedulers.newSingle("trampolineInterrupt");
+		CountDownLatch running = new CountDownLatch(1);
+		AtomicBoolean firstInterrupted = new AtomicBoolean();
+		AtomicBoolean nextInterrupted = new AtomicBoolean(true);
+		CountDownLatch done = new CountDownLatch(1);
+		try {
+			Scheduler.Worker w = s.createWorker();
+			Disposable first = w.schedule(() -> {
+				running.countDown();
+				try {
+					Thread.sleep(5000);
+				}
+				catch (InterruptedException e) {
+					firstInterrupted.set(true);
+				}
+			});
+			w.schedule(() -> {
+				nextInterrupted.set(Thread.currentThread().isInterrupted());
+				done.countDown();
+			});
+			assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+
+			first.dispose();
+			first.dispose();
+
+			assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+			assertThat(firstInterrupted).as("first task interrupted").isTrue();
+			assertThat(nextInterrupted).as("next task interrupted").isFalse();
+		}
+		finally {
+			s.dispose();
+		}
+	}
 }
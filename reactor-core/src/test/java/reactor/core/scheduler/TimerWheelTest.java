@@ -0,0 +1,391 @@
+/*
+ * Copyright (c) 2011-2018 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.scheduler;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class TimerWheelTest {
+
+	ScheduledExecutorService executor;
+
+	@Before
+	public void setUp() {
+		executor = Executors.newSingleThreadScheduledExecutor();
+	}
+
+	@After
+	public void tearDown() {
+		Schedulers.disableTimerWheel();
+		executor.shutdownNow();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void negativeTickDuration() {
+		Schedulers.enableTimerWheel(Duration.ofMillis(-1));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void negativeTicksPerWheel() {
+		Schedulers.enableTimerWheel(Duration.ofMillis(1), -1);
+	}
+
+	@Test
+	public void wheelSizeIsPowerOfTwo() {
+		TimerWheel wheel = new TimerWheel(TimeUnit.MILLISECONDS.toNanos(1), 100);
+		try {
+			assertThat(wheel.wheel).hasSize(128);
+		}
+		finally {
+			wheel.drain();
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void tasksRunInDeadlineOrderAndNeverEarly() throws InterruptedException {
+		TimerWheel wheel = new TimerWheel(TimeUnit.MILLISECONDS.toNanos(5), 8);
+		List<Integer> order = new ArrayList<>();
+		CountDownLatch latch = new CountDownLatch(3);
+		long[] elapsed = new long[3];
+		long start = System.nanoTime();
+		try {
+			//the 100ms deadline spans several rounds of the 8 ticks wheel
+			long[] delays = {100, 10, 50};
+			for (int i = 0; i < delays.length; i++) {
+				int index = i;
+				wheel.schedule(executor, () -> {
+					elapsed[index] = System.nanoTime() - start;
+					order.add(index);
+					latch.countDown();
+					return null;
+				}, delays[i], TimeUnit.MILLISECONDS);
+			}
+
+			assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+			assertThat(order).containsExactly(1, 2, 0);
+			assertThat(elapsed[0]).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+			assertThat(elapsed[1]).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(10));
+			assertThat(elapsed[2]).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(50));
+		}
+		finally {
+			wheel.drain();
+		}
+	}
+
+	/**
+	 * Wait for the wheel thread to park once it has emptied both of its queues. The
+	 * queues are only polled by the wheel thread after it has cleared the parked flag,
+	 * so seeing them empty then the flag set means that the wheel has gone idle since.
+	 */
+	static void awaitIdle(TimerWheel wheel) throws InterruptedException {
+		while (!(wheel.pendingTimeouts.isEmpty()
+				&& wheel.cancelledTimeouts.isEmpty()
+				&& wheel.parked)) {
+			Thread.sleep(1);
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void cancelRemovesTimeoutFromWheel() throws InterruptedException {
+		TimerWheel wheel = new TimerWheel(TimeUnit.MILLISECONDS.toNanos(1), 64);
+		AtomicInteger runs = new AtomicInteger();
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < 1000; i++) {
+				futures.add(wheel.schedule(executor, runs::incrementAndGet, 1, TimeUnit.HOURS));
+			}
+			assertThat(wheel.pending).isEqualTo(1000L);
+
+			for (Future<?> f : futures) {
+				assertThat(f.cancel(false)).isTrue();
+				assertThat(f.isCancelled()).isTrue();
+				assertThat(f.isDone()).isTrue();
+			}
+			assertThat(futures.get(0).cancel(false)).as("cancel is idempotent").isFalse();
+			assertThat(wheel.pending).isZero();
+
+			//no other timeout is scheduled: the wheel must unlink them before idling
+			awaitIdle(wheel);
+			for (TimerWheel.Bucket bucket : wheel.wheel) {
+				assertThat(bucket.head).isNull();
+			}
+			assertThat(runs).hasValue(0);
+		}
+		finally {
+			wheel.drain();
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void cancelRightBeforeIdlingUnlinksTimeout() throws InterruptedException {
+		TimerWheel wheel = new TimerWheel(TimeUnit.MILLISECONDS.toNanos(1), 64);
+		try {
+			for (int round = 0; round < 100; round++) {
+				Future<?> f = wheel.schedule(executor, () -> null, 1, TimeUnit.HOURS);
+				if (round % 2 == 0) {
+					//let the wheel transfer the timeout into its bucket first
+					while (!wheel.pendingTimeouts.isEmpty()) {
+						Thread.yield();
+					}
+				}
+				assertThat(f.cancel(false)).isTrue();
+
+				awaitIdle(wheel);
+				for (TimerWheel.Bucket bucket : wheel.wheel) {
+					assertThat(bucket.head).as("round %d", round).isNull();
+				}
+			}
+		}
+		finally {
+			wheel.drain();
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void periodicTaskIsRearmed() throws InterruptedException {
+		TimerWheel wheel = new TimerWheel(TimeUnit.MILLISECONDS.toNanos(1), 16);
+		CountDownLatch latch = new CountDownLatch(5);
+		try {
+			Future<?> f = wheel.scheduleAtFixedRate(executor, latch::countDown, 0, 10, TimeUnit.MILLISECONDS);
+			assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+
+			f.cancel(false);
+			assertThat(f.isDone()).isTrue();
+			Thread.sleep(50);
+			assertThat(wheel.pending).isZero();
+		}
+		finally {
+			wheel.drain();
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void getWaitsForDelayedTaskResult() throws Exception {
+		TimerWheel wheel = new TimerWheel(TimeUnit.MILLISECONDS.toNanos(1), 16);
+		try {
+			Future<?> f = wheel.schedule(executor, () -> "foo", 20, TimeUnit.MILLISECONDS);
+			assertThat(f.get()).isEqualTo("foo");
+			assertThat(f.get(1, TimeUnit.SECONDS)).isEqualTo("foo");
+			assertThat(f.isDone()).isTrue();
+
+			Future<?> failing = wheel.schedule(executor, () -> {
+				throw new IllegalStateException("boom");
+			}, 20, TimeUnit.MILLISECONDS);
+			assertThatExceptionOfType(ExecutionException.class)
+					.isThrownBy(() -> failing.get(1, TimeUnit.SECONDS))
+					.withCauseInstanceOf(IllegalStateException.class);
+		}
+		finally {
+			wheel.drain();
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void getTimesOutThenFailsOnceCancelled() throws Exception {
+		TimerWheel wheel = new TimerWheel(TimeUnit.MILLISECONDS.toNanos(1), 16);
+		try {
+			Future<?> f = wheel.schedule(executor, () -> "foo", 1, TimeUnit.HOURS);
+			assertThatExceptionOfType(TimeoutException.class)
+					.isThrownBy(() -> f.get(10, TimeUnit.MILLISECONDS));
+
+			CountDownLatch waiting = new CountDownLatch(1);
+			Thread canceller = new Thread(() -> {
+				try {
+					waiting.await();
+					Thread.sleep(20);
+				}
+				catch (InterruptedException e) {
+					return;
+				}
+				f.cancel(false);
+			});
+			canceller.start();
+			waiting.countDown();
+			assertThatExceptionOfType(CancellationException.class)
+					.isThrownBy(f::get);
+		}
+		finally {
+			wheel.drain();
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void getOnPeriodicTaskWaitsForCancellationOrFailure() throws Exception {
+		TimerWheel wheel = new TimerWheel(TimeUnit.MILLISECONDS.toNanos(1), 16);
+		CountDownLatch latch = new CountDownLatch(3);
+		try {
+			Future<?> f = wheel.scheduleAtFixedRate(executor, latch::countDown, 0, 10, TimeUnit.MILLISECONDS);
+			assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+			assertThatExceptionOfType(TimeoutException.class)
+					.as("a running periodic task is not done")
+					.isThrownBy(() -> f.get(20, TimeUnit.MILLISECONDS));
+			f.cancel(false);
+			assertThatExceptionOfType(CancellationException.class)
+					.isThrownBy(f::get);
+
+			AtomicInteger runs = new AtomicInteger();
+			Future<?> failing = wheel.scheduleAtFixedRate(executor, () -> {
+				if (runs.incrementAndGet() == 2) {
+					throw new IllegalStateException("boom");
+				}
+			}, 0, 10, TimeUnit.MILLISECONDS);
+			assertThatExceptionOfType(ExecutionException.class)
+					.isThrownBy(failing::get)
+					.withCauseInstanceOf(IllegalStateException.class);
+			assertThat(failing.isDone()).isTrue();
+			assertThat(failing.isCancelled()).isFalse();
+			assertThat(failing.cancel(false)).isFalse();
+			Thread.sleep(50);
+			assertThat(runs).hasValue(2);
+		}
+		finally {
+			wheel.drain();
+		}
+	}
+
+	@Test
+	public void rejectsOnShutdownExecutor() {
+		TimerWheel wheel = new TimerWheel(TimeUnit.MILLISECONDS.toNanos(1), 16);
+		executor.shutdown();
+		try {
+			assertThatExceptionOfType(RejectedExecutionException.class)
+					.isThrownBy(() -> wheel.schedule(executor, () -> null, 1, TimeUnit.SECONDS));
+		}
+		finally {
+			wheel.drain();
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void drainedWheelTerminatesOncePendingTasksHaveRun() throws InterruptedException {
+		TimerWheel wheel = new TimerWheel(TimeUnit.MILLISECONDS.toNanos(1), 16);
+		CountDownLatch latch = new CountDownLatch(1);
+		wheel.schedule(executor, () -> {
+			latch.countDown();
+			return null;
+		}, 50, TimeUnit.MILLISECONDS);
+		wheel.drain();
+
+		assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+		wheel.thread.join(5000);
+		assertThat(wheel.thread.isAlive()).isFalse();
+
+		CountDownLatch fallback = new CountDownLatch(1);
+		wheel.schedule(executor, () -> {
+			fallback.countDown();
+			return null;
+		}, 10, TimeUnit.MILLISECONDS);
+		assertThat(fallback.await(5, TimeUnit.SECONDS))
+				.as("falls back to the executor once terminated")
+				.isTrue();
+	}
+
+	@Test(timeout = 10000)
+	public void schedulersUseWheelWhenEnabled() throws InterruptedException {
+		Schedulers.enableTimerWheel(Duration.ofMillis(1));
+		TimerWheel wheel = Schedulers.TIMER_WHEEL.get();
+		Scheduler s = Schedulers.newParallel("timerWheel", 2);
+		try {
+			Scheduler.Worker w = s.createWorker();
+			Disposable d = w.schedule(() -> {}, 1, TimeUnit.HOURS);
+			assertThat(wheel.pending).isEqualTo(1L);
+
+			w.dispose();
+			assertThat(d.isDisposed()).isTrue();
+			assertThat(wheel.pending).isZero();
+
+			StepVerifier.create(Mono.delay(Duration.ofMillis(50), s))
+			            .expectNext(0L)
+			            .verifyComplete();
+
+			StepVerifier.create(Flux.interval(Duration.ofMillis(10), s).take(5))
+			            .expectNext(0L, 1L, 2L, 3L, 4L)
+			            .verifyComplete();
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void pinnedQueueSchedulersUseWheelWhenEnabled() {
+		Schedulers.enableTimerWheel(Duration.ofMillis(1));
+		TimerWheel wheel = Schedulers.TIMER_WHEEL.get();
+		for (Scheduler s : Arrays.asList(Schedulers.newEventLoop("timerWheel", 2),
+				Schedulers.newWorkStealing("timerWheel", 2))) {
+			try {
+				Scheduler.Worker w = s.createWorker();
+				Disposable d = w.schedule(() -> {}, 1, TimeUnit.HOURS);
+				assertThat(wheel.pending).as(s.toString()).isEqualTo(1L);
+
+				w.dispose();
+				assertThat(d.isDisposed()).isTrue();
+				assertThat(wheel.pending).as(s.toString()).isZero();
+
+				StepVerifier.create(Flux.interval(Duration.ofMillis(10), s).take(5))
+				            .expectNext(0L, 1L, 2L, 3L, 4L)
+				            .verifyComplete();
+			}
+			finally {
+				s.dispose();
+			}
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void replacingWheelDrainsPrevious() throws InterruptedException {
+		Schedulers.enableTimerWheel(Duration.ofMillis(1));
+		TimerWheel first = Schedulers.TIMER_WHEEL.get();
+		Scheduler s = Schedulers.newSingle("timerWheel");
+		CountDownLatch latch = new CountDownLatch(1);
+		try {
+			s.schedule(latch::countDown, 50, TimeUnit.MILLISECONDS);
+			Schedulers.enableTimerWheel(Duration.ofMillis(2), 32);
+			assertThat(Schedulers.TIMER_WHEEL.get()).isNotSameAs(first);
+
+			assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+			first.thread.join(5000);
+			assertThat(first.thread.isAlive()).isFalse();
+		}
+		finally {
+			s.dispose();
+		}
+	}
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2011-2018 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.scheduler;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+import reactor.core.Disposable;
+import reactor.core.Scannable;
+import reactor.core.publisher.Mono;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class VirtualThreadSchedulerTest extends AbstractSchedulerTest {
+
+	//platform threads stand in for virtual threads when the JDK doesn't support them
+	static final ThreadFactory FACTORY = r -> {
+		Thread t = new Thread(r, "virtualThreadTest");
+		t.setDaemon(true);
+		return t;
+	};
+
+	@Override
+	protected Scheduler scheduler() {
+		return new VirtualThreadScheduler("VirtualThreadSchedulerTest", FACTORY);
+	}
+
+	@Override
+	protected boolean shouldCheckInterrupted() {
+		return true;
+	}
+
+	@Test
+	public void factoryPicksVirtualThreadsOrFallsBackToElastic() {
+		Scheduler s = Schedulers.newVirtualThreadScheduler("fallback");
+		try {
+			if (VirtualThreadScheduler.isSupported()) {
+				assertThat(s).isInstanceOf(VirtualThreadScheduler.class);
+			}
+			else {
+				assertThat(s).isInstanceOf(ElasticScheduler.class);
+			}
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void blockingIsAllowed() throws InterruptedException {
+		Scheduler s = Schedulers.newVirtualThreadScheduler("blocking");
+		AtomicBoolean nonBlocking = new AtomicBoolean(true);
+		AtomicReference<Long> blocked = new AtomicReference<>();
+		CountDownLatch latch = new CountDownLatch(1);
+		try {
+			s.schedule(() -> {
+				nonBlocking.set(Schedulers.isInNonBlockingThread());
+				blocked.set(Mono.delay(Duration.ofMillis(10)).block());
+				latch.countDown();
+			});
+			assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+			assertThat(nonBlocking).isFalse();
+			assertThat(blocked).hasValue(0L);
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void workerTasksRunInOrderAndNonConcurrently() throws InterruptedException {
+		Scheduler s = scheduler();
+		try {
+			Scheduler.Worker w = s.createWorker();
+			List<Integer> seen = new ArrayList<>();
+			AtomicInteger concurrent = new AtomicInteger();
+			AtomicInteger maxConcurrent = new AtomicInteger();
+			CountDownLatch latch = new CountDownLatch(1000);
+
+			for (int i = 0; i < 1000; i++) {
+				int v = i;
+				w.schedule(() -> {
+					int c = concurrent.incrementAndGet();
+					maxConcurrent.accumulateAndGet(c, Math::max);
+					seen.add(v);
+					concurrent.decrementAndGet();
+					latch.countDown();
+				});
+			}
+
+			assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+			assertThat(maxConcurrent.get()).isEqualTo(1);
+			assertThat(seen).hasSize(1000);
+			for (int i = 0; i < 1000; i++) {
+				assertThat(seen.get(i)).isEqualTo(i);
+			}
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void disposeInterruptsRunningTasks() throws InterruptedException {
+		Scheduler s = scheduler();
+		CountDownLatch running = new CountDownLatch(1);
+		CountDownLatch interrupted = new CountDownLatch(1);
+		s.schedule(() -> {
+			running.countDown();
+			try {
+				Thread.sleep(10_000);
+			}
+			catch (InterruptedException e) {
+				interrupted.countDown();
+			}
+		});
+		assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+
+		s.dispose();
+		assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+	}
+
+	@Test(timeout = 10000)
+	public void disposingRunningWorkerTaskDoesntInterruptNextTask() throws InterruptedException {
+		Scheduler s = scheduler();
+		CountDownLatch running = new CountDownLatch(1);
+		AtomicBoolean firstInterrupted = new AtomicBoolean();
+		AtomicBoolean nextInterrupted = new AtomicBoolean(true);
+		CountDownLatch done = new CountDownLatch(1);
+		try {
+			Scheduler.Worker w = s.createWorker();
+			Disposable first = w.schedule(() -> {
+				running.countDown();
+				try {
+					Thread.sleep(5000);
+				}
+				catch (InterruptedException e) {
+					firstInterrupted.set(true);
+				}
+			});
+			w.schedule(() -> {
+				nextInterrupted.set(Thread.currentThread().isInterrupted());
+				done.countDown();
+			});
+			assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+
+			first.dispose();
+			first.dispose();
+
+			assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+			assertThat(firstInterrupted).as("first task interrupted").isTrue();
+			assertThat(nextInterrupted).as("next task interrupted").isFalse();
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void completedTasksAreUntracked() throws InterruptedException {
+		VirtualThreadScheduler s = (VirtualThreadScheduler) scheduler();
+		try {
+			CountDownLatch latch = new CountDownLatch(10);
+			for (int i = 0; i < 10; i++) {
+				s.schedule(latch::countDown);
+			}
+			assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+			while (s.tasks.size() != 0) {
+				Thread.sleep(10);
+			}
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test
+	public void scanName() {
+		Scheduler s = scheduler();
+		Scheduler.Worker worker = s.createWorker();
+		try {
+			assertThat(Scannable.from(s).scan(Scannable.Attr.NAME))
+					.isEqualTo("virtualThread(\"VirtualThreadSchedulerTest\")");
+			assertThat(Scannable.from(worker).scan(Scannable.Attr.NAME))
+					.isEqualTo("virtualThread(\"VirtualThreadSchedulerTest\").worker");
+		}
+		finally {
+			worker.dispose();
+			s.dispose();
+		}
+	}
+}
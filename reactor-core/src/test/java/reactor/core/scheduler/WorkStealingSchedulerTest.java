@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2011-2018 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.scheduler;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import reactor.core.Scannable;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class WorkStealingSchedulerTest extends AbstractSchedulerTest {
+
+	@Override
+	protected Scheduler scheduler() {
+		return Schedulers.newWorkStealing("WorkStealingSchedulerTest", 4);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void negativeParallelism() {
+		Schedulers.newWorkStealing("test", -1);
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void unsupportedStart() {
+		Scheduler s = scheduler();
+		try {
+			s.start();
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void workerTasksRunInOrderAndNonConcurrently() throws InterruptedException {
+		Scheduler s = Schedulers.newWorkStealing("order", 4);
+		try {
+			Scheduler.Worker w = s.createWorker();
+			List<Integer> seen = new ArrayList<>();
+			AtomicInteger concurrent = new AtomicInteger();
+			AtomicInteger maxConcurrent = new AtomicInteger();
+			CountDownLatch latch = new CountDownLatch(1000);
+
+			for (int i = 0; i < 1000; i++) {
+				int v = i;
+				w.schedule(() -> {
+					int c = concurrent.incrementAndGet();
+					maxConcurrent.accumulateAndGet(c, Math::max);
+					seen.add(v);
+					concurrent.decrementAndGet();
+					latch.countDown();
+				});
+			}
+
+			assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+			assertThat(maxConcurrent.get()).isEqualTo(1);
+			assertThat(seen).hasSize(1000);
+			for (int i = 0; i < 1000; i++) {
+				assertThat(seen.get(i)).isEqualTo(i);
+			}
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void idleThreadStealsWorkerBehindSlowTask() throws InterruptedException {
+		Scheduler s = Schedulers.newWorkStealing("steal", 2);
+		CountDownLatch slowStarted = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch fastDone = new CountDownLatch(1);
+		try {
+			Scheduler.Worker slow = s.createWorker();
+			//advance the round robin so that both workers share the same home lane
+			s.createWorker().dispose();
+			Scheduler.Worker fast = s.createWorker();
+
+			assertThat(((WorkStealingScheduler.WorkStealingWorker) fast).loop)
+					.isSameAs(((WorkStealingScheduler.WorkStealingWorker) slow).loop);
+
+			slow.schedule(() -> {
+				slowStarted.countDown();
+				try {
+					release.await();
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			});
+			assertThat(slowStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+			fast.schedule(fastDone::countDown);
+
+			assertThat(fastDone.await(5, TimeUnit.SECONDS))
+					.as("fast worker stolen by the idle thread")
+					.isTrue();
+		}
+		finally {
+			release.countDown();
+			s.dispose();
+		}
+	}
+
+	@Test
+	public void smokeTestInterval() {
+		Scheduler s = scheduler();
+
+		try {
+			StepVerifier.create(Flux.interval(Duration.ofMillis(100), Duration.ofMillis(200), s))
+			            .expectSubscription()
+			            .expectNoEvent(Duration.ofMillis(100))
+			            .expectNext(0L)
+			            .expectNoEvent(Duration.ofMillis(200))
+			            .expectNext(1L)
+			            .expectNoEvent(Duration.ofMillis(200))
+			            .expectNext(2L)
+			            .thenCancel();
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test
+	public void publishOnKeepsOrder() {
+		Scheduler s = scheduler();
+
+		try {
+			StepVerifier.create(Flux.range(1, 10_000)
+			                        .publishOn(s)
+			                        .filter(i -> i % 2 == 0)
+			                        .publishOn(s))
+			            .expectNextCount(5000)
+			            .verifyComplete();
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test
+	public void scanName() {
+		Scheduler withNamedFactory = Schedulers.newWorkStealing("scanName", 3);
+		Scheduler withBasicFactory = Schedulers.newWorkStealing(3, Thread::new);
+
+		Scheduler.Worker workerWithNamedFactory = withNamedFactory.createWorker();
+		Scheduler.Worker workerWithBasicFactory = withBasicFactory.createWorker();
+
+		try {
+			assertThat(Scannable.from(withNamedFactory).scan(Scannable.Attr.NAME))
+					.as("withNamedFactory")
+					.isEqualTo("workStealing(3,\"scanName\")");
+
+			assertThat(Scannable.from(withBasicFactory).scan(Scannable.Attr.NAME))
+					.as("withBasicFactory")
+					.isEqualTo("workStealing(3)");
+
+			assertThat(Scannable.from(workerWithNamedFactory).scan(Scannable.Attr.NAME))
+					.as("workerWithNamedFactory")
+					.isEqualTo("workStealing(3,\"scanName\").worker");
+
+			assertThat(Scannable.from(workerWithBasicFactory).scan(Scannable.Attr.NAME))
+					.as("workerWithBasicFactory")
+					.isEqualTo("workStealing(3).worker");
+		}
+		finally {
+			withNamedFactory.dispose();
+			withBasicFactory.dispose();
+			workerWithNamedFactory.dispose();
+			workerWithBasicFactory.dispose();
+		}
+	}
+
+	@Test
+	public void scanCapacity() {
+		Scheduler scheduler = Schedulers.newWorkStealing(3, Thread::new);
+		try {
+			assertThat(Scannable.from(scheduler).scan(Scannable.Attr.CAPACITY)).isEqualTo(3);
+			assertThat(Scannable.from(scheduler).inners()).hasSize(3);
+		}
+		finally {
+			scheduler.dispose();
+		}
+	}
+}
@@ -0,0 +1,168 @@
+package reactor.util.concurrent;
+
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+import org.openjdk.jol.info.ClassLayout;
+import org.openjdk.jol.info.FieldLayout;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MpmcArrayQueueTest {
+
+	@Test
+	public void mpmcArrayQueuesAPI() {
+		assertThat(Queues.mpmc(32).get()).isInstanceOf(MpmcArrayQueue.class);
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void shouldRejectNullableValues() {
+		MpmcArrayQueue<Object> q = new MpmcArrayQueue<>(32);
+		q.offer(null);
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void shouldNotAllowIteratingWithIterator() {
+		MpmcArrayQueue<Object> q = new MpmcArrayQueue<>(32);
+
+		q.iterator();
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void shouldNotAllowElementsRemoving() {
+		MpmcArrayQueue<Object> q = new MpmcArrayQueue<>(32);
+
+		q.offer(1);
+		q.remove(1);
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void shouldNotAllowAdd() {
+		MpmcArrayQueue<Object> q = new MpmcArrayQueue<>(32);
+		q.add(1);
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void shouldNotAllowAddAll() {
+		MpmcArrayQueue<Object> q = new MpmcArrayQueue<>(32);
+		q.addAll(Arrays.asList(1,2,3));
+	}
+
+	@Test
+	public void shouldRejectWhenFull() {
+		MpmcArrayQueue<Object> q = new MpmcArrayQueue<>(3);
+		assertThat(q.length()).isEqualTo(4);
+
+		for (int i = 0; i < 4; i++) {
+			assertThat(q.offer(i)).isTrue();
+		}
+		assertThat(q.offer(4)).as("offer when full").isFalse();
+		assertThat(q.size()).isEqualTo(4);
+
+		assertThat(q.poll()).isEqualTo(0);
+		assertThat(q.offer(4)).as("offer after poll").isTrue();
+
+		for (int i = 1; i < 5; i++) {
+			assertThat(q.poll()).isEqualTo(i);
+		}
+		assertThat(q.poll()).isNull();
+	}
+
+	@Test
+	public void shouldClearQueue() {
+		MpmcArrayQueue<Object> q = new MpmcArrayQueue<>(32);
+		q.offer(1);
+		q.offer(2);
+
+		assertThat(q.isEmpty()).as("isEmpty() false").isFalse();
+		assertThat(q.size()).isEqualTo(2);
+
+		q.clear();
+
+		assertThat(q.isEmpty()).as("isEmpty() true").isTrue();
+		assertThat(q.size()).isEqualTo(0);
+	}
+
+	@Test
+	public void shouldNotRemoveElementOnPeek() {
+		MpmcArrayQueue<Object> q = new MpmcArrayQueue<>(32);
+		q.offer(1);
+		q.offer(2);
+
+		for (int i = 0; i < 100; i++) {
+			assertThat(q.peek()).isEqualTo(1);
+			assertThat(q.size()).isEqualTo(2);
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void concurrentProducersAndConsumers() throws InterruptedException {
+		int producers = 4;
+		int consumers = 4;
+		int perProducer = 10_000;
+		Queue<Integer> q = new MpmcArrayQueue<>(64);
+		AtomicLong sum = new AtomicLong();
+		AtomicLong count = new AtomicLong();
+		CountDownLatch done = new CountDownLatch(producers + consumers);
+
+		for (int p = 0; p < producers; p++) {
+			new Thread(() -> {
+				for (int i = 0; i < perProducer; i++) {
+					while (!q.offer(i)) {
+						Thread.yield();
+					}
+				}
+				done.countDown();
+			}).start();
+		}
+		for (int c = 0; c < consumers; c++) {
+			new Thread(() -> {
+				while (count.get() < (long) producers * perProducer) {
+					Integer v = q.poll();
+					if (v != null) {
+						sum.addAndGet(v);
+						count.incrementAndGet();
+					}
+					else {
+						Thread.yield();
+					}
+				}
+				done.countDown();
+			}).start();
+		}
+
+		assertThat(done.await(9, TimeUnit.SECONDS)).isTrue();
+		assertThat(count.get()).isEqualTo((long) producers * perProducer);
+		assertThat(sum.get()).isEqualTo((long) producers * perProducer * (perProducer - 1) / 2);
+		assertThat(q.isEmpty()).isTrue();
+	}
+
+	@Test
+	public void objectPadding() {
+		ClassLayout layout = ClassLayout.parseClass(MpmcArrayQueue.class);
+		AtomicReference<FieldLayout> mask = new AtomicReference<>();
+		AtomicReference<FieldLayout> producerIndex = new AtomicReference<>();
+		AtomicReference<FieldLayout> consumerIndex = new AtomicReference<>();
+
+		layout.fields().forEach(f -> {
+			if ("mask".equals(f.name())) mask.set(f);
+			else if ("producerIndex".equals(f.name())) producerIndex.set(f);
+			else if ("consumerIndex".equals(f.name())) consumerIndex.set(f);
+		});
+
+		assertThat(producerIndex.get().offset() - mask.get().offset())
+				.as("cold fields-producerIndex distance")
+				.isGreaterThanOrEqualTo(128);
+		assertThat(consumerIndex.get().offset() - producerIndex.get().offset())
+				.as("producerIndex-consumerIndex distance")
+				.isGreaterThanOrEqualTo(128);
+		assertThat(layout.instanceSize() - consumerIndex.get().offset())
+				.as("consumerIndex post-padding")
+				.isGreaterThanOrEqualTo(128);
+	}
+}
@@ -0,0 +1,297 @@
+package reactor.util.concurrent;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+import org.openjdk.jol.info.ClassLayout;
+import org.openjdk.jol.info.FieldLayout;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MpscArrayQueueTest {
+
+	@Test
+	public void mpscArrayQueuesAPI() {
+		assertThat(Queues.mpsc(32).get()).isInstanceOf(MpscArrayQueue.class);
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void shouldRejectNullableValues() {
+		MpscArrayQueue<Object> q = new MpscArrayQueue<>(32);
+		q.offer(null);
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void shouldNotAllowIteratingWithIterator() {
+		MpscArrayQueue<Object> q = new MpscArrayQueue<>(32);
+
+		q.iterator();
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void shouldNotAllowElementsRemoving() {
+		MpscArrayQueue<Object> q = new MpscArrayQueue<>(32);
+
+		q.offer(1);
+		q.remove(1);
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void shouldNotAllowAdd() {
+		MpscArrayQueue<Object> q = new MpscArrayQueue<>(32);
+		q.add(1);
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void shouldNotAllowAddAll() {
+		MpscArrayQueue<Object> q = new MpscArrayQueue<>(32);
+		q.addAll(Arrays.asList(1,2,3));
+	}
+
+	@Test
+	public void shouldRejectWhenFull() {
+		MpscArrayQueue<Object> q = new MpscArrayQueue<>(3);
+		assertThat(q.length()).isEqualTo(4);
+
+		for (int i = 0; i < 4; i++) {
+			assertThat(q.offer(i)).isTrue();
+		}
+		assertThat(q.offer(4)).as("offer when full").isFalse();
+		assertThat(q.size()).isEqualTo(4);
+
+		assertThat(q.poll()).isEqualTo(0);
+		assertThat(q.offer(4)).as("offer after poll").isTrue();
+
+		for (int i = 1; i < 5; i++) {
+			assertThat(q.poll()).isEqualTo(i);
+		}
+		assertThat(q.poll()).isNull();
+	}
+
+	@Test
+	public void shouldClearQueue() {
+		MpscArrayQueue<Object> q = new MpscArrayQueue<>(32);
+		q.offer(1);
+		q.offer(2);
+
+		assertThat(q.isEmpty()).as("isEmpty() false").isFalse();
+		assertThat(q.size()).isEqualTo(2);
+
+		q.clear();
+
+		assertThat(q.isEmpty()).as("isEmpty() true").isTrue();
+		assertThat(q.size()).isEqualTo(0);
+	}
+
+	@Test
+	public void shouldNotRemoveElementOnPeek() {
+		MpscArrayQueue<Object> q = new MpscArrayQueue<>(32);
+		q.offer(1);
+		q.offer(2);
+
+		for (int i = 0; i < 100; i++) {
+			assertThat(q.peek()).isEqualTo(1);
+			assertThat(q.size()).isEqualTo(2);
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void concurrentProducersSingleConsumer() throws InterruptedException {
+		int producers = 4;
+		int consumers = 1;
+		int perProducer = 10_000;
+		Queue<Integer> q = new MpscArrayQueue<>(64);
+		AtomicLong sum = new AtomicLong();
+		AtomicLong count = new AtomicLong();
+		CountDownLatch done = new CountDownLatch(producers + consumers);
+
+		for (int p = 0; p < producers; p++) {
+			new Thread(() -> {
+				for (int i = 0; i < perProducer; i++) {
+					while (!q.offer(i)) {
+						Thread.yield();
+					}
+				}
+				done.countDown();
+			}).start();
+		}
+		for (int c = 0; c < consumers; c++) {
+			new Thread(() -> {
+				while (count.get() < (long) producers * perProducer) {
+					Integer v = q.poll();
+					if (v != null) {
+						sum.addAndGet(v);
+						count.incrementAndGet();
+					}
+					else {
+						Thread.yield();
+					}
+				}
+				done.countDown();
+			}).start();
+		}
+
+		assertThat(done.await(9, TimeUnit.SECONDS)).isTrue();
+		assertThat(count.get()).isEqualTo((long) producers * perProducer);
+		assertThat(sum.get()).isEqualTo((long) producers * perProducer * (perProducer - 1) / 2);
+		assertThat(q.isEmpty()).isTrue();
+	}
+
+	@Test
+	public void objectPadding() {
+		ClassLayout layout = ClassLayout.parseClass(MpscArrayQueue.class);
+		AtomicReference<FieldLayout> mask = new AtomicReference<>();
+		AtomicReference<FieldLayout> producerIndex = new AtomicReference<>();
+		AtomicReference<FieldLayout> consumerIndex = new AtomicReference<>();
+
+		layout.fields().forEach(f -> {
+			if ("mask".equals(f.name())) mask.set(f);
+			else if ("producerIndex".equals(f.name())) producerIndex.set(f);
+			else if ("consumerIndex".equals(f.name())) consumerIndex.set(f);
+		});
+
+		assertThat(producerIndex.get().offset() - mask.get().offset())
+				.as("cold fields-producerIndex distance")
+				.isGreaterThanOrEqualTo(128);
+		assertThat(consumerIndex.get().offset() - producerIndex.get().offset())
+				.as("producerIndex-consumerIndex distance")
+				.isGreaterThanOrEqualTo(128);
+		assertThat(layout.instanceSize() - consumerIndex.get().offset())
+				.as("consumerIndex post-padding")
+				.isGreaterThanOrEqualTo(128);
+	}
+
+	@Test
+	public void shouldFillAndDrainInBatches() {
+		MpscArrayQueue<Integer> q = new MpscArrayQueue<>(8);
+		int[] next = { 0 };
+		q.offer(-1);
+
+		assertThat(q.fill(() -> next[0]++, 4)).isEqualTo(4);
+		assertThat(q.size()).isEqualTo(5);
+		assertThat(q.fill(() -> next[0]++, 10)).as("fill stops when full").isEqualTo(3);
+		assertThat(q.offer(100)).isFalse();
+
+		List<Integer> drained = new ArrayList<>();
+		assertThat(q.drain(drained::add, 2)).isEqualTo(2);
+		assertThat(drained).containsExactly(-1, 0);
+		assertThat(q.poll()).isEqualTo(1);
+
+		assertThat(q.drain(drained::add, 10)).isEqualTo(5);
+		assertThat(drained).containsExactly(-1, 0, 2, 3, 4, 5, 6);
+		assertThat(q.isEmpty()).isTrue();
+		assertThat(q.offer(100)).isTrue();
+	}
+
+	@Test
+	public void drainKeepsRemainingElementsWhenConsumerThrows() {
+		MpscArrayQueue<Integer> q = new MpscArrayQueue<>(8);
+		q.offer(1);
+		q.offer(2);
+		q.offer(3);
+
+		try {
+			q.drain(v -> {
+				if (v == 2) {
+					throw new IllegalStateException("boom");
+				}
+			}, 3);
+		}
+		catch (IllegalStateException e) {
+			assertThat(e).hasMessage("boom");
+		}
+
+		assertThat(q.size()).isEqualTo(1);
+		assertThat(q.poll()).isEqualTo(3);
+	}
+
+	@Test(timeout = 10000)
+	public void fillSkipsClaimedSlotsWhenSupplierThrows() {
+		MpscArrayQueue<Integer> q = new MpscArrayQueue<>(8);
+		int[] next = { 0 };
+
+		try {
+			q.fill(() -> {
+				if (next[0] == 2) {
+					throw new IllegalStateException("boom");
+				}
+				return next[0]++;
+			}, 4);
+		}
+		catch (IllegalStateException e) {
+			assertThat(e).hasMessage("boom");
+		}
+		q.offer(10);
+		q.fill(() -> 20, 1);
+
+		assertThat(q.poll()).isEqualTo(0);
+		assertThat(q.peek()).isEqualTo(1);
+		assertThat(q.poll()).isEqualTo(1);
+		assertThat(q.peek()).as("skipped slots").isEqualTo(10);
+
+		List<Integer> drained = new ArrayList<>();
+		assertThat(q.drain(drained::add, 10)).isEqualTo(2);
+		assertThat(drained).containsExactly(10, 20);
+		assertThat(q.isEmpty()).isTrue();
+		assertThat(q.poll()).isNull();
+	}
+
+	@Test(timeout = 10000)
+	public void drainSkipsClaimedSlotsWhenSupplierReturnsNull() {
+		MpscArrayQueue<Integer> q = new MpscArrayQueue<>(8);
+		int[] next = { 0 };
+
+		try {
+			q.fill(() -> next[0] == 1 ? null : next[0]++, 3);
+		}
+		catch (NullPointerException e) {
+			assertThat(e).hasMessage("The supplier returned a null value");
+		}
+		q.offer(10);
+
+		List<Integer> drained = new ArrayList<>();
+		assertThat(q.drain(drained::add, 10)).isEqualTo(2);
+		assertThat(drained).containsExactly(0, 10);
+		assertThat(q.isEmpty()).isTrue();
+	}
+
+	@Test(timeout = 10000)
+	public void concurrentProducersBatchDrainingConsumer() throws InterruptedException {
+		int producers = 4;
+		int perProducer = 10_000;
+		MpscArrayQueue<Integer> q = new MpscArrayQueue<>(64);
+		AtomicLong sum = new AtomicLong();
+		long[] count = { 0L };
+		CountDownLatch done = new CountDownLatch(producers);
+
+		for (int p = 0; p < producers; p++) {
+			new Thread(() -> {
+				for (int i = 0; i < perProducer; i++) {
+					while (!q.offer(i)) {
+						Thread.yield();
+					}
+				}
+				done.countDown();
+			}).start();
+		}
+
+		while (count[0] < (long) producers * perProducer) {
+			int n = q.drain(sum::addAndGet, 16);
+			if (n == 0) {
+				Thread.yield();
+			}
+			count[0] += n;
+		}
+
+		assertThat(done.await(9, TimeUnit.SECONDS)).isTrue();
+		assertThat(sum.get()).isEqualTo((long) producers * perProducer * (perProducer - 1) / 2);
+		assertThat(q.isEmpty()).isTrue();
+	}
+}
@@ -1,5 +1,7 @@
 package reactor.util.concurrent;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Test;
@@ -134,4 +136,23 @@ public class MpscLinkedQueueTest {
 		t2.join();
 	}
 
+	@Test
+	public void shouldFillAndDrainInBatches() {
+		MpscLinkedQueue<Object> q = new MpscLinkedQueue<>();
+		int[] next = { 0 };
+		q.offer(-1);
+
+		assertThat(q.fill(() -> next[0]++, 4)).isEqualTo(4);
+		assertThat(q.size()).isEqualTo(5);
+
+		List<Object> drained = new ArrayList<>();
+		assertThat(q.drain(drained::add, 2)).isEqualTo(2);
+		assertThat(drained).containsExactly(-1, 0);
+		assertThat(q.poll()).isEqualTo(1);
+
+		assertThat(q.drain(drained::add, 10)).isEqualTo(2);
+		assertThat(drained).containsExactly(-1, 0, 2, 3);
+		assertThat(q.isEmpty()).isTrue();
+		assertThat(q.size()).isZero();
+	}
 }
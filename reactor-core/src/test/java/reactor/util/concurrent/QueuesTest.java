@@ -16,6 +16,7 @@
 
 package reactor.util.concurrent;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.NoSuchElementException;
@@ -53,6 +54,49 @@ public class QueuesTest {
 				.isEqualTo(16);
 	}
 
+	@Test
+	public void unboundedQueueFillsAndDrainsAcrossLinks() {
+		//link size floors at 8, so 20 elements span 3 arrays
+		BatchQueue<Integer> q = (BatchQueue<Integer>) Queues.<Integer>unbounded(8).get();
+		int[] next = { 0 };
+
+		assertThat(q.fill(() -> next[0]++, 20)).isEqualTo(20);
+		assertThat(q.size()).isEqualTo(20);
+
+		List<Integer> drained = new ArrayList<>();
+		assertThat(q.drain(drained::add, 7)).isEqualTo(7);
+		assertThat(q.poll()).isEqualTo(7);
+		assertThat(q.drain(drained::add, 100)).isEqualTo(12);
+		assertThat(q.isEmpty()).isTrue();
+
+		assertThat(drained).hasSize(19)
+		                   .startsWith(0, 1, 2, 3, 4, 5, 6, 8)
+		                   .endsWith(19);
+	}
+
+	@Test
+	public void capacityMultiproducerBoundedQueues() {
+		assertThat(Queues.capacity(Queues.mpsc(9).get())).isEqualTo(16);
+		assertThat(Queues.capacity(Queues.mpmc(9).get())).isEqualTo(16);
+		assertThat(Queues.capacity(Queues.mpmc(1).get())).isEqualTo(1);
+	}
+
+	@Test(timeout = 5000)
+	public void mpmcOfCapacityOneRejectsSecondOffer() {
+		Queue<Integer> q = Queues.<Integer>mpmc(1).get();
+
+		for (int lap = 0; lap < 3; lap++) {
+			assertThat(q.offer(1)).isTrue();
+			assertThat(q.offer(2)).as("offer when full").isFalse();
+			assertThat(q.size()).isEqualTo(1);
+			assertThat(q.peek()).isEqualTo(1);
+
+			assertThat(q.poll()).isEqualTo(1);
+			assertThat(q.poll()).isNull();
+			assertThat(q.isEmpty()).isTrue();
+		}
+	}
+
 	@Test
 	public void capacityBoundedBlockingQueue() {
 		Queue q = new LinkedBlockingQueue<>(10);
@@ -1,9 +1,16 @@
 package reactor.util.concurrent;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
 import org.junit.Test;
+import org.openjdk.jol.info.ClassLayout;
+import org.openjdk.jol.info.FieldLayout;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
 public class SpscArrayQueueTest {
 
@@ -88,4 +95,67 @@ public class SpscArrayQueueTest {
 			assertThat(q.peek()).isEqualTo(1);
 			assertThat(q.size()).isEqualTo(2);		}
 	}
+
+	@Test
+	public void shouldFillUpToCapacityAndDrainUpToLimit() {
+		SpscArrayQueue<Object> q = new SpscArrayQueue<>(8);
+		int[] next = { 0 };
+
+		assertThat(q.fill(() -> next[0]++, 5)).isEqualTo(5);
+		assertThat(q.fill(() -> next[0]++, 5)).as("fill stops when full").isEqualTo(3);
+		assertThat(next[0]).as("supplier only called when there is room").isEqualTo(8);
+		assertThat(q.size()).isEqualTo(8);
+
+		List<Object> drained = new ArrayList<>();
+		assertThat(q.drain(drained::add, 3)).isEqualTo(3);
+		assertThat(drained).containsExactly(0, 1, 2);
+		assertThat(q.size()).isEqualTo(5);
+
+		assertThat(q.drain(drained::add, 10)).as("drain stops when empty").isEqualTo(5);
+		assertThat(drained).containsExactly(0, 1, 2, 3, 4, 5, 6, 7);
+		assertThat(q.isEmpty()).isTrue();
+		assertThat(q.drain(drained::add, 10)).isZero();
+	}
+
+	@Test
+	public void shouldRemoveDrainedElementWhenConsumerThrows() {
+		SpscArrayQueue<Object> q = new SpscArrayQueue<>(8);
+		q.offer(1);
+		q.offer(2);
+		q.offer(3);
+
+		assertThatExceptionOfType(IllegalStateException.class)
+				.isThrownBy(() -> q.drain(v -> {
+					if (v.equals(2)) {
+						throw new IllegalStateException("boom");
+					}
+				}, 10));
+
+		assertThat(q.size()).isEqualTo(1);
+		assertThat(q.poll()).isEqualTo(3);
+	}
+
+	@Test
+	public void objectPadding() {
+		ClassLayout layout = ClassLayout.parseClass(SpscArrayQueue.class);
+		AtomicReference<FieldLayout> mask = new AtomicReference<>();
+		AtomicReference<FieldLayout> producerIndex = new AtomicReference<>();
+		AtomicReference<FieldLayout> consumerIndex = new AtomicReference<>();
+
+		layout.fields().forEach(f -> {
+			if ("mask".equals(f.name())) mask.set(f);
+			else if ("producerIndex".equals(f.name())) producerIndex.set(f);
+			else if ("consumerIndex".equals(f.name())) consumerIndex.set(f);
+		});
+
+		assertThat(producerIndex.get().offset() - mask.get().offset())
+				.as("cold fields-producerIndex distance")
+				.isGreaterThanOrEqualTo(128);
+		assertThat(consumerIndex.get().offset() - producerIndex.get().offset())
+				.as("producerIndex-consumerIndex distance")
+				.isGreaterThanOrEqualTo(128);
+		assertThat(layout.instanceSize() - consumerIndex.get().offset())
+				.as("consumerIndex post-padding")
+				.isGreaterThanOrEqualTo(128);
+	}
 }
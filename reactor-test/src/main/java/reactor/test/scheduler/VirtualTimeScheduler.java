@@ -374,6 +374,11 @@ public class VirtualTimeScheduler implements Scheduler {
 			return s;
 		}
 
+		@Override
+		public Scheduler newBoundedElastic(int threadCap, int queuedTaskCap, ThreadFactory threadFactory, int ttlSeconds) {
+			return s;
+		}
+
 		@Override
 		public Scheduler newParallel(int parallelism, ThreadFactory threadFactory) {
 			return s;
@@ -383,6 +388,21 @@ public class VirtualTimeScheduler implements Scheduler {
 		public Scheduler newSingle(ThreadFactory threadFactory) {
 			return s;
 		}
+
+		@Override
+		public Scheduler newWorkStealing(int parallelism, ThreadFactory threadFactory) {
+			return s;
+		}
+
+		@Override
+		public Scheduler newEventLoop(int parallelism, ThreadFactory threadFactory) {
+			return s;
+		}
+
+		@Override
+		public Scheduler newVirtualThreadScheduler(String name) {
+			return s;
+		}
 	}
 
 	final class VirtualTimeWorker implements Worker {